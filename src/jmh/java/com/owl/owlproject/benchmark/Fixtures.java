@@ -0,0 +1,30 @@
+package com.owl.owlproject.benchmark;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Inputs shared by the benchmarks, shaped like the requests sent on the order path.
+ */
+final class Fixtures {
+    static final String BASE_URL = "https://fapi.binance.com";
+    static final String ORDER_PATH = "/fapi/v1/order";
+    static final String API_KEY = "vmPUZE6mv9SD5VNHk4HlWFsOr6aKE2zvsw0MuIgwCIPy6utIco14y7Ju91duEh8A";
+    static final String SECRET_KEY = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+
+    private Fixtures() {
+    }
+
+    static LinkedHashMap<String, Object> orderParameters() {
+        LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("symbol", "BTCUSDT");
+        parameters.put("side", "BUY");
+        parameters.put("type", "LIMIT");
+        parameters.put("timeInForce", "GTC");
+        parameters.put("quantity", 0.001);
+        parameters.put("price", 65432.1);
+        parameters.put("newClientOrderId", "owl-7f3a9c2e-0001");
+        parameters.put("recvWindow", 5000L);
+        parameters.put("timestamp", 1499827319559L);
+        return parameters;
+    }
+}
@@ -0,0 +1,52 @@
+package com.owl.owlproject.benchmark;
+
+import com.owl.owlproject.utils.JSONParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONParserBenchmark {
+    private static final String LISTEN_KEY = "{\"listenKey\":\"pqia91ma19a5s61cv6a81va65sdf19v8a65a1a5s61cv6a81va65sdf19v8a65a1\"}";
+    private static final String ERROR = "{\"code\":-2019,\"msg\":\"Margin is insufficient.\"}";
+
+    private ArrayList<String> symbols;
+
+    @Setup
+    public void setUp() {
+        symbols = new ArrayList<>();
+        for (String symbol : new String[]{"BTCUSDT", "ETHUSDT", "BNBUSDT", "SOLUSDT", "XRPUSDT"}) {
+            symbols.add(symbol);
+        }
+    }
+
+    @Benchmark
+    public String getJSONStringValue() {
+        return JSONParser.getJSONStringValue(LISTEN_KEY, "listenKey");
+    }
+
+    @Benchmark
+    public int getJSONIntValue() {
+        return JSONParser.getJSONIntValue(ERROR, "code");
+    }
+
+    @Benchmark
+    public String getJSONArray() {
+        return JSONParser.getJSONArray(symbols, "symbols");
+    }
+}
@@ -0,0 +1,49 @@
+package com.owl.owlproject.benchmark;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.utils.RequestBuilder;
+import com.owl.owlproject.utils.UrlBuilder;
+import okhttp3.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuilderBenchmark {
+    private String fullUrl;
+
+    @Setup
+    public void setUp() {
+        fullUrl = UrlBuilder.buildFullUrl(Fixtures.BASE_URL, Fixtures.ORDER_PATH, Fixtures.orderParameters(),
+                "c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71");
+    }
+
+    @Benchmark
+    public Request buildApiKeyRequestPost() {
+        return RequestBuilder.buildApiKeyRequest(fullUrl, HttpMethod.POST, Fixtures.API_KEY);
+    }
+
+    @Benchmark
+    public Request buildApiKeyRequestGet() {
+        return RequestBuilder.buildApiKeyRequest(fullUrl, HttpMethod.GET, Fixtures.API_KEY);
+    }
+
+    @Benchmark
+    public Request buildPublicRequest() {
+        return RequestBuilder.buildPublicRequest(fullUrl, HttpMethod.GET);
+    }
+}
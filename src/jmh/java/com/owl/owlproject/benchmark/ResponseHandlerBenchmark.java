@@ -0,0 +1,96 @@
+package com.owl.owlproject.benchmark;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.model.response.Order;
+import com.owl.owlproject.model.response.ResponseDecoders;
+import com.owl.owlproject.utils.RequestBuilder;
+import com.owl.owlproject.utils.ResponseHandler;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response handling against canned bodies, the calls are answered by an interceptor so no socket is involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseHandlerBenchmark {
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final byte[] ORDER = ("{\"orderId\":22542179,\"symbol\":\"BTCUSDT\",\"status\":\"NEW\","
+            + "\"clientOrderId\":\"owl-7f3a9c2e-0001\",\"price\":\"65432.1\",\"avgPrice\":\"0.00000\",\"origQty\":\"0.001\","
+            + "\"executedQty\":\"0\",\"cumQty\":\"0\",\"cumQuote\":\"0\",\"timeInForce\":\"GTC\",\"type\":\"LIMIT\","
+            + "\"reduceOnly\":false,\"closePosition\":false,\"side\":\"BUY\",\"positionSide\":\"BOTH\",\"stopPrice\":\"0\","
+            + "\"workingType\":\"CONTRACT_PRICE\",\"priceProtect\":false,\"origType\":\"LIMIT\",\"updateTime\":1566818724722}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR = "{\"code\":-2019,\"msg\":\"Margin is insufficient.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private OkHttpClient success;
+    private OkHttpClient failure;
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        success = cannedClient(200, ORDER);
+        failure = cannedClient(400, ERROR);
+        request = RequestBuilder.buildApiKeyRequest(Fixtures.BASE_URL + Fixtures.ORDER_PATH, HttpMethod.POST, Fixtures.API_KEY);
+    }
+
+    @Benchmark
+    public String successString() {
+        return ResponseHandler.handleResponse(success, request, false, null);
+    }
+
+    @Benchmark
+    public String successShowLimitUsage() {
+        return ResponseHandler.handleResponse(success, request, true, null);
+    }
+
+    @Benchmark
+    public Order successDecoded() {
+        return ResponseHandler.handleResponse(success, request, ResponseDecoders.ORDER, null);
+    }
+
+    @Benchmark
+    public BinanceClientException error() {
+        try {
+            ResponseHandler.handleResponse(failure, request, false, null);
+            throw new IllegalStateException("error response was not rejected");
+        } catch (BinanceClientException e) {
+            return e;
+        }
+    }
+
+    private static OkHttpClient cannedClient(int code, byte[] body) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(code)
+                        .message(code == 200 ? "OK" : "Bad Request")
+                        .header("x-mbx-used-weight-1m", "1")
+                        .body(ResponseBody.create(body, JSON))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.owl.owlproject.benchmark;
+
+import com.owl.owlproject.utils.QueryEncoder;
+import com.owl.owlproject.utils.SignatureGenerator;
+import com.owl.owlproject.utils.UrlBuilder;
+import com.owl.owlproject.utils.signer.HmacSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+    private LinkedHashMap<String, Object> parameters;
+    private String query;
+    private HmacSigner signer;
+
+    @Setup
+    public void setUp() {
+        parameters = Fixtures.orderParameters();
+        query = UrlBuilder.joinQueryParameters(parameters);
+        signer = new HmacSigner(Fixtures.SECRET_KEY);
+    }
+
+    // baseline, the deprecated per-call signer
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String getSignature() {
+        return SignatureGenerator.getSignature(query, Fixtures.SECRET_KEY);
+    }
+
+    @Benchmark
+    public String hmacSignerSign() {
+        QueryEncoder encoder = QueryEncoder.get().appendParameters(parameters);
+        return signer.sign(encoder.buffer(), 0, encoder.length());
+    }
+
+    // the signed url as RequestHandler builds it: encode, sign in place, turn into the url
+    @Benchmark
+    public String signedUrl() {
+        return QueryEncoder.get().appendParameters(parameters)
+                .appendSignature(signer)
+                .toUrl(Fixtures.BASE_URL, Fixtures.ORDER_PATH);
+    }
+}
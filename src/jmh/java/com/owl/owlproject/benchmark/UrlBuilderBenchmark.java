@@ -0,0 +1,49 @@
+package com.owl.owlproject.benchmark;
+
+import com.owl.owlproject.utils.QueryEncoder;
+import com.owl.owlproject.utils.UrlBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBuilderBenchmark {
+    private static final String SIGNATURE = "c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71";
+
+    private LinkedHashMap<String, Object> parameters;
+
+    @Setup
+    public void setUp() {
+        parameters = Fixtures.orderParameters();
+    }
+
+    @Benchmark
+    public String joinQueryParameters() {
+        return UrlBuilder.joinQueryParameters(parameters);
+    }
+
+    @Benchmark
+    public String buildFullUrl() {
+        return UrlBuilder.buildFullUrl(Fixtures.BASE_URL, Fixtures.ORDER_PATH, parameters, SIGNATURE);
+    }
+
+    @Benchmark
+    public String queryEncoderToUrl() {
+        return QueryEncoder.get().appendParameters(parameters).toUrl(Fixtures.BASE_URL, Fixtures.ORDER_PATH);
+    }
+}
@@ -0,0 +1,295 @@
+package com.owl.owlproject.loadtest;
+
+import com.owl.owlproject.enums.Side;
+import com.owl.owlproject.enums.TimeInForce;
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceRateLimitException;
+import com.owl.owlproject.exceptions.BinanceServerException;
+import com.owl.owlproject.impl.UMFuturesClientImpl;
+import com.owl.owlproject.impl.um_futures.UMAccount;
+import com.owl.owlproject.impl.um_futures.UMMarket;
+import com.owl.owlproject.model.request.CancelOrderRequest;
+import com.owl.owlproject.model.request.NewOrderRequest;
+import com.owl.owlproject.model.request.QueryOrderRequest;
+import com.owl.owlproject.model.response.Order;
+import com.owl.owlproject.model.response.ResponseDecoders;
+import com.owl.owlproject.utils.ratelimit.OrderRateGovernor;
+import com.owl.owlproject.utils.ratelimit.RequestWeightLimiter;
+import com.owl.owlproject.utils.retry.RetryPolicy;
+import com.owl.owlproject.utils.websocket.WebSocketApiSession;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of {@link UMFuturesClientImpl} against a {@link MockExchange}, run with
+ * {@code gradle loadTest -PloadTestArgs="threads=16 seconds=20 scenario=mixed latency=5 jitter=5 serverErrors=0.01"}.
+ * <br>
+ * Every worker thread calls the client in a loop, a warmup period is run first and not reported.
+ * Reports the throughput, the latency percentiles of the successful calls, the errors by type and the bytes
+ * allocated per call by the calling threads.
+ * <br>
+ * Options, as key=value:
+ * <ul>
+ *     <li>threads: worker threads, default 8</li>
+ *     <li>seconds: measured duration, default 10</li>
+ *     <li>warmup: warmup duration in seconds, default 3</li>
+ *     <li>scenario: market (markPrice, bookTicker, depth), orders (new, modify, query and cancel an order) or mixed, default mixed</li>
+ *     <li>transport: rest, or ws to send new, modify and cancel order requests over the WebSocket API, default rest</li>
+ *     <li>decode: decode the responses into the model classes instead of returning Strings, default false</li>
+ *     <li>latency, jitter: response delay of the mock exchange in milliseconds, default 0</li>
+ *     <li>rateLimited, serverErrors, timestampErrors: rates of the injected 429, 503 and -1021 errors, default 0</li>
+ *     <li>limits: keep the client side weight limiter and order governor, default false</li>
+ *     <li>retries: keep the default retry policy, default true</li>
+ * </ul>
+ */
+public final class LoadTest {
+    private static final String[] SYMBOLS = {"BTCUSDT", "ETHUSDT", "BNBUSDT", "SOLUSDT", "XRPUSDT"};
+
+    private final int threads;
+    private final long seconds;
+    private final long warmupSeconds;
+    private final String scenario;
+    private final boolean decode;
+    private final String transport;
+
+    private LoadTest(Map<String, String> options) {
+        this.threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+        this.seconds = Long.parseLong(options.getOrDefault("seconds", "10"));
+        this.warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "3"));
+        this.scenario = options.getOrDefault("scenario", "mixed");
+        this.decode = Boolean.parseBoolean(options.getOrDefault("decode", "false"));
+        this.transport = options.getOrDefault("transport", "rest");
+        if (!"rest".equals(transport) && !"ws".equals(transport)) {
+            throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+        if (!"market".equals(scenario) && !"orders".equals(scenario) && !"mixed".equals(scenario)) {
+            throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        MockExchange.Builder exchangeBuilder = MockExchange.builder()
+                .latencyMillis(Long.parseLong(options.getOrDefault("latency", "0")), Long.parseLong(options.getOrDefault("jitter", "0")))
+                .rateLimitRate(Double.parseDouble(options.getOrDefault("rateLimited", "0")))
+                .serverErrorRate(Double.parseDouble(options.getOrDefault("serverErrors", "0")))
+                .timestampErrorRate(Double.parseDouble(options.getOrDefault("timestampErrors", "0")))
+                .symbols(SYMBOLS);
+        try (MockExchange exchange = exchangeBuilder.build().start()) {
+            UMFuturesClientImpl.Builder clientBuilder = UMFuturesClientImpl.builder()
+                    .apiKey(MockExchange.API_KEY)
+                    .secretKey(MockExchange.SECRET_KEY)
+                    .baseUrl(exchange.getBaseUrl());
+            if (Boolean.parseBoolean(options.getOrDefault("limits", "false"))) {
+                clientBuilder.weightLimiter(new RequestWeightLimiter()).orderGovernor(new OrderRateGovernor());
+            }
+            if (Boolean.parseBoolean(options.getOrDefault("retries", "true"))) {
+                clientBuilder.retryPolicy(RetryPolicy.DEFAULT);
+            }
+            if ("ws".equals(options.get("transport"))) {
+                clientBuilder.orderSessionUrl(exchange.getWsApiUrl());
+            }
+            UMFuturesClientImpl client = clientBuilder.build();
+            WebSocketApiSession session = client.getOrderSession();
+            System.out.println("Options: " + options);
+            try {
+                new LoadTest(options).run(client, exchange);
+            } finally {
+                if (null != session) {
+                    session.close();
+                }
+            }
+        }
+    }
+
+    private void run(UMFuturesClientImpl client, MockExchange exchange) throws InterruptedException {
+        Worker[] workers = new Worker[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(client.market(), client.account(), measureFrom, measureTo, done);
+            Thread thread = new Thread(workers[i], "load-test-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        long exchangeRequestsBefore = waitUntil(measureFrom, exchange);
+        done.await();
+        long exchangeRequests = exchange.getRequests() - exchangeRequestsBefore;
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        Map<String, Long> errors = new TreeMap<>();
+        long allocated = 0;
+        long calls = 0;
+        for (Worker worker : workers) {
+            latencies.add(worker.latencies);
+            worker.errors.forEach((error, count) -> errors.merge(error, count, Long::sum));
+            allocated += worker.allocatedBytes;
+            calls += worker.calls;
+        }
+        report(calls, exchangeRequests, latencies, errors, allocated);
+    }
+
+    // the server count is read at the end of the warmup, so it covers the same period as the calls
+    private static long waitUntil(long nanoTime, MockExchange exchange) throws InterruptedException {
+        long wait;
+        while ((wait = nanoTime - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return exchange.getRequests();
+    }
+
+    private void report(long calls, long exchangeRequests, LatencyHistogram latencies, Map<String, Long> errors, long allocated) {
+        System.out.printf("Scenario %s, %d threads, %d s, decode=%s, transport=%s%n", scenario, threads, seconds, decode, transport);
+        System.out.printf("Calls:        %d (%.1f/s), %d reached the exchange%n", calls, (double) calls / seconds, exchangeRequests);
+        System.out.printf("Succeeded:    %d%n", latencies.getCount());
+        System.out.printf("Latency us:   mean %.1f  p50 %d  p90 %d  p99 %d  p99.9 %d  max %d%n",
+                latencies.getMeanMicros(),
+                latencies.getValueAtQuantile(0.50),
+                latencies.getValueAtQuantile(0.90),
+                latencies.getValueAtQuantile(0.99),
+                latencies.getValueAtQuantile(0.999),
+                latencies.getMaxMicros());
+        System.out.printf("Allocation:   %d bytes/call on the calling threads%n", calls == 0 ? 0 : allocated / calls);
+        errors.forEach((error, count) -> System.out.printf("Error:        %-40s %d%n", error, count));
+    }
+
+    private final class Worker implements Runnable {
+        private final UMMarket market;
+        private final UMAccount account;
+        private final long measureFrom;
+        private final long measureTo;
+        private final CountDownLatch done;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final Map<String, Long> errors = new TreeMap<>();
+        private long calls;
+        private long allocatedBytes;
+        private boolean measuring;
+        private int sequence;
+
+        private Worker(UMMarket market, UMAccount account, long measureFrom, long measureTo, CountDownLatch done) {
+            this.market = market;
+            this.account = account;
+            this.measureFrom = measureFrom;
+            this.measureTo = measureTo;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = 0;
+            try {
+                long now;
+                while ((now = System.nanoTime()) < measureTo) {
+                    if (!measuring && now >= measureFrom) {
+                        measuring = true;
+                        allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+                    }
+                    boolean orders = "orders".equals(scenario)
+                            || "mixed".equals(scenario) && ThreadLocalRandom.current().nextInt(5) == 0;
+                    if (orders) {
+                        orderCycle();
+                    } else {
+                        marketCall();
+                    }
+                }
+                allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void marketCall() {
+            String symbol = SYMBOLS[sequence++ % SYMBOLS.length];
+            LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+            parameters.put("symbol", symbol);
+            switch (sequence % 3) {
+                case 0:
+                    call(() -> decode ? market.markPrice(parameters, ResponseDecoders.MARK_PRICE) : market.markPrice(parameters));
+                    break;
+                case 1:
+                    call(() -> market.bookTicker(parameters));
+                    break;
+                default:
+                    parameters.put("limit", 5);
+                    call(() -> decode ? market.depth(parameters, ResponseDecoders.ORDER_BOOK) : market.depth(parameters));
+                    break;
+            }
+        }
+
+        // new order, modify it, query it, cancel it, each is counted as a call of its own
+        private void orderCycle() {
+            String symbol = SYMBOLS[sequence++ % SYMBOLS.length];
+            NewOrderRequest order = NewOrderRequest.limit(symbol, Side.BUY, TimeInForce.GTC)
+                    .quantity(1, 3)
+                    .price(10_000L + sequence % 100, 1)
+                    .build();
+            Order placed = call(() -> account.newOrder(order, ResponseDecoders.ORDER));
+            if (null == placed) {
+                return;
+            }
+            LinkedHashMap<String, Object> modify = new LinkedHashMap<>();
+            modify.put("symbol", symbol);
+            modify.put("orderId", placed.getOrderId());
+            modify.put("side", "BUY");
+            modify.put("quantity", "0.001");
+            modify.put("price", "9999.0");
+            call(() -> account.modifyOrder(modify));
+            QueryOrderRequest query = QueryOrderRequest.byOrderId(symbol, placed.getOrderId());
+            call(() -> decode ? account.queryOrder(query, ResponseDecoders.ORDER) : account.queryOrder(query));
+            CancelOrderRequest cancel = CancelOrderRequest.byOrderId(symbol, placed.getOrderId());
+            call(() -> decode ? account.cancelOrder(cancel, ResponseDecoders.ORDER) : account.cancelOrder(cancel));
+        }
+
+        private <T> T call(Call<T> call) {
+            long start = System.nanoTime();
+            try {
+                T result = call.invoke();
+                if (measuring) {
+                    calls++;
+                    latencies.record(System.nanoTime() - start);
+                }
+                return result;
+            } catch (BinanceClientException e) {
+                error("client " + e.getHttpStatusCode() + " " + e.getErrorCode());
+            } catch (BinanceServerException e) {
+                error("server " + e.getHttpStatusCode());
+            } catch (BinanceRateLimitException e) {
+                error("rejected by the client limiter");
+            } catch (BinanceConnectorException e) {
+                error("connector " + e.getMessage());
+            }
+            return null;
+        }
+
+        private void error(String error) {
+            if (measuring) {
+                calls++;
+                errors.merge(error, 1L, Long::sum);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T invoke();
+    }
+}
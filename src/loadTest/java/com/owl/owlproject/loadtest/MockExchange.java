@@ -0,0 +1,699 @@
+package com.owl.owlproject.loadtest;
+
+import com.owl.owlproject.utils.signer.HmacSigner;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for the /fapi/v1 endpoints of the USDⓈ-M Futures API, so the client can be driven without the testnet.
+ * <br>
+ * Market data responses are generated per symbol, orders are kept in memory, so an order placed by newOrder
+ * can be queried and canceled. Every response is delayed by the configured latency and carries the used
+ * weight and order count headers. 429, 5xx and -1021 errors are injected at the configured rates.
+ * The order methods of the WebSocket API (order.place, order.modify, order.cancel, order.status) are served at
+ * {@link #getWsApiUrl()} from the same orders, with the same latency and errors.
+ * <pre>{@code
+ * try (MockExchange exchange = MockExchange.builder().latencyMillis(5, 2).serverErrorRate(0.01).build().start()) {
+ *     UMFuturesClientImpl client = new UMFuturesClientImpl(MockExchange.API_KEY, MockExchange.SECRET_KEY, exchange.getBaseUrl());
+ *     client.market().markPrice(parameters);
+ * }
+ * }</pre>
+ */
+public final class MockExchange implements AutoCloseable {
+    public static final String API_KEY = "mockExchangeApiKey0000000000000000000000000000000000000000000000";
+    public static final String SECRET_KEY = "mockExchangeSecretKey000000000000000000000000000000000000000000";
+
+    private static final String PREFIX = "/fapi";
+    private static final String WS_API_PATH = "/ws-fapi/v1";
+    private static final String ORDER = "/v1/order";
+    private static final Map<String, String> WS_API_METHODS = Map.of(
+            "order.place", "POST",
+            "order.modify", "PUT",
+            "order.cancel", "DELETE",
+            "order.status", "GET");
+    private static final String SIGNATURE = "&signature=";
+    private static final long WEIGHT_WINDOW_MILLIS = 60_000L;
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double rateLimitRate;
+    private final double serverErrorRate;
+    private final double timestampErrorRate;
+    private final HmacSigner signer;
+    private final List<String> symbols;
+    private final MockWebServer server = new MockWebServer();
+    private final Map<Long, JSONObject> orders = new ConcurrentHashMap<>();
+    private final AtomicLong orderIds = new AtomicLong(1_000_000L);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    private final AtomicLong timestampErrors = new AtomicLong();
+    private final ScheduledExecutorService replies = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mock-exchange-ws-api");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long weightWindow;
+    private int usedWeight;
+    private long orderWindow10s;
+    private int orderCount10s;
+    private long orderWindow1m;
+    private int orderCount1m;
+
+    private MockExchange(Builder builder) {
+        this.latencyMillis = builder.latencyMillis;
+        this.latencyJitterMillis = builder.latencyJitterMillis;
+        this.rateLimitRate = builder.rateLimitRate;
+        this.serverErrorRate = builder.serverErrorRate;
+        this.timestampErrorRate = builder.timestampErrorRate;
+        this.signer = null == builder.secretKey ? null : new HmacSigner(builder.secretKey);
+        this.symbols = builder.symbols;
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return MockExchange.this.dispatch(request);
+            }
+        });
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public MockExchange start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    /**
+     * @return base url to create the client with, the client appends /fapi itself
+     */
+    public String getBaseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * @return url of the WebSocket API to create a WebSocketApiSession with
+     */
+    public String getWsApiUrl() {
+        return "ws" + server.url(WS_API_PATH).toString().substring("http".length());
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    public long getServerErrors() {
+        return serverErrors.get();
+    }
+
+    public long getTimestampErrors() {
+        return timestampErrors.get();
+    }
+
+    public int getOpenOrders() {
+        return orders.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        replies.shutdownNow();
+        server.shutdown();
+    }
+
+    private MockResponse dispatch(RecordedRequest request) {
+        HttpUrl url = request.getRequestUrl();
+        String path = url.encodedPath();
+        if (WS_API_PATH.equals(path)) {
+            return new MockResponse().withWebSocketUpgrade(new WebSocketApi());
+        }
+        requests.incrementAndGet();
+        String method = request.getMethod();
+        String endpoint = path.startsWith(PREFIX) ? path.substring(PREFIX.length()) : path;
+        boolean signed = null != url.queryParameter("signature");
+
+        MockResponse response = respond(method, endpoint, url, signed ? () -> checkSigned(request, url) : null);
+        long delay = delayMillis();
+        if (delay > 0) {
+            response.setHeadersDelay(delay, TimeUnit.MILLISECONDS);
+        }
+        return countUsage(response, weight(endpoint, url), isOrder(method, endpoint));
+    }
+
+    // injects the errors, then checks the signature when the request is signed and routes it
+    private MockResponse respond(String method, String endpoint, HttpUrl url, Supplier<MockResponse> signatureCheck) {
+        boolean signed = null != signatureCheck;
+        MockResponse response;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < rateLimitRate) {
+            rateLimited.incrementAndGet();
+            response = error(429, -1003, "Too many requests; current limit of IP(127.0.0.1) request weight is 2400 per 1 minute.")
+                    .setHeader("Retry-After", "1");
+        } else if (random.nextDouble() < serverErrorRate) {
+            serverErrors.incrementAndGet();
+            response = error(503, -1001, "Internal error; unable to process your request. Please try again.");
+        } else if (signed && random.nextDouble() < timestampErrorRate) {
+            timestampErrors.incrementAndGet();
+            response = error(400, -1021, "Timestamp for this request is outside of the recvWindow.");
+        } else {
+            response = signed ? signatureCheck.get() : null;
+            if (null == response) {
+                response = route(method, endpoint, url);
+            }
+        }
+        return response;
+    }
+
+    private long delayMillis() {
+        return latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+    }
+
+    private static boolean isOrder(String method, String endpoint) {
+        return ("POST".equals(method) || "PUT".equals(method)) && ORDER.equals(endpoint);
+    }
+
+    private MockResponse checkSigned(RecordedRequest request, HttpUrl url) {
+        if (null == request.getHeader("X-MBX-APIKEY")) {
+            return error(401, -2015, "Invalid API-key, IP, or permissions for action.");
+        }
+        if (null == url.queryParameter("timestamp")) {
+            return error(400, -1102, "Mandatory parameter 'timestamp' was not sent, was empty/null, or malformed.");
+        }
+        if (null != signer) {
+            String query = url.encodedQuery();
+            int index = query.lastIndexOf(SIGNATURE);
+            if (index < 0 || !signer.sign(query.substring(0, index))
+                    .equals(query.substring(index + SIGNATURE.length()))) {
+                return error(400, -1022, "Signature for this request is not valid.");
+            }
+        }
+        return null;
+    }
+
+    private MockResponse route(String method, String endpoint, HttpUrl url) {
+        String symbol = url.queryParameter("symbol");
+        switch (method + " " + endpoint) {
+            case "GET /v1/ping":
+                return ok(new JSONObject());
+            case "GET /v1/time":
+                return ok(new JSONObject().put("serverTime", System.currentTimeMillis()));
+            case "GET /v1/exchangeInfo":
+                return ok(exchangeInfo());
+            case "GET /v1/premiumIndex":
+                return null == symbol ? ok(eachSymbol(this::markPrice)) : ok(markPrice(symbol));
+            case "GET /v1/ticker/price":
+                return null == symbol ? ok(eachSymbol(this::tickerPrice)) : ok(tickerPrice(symbol));
+            case "GET /v1/ticker/bookTicker":
+                return null == symbol ? ok(eachSymbol(this::bookTicker)) : ok(bookTicker(symbol));
+            case "GET /v1/depth":
+                return ok(depth(symbol, parseInt(url.queryParameter("limit"), 500)));
+            case "GET /v1/positionSide/dual":
+                return ok(new JSONObject().put("dualSidePosition", false));
+            case "POST /v1/listenKey":
+            case "PUT /v1/listenKey":
+                return ok(new JSONObject().put("listenKey", "mockListenKey" + Long.toHexString(orderIds.get())));
+            case "DELETE /v1/listenKey":
+                return ok(new JSONObject());
+            case "POST /v1/order":
+                return newOrder(url);
+            case "GET /v1/order":
+                return queryOrder(url);
+            case "PUT /v1/order":
+                return modifyOrder(url);
+            case "DELETE /v1/order":
+                return cancelOrder(url);
+            case "GET /v1/openOrders":
+                return ok(openOrders(symbol));
+            default:
+                return error(404, -1000, "Endpoint not served by the mock exchange: " + method + " " + PREFIX + endpoint);
+        }
+    }
+
+    private MockResponse newOrder(HttpUrl url) {
+        String symbol = url.queryParameter("symbol");
+        if (null == symbol || null == url.queryParameter("side") || null == url.queryParameter("type")) {
+            return error(400, -1102, "Mandatory parameter was not sent, was empty/null, or malformed.");
+        }
+        long orderId = orderIds.incrementAndGet();
+        long now = System.currentTimeMillis();
+        String clientOrderId = url.queryParameter("newClientOrderId");
+        String price = valueOr(url.queryParameter("price"), "0");
+        String quantity = valueOr(url.queryParameter("quantity"), "0");
+        JSONObject order = new JSONObject()
+                .put("orderId", orderId)
+                .put("symbol", symbol)
+                .put("status", "NEW")
+                .put("clientOrderId", null == clientOrderId ? "mock-" + orderId : clientOrderId)
+                .put("price", price)
+                .put("avgPrice", "0.00000")
+                .put("origQty", quantity)
+                .put("executedQty", "0")
+                .put("cumQty", "0")
+                .put("cumQuote", "0")
+                .put("timeInForce", valueOr(url.queryParameter("timeInForce"), "GTC"))
+                .put("type", url.queryParameter("type"))
+                .put("reduceOnly", Boolean.parseBoolean(url.queryParameter("reduceOnly")))
+                .put("closePosition", false)
+                .put("side", url.queryParameter("side"))
+                .put("positionSide", valueOr(url.queryParameter("positionSide"), "BOTH"))
+                .put("stopPrice", valueOr(url.queryParameter("stopPrice"), "0"))
+                .put("workingType", "CONTRACT_PRICE")
+                .put("priceProtect", false)
+                .put("origType", url.queryParameter("type"))
+                .put("updateTime", now);
+        orders.put(orderId, order);
+        return ok(order);
+    }
+
+    private MockResponse queryOrder(HttpUrl url) {
+        JSONObject order = findOrder(url);
+        return null == order ? error(400, -2013, "Order does not exist.") : ok(order);
+    }
+
+    private MockResponse modifyOrder(HttpUrl url) {
+        JSONObject order = findOrder(url);
+        if (null == order) {
+            return error(400, -2013, "Order does not exist.");
+        }
+        if (null == url.queryParameter("quantity") || null == url.queryParameter("price")) {
+            return error(400, -1102, "Mandatory parameter was not sent, was empty/null, or malformed.");
+        }
+        synchronized (order) {
+            order.put("price", url.queryParameter("price"))
+                    .put("origQty", url.queryParameter("quantity"))
+                    .put("updateTime", System.currentTimeMillis());
+            return ok(new JSONObject(order.toMap()));
+        }
+    }
+
+    private MockResponse cancelOrder(HttpUrl url) {
+        JSONObject order = findOrder(url);
+        if (null == order || null == orders.remove(order.getLong("orderId"))) {
+            return error(400, -2011, "Unknown order sent.");
+        }
+        return ok(new JSONObject(order.toMap()).put("status", "CANCELED").put("updateTime", System.currentTimeMillis()));
+    }
+
+    private JSONObject findOrder(HttpUrl url) {
+        String orderId = url.queryParameter("orderId");
+        if (null != orderId) {
+            return orders.get(Long.parseLong(orderId));
+        }
+        String clientOrderId = url.queryParameter("origClientOrderId");
+        for (JSONObject order : orders.values()) {
+            if (order.getString("clientOrderId").equals(clientOrderId)) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    private JSONArray openOrders(String symbol) {
+        JSONArray open = new JSONArray();
+        for (JSONObject order : orders.values()) {
+            if (null == symbol || symbol.equals(order.getString("symbol"))) {
+                open.put(order);
+            }
+        }
+        return open;
+    }
+
+    private JSONObject exchangeInfo() {
+        JSONArray symbolInfo = new JSONArray();
+        for (String symbol : symbols) {
+            symbolInfo.put(new JSONObject()
+                    .put("symbol", symbol)
+                    .put("pair", symbol)
+                    .put("contractType", "PERPETUAL")
+                    .put("status", "TRADING")
+                    .put("baseAsset", symbol.substring(0, symbol.length() - 4))
+                    .put("quoteAsset", "USDT")
+                    .put("pricePrecision", 2)
+                    .put("quantityPrecision", 3)
+                    .put("filters", new JSONArray()
+                            .put(new JSONObject().put("filterType", "PRICE_FILTER").put("tickSize", "0.10"))
+                            .put(new JSONObject().put("filterType", "LOT_SIZE").put("stepSize", "0.001"))));
+        }
+        return new JSONObject()
+                .put("timezone", "UTC")
+                .put("serverTime", System.currentTimeMillis())
+                .put("rateLimits", new JSONArray()
+                        .put(new JSONObject().put("rateLimitType", "REQUEST_WEIGHT").put("interval", "MINUTE").put("intervalNum", 1).put("limit", 2400))
+                        .put(new JSONObject().put("rateLimitType", "ORDERS").put("interval", "SECOND").put("intervalNum", 10).put("limit", 300))
+                        .put(new JSONObject().put("rateLimitType", "ORDERS").put("interval", "MINUTE").put("intervalNum", 1).put("limit", 1200)))
+                .put("symbols", symbolInfo);
+    }
+
+    private JSONObject markPrice(String symbol) {
+        double price = price(symbol);
+        long now = System.currentTimeMillis();
+        return new JSONObject()
+                .put("symbol", symbol)
+                .put("markPrice", format(price))
+                .put("indexPrice", format(price * 0.9999))
+                .put("estimatedSettlePrice", format(price * 1.0001))
+                .put("lastFundingRate", "0.00010000")
+                .put("interestRate", "0.00010000")
+                .put("nextFundingTime", (now / 28_800_000L + 1) * 28_800_000L)
+                .put("time", now);
+    }
+
+    private JSONObject tickerPrice(String symbol) {
+        return new JSONObject().put("symbol", symbol).put("price", format(price(symbol))).put("time", System.currentTimeMillis());
+    }
+
+    private JSONObject bookTicker(String symbol) {
+        double price = price(symbol);
+        long now = System.currentTimeMillis();
+        return new JSONObject()
+                .put("symbol", symbol)
+                .put("bidPrice", format(price - 0.1))
+                .put("bidQty", "1.250")
+                .put("askPrice", format(price + 0.1))
+                .put("askQty", "0.840")
+                .put("time", now);
+    }
+
+    private JSONObject depth(String symbol, int limit) {
+        double price = price(null == symbol ? symbols.get(0) : symbol);
+        JSONArray bids = new JSONArray();
+        JSONArray asks = new JSONArray();
+        for (int i = 1; i <= limit; i++) {
+            bids.put(new JSONArray().put(format(price - i * 0.1)).put("0.500"));
+            asks.put(new JSONArray().put(format(price + i * 0.1)).put("0.500"));
+        }
+        long now = System.currentTimeMillis();
+        return new JSONObject()
+                .put("lastUpdateId", orderIds.get())
+                .put("E", now)
+                .put("T", now)
+                .put("bids", bids)
+                .put("asks", asks);
+    }
+
+    private JSONArray eachSymbol(Function<String, JSONObject> generator) {
+        JSONArray array = new JSONArray();
+        for (String symbol : symbols) {
+            array.put(generator.apply(symbol));
+        }
+        return array;
+    }
+
+    // a slow random walk around a price derived from the symbol, so consecutive calls differ
+    private static double price(String symbol) {
+        double base = 100 + Math.abs(symbol.hashCode() % 60_000);
+        return base + ThreadLocalRandom.current().nextInt(-50, 51) * 0.1;
+    }
+
+    private static int weight(String endpoint, HttpUrl url) {
+        switch (endpoint) {
+            case "/v1/depth":
+                int limit = parseInt(url.queryParameter("limit"), 500);
+                return limit <= 50 ? 2 : limit <= 100 ? 5 : limit <= 500 ? 10 : 20;
+            case "/v1/ticker/price":
+            case "/v1/ticker/bookTicker":
+                return null == url.queryParameter("symbol") ? 2 : 1;
+            case "/v1/openOrders":
+                return null == url.queryParameter("symbol") ? 40 : 1;
+            default:
+                return 1;
+        }
+    }
+
+    private synchronized MockResponse countUsage(MockResponse response, int weight, boolean order) {
+        long now = System.currentTimeMillis();
+        if (now / WEIGHT_WINDOW_MILLIS != weightWindow) {
+            weightWindow = now / WEIGHT_WINDOW_MILLIS;
+            usedWeight = 0;
+        }
+        usedWeight += weight;
+        response.setHeader("X-MBX-USED-WEIGHT-1M", usedWeight);
+        if (order) {
+            if (now / 10_000L != orderWindow10s) {
+                orderWindow10s = now / 10_000L;
+                orderCount10s = 0;
+            }
+            if (now / 60_000L != orderWindow1m) {
+                orderWindow1m = now / 60_000L;
+                orderCount1m = 0;
+            }
+            response.setHeader("X-MBX-ORDER-COUNT-10S", ++orderCount10s);
+            response.setHeader("X-MBX-ORDER-COUNT-1M", ++orderCount1m);
+        }
+        return response;
+    }
+
+    private static MockResponse ok(Object body) {
+        return new MockResponse().setResponseCode(200).setHeader("Content-Type", "application/json").setBody(body.toString());
+    }
+
+    private static MockResponse error(int status, int code, String msg) {
+        return new MockResponse().setResponseCode(status).setHeader("Content-Type", "application/json")
+                .setBody(new JSONObject().put("code", code).put("msg", msg).toString());
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+
+    private static String valueOr(String value, String fallback) {
+        return null == value ? fallback : value;
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return null == value ? fallback : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    // {"id":..,"method":"order.place","params":{..}} is answered with the response of the matching REST request
+    private final class WebSocketApi extends WebSocketListener {
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            requests.incrementAndGet();
+            JSONObject request = new JSONObject(text);
+            String method = WS_API_METHODS.get(request.optString("method"));
+            JSONObject params = request.optJSONObject("params");
+            MockResponse response;
+            if (null == method || null == params) {
+                response = error(400, -1000, "Method not served by the mock exchange: " + request.optString("method"));
+            } else {
+                HttpUrl.Builder url = server.url(PREFIX + ORDER).newBuilder();
+                for (String key : params.keySet()) {
+                    url.addQueryParameter(key, String.valueOf(params.get(key)));
+                }
+                response = respond(method, ORDER, url.build(), () -> checkSigned(params));
+            }
+            countUsage(response, "GET".equals(method) ? 1 : 0, isOrder(method, ORDER));
+            String reply = toFrame(request.opt("id"), response);
+            long delay = delayMillis();
+            if (delay > 0) {
+                replies.schedule(() -> webSocket.send(reply), delay, TimeUnit.MILLISECONDS);
+            } else {
+                webSocket.send(reply);
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+        }
+    }
+
+    // the WebSocket API signs the parameters sorted by name
+    private MockResponse checkSigned(JSONObject params) {
+        if (!params.has("apiKey")) {
+            return error(401, -2015, "Invalid API-key, IP, or permissions for action.");
+        }
+        if (!params.has("timestamp")) {
+            return error(400, -1102, "Mandatory parameter 'timestamp' was not sent, was empty/null, or malformed.");
+        }
+        if (null != signer) {
+            StringBuilder payload = new StringBuilder();
+            for (String key : new TreeSet<>(params.keySet())) {
+                if (!"signature".equals(key)) {
+                    payload.append(payload.length() == 0 ? "" : "&").append(key).append('=').append(params.get(key));
+                }
+            }
+            if (!signer.sign(payload.toString()).equals(params.optString("signature"))) {
+                return error(400, -1022, "Signature for this request is not valid.");
+            }
+        }
+        return null;
+    }
+
+    private static String toFrame(Object id, MockResponse response) {
+        int status = Integer.parseInt(response.getStatus().split(" ")[1]);
+        Object body = null == response.getBody() ? new JSONObject() : parseBody(response.getBody().clone().readUtf8());
+        Headers headers = response.getHeaders();
+        JSONArray rateLimits = new JSONArray()
+                .put(rateLimit("REQUEST_WEIGHT", "MINUTE", 1, 2400, headers.get("X-MBX-USED-WEIGHT-1M")));
+        if (null != headers.get("X-MBX-ORDER-COUNT-10S")) {
+            rateLimits.put(rateLimit("ORDERS", "SECOND", 10, 300, headers.get("X-MBX-ORDER-COUNT-10S")))
+                    .put(rateLimit("ORDERS", "MINUTE", 1, 1200, headers.get("X-MBX-ORDER-COUNT-1M")));
+        }
+        return new JSONObject()
+                .put("id", id)
+                .put("status", status)
+                .put(status < 400 ? "result" : "error", body)
+                .put("rateLimits", rateLimits)
+                .toString();
+    }
+
+    private static Object parseBody(String body) {
+        return body.startsWith("[") ? new JSONArray(body) : new JSONObject(body);
+    }
+
+    private static JSONObject rateLimit(String type, String interval, int intervalNum, int limit, String count) {
+        return new JSONObject()
+                .put("rateLimitType", type)
+                .put("interval", interval)
+                .put("intervalNum", intervalNum)
+                .put("limit", limit)
+                .put("count", null == count ? 0 : Integer.parseInt(count));
+    }
+
+    // MockWebServer writes the headers and the body separately, with Nagle on every response
+    // would wait for the delayed ack of the client, adding about 40ms
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static final class Builder {
+        private long latencyMillis;
+        private long latencyJitterMillis;
+        private double rateLimitRate;
+        private double serverErrorRate;
+        private double timestampErrorRate;
+        private String secretKey = SECRET_KEY;
+        private List<String> symbols = Arrays.asList("BTCUSDT", "ETHUSDT", "BNBUSDT", "SOLUSDT", "XRPUSDT");
+
+        private Builder() {
+        }
+
+        /**
+         * @param latencyMillis delay of every response
+         * @param jitterMillis random extra delay, uniform between 0 and this
+         */
+        public Builder latencyMillis(long latencyMillis, long jitterMillis) {
+            if (latencyMillis < 0 || jitterMillis < 0) {
+                throw new IllegalArgumentException("latency < 0: " + latencyMillis + ", " + jitterMillis);
+            }
+            this.latencyMillis = latencyMillis;
+            this.latencyJitterMillis = jitterMillis;
+            return this;
+        }
+
+        /**
+         * @param rate share of the requests answered with 429 and a Retry-After of one second
+         */
+        public Builder rateLimitRate(double rate) {
+            this.rateLimitRate = checkRate(rate);
+            return this;
+        }
+
+        /**
+         * @param rate share of the requests answered with 503
+         */
+        public Builder serverErrorRate(double rate) {
+            this.serverErrorRate = checkRate(rate);
+            return this;
+        }
+
+        /**
+         * @param rate share of the signed requests answered with -1021, timestamp outside of the recvWindow
+         */
+        public Builder timestampErrorRate(double rate) {
+            this.timestampErrorRate = checkRate(rate);
+            return this;
+        }
+
+        /**
+         * @param secretKey key the HMAC signatures are verified with, null to accept any signature
+         */
+        public Builder secretKey(String secretKey) {
+            this.secretKey = secretKey;
+            return this;
+        }
+
+        public Builder symbols(String... symbols) {
+            if (symbols.length == 0) {
+                throw new IllegalArgumentException("No symbols");
+            }
+            this.symbols = Collections.unmodifiableList(Arrays.asList(symbols.clone()));
+            return this;
+        }
+
+        public MockExchange build() {
+            return new MockExchange(this);
+        }
+
+        private static double checkRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("rate not in [0, 1]: " + rate);
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.owl.owlproject.client;
+
+import com.owl.owlproject.model.stream.BookTicker;
+import com.owl.owlproject.model.stream.MarkPriceUpdate;
+import com.owl.owlproject.model.stream.Ticker;
+import com.owl.owlproject.utils.websocket.ConflatedStream;
+import com.owl.owlproject.utils.websocket.WebSocketCallback;
+
+public interface WebsocketClient extends AutoCloseable {
+    String subscribe(String stream, WebSocketCallback callback);
+    boolean unsubscribe(String stream);
+    String aggTradeStream(String symbol, WebSocketCallback callback);
+    String markPriceStream(String symbol, int speed, WebSocketCallback callback);
+    String bookTickerStream(String symbol, WebSocketCallback callback);
+    String diffDepthStream(String symbol, int speed, WebSocketCallback callback);
+    String klineStream(String symbol, String interval, WebSocketCallback callback);
+    String tickerStream(String symbol, WebSocketCallback callback);
+    ConflatedStream<MarkPriceUpdate> conflatedMarkPriceStream(int speed, String... symbols);
+    ConflatedStream<BookTicker> conflatedBookTickerStream(String... symbols);
+    ConflatedStream<Ticker> conflatedTickerStream(String... symbols);
+    @Override
+    void close();
+}
@@ -0,0 +1,19 @@
+package com.owl.owlproject.config;
+
+import com.owl.owlproject.utils.metrics.ConnectorMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connector metrics on the registry auto-configured by Actuator, set them on the clients when building them with
+ * {@code UMFuturesClientImpl.builder().metrics(connectorMetrics)}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ConnectorMetricsConfiguration {
+
+    @Bean
+    public ConnectorMetrics connectorMetrics(MeterRegistry meterRegistry) {
+        return new ConnectorMetrics(meterRegistry);
+    }
+}
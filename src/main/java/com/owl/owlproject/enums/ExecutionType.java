@@ -0,0 +1,10 @@
+package com.owl.owlproject.enums;
+
+public enum ExecutionType {
+    NEW,
+    CANCELED,
+    CALCULATED,
+    EXPIRED,
+    TRADE,
+    AMENDMENT
+}
@@ -0,0 +1,11 @@
+package com.owl.owlproject.enums;
+
+public enum OrderStatus {
+    NEW,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELED,
+    REJECTED,
+    EXPIRED,
+    EXPIRED_IN_MATCH
+}
@@ -0,0 +1,11 @@
+package com.owl.owlproject.enums;
+
+public enum OrderType {
+    LIMIT,
+    MARKET,
+    STOP,
+    STOP_MARKET,
+    TAKE_PROFIT,
+    TAKE_PROFIT_MARKET,
+    TRAILING_STOP_MARKET
+}
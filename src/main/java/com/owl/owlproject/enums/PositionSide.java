@@ -0,0 +1,7 @@
+package com.owl.owlproject.enums;
+
+public enum PositionSide {
+    BOTH,
+    LONG,
+    SHORT
+}
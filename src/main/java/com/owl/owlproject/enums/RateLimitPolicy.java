@@ -0,0 +1,8 @@
+package com.owl.owlproject.enums;
+
+public enum RateLimitPolicy {
+    /** wait until the request fits in the limit, up to the configured maximum wait */
+    QUEUE,
+    /** fail immediately with a BinanceRateLimitException */
+    REJECT
+}
@@ -0,0 +1,6 @@
+package com.owl.owlproject.enums;
+
+public enum Side {
+    BUY,
+    SELL
+}
@@ -0,0 +1,9 @@
+package com.owl.owlproject.enums;
+
+public enum TimeInForce {
+    GTC,
+    IOC,
+    FOK,
+    GTX,
+    GTD
+}
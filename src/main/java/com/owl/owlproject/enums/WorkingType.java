@@ -0,0 +1,6 @@
+package com.owl.owlproject.enums;
+
+public enum WorkingType {
+    MARK_PRICE,
+    CONTRACT_PRICE
+}
@@ -8,4 +8,8 @@ public class BinanceConnectorException extends RuntimeException {
         super(fullErrMsg);
     }
 
+    public BinanceConnectorException(String fullErrMsg, Throwable cause) {
+        super(fullErrMsg, cause);
+    }
+
 }
@@ -0,0 +1,21 @@
+package com.owl.owlproject.exceptions;
+
+/**
+ * Thrown before a request is sent when sending it would exceed a client side rate limit.
+ */
+public class BinanceRateLimitException extends BinanceConnectorException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterMillis;
+
+    public BinanceRateLimitException(String fullErrMsg, long retryAfterMillis) {
+        super(fullErrMsg);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return how long to wait before the request would be accepted by the limiter
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
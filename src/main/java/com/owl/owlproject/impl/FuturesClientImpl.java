@@ -1,22 +1,63 @@
 package com.owl.owlproject.impl;
 
 import com.owl.owlproject.client.FuturesClient;
+import com.owl.owlproject.utils.HttpClientConfig;
 import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.RequestHandler;
+import com.owl.owlproject.utils.cache.RequestCoalescer;
+import com.owl.owlproject.utils.cache.ResponseCache;
+import com.owl.owlproject.utils.event.RequestEventListener;
+import com.owl.owlproject.utils.metrics.ConnectorMetrics;
+import com.owl.owlproject.utils.ratelimit.OrderRateGovernor;
+import com.owl.owlproject.utils.ratelimit.RequestWeightLimiter;
+import com.owl.owlproject.utils.retry.RetryPolicy;
+import com.owl.owlproject.utils.signer.HmacSigner;
+import com.owl.owlproject.utils.signer.Signer;
+import com.owl.owlproject.utils.time.ServerTimeSync;
+import com.owl.owlproject.utils.time.TimeSource;
+import com.owl.owlproject.utils.websocket.WebSocketApiSession;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base of the futures clients. The endpoint facades returned by {@link #market()}, {@link #account()} and
+ * {@link #userData()} are created on first use and shared by every caller, with a single {@link RequestHandler}.
+ * <br>
+ * A client is configured once, through its builder, or through a constructor for the keys and the base url only,
+ * and one instance can be shared by all threads. The setters kept from the earlier mutable client are deprecated:
+ * a change replaces the facades cached for every thread, facades obtained before keep the old configuration.
+ */
 public abstract class FuturesClientImpl implements FuturesClient {
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    // tags the rate limit gauges of this client, e.g. UMFuturesClientImpl-1
+    private final String metricsTag = getClass().getSimpleName() + "-" + INSTANCES.incrementAndGet();
     private final String apiKey;
     private final String secretKey;
+    private final Signer signer;
     private final String baseUrl;
     private final String productUrl;
-    private boolean showLimitUsage;
-    private ProxyAuth proxy = null;
+    private final HttpClientConfig httpClientConfig;
+    private final RequestWeightLimiter weightLimiter;
+    private final OrderRateGovernor orderGovernor;
+    private final TimeSource timeSource;
+    private final RetryPolicy retryPolicy;
+    private final RequestCoalescer coalescer;
+    private final ResponseCache responseCache;
+    private final RequestEventListener eventListener;
+    private final ConnectorMetrics metrics;
+    private final WebSocketApiSession orderSession;
+    // only changed by the deprecated setters
+    private volatile boolean showLimitUsage;
+    private volatile ProxyAuth proxy;
+    private volatile RequestHandler requestHandler;
 
     public FuturesClientImpl(String baseUrl, String product) {
         this(null, null, baseUrl, product);
     }
 
     public FuturesClientImpl(String baseUrl, String product, boolean showLimitUsage) {
-        this(null, null, baseUrl, product, showLimitUsage);
+        this(null, (String) null, baseUrl, product, showLimitUsage);
     }
 
     public FuturesClientImpl(String apiKey, String secretKey, String baseUrl, String product) {
@@ -24,11 +65,54 @@ public abstract class FuturesClientImpl implements FuturesClient {
     }
 
     public FuturesClientImpl(String apiKey, String secretKey, String baseUrl, String product, boolean showLimitUsage) {
+        this(apiKey, secretKey, null == secretKey || secretKey.isEmpty() ? null : new HmacSigner(secretKey), baseUrl, product, showLimitUsage);
+    }
+
+    public FuturesClientImpl(String apiKey, Signer signer, String baseUrl, String product, boolean showLimitUsage) {
+        this(apiKey, null, signer, baseUrl, product, showLimitUsage);
+    }
+
+    private FuturesClientImpl(String apiKey, String secretKey, Signer signer, String baseUrl, String product, boolean showLimitUsage) {
         this.apiKey = apiKey;
         this.secretKey = secretKey;
+        this.signer = signer;
         this.baseUrl = baseUrl;
         this.productUrl = baseUrl + product;
         this.showLimitUsage = showLimitUsage;
+        this.httpClientConfig = HttpClientConfig.DEFAULT;
+        this.weightLimiter = null;
+        this.orderGovernor = null;
+        this.timeSource = TimeSource.SYSTEM;
+        this.retryPolicy = null;
+        this.coalescer = null;
+        this.responseCache = null;
+        this.eventListener = null;
+        this.metrics = null;
+        this.orderSession = null;
+    }
+
+    protected FuturesClientImpl(Builder<?, ?> builder, String product) {
+        this.apiKey = builder.apiKey;
+        this.secretKey = builder.secretKey;
+        this.signer = builder.signer;
+        this.baseUrl = builder.baseUrl;
+        this.productUrl = builder.baseUrl + product;
+        this.showLimitUsage = builder.showLimitUsage;
+        this.proxy = builder.proxy;
+        this.httpClientConfig = builder.httpClientConfig;
+        this.weightLimiter = builder.weightLimiter;
+        this.orderGovernor = builder.orderGovernor;
+        this.timeSource = builder.timeSource;
+        this.retryPolicy = builder.retryPolicy;
+        this.coalescer = builder.coalescer;
+        this.responseCache = builder.responseCache;
+        this.eventListener = builder.eventListener;
+        this.metrics = builder.metrics;
+        this.orderSession = null == builder.orderSessionUrl ? builder.orderSession
+                : orderSessionBuilder().url(builder.orderSessionUrl).build();
+        if (null != metrics) {
+            metrics.bindRateLimits(metricsTag, this::getWeightLimiter, this::getOrderGovernor);
+        }
     }
 
     public String getApiKey() {
@@ -39,6 +123,10 @@ public abstract class FuturesClientImpl implements FuturesClient {
         return this.secretKey;
     }
 
+    public Signer getSigner() {
+        return this.signer;
+    }
+
     public String getBaseUrl() {
         return this.baseUrl;
     }
@@ -51,20 +139,304 @@ public abstract class FuturesClientImpl implements FuturesClient {
         return this.showLimitUsage;
     }
 
+    /**
+     * @deprecated configure the client through its builder, e.g. {@code UMFuturesClientImpl.builder().showLimitUsage(true)};
+     * the change replaces the facades shared by every thread using this client
+     */
+    @Deprecated
     public void setShowLimitUsage(boolean showLimitUsage) {
-        this.showLimitUsage = showLimitUsage;
+        reconfigure(() -> this.showLimitUsage = showLimitUsage);
     }
 
+    /**
+     * @deprecated configure the client through its builder, e.g. {@code UMFuturesClientImpl.builder().proxy(proxy)};
+     * the change replaces the facades shared by every thread using this client
+     */
+    @Deprecated
     public void setProxy(ProxyAuth proxy) {
-        this.proxy = proxy;
+        reconfigure(() -> this.proxy = proxy);
     }
 
     public ProxyAuth getProxy() {
         return proxy;
     }
 
+    /**
+     * @deprecated build a client without a proxy instead
+     */
+    @Deprecated
     public void unsetProxy() {
-        this.proxy = null;
+        reconfigure(() -> this.proxy = null);
+    }
+
+    public HttpClientConfig getHttpClientConfig() {
+        return httpClientConfig;
+    }
+
+    public RequestWeightLimiter getWeightLimiter() {
+        return weightLimiter;
+    }
+
+    public OrderRateGovernor getOrderGovernor() {
+        return orderGovernor;
+    }
+
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public RequestCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public RequestEventListener getEventListener() {
+        return eventListener;
+    }
+
+    public ConnectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    public WebSocketApiSession getOrderSession() {
+        return orderSession;
     }
 
+    /**
+     * @return builder of a WebSocket API session signing with the signer and clock of this client, paced by its
+     *         order governor and connecting through its proxy
+     */
+    public WebSocketApiSession.Builder orderSessionBuilder() {
+        return WebSocketApiSession.builder(apiKey, signer)
+                .proxy(proxy)
+                .httpClientConfig(httpClientConfig)
+                .timeSource(timeSource)
+                .orderGovernor(orderGovernor);
+    }
+
+    /**
+     * @return the request handler shared by the facades of the current configuration
+     */
+    protected RequestHandler requestHandler() {
+        RequestHandler handler = requestHandler;
+        if (null == handler) {
+            synchronized (this) {
+                handler = requestHandler;
+                if (null == handler) {
+                    requestHandler = handler = createRequestHandler();
+                }
+            }
+        }
+        return handler;
+    }
+
+    /**
+     * Drop the cached facades after a change of the configuration, called while holding the client lock.
+     */
+    protected abstract void resetFacades();
+
+    private void reconfigure(Runnable change) {
+        synchronized (this) {
+            change.run();
+            requestHandler = null;
+            resetFacades();
+        }
+    }
+
+    protected RequestHandler createRequestHandler() {
+        return RequestHandler.builder()
+                .apiKey(apiKey)
+                .signer(signer)
+                .proxy(proxy)
+                .httpClientConfig(httpClientConfig)
+                .weightLimiter(weightLimiter)
+                .orderGovernor(orderGovernor)
+                .timeSource(timeSource)
+                .retryPolicy(retryPolicy)
+                .coalescer(coalescer)
+                .responseCache(responseCache)
+                .eventListener(eventListener)
+                .metrics(metrics)
+                .build();
+    }
+
+    /**
+     * Builder of a client, the defaults are those of a client created through a constructor.
+     */
+    public abstract static class Builder<B extends Builder<B, C>, C extends FuturesClientImpl> {
+        private String apiKey;
+        private String secretKey;
+        private Signer signer;
+        private String baseUrl;
+        private boolean showLimitUsage;
+        private ProxyAuth proxy;
+        private HttpClientConfig httpClientConfig = HttpClientConfig.DEFAULT;
+        private RequestWeightLimiter weightLimiter;
+        private OrderRateGovernor orderGovernor;
+        private TimeSource timeSource = TimeSource.SYSTEM;
+        private RetryPolicy retryPolicy;
+        private RequestCoalescer coalescer;
+        private ResponseCache responseCache;
+        private RequestEventListener eventListener;
+        private ConnectorMetrics metrics;
+        private WebSocketApiSession orderSession;
+        private String orderSessionUrl;
+
+        protected Builder(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public B apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return self();
+        }
+
+        /**
+         * @param secretKey secret key of an HMAC API key, null or empty for a client without signed endpoints
+         */
+        public B secretKey(String secretKey) {
+            this.secretKey = secretKey;
+            this.signer = null == secretKey || secretKey.isEmpty() ? null : new HmacSigner(secretKey);
+            return self();
+        }
+
+        /**
+         * @param signer signer bound to the key, e.g. an Ed25519Signer or RsaSigner for asymmetric API keys
+         */
+        public B signer(Signer signer) {
+            this.secretKey = null;
+            this.signer = signer;
+            return self();
+        }
+
+        public B baseUrl(String baseUrl) {
+            if (null == baseUrl || baseUrl.isEmpty()) {
+                throw new IllegalArgumentException("baseUrl is empty");
+            }
+            this.baseUrl = baseUrl;
+            return self();
+        }
+
+        public B showLimitUsage(boolean showLimitUsage) {
+            this.showLimitUsage = showLimitUsage;
+            return self();
+        }
+
+        public B proxy(ProxyAuth proxy) {
+            this.proxy = proxy;
+            return self();
+        }
+
+        public B httpClientConfig(HttpClientConfig httpClientConfig) {
+            this.httpClientConfig = null == httpClientConfig ? HttpClientConfig.DEFAULT : httpClientConfig;
+            return self();
+        }
+
+        /**
+         * @param weightLimiter limiter of the request weight, shared with other clients sending from the same IP,
+         *                      null, the default, to disable client side limiting
+         */
+        public B weightLimiter(RequestWeightLimiter weightLimiter) {
+            this.weightLimiter = weightLimiter;
+            return self();
+        }
+
+        /**
+         * @param orderGovernor governor of the order rate, shared with other clients using the same account,
+         *                      null, the default, to disable client side pacing
+         */
+        public B orderGovernor(OrderRateGovernor orderGovernor) {
+            this.orderGovernor = orderGovernor;
+            return self();
+        }
+
+        /**
+         * @param timeSource clock stamping signed requests, null for the local clock. To follow the server clock pass a
+         *                   started {@link ServerTimeSync}, e.g. built from the product url of this client
+         */
+        public B timeSource(TimeSource timeSource) {
+            this.timeSource = null == timeSource ? TimeSource.SYSTEM : timeSource;
+            return self();
+        }
+
+        /**
+         * @param retryPolicy retries and hedging of the market data GETs and of the order query, e.g. {@link RetryPolicy#DEFAULT},
+         *                    null, the default, to return every failure to the caller
+         */
+        public B retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return self();
+        }
+
+        /**
+         * @param coalescer coalescer of identical public GETs, e.g. exchangeInfo or markPrice polled by many threads,
+         *                  null, the default, to send every call
+         */
+        public B coalescer(RequestCoalescer coalescer) {
+            this.coalescer = coalescer;
+            return self();
+        }
+
+        /**
+         * @param responseCache cache of the slow changing endpoints, e.g. {@code ResponseCache.builder().defaultEndpoints().build()},
+         *                      null, the default, to send every call
+         */
+        public B responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return self();
+        }
+
+        /**
+         * @param eventListener listener of every attempt of a request, e.g. a sampled {@code LoggingRequestEventListener},
+         *                      null, the default, to record nothing
+         */
+        public B eventListener(RequestEventListener eventListener) {
+            this.eventListener = eventListener;
+            return self();
+        }
+
+        /**
+         * @param metrics metrics of the requests, also publishing the state of the rate limiters of the client,
+         *                null, the default, to record none
+         */
+        public B metrics(ConnectorMetrics metrics) {
+            this.metrics = metrics;
+            return self();
+        }
+
+        /**
+         * @param orderSession session the account facade sends new, modify and cancel order requests over,
+         *                     e.g. built from {@link FuturesClientImpl#orderSessionBuilder()}, null to send them over REST
+         */
+        public B orderSession(WebSocketApiSession orderSession) {
+            this.orderSession = orderSession;
+            this.orderSessionUrl = null;
+            return self();
+        }
+
+        /**
+         * @param orderSessionUrl url of the WebSocket API the account facade sends new, modify and cancel order
+         *                        requests to, over a session built from {@link FuturesClientImpl#orderSessionBuilder()}
+         *                        with the configuration of this builder and connected on the first order
+         */
+        public B orderSessionUrl(String orderSessionUrl) {
+            if (null == orderSessionUrl || orderSessionUrl.isEmpty()) {
+                throw new IllegalArgumentException("orderSessionUrl is empty");
+            }
+            this.orderSession = null;
+            this.orderSessionUrl = orderSessionUrl;
+            return self();
+        }
+
+        public abstract C build();
+
+        protected abstract B self();
+    }
 }
@@ -4,11 +4,16 @@ import com.owl.owlproject.enums.DefaultUrls;
 import com.owl.owlproject.impl.um_futures.UMAccount;
 import com.owl.owlproject.impl.um_futures.UMMarket;
 import com.owl.owlproject.impl.um_futures.UMUserData;
+import com.owl.owlproject.utils.signer.Signer;
 
 public class UMFuturesClientImpl extends FuturesClientImpl {
     private static String defaultBaseUrl = DefaultUrls.USDM_PROD_URL;
     private static String umProduct = "/fapi";
 
+    private volatile UMMarket market;
+    private volatile UMAccount account;
+    private volatile UMUserData userData;
+
     public UMFuturesClientImpl() {
         super(defaultBaseUrl, umProduct);
     }
@@ -33,18 +38,101 @@ public class UMFuturesClientImpl extends FuturesClientImpl {
         super(apiKey, secretKey, baseUrl, umProduct);
     }
 
+    /**
+     * @param apiKey API key
+     * @param signer signer bound to the key, e.g. an Ed25519Signer or RsaSigner for asymmetric API keys
+     */
+    public UMFuturesClientImpl(String apiKey, Signer signer) {
+        super(apiKey, signer, defaultBaseUrl, umProduct, false);
+    }
+
+    public UMFuturesClientImpl(String apiKey, Signer signer, String baseUrl) {
+        super(apiKey, signer, baseUrl, umProduct, false);
+    }
+
+    private UMFuturesClientImpl(Builder builder) {
+        super(builder, umProduct);
+    }
+
+    /**
+     * Builder of a client, safe to share between threads, e.g.
+     * {@code UMFuturesClientImpl.builder().apiKey(apiKey).secretKey(secretKey).build()}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the market facade, created on first use and then shared by every caller
+     */
     @Override
     public UMMarket market() {
-        return new UMMarket(getProductUrl(), getBaseUrl(), getApiKey(), getShowLimitUsage(), getProxy());
+        UMMarket facade = market;
+        if (null == facade) {
+            synchronized (this) {
+                facade = market;
+                if (null == facade) {
+                    market = facade = new UMMarket(getProductUrl(), getBaseUrl(), requestHandler(), getShowLimitUsage());
+                }
+            }
+        }
+        return facade;
     }
 
+    /**
+     * @return the account facade, created on first use and then shared by every caller
+     */
     @Override
     public UMAccount account() {
-        return new UMAccount(getProductUrl(), getApiKey(), getSecretKey(), getShowLimitUsage(), getProxy());
+        UMAccount facade = account;
+        if (null == facade) {
+            synchronized (this) {
+                facade = account;
+                if (null == facade) {
+                    account = facade = new UMAccount(getProductUrl(), requestHandler(), getShowLimitUsage(), getOrderSession());
+                }
+            }
+        }
+        return facade;
     }
 
+    /**
+     * @return the user data facade, created on first use and then shared by every caller
+     */
     @Override
     public UMUserData userData() {
-        return new UMUserData(getProductUrl(), getApiKey(), getShowLimitUsage(), getProxy());
+        UMUserData facade = userData;
+        if (null == facade) {
+            synchronized (this) {
+                facade = userData;
+                if (null == facade) {
+                    userData = facade = new UMUserData(getProductUrl(), requestHandler(), getShowLimitUsage());
+                }
+            }
+        }
+        return facade;
+    }
+
+    @Override
+    protected void resetFacades() {
+        market = null;
+        account = null;
+        userData = null;
+    }
+
+    public static final class Builder extends FuturesClientImpl.Builder<Builder, UMFuturesClientImpl> {
+        private Builder() {
+            super(defaultBaseUrl);
+        }
+
+        @Override
+        public UMFuturesClientImpl build() {
+            return new UMFuturesClientImpl(this);
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.owl.owlproject.impl;
+
+import com.owl.owlproject.enums.DefaultUrls;
+import com.owl.owlproject.utils.HttpClientConfig;
+import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.websocket.ConnectionListener;
+import com.owl.owlproject.utils.websocket.StreamShardingConfig;
+
+public class UMWebsocketClientImpl extends WebsocketClientImpl {
+    private static String defaultBaseUrl = DefaultUrls.USDM_WS_URL;
+
+    public UMWebsocketClientImpl() {
+        super(defaultBaseUrl);
+    }
+
+    public UMWebsocketClientImpl(String baseUrl) {
+        super(baseUrl);
+    }
+
+    public UMWebsocketClientImpl(String baseUrl, ConnectionListener listener) {
+        super(baseUrl, null, HttpClientConfig.DEFAULT, DEFAULT_PING_INTERVAL_MILLIS, listener);
+    }
+
+    public UMWebsocketClientImpl(String baseUrl, ProxyAuth proxy, HttpClientConfig httpClientConfig, long pingIntervalMillis, ConnectionListener listener) {
+        super(baseUrl, proxy, httpClientConfig, pingIntervalMillis, listener);
+    }
+
+    public UMWebsocketClientImpl(String baseUrl, ProxyAuth proxy, HttpClientConfig httpClientConfig, long pingIntervalMillis,
+                                 ConnectionListener listener, StreamShardingConfig shardingConfig) {
+        super(baseUrl, proxy, httpClientConfig, pingIntervalMillis, listener, shardingConfig);
+    }
+}
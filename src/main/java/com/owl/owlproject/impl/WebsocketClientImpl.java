@@ -0,0 +1,241 @@
+package com.owl.owlproject.impl;
+
+import com.owl.owlproject.client.WebsocketClient;
+import com.owl.owlproject.model.stream.BookTicker;
+import com.owl.owlproject.model.stream.MarkPriceUpdate;
+import com.owl.owlproject.model.stream.Ticker;
+import com.owl.owlproject.utils.HttpClientConfig;
+import com.owl.owlproject.utils.HttpClientRegistry;
+import com.owl.owlproject.utils.ParameterChecker;
+import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.websocket.CombinedStreamConnection;
+import com.owl.owlproject.utils.websocket.ConflatedStream;
+import com.owl.owlproject.utils.websocket.ConnectionListener;
+import com.owl.owlproject.utils.websocket.StreamConnectionPool;
+import com.owl.owlproject.utils.websocket.StreamShardingConfig;
+import com.owl.owlproject.utils.websocket.WebSocketCallback;
+import okhttp3.OkHttpClient;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>Market data streams</h2>
+ * The streams are sharded across combined stream connections by their number and traffic, a connection is opened
+ * when the others are full and the streams are rebalanced as they are subscribed and unsubscribed, see
+ * {@link StreamConnectionPool}. Each connection is reconnected with every stream it carries when it fails,
+ * see {@link CombinedStreamConnection}.
+ * <br>
+ * The stream methods return the stream name, to be given to {@link #unsubscribe(String)}. The conflated stream methods
+ * return a {@link ConflatedStream} keeping the latest value per symbol, unsubscribed by closing it.
+ */
+public abstract class WebsocketClientImpl implements WebsocketClient {
+    public static final long DEFAULT_PING_INTERVAL_MILLIS = 30_000L;
+
+    private final String baseUrl;
+    private final StreamConnectionPool connections;
+
+    public WebsocketClientImpl(String baseUrl) {
+        this(baseUrl, null, HttpClientConfig.DEFAULT, DEFAULT_PING_INTERVAL_MILLIS, ConnectionListener.NONE);
+    }
+
+    /**
+     * @param baseUrl base url of the streams, e.g. wss://fstream.binance.com
+     * @param proxy proxy settings, may be null
+     * @param httpClientConfig timeouts of the connections
+     * @param pingIntervalMillis interval of the pings, a pong not received within it fails and reconnects the connection
+     * @param listener listener of the state of every connection, e.g. to resync after a reconnect
+     */
+    public WebsocketClientImpl(String baseUrl, ProxyAuth proxy, HttpClientConfig httpClientConfig, long pingIntervalMillis, ConnectionListener listener) {
+        this(baseUrl, proxy, httpClientConfig, pingIntervalMillis, listener, StreamShardingConfig.DEFAULT);
+    }
+
+    /**
+     * @param baseUrl base url of the streams, e.g. wss://fstream.binance.com
+     * @param proxy proxy settings, may be null
+     * @param httpClientConfig timeouts of the connections
+     * @param pingIntervalMillis interval of the pings, a pong not received within it fails and reconnects the connection
+     * @param listener listener of the state of every connection, e.g. to resync after a reconnect
+     * @param shardingConfig limits of the connections the streams are sharded across
+     */
+    public WebsocketClientImpl(String baseUrl, ProxyAuth proxy, HttpClientConfig httpClientConfig, long pingIntervalMillis,
+                               ConnectionListener listener, StreamShardingConfig shardingConfig) {
+        this.baseUrl = baseUrl;
+        OkHttpClient httpClient = HttpClientRegistry.getHttpClient(proxy, httpClientConfig).newBuilder()
+                .pingInterval(pingIntervalMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.connections = new StreamConnectionPool(baseUrl + "/stream", httpClient, listener, shardingConfig);
+    }
+
+    public String getBaseUrl() {
+        return this.baseUrl;
+    }
+
+    public Set<String> getStreams() {
+        return connections.getStreams();
+    }
+
+    /**
+     * @return whether every connection is open
+     */
+    public boolean isOpen() {
+        return connections.isOpen();
+    }
+
+    public int getConnectionCount() {
+        return connections.getConnectionCount();
+    }
+
+    /**
+     * @return streams of every connection
+     */
+    public List<Set<String>> getConnectionStreams() {
+        return connections.getConnectionStreams();
+    }
+
+    /**
+     * Subscribe to any stream by its name, e.g. btcusdt@aggTrade or !markPrice@arr.
+     * @return the stream name
+     */
+    @Override
+    public String subscribe(String stream, WebSocketCallback callback) {
+        ParameterChecker.checkParameterType(stream, String.class, "stream");
+        connections.subscribe(stream, callback);
+        return stream;
+    }
+
+    @Override
+    public boolean unsubscribe(String stream) {
+        return connections.unsubscribe(stream);
+    }
+
+    /**
+     * Aggregate trades of the symbol, pushed every 100ms.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@aggTrade
+     */
+    @Override
+    public String aggTradeStream(String symbol, WebSocketCallback callback) {
+        return subscribe(streamName(symbol, "@aggTrade"), callback);
+    }
+
+    /**
+     * Mark price and funding rate of the symbol.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@markPrice or &lt;symbol&gt;@markPrice@1s
+     * @param speed 1 or 3 seconds
+     */
+    @Override
+    public String markPriceStream(String symbol, int speed, WebSocketCallback callback) {
+        if (speed != 1 && speed != 3) {
+            throw new IllegalArgumentException("[WebsocketClientImpl] markPrice speed must be 1 or 3: " + speed);
+        }
+        return subscribe(streamName(symbol, speed == 1 ? "@markPrice@1s" : "@markPrice"), callback);
+    }
+
+    /**
+     * Best bid and ask of the symbol, pushed in real time.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@bookTicker
+     */
+    @Override
+    public String bookTickerStream(String symbol, WebSocketCallback callback) {
+        return subscribe(streamName(symbol, "@bookTicker"), callback);
+    }
+
+    /**
+     * Order book updates of the symbol, to be applied to a snapshot of the depth endpoint.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@depth, &lt;symbol&gt;@depth@500ms or &lt;symbol&gt;@depth@100ms
+     * @param speed update speed in milliseconds, 100, 250 or 500
+     */
+    @Override
+    public String diffDepthStream(String symbol, int speed, WebSocketCallback callback) {
+        if (speed != 100 && speed != 250 && speed != 500) {
+            throw new IllegalArgumentException("[WebsocketClientImpl] depth speed must be 100, 250 or 500: " + speed);
+        }
+        return subscribe(streamName(symbol, speed == 250 ? "@depth" : "@depth@" + speed + "ms"), callback);
+    }
+
+    /**
+     * Klines of the symbol, pushed every 250ms.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@kline_&lt;interval&gt;
+     * @param interval 1m, 3m, 5m, 15m, 30m, 1h, 2h, 4h, 6h, 8h, 12h, 1d, 3d, 1w or 1M
+     */
+    @Override
+    public String klineStream(String symbol, String interval, WebSocketCallback callback) {
+        ParameterChecker.checkParameterType(interval, String.class, "interval");
+        return subscribe(streamName(symbol, "@kline_" + interval), callback);
+    }
+
+    /**
+     * Rolling 24 hour window statistics of the symbol, pushed every second.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@ticker
+     */
+    @Override
+    public String tickerStream(String symbol, WebSocketCallback callback) {
+        return subscribe(streamName(symbol, "@ticker"), callback);
+    }
+
+    /**
+     * Latest mark price of each symbol, see {@link ConflatedStream}.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@markPrice for each symbol, or !markPrice@arr for every symbol when none is given
+     * @param speed 1 or 3 seconds
+     */
+    @Override
+    public ConflatedStream<MarkPriceUpdate> conflatedMarkPriceStream(int speed, String... symbols) {
+        if (speed != 1 && speed != 3) {
+            throw new IllegalArgumentException("[WebsocketClientImpl] markPrice speed must be 1 or 3: " + speed);
+        }
+        String suffix = speed == 1 ? "@markPrice@1s" : "@markPrice";
+        return conflate(new ConflatedStream<>(MarkPriceUpdate.DECODER, MarkPriceUpdate::getSymbol),
+                speed == 1 ? "!markPrice@arr@1s" : "!markPrice@arr", suffix, symbols);
+    }
+
+    /**
+     * Latest best bid and ask of each symbol, see {@link ConflatedStream}.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@bookTicker for each symbol, or !bookTicker for every symbol when none is given
+     */
+    @Override
+    public ConflatedStream<BookTicker> conflatedBookTickerStream(String... symbols) {
+        return conflate(new ConflatedStream<>(BookTicker.DECODER, BookTicker::getSymbol),
+                "!bookTicker", "@bookTicker", symbols);
+    }
+
+    /**
+     * Latest 24 hour statistics of each symbol, see {@link ConflatedStream}.
+     * <br>
+     * Stream Name: &lt;symbol&gt;@ticker for each symbol, or !ticker@arr for every symbol when none is given
+     */
+    @Override
+    public ConflatedStream<Ticker> conflatedTickerStream(String... symbols) {
+        return conflate(new ConflatedStream<>(Ticker.DECODER, Ticker::getSymbol),
+                "!ticker@arr", "@ticker", symbols);
+    }
+
+    @Override
+    public void close() {
+        connections.close();
+    }
+
+    private <E> ConflatedStream<E> conflate(ConflatedStream<E> conflated, String allMarket, String suffix, String... symbols) {
+        if (null == symbols || symbols.length == 0) {
+            return conflated.subscribe(this, allMarket);
+        }
+        for (String symbol : symbols) {
+            conflated.subscribe(this, streamName(symbol, suffix));
+        }
+        return conflated;
+    }
+
+    private static String streamName(String symbol, String suffix) {
+        ParameterChecker.checkParameterType(symbol, String.class, "symbol");
+        return symbol.toLowerCase(Locale.ROOT) + suffix;
+    }
+}
@@ -1,25 +1,53 @@
 package com.owl.owlproject.impl.futures;
 
 import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.model.request.CancelOrderRequest;
+import com.owl.owlproject.model.request.NewOrderRequest;
+import com.owl.owlproject.model.request.QueryOrderRequest;
 import com.owl.owlproject.utils.ParameterChecker;
 import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.QueryParameters;
 import com.owl.owlproject.utils.RequestHandler;
+import com.owl.owlproject.utils.ResponseDecoder;
+import com.owl.owlproject.utils.websocket.WebSocketApiSession;
+import org.json.JSONArray;
 
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <h2>Trade Endpoints</h2>
  * Response will be returned in <i>String format</i>.
+ * <br>
+ * With an order session set, new, modify and cancel order requests are sent over the WebSocket API instead of REST.
  */
 public abstract class Account {
-    private String productUrl;
-    private RequestHandler requestHandler;
-    private boolean showLimitUsage;
+    private volatile String productUrl;
+    private volatile RequestHandler requestHandler;
+    private volatile boolean showLimitUsage;
+    private final WebSocketApiSession orderSession;
 
     public Account(String productUrl, String apiKey, String secretKey, boolean showLimitUsage, ProxyAuth proxy) {
         this.productUrl = productUrl;
         this.requestHandler = new RequestHandler(apiKey, secretKey, proxy);
         this.showLimitUsage = showLimitUsage;
+        this.orderSession = null;
+    }
+
+    public Account(String productUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        this(productUrl, requestHandler, showLimitUsage, null);
+    }
+
+    /**
+     * @param orderSession session the new, modify and cancel order requests are sent over, null to send them over REST
+     */
+    public Account(String productUrl, RequestHandler requestHandler, boolean showLimitUsage, WebSocketApiSession orderSession) {
+        this.productUrl = productUrl;
+        this.requestHandler = requestHandler;
+        this.showLimitUsage = showLimitUsage;
+        this.orderSession = orderSession;
     }
 
     public String getProductUrl() {
@@ -34,38 +62,103 @@ public abstract class Account {
         return this.showLimitUsage;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setProductUrl(String productUrl) {
         this.productUrl = productUrl;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setRequestHandler(String apiKey, String secretKey, ProxyAuth proxy) {
         this.requestHandler = new RequestHandler(apiKey, secretKey, proxy);
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setShowLimitUsage(boolean showLimitUsage) {
         this.showLimitUsage = showLimitUsage;
     }
 
+    public WebSocketApiSession getOrderSession() {
+        return this.orderSession;
+    }
+
     private final String OPEN_ORDERS = "/v1/openOrders";
     public String currentAllOpenOrders(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendSignedRequest(productUrl, OPEN_ORDERS, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #currentAllOpenOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> currentAllOpenOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, OPEN_ORDERS, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #currentAllOpenOrders(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.ORDERS}.
+     * @return decoded response
+     */
+    public <T> T currentAllOpenOrders(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        return requestHandler.sendSignedRequest(productUrl, OPEN_ORDERS, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #currentAllOpenOrders(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> currentAllOpenOrdersAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        return requestHandler.sendSignedRequestAsync(productUrl, OPEN_ORDERS, parameters, HttpMethod.GET, decoder);
+    }
+
     private final String ALL_ORDERS = "/v1/allOrders";
     public String allOrders(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendSignedRequest(productUrl, ALL_ORDERS, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #allOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> allOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, ALL_ORDERS, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String USER_TRADES = "/v1/userTrades";
     public String accountTradeList(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendSignedRequest(productUrl, USER_TRADES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #accountTradeList(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> accountTradeListAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, USER_TRADES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String LEVERAGE_BRACKET = "/v1/leverageBracket";
     public String getLeverageBracket(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendSignedRequest(productUrl, LEVERAGE_BRACKET, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #getLeverageBracket(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getLeverageBracketAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, LEVERAGE_BRACKET, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String POSITION_SIDE_DUAL = "/v1/positionSide/dual";
     /**
      * Change user's position mode (Hedge Mode or One-way Mode ) on EVERY symbol
@@ -89,6 +182,15 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, POSITION_SIDE_DUAL, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #changePositionModeTrade(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> changePositionModeTradeAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "dualSidePosition", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, POSITION_SIDE_DUAL, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
     /**
      * Check an order's status.
      * <br><br>
@@ -109,6 +211,14 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, POSITION_SIDE_DUAL, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #getCurrentPositionMode(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getCurrentPositionModeAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, POSITION_SIDE_DUAL, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String ORDER = "/v1/order";
     /**
      * Send in a new order.
@@ -146,9 +256,79 @@ public abstract class Account {
         ParameterChecker.checkParameter(parameters, "symbol", String.class);
         ParameterChecker.checkParameter(parameters, "side", String.class);
         ParameterChecker.checkParameter(parameters, "type", String.class);
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_PLACE, parametersOf(parameters), showLimitUsage);
+        }
         return requestHandler.sendSignedRequest(productUrl, ORDER, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #newOrder(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> newOrderAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "side", String.class);
+        ParameterChecker.checkParameter(parameters, "type", String.class);
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_PLACE, parametersOf(parameters), showLimitUsage);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
+    /**
+     * Send in a new order described by a validated {@link NewOrderRequest}.
+     * <br><br>
+     * POST /v1/order
+     * <br>
+     * @param order the order to place
+     * @return String
+     */
+    public String newOrder(NewOrderRequest order) {
+        checkRequest(order, "order");
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_PLACE, order, showLimitUsage);
+        }
+        return requestHandler.sendSignedRequest(productUrl, ORDER, order, HttpMethod.POST, showLimitUsage);
+    }
+
+    /**
+     * Asynchronous version of {@link #newOrder(NewOrderRequest)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> newOrderAsync(NewOrderRequest order) {
+        checkRequest(order, "order");
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_PLACE, order, showLimitUsage);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, order, HttpMethod.POST, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #newOrder(NewOrderRequest)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.ORDER}.
+     * @return decoded response
+     */
+    public <T> T newOrder(NewOrderRequest order, ResponseDecoder<T> decoder) {
+        checkRequest(order, "order");
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_PLACE, order, decoder);
+        }
+        return requestHandler.sendSignedRequest(productUrl, ORDER, order, HttpMethod.POST, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #newOrder(NewOrderRequest, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> newOrderAsync(NewOrderRequest order, ResponseDecoder<T> decoder) {
+        checkRequest(order, "order");
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_PLACE, order, decoder);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, order, HttpMethod.POST, decoder);
+    }
+
     private final String BATCH_ORDERS = "/v1/batchOrders";
     /**
      * Send in a new order.
@@ -172,6 +352,59 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, BATCH_ORDERS, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #placeMultipleOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> placeMultipleOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkRequiredParameter(parameters, "batchOrders");
+        return requestHandler.sendSignedRequestAsync(productUrl, BATCH_ORDERS, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
+    /**
+     * Place multiple orders described by validated {@link NewOrderRequest}s.
+     * <br><br>
+     * POST /v1/batchOrders
+     * <br>
+     * @param orders the orders to place, at most 5 per request
+     * @return String
+     */
+    public String placeMultipleOrders(List<NewOrderRequest> orders) {
+        return requestHandler.sendSignedRequest(productUrl, BATCH_ORDERS, batchOrders(orders), HttpMethod.POST, showLimitUsage);
+    }
+
+    /**
+     * Asynchronous version of {@link #placeMultipleOrders(List)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> placeMultipleOrdersAsync(List<NewOrderRequest> orders) {
+        return requestHandler.sendSignedRequestAsync(productUrl, BATCH_ORDERS, batchOrders(orders), HttpMethod.POST, showLimitUsage);
+    }
+
+    private static LinkedHashMap<String, Object> batchOrders(List<NewOrderRequest> orders) {
+        if (null == orders || orders.isEmpty()) {
+            throw new BinanceConnectorException("\"batchOrders\" is a mandatory parameter!");
+        }
+        JSONArray batch = new JSONArray();
+        for (NewOrderRequest order : orders) {
+            checkRequest(order, "batchOrders");
+            batch.put(order.toJSONObject());
+        }
+        LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("batchOrders", batch);
+        return parameters;
+    }
+
+    private static void checkRequest(Object request, String name) {
+        if (null == request) {
+            throw new BinanceConnectorException(String.format("\"%s\" is a mandatory parameter!", name));
+        }
+    }
+
+    private static QueryParameters parametersOf(LinkedHashMap<String, Object> parameters) {
+        return encoder -> encoder.appendParameters(parameters);
+    }
+
     /**
      * Check an order's status.
      * <br><br>
@@ -197,6 +430,57 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, ORDER, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #queryOrder(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> queryOrderAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkOrParameters(parameters, "orderId", "origClientOrderId");
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Check an order's status, identified by a {@link QueryOrderRequest}.
+     * <br><br>
+     * GET /v1/order
+     * <br>
+     * @param query the order to look up
+     * @return String
+     */
+    public String queryOrder(QueryOrderRequest query) {
+        checkRequest(query, "query");
+        return requestHandler.sendSignedRequest(productUrl, ORDER, query, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Asynchronous version of {@link #queryOrder(QueryOrderRequest)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> queryOrderAsync(QueryOrderRequest query) {
+        checkRequest(query, "query");
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, query, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #queryOrder(QueryOrderRequest)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.ORDER}.
+     * @return decoded response
+     */
+    public <T> T queryOrder(QueryOrderRequest query, ResponseDecoder<T> decoder) {
+        checkRequest(query, "query");
+        return requestHandler.sendSignedRequest(productUrl, ORDER, query, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #queryOrder(QueryOrderRequest, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> queryOrderAsync(QueryOrderRequest query, ResponseDecoder<T> decoder) {
+        checkRequest(query, "query");
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, query, HttpMethod.GET, decoder);
+    }
+
     /**
      * Cancel an active order.
      * <br><br>
@@ -219,9 +503,127 @@ public abstract class Account {
     public String cancelOrder(LinkedHashMap<String, Object> parameters) {
         ParameterChecker.checkParameter(parameters, "symbol", String.class);
         ParameterChecker.checkOrParameters(parameters, "orderId", "origClientOrderId");
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_CANCEL, parametersOf(parameters), showLimitUsage);
+        }
         return requestHandler.sendSignedRequest(productUrl, ORDER, parameters, HttpMethod.DELETE, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #cancelOrder(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> cancelOrderAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkOrParameters(parameters, "orderId", "origClientOrderId");
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_CANCEL, parametersOf(parameters), showLimitUsage);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, parameters, HttpMethod.DELETE, showLimitUsage);
+    }
+
+    /**
+     * Cancel an active order, identified by a {@link CancelOrderRequest}.
+     * <br><br>
+     * DELETE /v1/order
+     * <br>
+     * @param cancel the order to cancel
+     * @return String
+     */
+    public String cancelOrder(CancelOrderRequest cancel) {
+        checkRequest(cancel, "cancel");
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_CANCEL, cancel, showLimitUsage);
+        }
+        return requestHandler.sendSignedRequest(productUrl, ORDER, cancel, HttpMethod.DELETE, showLimitUsage);
+    }
+
+    /**
+     * Asynchronous version of {@link #cancelOrder(CancelOrderRequest)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> cancelOrderAsync(CancelOrderRequest cancel) {
+        checkRequest(cancel, "cancel");
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_CANCEL, cancel, showLimitUsage);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, cancel, HttpMethod.DELETE, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #cancelOrder(CancelOrderRequest)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.ORDER}.
+     * @return decoded response
+     */
+    public <T> T cancelOrder(CancelOrderRequest cancel, ResponseDecoder<T> decoder) {
+        checkRequest(cancel, "cancel");
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_CANCEL, cancel, decoder);
+        }
+        return requestHandler.sendSignedRequest(productUrl, ORDER, cancel, HttpMethod.DELETE, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #cancelOrder(CancelOrderRequest, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> cancelOrderAsync(CancelOrderRequest cancel, ResponseDecoder<T> decoder) {
+        checkRequest(cancel, "cancel");
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_CANCEL, cancel, decoder);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, cancel, HttpMethod.DELETE, decoder);
+    }
+
+    /**
+     * Modify the price or quantity of an open LIMIT order, it keeps its place in the queue only if the quantity is reduced.
+     * <br><br>
+     * PUT /v1/order
+     * <br>
+     * @param
+     * parameters LinkedHashedMap of String,Object pair
+     *            where String is the name of the parameter and Object is the value of the parameter
+     * <br><br>
+     * symbol -- mandatory/string <br>
+     * orderId -- optional/long <br>
+     * origClientOrderId -- optional/string <br>
+     * side -- mandatory/enum <br>
+     * quantity -- mandatory/decimal <br>
+     * price -- mandatory/decimal <br>
+     * priceMatch -- optional/enum <br>
+     * recvWindow -- optional/long <br>
+     * @return String
+     * @see <a href="https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/Modify-Order">
+     *     https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/Modify-Order</a>
+     */
+    public String modifyOrder(LinkedHashMap<String, Object> parameters) {
+        checkModifyOrder(parameters);
+        if (null != orderSession) {
+            return orderSession.request(WebSocketApiSession.ORDER_MODIFY, parametersOf(parameters), showLimitUsage);
+        }
+        return requestHandler.sendSignedRequest(productUrl, ORDER, parameters, HttpMethod.PUT, showLimitUsage);
+    }
+
+    /**
+     * Asynchronous version of {@link #modifyOrder(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> modifyOrderAsync(LinkedHashMap<String, Object> parameters) {
+        checkModifyOrder(parameters);
+        if (null != orderSession) {
+            return orderSession.requestAsync(WebSocketApiSession.ORDER_MODIFY, parametersOf(parameters), showLimitUsage);
+        }
+        return requestHandler.sendSignedRequestAsync(productUrl, ORDER, parameters, HttpMethod.PUT, showLimitUsage);
+    }
+
+    private static void checkModifyOrder(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkOrParameters(parameters, "orderId", "origClientOrderId");
+        ParameterChecker.checkParameter(parameters, "side", String.class);
+        ParameterChecker.checkRequiredParameter(parameters, "quantity");
+        ParameterChecker.checkRequiredParameter(parameters, "price");
+    }
+
     private final String ALL_OPEN_ORDERS = "/v1/allOpenOrders";
     /**
      * Cancel all open orders.
@@ -245,6 +647,15 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, ALL_OPEN_ORDERS, parameters, HttpMethod.DELETE, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #cancelAllOpenOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> cancelAllOpenOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, ALL_OPEN_ORDERS, parameters, HttpMethod.DELETE, showLimitUsage);
+    }
+
     /**
      * Cancel multiple orders.
      * <br><br>
@@ -269,6 +680,15 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, BATCH_ORDERS, parameters, HttpMethod.DELETE, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #cancelMultipleOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> cancelMultipleOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, BATCH_ORDERS, parameters, HttpMethod.DELETE, showLimitUsage);
+    }
+
     private final String CANCEL_ALL = "/v1/countdownCancelAll";
     /**
      * Cancel all open orders of the specified symbol at the end of the specified countdown.
@@ -294,6 +714,16 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, CANCEL_ALL, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #autoCancelOpen(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> autoCancelOpenAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "countdownTime", Integer.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, CANCEL_ALL, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
     private final String OPEN_ORDER = "/v1/openOrder";
     /**
      * Query Current Open Order
@@ -320,6 +750,16 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, OPEN_ORDER, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #queryCurrentOpenOrder(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> queryCurrentOpenOrderAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkOrParameters(parameters, "orderId", "origClientOrderId");
+        return requestHandler.sendSignedRequestAsync(productUrl, OPEN_ORDER, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String LEVERAGE = "/v1/leverage";
     /**
      * Change user's initial leverage of specific symbol market.
@@ -345,6 +785,16 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, LEVERAGE, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #changeInitialLeverage(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> changeInitialLeverageAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "leverage", Integer.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, LEVERAGE, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
     private final String MARGIN_TYPE = "/v1/marginType";
     /**
      * Change user's margin type
@@ -370,6 +820,16 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, MARGIN_TYPE, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #changeMarginType(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> changeMarginTypeAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "marginType", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, MARGIN_TYPE, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
     private final String POSITION_MARGIN = "/v1/positionMargin";
     /**
      * Modify Isolated Position Margin
@@ -398,6 +858,17 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, POSITION_MARGIN, parameters, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #modifyIsolatedPositionMargin(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> modifyIsolatedPositionMarginAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkRequiredParameter(parameters, "amount");
+        ParameterChecker.checkParameter(parameters, "type", Integer.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, POSITION_MARGIN, parameters, HttpMethod.POST, showLimitUsage);
+    }
+
     private final String POSITION_MARGIN_HISTORY = "/v1/positionMargin/history";
     /**
      * Get position margin change history
@@ -425,6 +896,15 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, POSITION_MARGIN_HISTORY, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #getPositionMarginChangeHistory(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getPositionMarginChangeHistoryAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, POSITION_MARGIN_HISTORY, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String INCOME = "/v1/income";
     /**
      * Get Income History
@@ -451,6 +931,14 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, INCOME, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #getIncomeHistory(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getIncomeHistoryAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, INCOME, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String ADL_QUANTILE = "/v1/adlQuantile";
     /**
      * Position ADL Quantile Estimation
@@ -473,6 +961,14 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, ADL_QUANTILE, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #getAdlQuantile(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getAdlQuantileAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, ADL_QUANTILE, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String FORCE_ORDERS = "/v1/forceOrders";
     /**
      * User's Force Orders
@@ -499,6 +995,14 @@ public abstract class Account {
         return requestHandler.sendSignedRequest(productUrl, FORCE_ORDERS, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #getForceOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getForceOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, FORCE_ORDERS, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String COMMISSION_RATE = "/v1/commissionRate";
     /**
      * User's Commission Rate
@@ -521,4 +1025,13 @@ public abstract class Account {
         ParameterChecker.checkParameter(parameters, "symbol", String.class);
         return requestHandler.sendSignedRequest(productUrl, COMMISSION_RATE, parameters, HttpMethod.GET, showLimitUsage);
     }
+
+    /**
+     * Asynchronous version of {@link #getCommissionRate(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getCommissionRateAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, COMMISSION_RATE, parameters, HttpMethod.GET, showLimitUsage);
+    }
 }
\ No newline at end of file
@@ -4,18 +4,21 @@ import com.owl.owlproject.enums.HttpMethod;
 import com.owl.owlproject.utils.ParameterChecker;
 import com.owl.owlproject.utils.ProxyAuth;
 import com.owl.owlproject.utils.RequestHandler;
+import com.owl.owlproject.utils.ResponseDecoder;
+import com.owl.owlproject.utils.ResponseSink;
 
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <h2>Market Endpoints</h2>
  * Response will be returned in <i>String format</i>.
  */
 public abstract class Market {
-    private String baseUrl;
-    private String productUrl;
-    private RequestHandler requestHandler;
-    private boolean showLimitUsage;
+    private volatile String baseUrl;
+    private volatile String productUrl;
+    private volatile RequestHandler requestHandler;
+    private volatile boolean showLimitUsage;
 
     public Market(String productUrl, String baseUrl, String apiKey, boolean showLimitUsage, ProxyAuth proxy) {
         this.baseUrl = baseUrl;
@@ -24,6 +27,13 @@ public abstract class Market {
         this.showLimitUsage = showLimitUsage;
     }
 
+    public Market(String productUrl, String baseUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        this.baseUrl = baseUrl;
+        this.productUrl = productUrl;
+        this.requestHandler = requestHandler;
+        this.showLimitUsage = showLimitUsage;
+    }
+
     public String getBaseUrl() {
         return this.baseUrl;
     }
@@ -40,18 +50,34 @@ public abstract class Market {
         return this.showLimitUsage;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setProductUrl(String productUrl) {
         this.productUrl = productUrl;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setRequestHandler(String apiKey, String secretKey, ProxyAuth proxy) {
-        new RequestHandler(apiKey, secretKey, proxy);
+        this.requestHandler = new RequestHandler(apiKey, secretKey, proxy);
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setShowLimitUsage(boolean showLimitUsage) {
         this.showLimitUsage = showLimitUsage;
     }
@@ -61,41 +87,122 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, MARK_PRICE, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #markPrice(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> markPriceAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(productUrl, MARK_PRICE, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #markPrice(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.MARK_PRICES}.
+     * @return decoded response
+     */
+    public <T> T markPrice(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        return requestHandler.sendPublicRequest(productUrl, MARK_PRICE, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #markPrice(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> markPriceAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        return requestHandler.sendPublicRequestAsync(productUrl, MARK_PRICE, parameters, HttpMethod.GET, decoder);
+    }
+
     private final String TICKER_24H = "/v1/ticker/24hr";
     public String ticker24H(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(productUrl, TICKER_24H, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #ticker24H(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> ticker24HAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(productUrl, TICKER_24H, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String TICKER_SYMBOL = "/v1/ticker/price";
     public String tickerSymbol(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(productUrl, TICKER_SYMBOL, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #tickerSymbol(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> tickerSymbolAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(productUrl, TICKER_SYMBOL, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String BOOK_TICKER = "/v1/ticker/bookTicker";
     public String bookTicker(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(productUrl, BOOK_TICKER, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #bookTicker(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> bookTickerAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(productUrl, BOOK_TICKER, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String OPEN_INTEREST_STATS = "/futures/data/openInterestHist";
     public String openInterestStatistics(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(baseUrl, OPEN_INTEREST_STATS, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #openInterestStatistics(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> openInterestStatisticsAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(baseUrl, OPEN_INTEREST_STATS, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String TOP_TRADER_LONG_SHORT_RATIO_POSITIONS = "/futures/data/topLongShortPositionRatio";
     public String topTraderLongShortPos(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(baseUrl, TOP_TRADER_LONG_SHORT_RATIO_POSITIONS, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #topTraderLongShortPos(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> topTraderLongShortPosAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(baseUrl, TOP_TRADER_LONG_SHORT_RATIO_POSITIONS, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String TOP_TRADER_LONG_SHORT_RATIO_ACCOUNTS = "/futures/data/topLongShortAccountRatio";
     public String topTraderLongShortAccs(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(baseUrl, TOP_TRADER_LONG_SHORT_RATIO_ACCOUNTS, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #topTraderLongShortAccs(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> topTraderLongShortAccsAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(baseUrl, TOP_TRADER_LONG_SHORT_RATIO_ACCOUNTS, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String GLOBAL_LONG_SHORT = "/futures/data/globalLongShortAccountRatio";
     public String longShortRatio(LinkedHashMap<String, Object> parameters) {
         return requestHandler.sendPublicRequest(baseUrl, GLOBAL_LONG_SHORT, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #longShortRatio(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> longShortRatioAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(baseUrl, GLOBAL_LONG_SHORT, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
 
     private final String PING = "/v1/ping";
     /**
@@ -113,6 +220,14 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, PING, null, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #ping()}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> pingAsync() {
+        return requestHandler.sendPublicRequestAsync(productUrl, PING, null, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String TIME = "/v1/time";
     /**
      * Test connectivity to the Rest API and get the current server time.
@@ -129,6 +244,31 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, TIME, null, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #time()}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> timeAsync() {
+        return requestHandler.sendPublicRequestAsync(productUrl, TIME, null, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #time()} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.SERVER_TIME}.
+     * @return decoded response
+     */
+    public <T> T time(ResponseDecoder<T> decoder) {
+        return requestHandler.sendPublicRequest(productUrl, TIME, null, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #time(ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> timeAsync(ResponseDecoder<T> decoder) {
+        return requestHandler.sendPublicRequestAsync(productUrl, TIME, null, HttpMethod.GET, decoder);
+    }
+
     private final String EXCHANGE_INFO = "/v1/exchangeInfo";
     /**
      * Current exchange trading rules and symbol information.
@@ -145,6 +285,30 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, EXCHANGE_INFO, null, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #exchangeInfo()}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> exchangeInfoAsync() {
+        return requestHandler.sendPublicRequestAsync(productUrl, EXCHANGE_INFO, null, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #exchangeInfo()} that streams the response body into the sink instead of returning it as a String.
+     * @return number of bytes written to the sink
+     */
+    public long exchangeInfo(ResponseSink sink) {
+        return requestHandler.sendPublicRequest(productUrl, EXCHANGE_INFO, null, HttpMethod.GET, sink);
+    }
+
+    /**
+     * Asynchronous version of {@link #exchangeInfo(ResponseSink)}.
+     * @return CompletableFuture completed with the number of bytes written to the sink
+     */
+    public CompletableFuture<Long> exchangeInfoAsync(ResponseSink sink) {
+        return requestHandler.sendPublicRequestAsync(productUrl, EXCHANGE_INFO, null, HttpMethod.GET, sink);
+    }
+
     private final String DEPTH = "/v1/depth";
     /**
      * GET /v1/depth
@@ -167,6 +331,52 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, DEPTH, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #depth(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> depthAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, DEPTH, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #depth(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.ORDER_BOOK}.
+     * @return decoded response
+     */
+    public <T> T depth(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequest(productUrl, DEPTH, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #depth(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> depthAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, DEPTH, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Version of {@link #depth(LinkedHashMap)} that streams the response body into the sink instead of returning it as a String.
+     * @return number of bytes written to the sink
+     */
+    public long depth(LinkedHashMap<String, Object> parameters, ResponseSink sink) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequest(productUrl, DEPTH, parameters, HttpMethod.GET, sink);
+    }
+
+    /**
+     * Asynchronous version of {@link #depth(LinkedHashMap, ResponseSink)}.
+     * @return CompletableFuture completed with the number of bytes written to the sink
+     */
+    public CompletableFuture<Long> depthAsync(LinkedHashMap<String, Object> parameters, ResponseSink sink) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, DEPTH, parameters, HttpMethod.GET, sink);
+    }
+
     private final String TRADES = "/v1/trades";
     /**
      * Get recent trades.
@@ -190,6 +400,15 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, TRADES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #trades(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> tradesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, TRADES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String HISTORICAL_TRADES = "/v1/historicalTrades";
     /**
      * Get older market trades.
@@ -215,6 +434,15 @@ public abstract class Market {
         return requestHandler.sendWithApiKeyRequest(productUrl, HISTORICAL_TRADES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #historicalTrades(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> historicalTradesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendWithApiKeyRequestAsync(productUrl, HISTORICAL_TRADES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String AGG_TRADES = "/v1/aggTrades";
     /**
      * Get compressed, aggregate trades. Trades that fill at the time, from the same order,
@@ -242,6 +470,15 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, AGG_TRADES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #aggTrades(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> aggTradesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, AGG_TRADES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String KLINES = "/v1/klines";
     /**
      * Kline/candlestick bars for a symbol.
@@ -270,6 +507,57 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, KLINES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #klines(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> klinesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, KLINES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #klines(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.KLINES}.
+     * @return decoded response
+     */
+    public <T> T klines(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequest(productUrl, KLINES, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #klines(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> klinesAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, KLINES, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Version of {@link #klines(LinkedHashMap)} that streams the response body into the sink instead of returning it as a String.
+     * @return number of bytes written to the sink
+     */
+    public long klines(LinkedHashMap<String, Object> parameters, ResponseSink sink) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequest(productUrl, KLINES, parameters, HttpMethod.GET, sink);
+    }
+
+    /**
+     * Asynchronous version of {@link #klines(LinkedHashMap, ResponseSink)}.
+     * @return CompletableFuture completed with the number of bytes written to the sink
+     */
+    public CompletableFuture<Long> klinesAsync(LinkedHashMap<String, Object> parameters, ResponseSink sink) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, KLINES, parameters, HttpMethod.GET, sink);
+    }
+
     private final String CONTINUOUSKLINES = "/v1/continuousKlines";
     /**
      * Kline/candlestick bars for a specific contract type.
@@ -300,6 +588,40 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, CONTINUOUSKLINES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #continuousKlines(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> continuousKlinesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "pair", String.class);
+        ParameterChecker.checkParameter(parameters, "contractType", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, CONTINUOUSKLINES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #continuousKlines(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.KLINES}.
+     * @return decoded response
+     */
+    public <T> T continuousKlines(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "pair", String.class);
+        ParameterChecker.checkParameter(parameters, "contractType", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequest(productUrl, CONTINUOUSKLINES, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #continuousKlines(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> continuousKlinesAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "pair", String.class);
+        ParameterChecker.checkParameter(parameters, "contractType", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, CONTINUOUSKLINES, parameters, HttpMethod.GET, decoder);
+    }
+
     private final String INDEXPRICEKLINES = "/v1/indexPriceKlines";
     /**
      * Kline/candlestick bars for the index price of a pair.
@@ -328,6 +650,37 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, INDEXPRICEKLINES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #indexPriceKlines(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> indexPriceKlinesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "pair", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, INDEXPRICEKLINES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #indexPriceKlines(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.KLINES}.
+     * @return decoded response
+     */
+    public <T> T indexPriceKlines(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "pair", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequest(productUrl, INDEXPRICEKLINES, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #indexPriceKlines(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> indexPriceKlinesAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "pair", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, INDEXPRICEKLINES, parameters, HttpMethod.GET, decoder);
+    }
+
     private final String MARKPRICEKLINES = "/v1/markPriceKlines";
     /**
      * Kline/candlestick bars for the mark price of a symbol.
@@ -356,6 +709,37 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, MARKPRICEKLINES, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #markPriceKlines(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> markPriceKlinesAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, MARKPRICEKLINES, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
+    /**
+     * Version of {@link #markPriceKlines(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.KLINES}.
+     * @return decoded response
+     */
+    public <T> T markPriceKlines(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequest(productUrl, MARKPRICEKLINES, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #markPriceKlines(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> markPriceKlinesAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, MARKPRICEKLINES, parameters, HttpMethod.GET, decoder);
+    }
+
     private final String FUNDING_RATE = "/v1/fundingRate";
     /**
      * Get funding rate history
@@ -380,6 +764,14 @@ public abstract class Market {
         return requestHandler.sendPublicRequest(productUrl, FUNDING_RATE, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #fundingRate(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> fundingRateAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendPublicRequestAsync(productUrl, FUNDING_RATE, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String OPEN_INTEREST = "/v1/openInterest";
     /**
      * Get present open interest of a specific symbol.
@@ -402,4 +794,13 @@ public abstract class Market {
         ParameterChecker.checkParameter(parameters, "symbol", String.class);
         return requestHandler.sendPublicRequest(productUrl, OPEN_INTEREST, parameters, HttpMethod.GET, showLimitUsage);
     }
+
+    /**
+     * Asynchronous version of {@link #openInterest(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> openInterestAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return requestHandler.sendPublicRequestAsync(productUrl, OPEN_INTEREST, parameters, HttpMethod.GET, showLimitUsage);
+    }
 }
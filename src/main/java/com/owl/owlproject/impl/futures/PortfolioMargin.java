@@ -6,15 +6,16 @@ import com.owl.owlproject.utils.ProxyAuth;
 import com.owl.owlproject.utils.RequestHandler;
 
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <h2>Portfolio Margin Endpoints</h2>
  * Response will be returned in <i>String format</i>.
  */
 public abstract class PortfolioMargin {
-    private String productUrl;
-    private RequestHandler requestHandler;
-    private boolean showLimitUsage;
+    private volatile String productUrl;
+    private volatile RequestHandler requestHandler;
+    private volatile boolean showLimitUsage;
 
     public PortfolioMargin(String productUrl, String apiKey, String secretKey, boolean showLimitUsage, ProxyAuth proxy) {
         this.productUrl = productUrl;
@@ -22,6 +23,12 @@ public abstract class PortfolioMargin {
         this.showLimitUsage = showLimitUsage;
     }
 
+    public PortfolioMargin(String productUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        this.productUrl = productUrl;
+        this.requestHandler = requestHandler;
+        this.showLimitUsage = showLimitUsage;
+    }
+
     public String getProductUrl() {
         return this.productUrl;
     }
@@ -34,14 +41,26 @@ public abstract class PortfolioMargin {
         return this.showLimitUsage;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setProductUrl(String productUrl) {
         this.productUrl = productUrl;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setRequestHandler(String apiKey, String secretKey, ProxyAuth proxy) {
         this.requestHandler = new RequestHandler(apiKey, secretKey, proxy);
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setShowLimitUsage(boolean showLimitUsage) {
         this.showLimitUsage = showLimitUsage;
     }
@@ -51,6 +70,14 @@ public abstract class PortfolioMargin {
         return requestHandler.sendSignedRequest(productUrl, PORTFOLIO_MARGIN_EXCHANGE_INFO, parameters, HttpMethod.GET, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #portfolioMarginExchangeInfo(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> portfolioMarginExchangeInfoAsync(LinkedHashMap<String, Object> parameters) {
+        return requestHandler.sendSignedRequestAsync(productUrl, PORTFOLIO_MARGIN_EXCHANGE_INFO, parameters, HttpMethod.GET, showLimitUsage);
+    }
+
     private final String PORTFOLIO_MARGIN_ACCOUNT_INFO = "/v1/pmAccountInfo";
     /**
      * Get Portfolio Margin current account information.
@@ -70,4 +97,13 @@ public abstract class PortfolioMargin {
         ParameterChecker.checkParameter(parameters, "asset", String.class);
         return requestHandler.sendSignedRequest(productUrl, PORTFOLIO_MARGIN_ACCOUNT_INFO, parameters, HttpMethod.GET, showLimitUsage);
     }
+
+    /**
+     * Asynchronous version of {@link #portfolioMarginAccountInfo(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> portfolioMarginAccountInfoAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "asset", String.class);
+        return requestHandler.sendSignedRequestAsync(productUrl, PORTFOLIO_MARGIN_ACCOUNT_INFO, parameters, HttpMethod.GET, showLimitUsage);
+    }
 }
\ No newline at end of file
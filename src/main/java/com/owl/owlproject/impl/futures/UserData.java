@@ -4,14 +4,16 @@ import com.owl.owlproject.enums.HttpMethod;
 import com.owl.owlproject.utils.ProxyAuth;
 import com.owl.owlproject.utils.RequestHandler;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * <h2>User Data Streams Endpoints</h2>
  * Response will be returned in <i>String format</i>.
  */
 public abstract class UserData {
-    private String productUrl;
-    private RequestHandler requestHandler;
-    private boolean showLimitUsage;
+    private volatile String productUrl;
+    private volatile RequestHandler requestHandler;
+    private volatile boolean showLimitUsage;
 
     public UserData(String productUrl, String apiKey, boolean showLimitUsage, ProxyAuth proxy) {
         this.productUrl = productUrl;
@@ -19,6 +21,12 @@ public abstract class UserData {
         this.showLimitUsage = showLimitUsage;
     }
 
+    public UserData(String productUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        this.productUrl = productUrl;
+        this.requestHandler = requestHandler;
+        this.showLimitUsage = showLimitUsage;
+    }
+
     public String getProductUrl() {
         return this.productUrl;
     }
@@ -31,14 +39,26 @@ public abstract class UserData {
         return this.showLimitUsage;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setProductUrl(String productUrl) {
         this.productUrl = productUrl;
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setRequestHandler(String apiKey, ProxyAuth proxy) {
         this.requestHandler = new RequestHandler(apiKey, proxy);
     }
 
+    /**
+     * @deprecated the facade is shared by every caller of the client, configure the client through its builder instead
+     */
+    @Deprecated
     public void setShowLimitUsage(boolean showLimitUsage) {
         this.showLimitUsage = showLimitUsage;
     }
@@ -58,6 +78,14 @@ public abstract class UserData {
         return requestHandler.sendWithApiKeyRequest(productUrl, LISTEN_KEY, null, HttpMethod.POST, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #createListenKey()}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> createListenKeyAsync() {
+        return requestHandler.sendWithApiKeyRequestAsync(productUrl, LISTEN_KEY, null, HttpMethod.POST, showLimitUsage);
+    }
+
     /**
      * Keepalive a user data stream to prevent a time out. User data streams will close after 60 minutes.
      * It's recommended to send a ping about every 60 minutes.
@@ -72,6 +100,14 @@ public abstract class UserData {
         return requestHandler.sendWithApiKeyRequest(productUrl, LISTEN_KEY, null, HttpMethod.PUT, showLimitUsage);
     }
 
+    /**
+     * Asynchronous version of {@link #extendListenKey()}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> extendListenKeyAsync() {
+        return requestHandler.sendWithApiKeyRequestAsync(productUrl, LISTEN_KEY, null, HttpMethod.PUT, showLimitUsage);
+    }
+
     /**
      * Close out a user data stream.
      * <br><br>
@@ -84,4 +120,12 @@ public abstract class UserData {
     public String closeListenKey() {
         return requestHandler.sendWithApiKeyRequest(productUrl, LISTEN_KEY, null, HttpMethod.DELETE, showLimitUsage);
     }
+
+    /**
+     * Asynchronous version of {@link #closeListenKey()}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> closeListenKeyAsync() {
+        return requestHandler.sendWithApiKeyRequestAsync(productUrl, LISTEN_KEY, null, HttpMethod.DELETE, showLimitUsage);
+    }
 }
\ No newline at end of file
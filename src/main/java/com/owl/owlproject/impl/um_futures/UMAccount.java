@@ -4,8 +4,12 @@ import com.owl.owlproject.enums.HttpMethod;
 import com.owl.owlproject.impl.futures.Account;
 import com.owl.owlproject.utils.ParameterChecker;
 import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.RequestHandler;
+import com.owl.owlproject.utils.ResponseDecoder;
+import com.owl.owlproject.utils.websocket.WebSocketApiSession;
 
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <h2>USDⓈ-Margined Trade Endpoints</h2>
@@ -20,6 +24,14 @@ public class UMAccount extends Account {
         super(productUrl, apiKey, secretKey, showLimitUsage, proxy);
     }
 
+    public UMAccount(String productUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        super(productUrl, requestHandler, showLimitUsage);
+    }
+
+    public UMAccount(String productUrl, RequestHandler requestHandler, boolean showLimitUsage, WebSocketApiSession orderSession) {
+        super(productUrl, requestHandler, showLimitUsage, orderSession);
+    }
+
     private final String MULTI_ASSETS_MARGIN = "/v1/multiAssetsMargin";
     /**
      * Change user's Multi-Assets mode (Multi-Assets Mode or Single-Asset Mode) on Every symbol
@@ -41,6 +53,15 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), MULTI_ASSETS_MARGIN, parameters, HttpMethod.POST, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #changeMultiAssetsMode(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> changeMultiAssetsModeAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "dualSidePosition", String.class);
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), MULTI_ASSETS_MARGIN, parameters, HttpMethod.POST, getShowLimitUsage());
+    }
+
     /**
      * Get user's Multi-Assets mode (Multi-Assets Mode or Single-Asset Mode) on Every symbol
      * <br><br>
@@ -59,6 +80,14 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), MULTI_ASSETS_MARGIN, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #getCurrentMultiAssetMode(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getCurrentMultiAssetModeAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), MULTI_ASSETS_MARGIN, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
 
     /**
      * Get all open orders on a symbol. Careful when accessing this with no symbol.
@@ -103,6 +132,15 @@ public class UMAccount extends Account {
         return super.allOrders(parameters);
     }
 
+    /**
+     * Asynchronous version of {@link #allOrders(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> allOrdersAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return super.allOrdersAsync(parameters);
+    }
+
     private final String BALANCE = "/v2/balance";
     /**
      * Get Futures Account Balance
@@ -122,6 +160,14 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), BALANCE, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #futuresAccountBalance(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> futuresAccountBalanceAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), BALANCE, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String ACCOUNT_INFORMATION = "/v2/account";
     /**
      * Get current account information. User in single-asset/ multi-assets mode will see different value, see comments in response section for detail.
@@ -141,6 +187,14 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), ACCOUNT_INFORMATION, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #accountInformation(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> accountInformationAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), ACCOUNT_INFORMATION, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String POSITION_RISK = "/v2/positionRisk";
     /**
      * Get current position information.
@@ -161,6 +215,31 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), POSITION_RISK, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #positionInformation(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> positionInformationAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), POSITION_RISK, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
+    /**
+     * Version of {@link #positionInformation(LinkedHashMap)} that decodes the response with the given decoder,
+     * e.g. {@code ResponseDecoders.POSITIONS}.
+     * @return decoded response
+     */
+    public <T> T positionInformation(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        return getRequestHandler().sendSignedRequest(getProductUrl(), POSITION_RISK, parameters, HttpMethod.GET, decoder);
+    }
+
+    /**
+     * Asynchronous version of {@link #positionInformation(LinkedHashMap, ResponseDecoder)}.
+     * @return CompletableFuture completed with the decoded response
+     */
+    public <T> CompletableFuture<T> positionInformationAsync(LinkedHashMap<String, Object> parameters, ResponseDecoder<T> decoder) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), POSITION_RISK, parameters, HttpMethod.GET, decoder);
+    }
+
     /**
      * Get trades for a specific account and symbol.
      * <br><br>
@@ -185,6 +264,15 @@ public class UMAccount extends Account {
         return super.accountTradeList(parameters);
     }
 
+    /**
+     * Asynchronous version of {@link #accountTradeList(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> accountTradeListAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        return super.accountTradeListAsync(parameters);
+    }
+
     /**
      * Notional and Leverage Brackets
      * <br><br>
@@ -225,6 +313,14 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), API_TRADING_STATUS, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #getTradingRulesIndicators(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> getTradingRulesIndicatorsAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), API_TRADING_STATUS, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String INCOME_ASYN = "/v1/income/asyn";
     /**
      * Get Download Id For Futures Transaction History
@@ -246,6 +342,14 @@ public class UMAccount extends Account {
         return getRequestHandler().sendSignedRequest(getProductUrl(), INCOME_ASYN, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #futuresDownloadId(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> futuresDownloadIdAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), INCOME_ASYN, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String INCOME_ASYN_ID = "/v1/income/asyn/id";
     /**
      * Get Futures Transaction History Download Link by Id
@@ -266,4 +370,13 @@ public class UMAccount extends Account {
         ParameterChecker.checkParameter(parameters, "downloadId", String.class);
         return getRequestHandler().sendSignedRequest(getProductUrl(), INCOME_ASYN_ID, parameters, HttpMethod.GET, getShowLimitUsage());
     }
+
+    /**
+     * Asynchronous version of {@link #futuresDownloadLink(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> futuresDownloadLinkAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "downloadId", String.class);
+        return getRequestHandler().sendSignedRequestAsync(getProductUrl(), INCOME_ASYN_ID, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
 }
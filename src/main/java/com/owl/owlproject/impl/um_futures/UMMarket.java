@@ -4,8 +4,10 @@ import com.owl.owlproject.enums.HttpMethod;
 import com.owl.owlproject.impl.futures.Market;
 import com.owl.owlproject.utils.ParameterChecker;
 import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.RequestHandler;
 
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <h2>USDⓈ-Margined Market Endpoints</h2>
@@ -20,6 +22,10 @@ public class UMMarket extends Market {
         super(productUrl, baseUrl, apiKey, showLimitUsage, proxy);
     }
 
+    public UMMarket(String productUrl, String baseUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        super(productUrl, baseUrl, requestHandler, showLimitUsage);
+    }
+
     /**
      * Mark Price and Funding Rate
      * <br><br>
@@ -119,6 +125,16 @@ public class UMMarket extends Market {
         return super.openInterestStatistics(parameters);
     }
 
+    /**
+     * Asynchronous version of {@link #openInterestStatistics(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> openInterestStatisticsAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "period", String.class);
+        return super.openInterestStatisticsAsync(parameters);
+    }
+
     /**
      * Top Trader Long/Short Ratio (Positions)
      * <br><br>
@@ -144,6 +160,16 @@ public class UMMarket extends Market {
         return super.topTraderLongShortPos(parameters);
     }
 
+    /**
+     * Asynchronous version of {@link #topTraderLongShortPos(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> topTraderLongShortPosAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "period", String.class);
+        return super.topTraderLongShortPosAsync(parameters);
+    }
+
     /**
      * Top Trader Long/Short Ratio (Accounts)
      * <br><br>
@@ -169,6 +195,16 @@ public class UMMarket extends Market {
         return super.topTraderLongShortAccs(parameters);
     }
 
+    /**
+     * Asynchronous version of {@link #topTraderLongShortAccs(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> topTraderLongShortAccsAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "period", String.class);
+        return super.topTraderLongShortAccsAsync(parameters);
+    }
+
     /**
      * Long/Short Ratio
      * <br><br>
@@ -194,6 +230,16 @@ public class UMMarket extends Market {
         return super.longShortRatio(parameters);
     }
 
+    /**
+     * Asynchronous version of {@link #longShortRatio(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> longShortRatioAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "period", String.class);
+        return super.longShortRatioAsync(parameters);
+    }
+
     private final String TAKE_BUY_SELL_VOLUME = "/futures/data/takerlongshortRatio";
     /**
      * Taker Buy/Sell Volume
@@ -220,6 +266,16 @@ public class UMMarket extends Market {
         return getRequestHandler().sendPublicRequest(getBaseUrl(), TAKE_BUY_SELL_VOLUME, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #takerBuySellVol(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> takerBuySellVolAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "period", String.class);
+        return getRequestHandler().sendPublicRequestAsync(getBaseUrl(), TAKE_BUY_SELL_VOLUME, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String HISTORICAL_BLVT = "/v1/lvtKlines";
     /**
      * The BLVT NAV system is based on Binance Futures, so the endpoint is based on fapi
@@ -246,6 +302,16 @@ public class UMMarket extends Market {
         return getRequestHandler().sendPublicRequest(getProductUrl(), HISTORICAL_BLVT, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #historicalBlvt(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> historicalBlvtAsync(LinkedHashMap<String, Object> parameters) {
+        ParameterChecker.checkParameter(parameters, "symbol", String.class);
+        ParameterChecker.checkParameter(parameters, "interval", String.class);
+        return getRequestHandler().sendPublicRequestAsync(getProductUrl(), HISTORICAL_BLVT, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String INDEX_INFO = "/v1/indexInfo";
     /**
      * GET /v1/indexInfo
@@ -264,6 +330,14 @@ public class UMMarket extends Market {
         return getRequestHandler().sendPublicRequest(getProductUrl(), INDEX_INFO, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #indexInfo(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> indexInfoAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendPublicRequestAsync(getProductUrl(), INDEX_INFO, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
     private final String ASSET_INDEX = "/v1/assetIndex";
     /**
      * asset index for Multi-Assets mode
@@ -284,4 +358,12 @@ public class UMMarket extends Market {
         return getRequestHandler().sendPublicRequest(getProductUrl(), ASSET_INDEX, parameters, HttpMethod.GET, getShowLimitUsage());
     }
 
+    /**
+     * Asynchronous version of {@link #assetIndex(LinkedHashMap)}.
+     * @return CompletableFuture completed with the response String
+     */
+    public CompletableFuture<String> assetIndexAsync(LinkedHashMap<String, Object> parameters) {
+        return getRequestHandler().sendPublicRequestAsync(getProductUrl(), ASSET_INDEX, parameters, HttpMethod.GET, getShowLimitUsage());
+    }
+
 }
@@ -2,6 +2,7 @@ package com.owl.owlproject.impl.um_futures;
 
 import com.owl.owlproject.impl.futures.UserData;
 import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.RequestHandler;
 
 /**
  * <h2>USDⓈ-Margined User Data Streams Endpoints</h2>
@@ -15,4 +16,8 @@ public class UMUserData extends UserData {
     public UMUserData(String productUrl, String apiKey, boolean showLimitUsage, ProxyAuth proxy) {
         super(productUrl, apiKey, showLimitUsage, proxy);
     }
+
+    public UMUserData(String productUrl, RequestHandler requestHandler, boolean showLimitUsage) {
+        super(productUrl, requestHandler, showLimitUsage);
+    }
 }
@@ -0,0 +1,33 @@
+package com.owl.owlproject.model.request;
+
+/**
+ * Typed parameters of DELETE /v1/order.
+ * @see <a href="https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/Cancel-Order">
+ *     https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/Cancel-Order</a>
+ */
+public final class CancelOrderRequest extends OrderReferenceRequest {
+
+    private CancelOrderRequest(String symbol, long orderId, long recvWindow) {
+        super(symbol, orderId, recvWindow);
+    }
+
+    private CancelOrderRequest(String symbol, String origClientOrderId, long recvWindow) {
+        super(symbol, origClientOrderId, recvWindow);
+    }
+
+    public static CancelOrderRequest byOrderId(String symbol, long orderId) {
+        return new CancelOrderRequest(symbol, orderId, 0L);
+    }
+
+    public static CancelOrderRequest byOrderId(String symbol, long orderId, long recvWindow) {
+        return new CancelOrderRequest(symbol, orderId, recvWindow);
+    }
+
+    public static CancelOrderRequest byClientOrderId(String symbol, String origClientOrderId) {
+        return new CancelOrderRequest(symbol, origClientOrderId, 0L);
+    }
+
+    public static CancelOrderRequest byClientOrderId(String symbol, String origClientOrderId, long recvWindow) {
+        return new CancelOrderRequest(symbol, origClientOrderId, recvWindow);
+    }
+}
@@ -0,0 +1,59 @@
+package com.owl.owlproject.model.request;
+
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point helpers for the typed requests. A decimal is kept as an unscaled long and a scale,
+ * {@link #ABSENT} marks a value that was not set.
+ */
+final class Decimals {
+    static final int ABSENT = Integer.MIN_VALUE;
+
+    private Decimals() {
+    }
+
+    /**
+     * @param value a value returned by {@link #normalize(BigDecimal, String)}
+     */
+    static long unscaled(BigDecimal value, String name) {
+        try {
+            return value.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BinanceConnectorException(String.format("\"%s\" has too many digits: %s", name, value));
+        }
+    }
+
+    static BigDecimal parse(String value, String name) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new BinanceConnectorException(String.format("\"%s\" must be a decimal number: %s", name, value));
+        }
+    }
+
+    static BigDecimal valueOf(double value, String name) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new BinanceConnectorException(String.format("\"%s\" must be a finite number: %s", name, value));
+        }
+        return BigDecimal.valueOf(value);
+    }
+
+    static void checkPositive(long unscaled, int scale, String name) {
+        if (scale != ABSENT && unscaled <= 0) {
+            throw new BinanceConnectorException(String.format("\"%s\" must be positive.", name));
+        }
+    }
+
+    static String toPlainString(long unscaled, int scale) {
+        return BigDecimal.valueOf(unscaled, scale).toPlainString();
+    }
+
+    static BigDecimal normalize(BigDecimal value, String name) {
+        if (value == null) {
+            throw new BinanceConnectorException(String.format("\"%s\" must not be null.", name));
+        }
+        return value.scale() < 0 ? value.setScale(0) : value;
+    }
+}
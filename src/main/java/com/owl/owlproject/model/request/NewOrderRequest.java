@@ -0,0 +1,446 @@
+package com.owl.owlproject.model.request;
+
+import com.owl.owlproject.enums.NewOrderRespType;
+import com.owl.owlproject.enums.OrderType;
+import com.owl.owlproject.enums.PositionSide;
+import com.owl.owlproject.enums.Side;
+import com.owl.owlproject.enums.TimeInForce;
+import com.owl.owlproject.enums.WorkingType;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.utils.QueryEncoder;
+import com.owl.owlproject.utils.QueryParameters;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+
+import static com.owl.owlproject.model.request.Decimals.ABSENT;
+
+/**
+ * Typed parameters of POST /v1/order.
+ * <br>
+ * Prices and quantities are kept as fixed-point values (unscaled long and scale), the parameters required by the
+ * order type are checked once in {@link Builder#build()} and an instance can be sent any number of times.
+ * @see <a href="https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/New-Order">
+ *    https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/New-Order</a>
+ */
+public final class NewOrderRequest implements QueryParameters {
+    private final String symbol;
+    private final Side side;
+    private final PositionSide positionSide;
+    private final OrderType type;
+    private final TimeInForce timeInForce;
+    private final long quantity;
+    private final int quantityScale;
+    private final Boolean reduceOnly;
+    private final long price;
+    private final int priceScale;
+    private final String newClientOrderId;
+    private final long stopPrice;
+    private final int stopPriceScale;
+    private final Boolean closePosition;
+    private final long activationPrice;
+    private final int activationPriceScale;
+    private final long callbackRate;
+    private final int callbackRateScale;
+    private final WorkingType workingType;
+    private final Boolean priceProtect;
+    private final NewOrderRespType newOrderRespType;
+    private final long goodTillDate;
+    private final long recvWindow;
+
+    private NewOrderRequest(Builder builder) {
+        this.symbol = builder.symbol;
+        this.side = builder.side;
+        this.positionSide = builder.positionSide;
+        this.type = builder.type;
+        this.timeInForce = builder.timeInForce;
+        this.quantity = builder.quantity;
+        this.quantityScale = builder.quantityScale;
+        this.reduceOnly = builder.reduceOnly;
+        this.price = builder.price;
+        this.priceScale = builder.priceScale;
+        this.newClientOrderId = builder.newClientOrderId;
+        this.stopPrice = builder.stopPrice;
+        this.stopPriceScale = builder.stopPriceScale;
+        this.closePosition = builder.closePosition;
+        this.activationPrice = builder.activationPrice;
+        this.activationPriceScale = builder.activationPriceScale;
+        this.callbackRate = builder.callbackRate;
+        this.callbackRateScale = builder.callbackRateScale;
+        this.workingType = builder.workingType;
+        this.priceProtect = builder.priceProtect;
+        this.newOrderRespType = builder.newOrderRespType;
+        this.goodTillDate = builder.goodTillDate;
+        this.recvWindow = builder.recvWindow;
+    }
+
+    public static Builder builder(String symbol, Side side, OrderType type) {
+        return new Builder(symbol, side, type);
+    }
+
+    public static Builder limit(String symbol, Side side, TimeInForce timeInForce) {
+        return new Builder(symbol, side, OrderType.LIMIT).timeInForce(timeInForce);
+    }
+
+    public static Builder market(String symbol, Side side) {
+        return new Builder(symbol, side, OrderType.MARKET);
+    }
+
+    @Override
+    public void writeTo(QueryEncoder encoder) {
+        encoder.append("symbol", symbol)
+                .append("side", side.name());
+        if (positionSide != null) {
+            encoder.append("positionSide", positionSide.name());
+        }
+        encoder.append("type", type.name());
+        if (timeInForce != null) {
+            encoder.append("timeInForce", timeInForce.name());
+        }
+        if (quantityScale != ABSENT) {
+            encoder.appendDecimal("quantity", quantity, quantityScale);
+        }
+        if (reduceOnly != null) {
+            encoder.append("reduceOnly", reduceOnly);
+        }
+        if (priceScale != ABSENT) {
+            encoder.appendDecimal("price", price, priceScale);
+        }
+        if (newClientOrderId != null) {
+            encoder.append("newClientOrderId", newClientOrderId);
+        }
+        if (stopPriceScale != ABSENT) {
+            encoder.appendDecimal("stopPrice", stopPrice, stopPriceScale);
+        }
+        if (closePosition != null) {
+            encoder.append("closePosition", closePosition);
+        }
+        if (activationPriceScale != ABSENT) {
+            encoder.appendDecimal("activationPrice", activationPrice, activationPriceScale);
+        }
+        if (callbackRateScale != ABSENT) {
+            encoder.appendDecimal("callbackRate", callbackRate, callbackRateScale);
+        }
+        if (workingType != null) {
+            encoder.append("workingType", workingType.name());
+        }
+        if (priceProtect != null) {
+            encoder.append("priceProtect", priceProtect ? "TRUE" : "FALSE");
+        }
+        if (newOrderRespType != null) {
+            encoder.append("newOrderRespType", newOrderRespType.name());
+        }
+        if (goodTillDate > 0) {
+            encoder.append("goodTillDate", goodTillDate);
+        }
+        if (recvWindow > 0) {
+            encoder.append("recvWindow", recvWindow);
+        }
+    }
+
+    /**
+     * @return the order as an element of the batchOrders parameter of POST /v1/batchOrders
+     */
+    public JSONObject toJSONObject() {
+        JSONObject json = new JSONObject();
+        json.put("symbol", symbol);
+        json.put("side", side.name());
+        if (positionSide != null) {
+            json.put("positionSide", positionSide.name());
+        }
+        json.put("type", type.name());
+        if (timeInForce != null) {
+            json.put("timeInForce", timeInForce.name());
+        }
+        if (quantityScale != ABSENT) {
+            json.put("quantity", Decimals.toPlainString(quantity, quantityScale));
+        }
+        if (reduceOnly != null) {
+            json.put("reduceOnly", reduceOnly.toString());
+        }
+        if (priceScale != ABSENT) {
+            json.put("price", Decimals.toPlainString(price, priceScale));
+        }
+        if (newClientOrderId != null) {
+            json.put("newClientOrderId", newClientOrderId);
+        }
+        if (stopPriceScale != ABSENT) {
+            json.put("stopPrice", Decimals.toPlainString(stopPrice, stopPriceScale));
+        }
+        if (closePosition != null) {
+            json.put("closePosition", closePosition.toString());
+        }
+        if (activationPriceScale != ABSENT) {
+            json.put("activationPrice", Decimals.toPlainString(activationPrice, activationPriceScale));
+        }
+        if (callbackRateScale != ABSENT) {
+            json.put("callbackRate", Decimals.toPlainString(callbackRate, callbackRateScale));
+        }
+        if (workingType != null) {
+            json.put("workingType", workingType.name());
+        }
+        if (priceProtect != null) {
+            json.put("priceProtect", priceProtect ? "TRUE" : "FALSE");
+        }
+        if (newOrderRespType != null) {
+            json.put("newOrderRespType", newOrderRespType.name());
+        }
+        if (goodTillDate > 0) {
+            json.put("goodTillDate", String.valueOf(goodTillDate));
+        }
+        return json;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public Side getSide() {
+        return side;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public String getNewClientOrderId() {
+        return newClientOrderId;
+    }
+
+    public static final class Builder {
+        private final String symbol;
+        private final Side side;
+        private final OrderType type;
+        private PositionSide positionSide;
+        private TimeInForce timeInForce;
+        private long quantity;
+        private int quantityScale = ABSENT;
+        private Boolean reduceOnly;
+        private long price;
+        private int priceScale = ABSENT;
+        private String newClientOrderId;
+        private long stopPrice;
+        private int stopPriceScale = ABSENT;
+        private Boolean closePosition;
+        private long activationPrice;
+        private int activationPriceScale = ABSENT;
+        private long callbackRate;
+        private int callbackRateScale = ABSENT;
+        private WorkingType workingType;
+        private Boolean priceProtect;
+        private NewOrderRespType newOrderRespType;
+        private long goodTillDate;
+        private long recvWindow;
+
+        private Builder(String symbol, Side side, OrderType type) {
+            this.symbol = symbol;
+            this.side = side;
+            this.type = type;
+        }
+
+        public Builder positionSide(PositionSide positionSide) {
+            this.positionSide = positionSide;
+            return this;
+        }
+
+        public Builder timeInForce(TimeInForce timeInForce) {
+            this.timeInForce = timeInForce;
+            return this;
+        }
+
+        /**
+         * @param unscaledValue quantity multiplied by 10^scale, e.g. 15 with scale 3 for 0.015
+         * @param scale number of fraction digits
+         * @return this builder
+         */
+        public Builder quantity(long unscaledValue, int scale) {
+            this.quantity = unscaledValue;
+            this.quantityScale = scale;
+            return this;
+        }
+
+        public Builder quantity(BigDecimal quantity) {
+            BigDecimal value = Decimals.normalize(quantity, "quantity");
+            return quantity(Decimals.unscaled(value, "quantity"), value.scale());
+        }
+
+        public Builder quantity(String quantity) {
+            return quantity(Decimals.parse(quantity, "quantity"));
+        }
+
+        public Builder quantity(double quantity) {
+            return quantity(Decimals.valueOf(quantity, "quantity"));
+        }
+
+        public Builder reduceOnly(boolean reduceOnly) {
+            this.reduceOnly = reduceOnly;
+            return this;
+        }
+
+        /**
+         * @param unscaledValue price multiplied by 10^scale, e.g. 2712345 with scale 2 for 27123.45
+         * @param scale number of fraction digits
+         * @return this builder
+         */
+        public Builder price(long unscaledValue, int scale) {
+            this.price = unscaledValue;
+            this.priceScale = scale;
+            return this;
+        }
+
+        public Builder price(BigDecimal price) {
+            BigDecimal value = Decimals.normalize(price, "price");
+            return price(Decimals.unscaled(value, "price"), value.scale());
+        }
+
+        public Builder price(String price) {
+            return price(Decimals.parse(price, "price"));
+        }
+
+        public Builder price(double price) {
+            return price(Decimals.valueOf(price, "price"));
+        }
+
+        public Builder newClientOrderId(String newClientOrderId) {
+            this.newClientOrderId = newClientOrderId;
+            return this;
+        }
+
+        public Builder stopPrice(long unscaledValue, int scale) {
+            this.stopPrice = unscaledValue;
+            this.stopPriceScale = scale;
+            return this;
+        }
+
+        public Builder stopPrice(BigDecimal stopPrice) {
+            BigDecimal value = Decimals.normalize(stopPrice, "stopPrice");
+            return stopPrice(Decimals.unscaled(value, "stopPrice"), value.scale());
+        }
+
+        public Builder stopPrice(String stopPrice) {
+            return stopPrice(Decimals.parse(stopPrice, "stopPrice"));
+        }
+
+        public Builder stopPrice(double stopPrice) {
+            return stopPrice(Decimals.valueOf(stopPrice, "stopPrice"));
+        }
+
+        public Builder closePosition(boolean closePosition) {
+            this.closePosition = closePosition;
+            return this;
+        }
+
+        public Builder activationPrice(BigDecimal activationPrice) {
+            BigDecimal value = Decimals.normalize(activationPrice, "activationPrice");
+            this.activationPrice = Decimals.unscaled(value, "activationPrice");
+            this.activationPriceScale = value.scale();
+            return this;
+        }
+
+        public Builder activationPrice(String activationPrice) {
+            return activationPrice(Decimals.parse(activationPrice, "activationPrice"));
+        }
+
+        public Builder activationPrice(double activationPrice) {
+            return activationPrice(Decimals.valueOf(activationPrice, "activationPrice"));
+        }
+
+        public Builder callbackRate(BigDecimal callbackRate) {
+            BigDecimal value = Decimals.normalize(callbackRate, "callbackRate");
+            this.callbackRate = Decimals.unscaled(value, "callbackRate");
+            this.callbackRateScale = value.scale();
+            return this;
+        }
+
+        public Builder callbackRate(String callbackRate) {
+            return callbackRate(Decimals.parse(callbackRate, "callbackRate"));
+        }
+
+        public Builder callbackRate(double callbackRate) {
+            return callbackRate(Decimals.valueOf(callbackRate, "callbackRate"));
+        }
+
+        public Builder workingType(WorkingType workingType) {
+            this.workingType = workingType;
+            return this;
+        }
+
+        public Builder priceProtect(boolean priceProtect) {
+            this.priceProtect = priceProtect;
+            return this;
+        }
+
+        public Builder newOrderRespType(NewOrderRespType newOrderRespType) {
+            this.newOrderRespType = newOrderRespType;
+            return this;
+        }
+
+        public Builder goodTillDate(long goodTillDate) {
+            this.goodTillDate = goodTillDate;
+            return this;
+        }
+
+        public Builder recvWindow(long recvWindow) {
+            this.recvWindow = recvWindow;
+            return this;
+        }
+
+        public NewOrderRequest build() {
+            if (symbol == null || symbol.trim().isEmpty()) {
+                throw new BinanceConnectorException("\"symbol\" is a mandatory parameter!");
+            }
+            if (side == null) {
+                throw new BinanceConnectorException("\"side\" is a mandatory parameter!");
+            }
+            if (type == null) {
+                throw new BinanceConnectorException("\"type\" is a mandatory parameter!");
+            }
+            boolean closesPosition = Boolean.TRUE.equals(closePosition);
+            switch (type) {
+                case LIMIT:
+                    require(timeInForce != null, "timeInForce");
+                    require(quantityScale != ABSENT, "quantity");
+                    require(priceScale != ABSENT, "price");
+                    break;
+                case MARKET:
+                    require(quantityScale != ABSENT, "quantity");
+                    break;
+                case STOP:
+                case TAKE_PROFIT:
+                    require(quantityScale != ABSENT, "quantity");
+                    require(priceScale != ABSENT, "price");
+                    require(stopPriceScale != ABSENT, "stopPrice");
+                    break;
+                case STOP_MARKET:
+                case TAKE_PROFIT_MARKET:
+                    require(stopPriceScale != ABSENT, "stopPrice");
+                    require(closesPosition || quantityScale != ABSENT, "quantity");
+                    break;
+                case TRAILING_STOP_MARKET:
+                    require(callbackRateScale != ABSENT, "callbackRate");
+                    require(quantityScale != ABSENT, "quantity");
+                    break;
+                default:
+                    throw new BinanceConnectorException("Invalid order type: " + type);
+            }
+            if (timeInForce == TimeInForce.GTD) {
+                require(goodTillDate > 0, "goodTillDate");
+            }
+            if (closesPosition && (quantityScale != ABSENT || reduceOnly != null)) {
+                throw new BinanceConnectorException("\"closePosition\" cannot be sent with \"quantity\" or \"reduceOnly\".");
+            }
+            Decimals.checkPositive(quantity, quantityScale, "quantity");
+            Decimals.checkPositive(price, priceScale, "price");
+            Decimals.checkPositive(stopPrice, stopPriceScale, "stopPrice");
+            Decimals.checkPositive(activationPrice, activationPriceScale, "activationPrice");
+            Decimals.checkPositive(callbackRate, callbackRateScale, "callbackRate");
+            return new NewOrderRequest(this);
+        }
+
+        private void require(boolean present, String parameter) {
+            if (!present) {
+                throw new BinanceConnectorException(String.format("\"%s\" is a mandatory parameter for %s orders!", parameter, type));
+            }
+        }
+    }
+}
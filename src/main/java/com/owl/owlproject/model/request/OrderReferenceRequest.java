@@ -0,0 +1,70 @@
+package com.owl.owlproject.model.request;
+
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.utils.QueryEncoder;
+import com.owl.owlproject.utils.QueryParameters;
+
+/**
+ * Parameters identifying one existing order by symbol and either orderId or origClientOrderId.
+ */
+abstract class OrderReferenceRequest implements QueryParameters {
+    private static final long NO_ORDER_ID = -1L;
+
+    private final String symbol;
+    private final long orderId;
+    private final String origClientOrderId;
+    private final long recvWindow;
+
+    OrderReferenceRequest(String symbol, long orderId, String origClientOrderId, long recvWindow) {
+        if (symbol == null || symbol.trim().isEmpty()) {
+            throw new BinanceConnectorException("\"symbol\" is a mandatory parameter!");
+        }
+        if (orderId == NO_ORDER_ID && (origClientOrderId == null || origClientOrderId.isEmpty())) {
+            throw new BinanceConnectorException("Either \"orderId\" or \"origClientOrderId\" is required!");
+        }
+        this.symbol = symbol;
+        this.orderId = orderId;
+        this.origClientOrderId = origClientOrderId;
+        this.recvWindow = recvWindow;
+    }
+
+    OrderReferenceRequest(String symbol, long orderId, long recvWindow) {
+        this(symbol, checkOrderId(orderId), null, recvWindow);
+    }
+
+    OrderReferenceRequest(String symbol, String origClientOrderId, long recvWindow) {
+        this(symbol, NO_ORDER_ID, origClientOrderId, recvWindow);
+    }
+
+    @Override
+    public void writeTo(QueryEncoder encoder) {
+        encoder.append("symbol", symbol);
+        if (orderId != NO_ORDER_ID) {
+            encoder.append("orderId", orderId);
+        } else {
+            encoder.append("origClientOrderId", origClientOrderId);
+        }
+        if (recvWindow > 0) {
+            encoder.append("recvWindow", recvWindow);
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrigClientOrderId() {
+        return origClientOrderId;
+    }
+
+    private static long checkOrderId(long orderId) {
+        if (orderId < 0) {
+            throw new BinanceConnectorException("\"orderId\" must not be negative.");
+        }
+        return orderId;
+    }
+}
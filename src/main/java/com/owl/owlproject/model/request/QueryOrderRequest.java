@@ -0,0 +1,33 @@
+package com.owl.owlproject.model.request;
+
+/**
+ * Typed parameters of GET /v1/order.
+ * @see <a href="https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/Query-Order">
+ *     https://developers.binance.com/docs/derivatives/usds-margined-futures/trade/rest-api/Query-Order</a>
+ */
+public final class QueryOrderRequest extends OrderReferenceRequest {
+
+    private QueryOrderRequest(String symbol, long orderId, long recvWindow) {
+        super(symbol, orderId, recvWindow);
+    }
+
+    private QueryOrderRequest(String symbol, String origClientOrderId, long recvWindow) {
+        super(symbol, origClientOrderId, recvWindow);
+    }
+
+    public static QueryOrderRequest byOrderId(String symbol, long orderId) {
+        return new QueryOrderRequest(symbol, orderId, 0L);
+    }
+
+    public static QueryOrderRequest byOrderId(String symbol, long orderId, long recvWindow) {
+        return new QueryOrderRequest(symbol, orderId, recvWindow);
+    }
+
+    public static QueryOrderRequest byClientOrderId(String symbol, String origClientOrderId) {
+        return new QueryOrderRequest(symbol, origClientOrderId, 0L);
+    }
+
+    public static QueryOrderRequest byClientOrderId(String symbol, String origClientOrderId, long recvWindow) {
+        return new QueryOrderRequest(symbol, origClientOrderId, recvWindow);
+    }
+}
@@ -0,0 +1,202 @@
+package com.owl.owlproject.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+
+/**
+ * Kline/candlestick bars as returned by GET /v1/klines, /v1/continuousKlines, /v1/indexPriceKlines
+ * and /v1/markPriceKlines, stored column by column in primitive arrays.
+ * <br>
+ * The array getters return the backing arrays, only the first {@link #size()} elements are valid.
+ */
+public final class Klines {
+    private static final int INITIAL_CAPACITY = 512;
+
+    private int size;
+    private long[] openTime;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private long[] closeTime;
+    private double[] quoteVolume;
+    private long[] trades;
+    private double[] takerBuyBaseVolume;
+    private double[] takerBuyQuoteVolume;
+
+    private Klines(int capacity) {
+        this.openTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+        this.closeTime = new long[capacity];
+        this.quoteVolume = new double[capacity];
+        this.trades = new long[capacity];
+        this.takerBuyBaseVolume = new double[capacity];
+        this.takerBuyQuoteVolume = new double[capacity];
+    }
+
+    public static Klines decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        Klines klines = new Klines(INITIAL_CAPACITY);
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            int i = klines.size;
+            if (i == klines.openTime.length) {
+                klines.grow();
+            }
+            parser.nextToken();
+            klines.openTime[i] = readLong(parser);
+            parser.nextToken();
+            klines.open[i] = readDouble(parser);
+            parser.nextToken();
+            klines.high[i] = readDouble(parser);
+            parser.nextToken();
+            klines.low[i] = readDouble(parser);
+            parser.nextToken();
+            klines.close[i] = readDouble(parser);
+            parser.nextToken();
+            klines.volume[i] = readDouble(parser);
+            parser.nextToken();
+            klines.closeTime[i] = readLong(parser);
+            parser.nextToken();
+            klines.quoteVolume[i] = readDouble(parser);
+            parser.nextToken();
+            klines.trades[i] = readLong(parser);
+            parser.nextToken();
+            klines.takerBuyBaseVolume[i] = readDouble(parser);
+            parser.nextToken();
+            klines.takerBuyQuoteVolume[i] = readDouble(parser);
+            // the trailing "ignore" column
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            klines.size++;
+        }
+        expect(parser, JsonToken.END_ARRAY);
+        return klines;
+    }
+
+    private void grow() {
+        int capacity = openTime.length * 2;
+        openTime = Arrays.copyOf(openTime, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+        closeTime = Arrays.copyOf(closeTime, capacity);
+        quoteVolume = Arrays.copyOf(quoteVolume, capacity);
+        trades = Arrays.copyOf(trades, capacity);
+        takerBuyBaseVolume = Arrays.copyOf(takerBuyBaseVolume, capacity);
+        takerBuyQuoteVolume = Arrays.copyOf(takerBuyQuoteVolume, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getOpenTime(int index) {
+        return openTime[checkIndex(index)];
+    }
+
+    public double getOpen(int index) {
+        return open[checkIndex(index)];
+    }
+
+    public double getHigh(int index) {
+        return high[checkIndex(index)];
+    }
+
+    public double getLow(int index) {
+        return low[checkIndex(index)];
+    }
+
+    public double getClose(int index) {
+        return close[checkIndex(index)];
+    }
+
+    public double getVolume(int index) {
+        return volume[checkIndex(index)];
+    }
+
+    public long getCloseTime(int index) {
+        return closeTime[checkIndex(index)];
+    }
+
+    public double getQuoteVolume(int index) {
+        return quoteVolume[checkIndex(index)];
+    }
+
+    public long getTrades(int index) {
+        return trades[checkIndex(index)];
+    }
+
+    public double getTakerBuyBaseVolume(int index) {
+        return takerBuyBaseVolume[checkIndex(index)];
+    }
+
+    public double getTakerBuyQuoteVolume(int index) {
+        return takerBuyQuoteVolume[checkIndex(index)];
+    }
+
+    public long[] getOpenTimes() {
+        return openTime;
+    }
+
+    public double[] getOpens() {
+        return open;
+    }
+
+    public double[] getHighs() {
+        return high;
+    }
+
+    public double[] getLows() {
+        return low;
+    }
+
+    public double[] getCloses() {
+        return close;
+    }
+
+    public double[] getVolumes() {
+        return volume;
+    }
+
+    public long[] getCloseTimes() {
+        return closeTime;
+    }
+
+    public double[] getQuoteVolumes() {
+        return quoteVolume;
+    }
+
+    public long[] getTradeCounts() {
+        return trades;
+    }
+
+    public double[] getTakerBuyBaseVolumes() {
+        return takerBuyBaseVolume;
+    }
+
+    public double[] getTakerBuyQuoteVolumes() {
+        return takerBuyQuoteVolume;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("[Klines] Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,99 @@
+package com.owl.owlproject.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * Mark price and funding rate as returned by GET /v1/premiumIndex.
+ */
+public final class MarkPrice {
+    private String symbol;
+    private String pair;
+    private double markPrice;
+    private double indexPrice;
+    private double estimatedSettlePrice;
+    private double lastFundingRate;
+    private double interestRate;
+    private long nextFundingTime;
+    private long time;
+
+    private MarkPrice() {
+    }
+
+    public static MarkPrice decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        MarkPrice markPrice = new MarkPrice();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "symbol": markPrice.symbol = readString(parser); break;
+                case "pair": markPrice.pair = readString(parser); break;
+                case "markPrice": markPrice.markPrice = readDouble(parser); break;
+                case "indexPrice": markPrice.indexPrice = readDouble(parser); break;
+                case "estimatedSettlePrice": markPrice.estimatedSettlePrice = readDouble(parser); break;
+                case "lastFundingRate": markPrice.lastFundingRate = readDouble(parser); break;
+                case "interestRate": markPrice.interestRate = readDouble(parser); break;
+                case "nextFundingTime": markPrice.nextFundingTime = readLong(parser); break;
+                case "time": markPrice.time = readLong(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+        return markPrice;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the pair, COIN-M only
+     */
+    public String getPair() {
+        return pair;
+    }
+
+    public double getMarkPrice() {
+        return markPrice;
+    }
+
+    public double getIndexPrice() {
+        return indexPrice;
+    }
+
+    public double getEstimatedSettlePrice() {
+        return estimatedSettlePrice;
+    }
+
+    /**
+     * @return the last funding rate, NaN for delivery contracts that have none
+     */
+    public double getLastFundingRate() {
+        return lastFundingRate;
+    }
+
+    public double getInterestRate() {
+        return interestRate;
+    }
+
+    public long getNextFundingTime() {
+        return nextFundingTime;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "MarkPrice{symbol=" + symbol + ", markPrice=" + markPrice + ", indexPrice=" + indexPrice
+                + ", lastFundingRate=" + lastFundingRate + ", time=" + time + "}";
+    }
+}
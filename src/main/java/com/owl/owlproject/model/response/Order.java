@@ -0,0 +1,214 @@
+package com.owl.owlproject.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.enums.OrderStatus;
+import com.owl.owlproject.enums.OrderType;
+import com.owl.owlproject.enums.PositionSide;
+import com.owl.owlproject.enums.Side;
+import com.owl.owlproject.enums.TimeInForce;
+import com.owl.owlproject.enums.WorkingType;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readBoolean;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readEnum;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * Order as returned by POST/GET/DELETE /v1/order and GET /v1/openOrders.
+ * <br>
+ * Fields missing from the response are read as 0, false or null.
+ */
+public final class Order {
+    private long orderId;
+    private String symbol;
+    private String pair;
+    private OrderStatus status;
+    private String clientOrderId;
+    private double price;
+    private double avgPrice;
+    private double origQty;
+    private double executedQty;
+    private double cumQuote;
+    private double cumBase;
+    private TimeInForce timeInForce;
+    private OrderType type;
+    private OrderType origType;
+    private boolean reduceOnly;
+    private boolean closePosition;
+    private Side side;
+    private PositionSide positionSide;
+    private double stopPrice;
+    private WorkingType workingType;
+    private boolean priceProtect;
+    private double activatePrice;
+    private double priceRate;
+    private long time;
+    private long updateTime;
+    private long goodTillDate;
+
+    private Order() {
+    }
+
+    public static Order decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        Order order = new Order();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "orderId": order.orderId = readLong(parser); break;
+                case "symbol": order.symbol = readString(parser); break;
+                case "pair": order.pair = readString(parser); break;
+                case "status": order.status = readEnum(parser, OrderStatus.class); break;
+                case "clientOrderId": order.clientOrderId = readString(parser); break;
+                case "price": order.price = readDouble(parser); break;
+                case "avgPrice": order.avgPrice = readDouble(parser); break;
+                case "origQty": order.origQty = readDouble(parser); break;
+                case "executedQty": order.executedQty = readDouble(parser); break;
+                case "cumQuote": order.cumQuote = readDouble(parser); break;
+                case "cumBase": order.cumBase = readDouble(parser); break;
+                case "timeInForce": order.timeInForce = readEnum(parser, TimeInForce.class); break;
+                case "type": order.type = readEnum(parser, OrderType.class); break;
+                case "origType": order.origType = readEnum(parser, OrderType.class); break;
+                case "reduceOnly": order.reduceOnly = readBoolean(parser); break;
+                case "closePosition": order.closePosition = readBoolean(parser); break;
+                case "side": order.side = readEnum(parser, Side.class); break;
+                case "positionSide": order.positionSide = readEnum(parser, PositionSide.class); break;
+                case "stopPrice": order.stopPrice = readDouble(parser); break;
+                case "workingType": order.workingType = readEnum(parser, WorkingType.class); break;
+                case "priceProtect": order.priceProtect = readBoolean(parser); break;
+                case "activatePrice": order.activatePrice = readDouble(parser); break;
+                case "priceRate": order.priceRate = readDouble(parser); break;
+                case "time": order.time = readLong(parser); break;
+                case "updateTime": order.updateTime = readLong(parser); break;
+                case "goodTillDate": order.goodTillDate = readLong(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+        return order;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the pair, COIN-M only
+     */
+    public String getPair() {
+        return pair;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public String getClientOrderId() {
+        return clientOrderId;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getAvgPrice() {
+        return avgPrice;
+    }
+
+    public double getOrigQty() {
+        return origQty;
+    }
+
+    public double getExecutedQty() {
+        return executedQty;
+    }
+
+    /**
+     * @return the cumulative quote quantity, USDⓈ-M only
+     */
+    public double getCumQuote() {
+        return cumQuote;
+    }
+
+    /**
+     * @return the cumulative base quantity, COIN-M only
+     */
+    public double getCumBase() {
+        return cumBase;
+    }
+
+    public TimeInForce getTimeInForce() {
+        return timeInForce;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public OrderType getOrigType() {
+        return origType;
+    }
+
+    public boolean isReduceOnly() {
+        return reduceOnly;
+    }
+
+    public boolean isClosePosition() {
+        return closePosition;
+    }
+
+    public Side getSide() {
+        return side;
+    }
+
+    public PositionSide getPositionSide() {
+        return positionSide;
+    }
+
+    public double getStopPrice() {
+        return stopPrice;
+    }
+
+    public WorkingType getWorkingType() {
+        return workingType;
+    }
+
+    public boolean isPriceProtect() {
+        return priceProtect;
+    }
+
+    public double getActivatePrice() {
+        return activatePrice;
+    }
+
+    public double getPriceRate() {
+        return priceRate;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    public long getGoodTillDate() {
+        return goodTillDate;
+    }
+
+    @Override
+    public String toString() {
+        return "Order{orderId=" + orderId + ", symbol=" + symbol + ", status=" + status + ", side=" + side
+                + ", type=" + type + ", price=" + price + ", origQty=" + origQty + ", executedQty=" + executedQty + "}";
+    }
+}
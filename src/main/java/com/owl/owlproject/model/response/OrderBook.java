@@ -0,0 +1,141 @@
+package com.owl.owlproject.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+
+/**
+ * Order book snapshot as returned by GET /v1/depth, each side stored as parallel price and quantity arrays
+ * in the order sent by the server (bids descending, asks ascending).
+ * <br>
+ * The array getters return the backing arrays, only the first {@link #getBidCount()} / {@link #getAskCount()}
+ * elements are valid.
+ */
+public final class OrderBook {
+    private static final int INITIAL_CAPACITY = 128;
+
+    private long lastUpdateId;
+    private long eventTime;
+    private long transactionTime;
+    private double[] bidPrices = new double[INITIAL_CAPACITY];
+    private double[] bidQuantities = new double[INITIAL_CAPACITY];
+    private int bidCount;
+    private double[] askPrices = new double[INITIAL_CAPACITY];
+    private double[] askQuantities = new double[INITIAL_CAPACITY];
+    private int askCount;
+
+    private OrderBook() {
+    }
+
+    public static OrderBook decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        OrderBook book = new OrderBook();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "lastUpdateId": book.lastUpdateId = readLong(parser); break;
+                case "E": book.eventTime = readLong(parser); break;
+                case "T": book.transactionTime = readLong(parser); break;
+                case "bids": book.readBids(parser); break;
+                case "asks": book.readAsks(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+        return book;
+    }
+
+    private void readBids(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (bidCount == bidPrices.length) {
+                bidPrices = Arrays.copyOf(bidPrices, bidCount * 2);
+                bidQuantities = Arrays.copyOf(bidQuantities, bidCount * 2);
+            }
+            parser.nextToken();
+            bidPrices[bidCount] = readDouble(parser);
+            parser.nextToken();
+            bidQuantities[bidCount] = readDouble(parser);
+            skipRest(parser);
+            bidCount++;
+        }
+    }
+
+    private void readAsks(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (askCount == askPrices.length) {
+                askPrices = Arrays.copyOf(askPrices, askCount * 2);
+                askQuantities = Arrays.copyOf(askQuantities, askCount * 2);
+            }
+            parser.nextToken();
+            askPrices[askCount] = readDouble(parser);
+            parser.nextToken();
+            askQuantities[askCount] = readDouble(parser);
+            skipRest(parser);
+            askCount++;
+        }
+    }
+
+    private static void skipRest(JsonParser parser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+
+    public long getLastUpdateId() {
+        return lastUpdateId;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public long getTransactionTime() {
+        return transactionTime;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public double[] getBidPrices() {
+        return bidPrices;
+    }
+
+    public double[] getBidQuantities() {
+        return bidQuantities;
+    }
+
+    public int getAskCount() {
+        return askCount;
+    }
+
+    public double[] getAskPrices() {
+        return askPrices;
+    }
+
+    public double[] getAskQuantities() {
+        return askQuantities;
+    }
+
+    /**
+     * @return the highest bid price, NaN when there are no bids
+     */
+    public double getBestBid() {
+        return bidCount == 0 ? Double.NaN : bidPrices[0];
+    }
+
+    /**
+     * @return the lowest ask price, NaN when there are no asks
+     */
+    public double getBestAsk() {
+        return askCount == 0 ? Double.NaN : askPrices[0];
+    }
+}
@@ -0,0 +1,144 @@
+package com.owl.owlproject.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.enums.PositionSide;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readBoolean;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readEnum;
+import static com.owl.owlproject.utils.JsonDecoding.readInt;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * Position as returned by GET /v2/positionRisk.
+ * <br>
+ * Fields missing from the response are read as 0, false or null.
+ */
+public final class Position {
+    private String symbol;
+    private PositionSide positionSide;
+    private double positionAmt;
+    private double entryPrice;
+    private double breakEvenPrice;
+    private double markPrice;
+    private double unRealizedProfit;
+    private double liquidationPrice;
+    private int leverage;
+    private double maxNotionalValue;
+    private String marginType;
+    private double isolatedMargin;
+    private boolean autoAddMargin;
+    private double notional;
+    private double isolatedWallet;
+    private long updateTime;
+
+    private Position() {
+    }
+
+    public static Position decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        Position position = new Position();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "symbol": position.symbol = readString(parser); break;
+                case "positionSide": position.positionSide = readEnum(parser, PositionSide.class); break;
+                case "positionAmt": position.positionAmt = readDouble(parser); break;
+                case "entryPrice": position.entryPrice = readDouble(parser); break;
+                case "breakEvenPrice": position.breakEvenPrice = readDouble(parser); break;
+                case "markPrice": position.markPrice = readDouble(parser); break;
+                case "unRealizedProfit": position.unRealizedProfit = readDouble(parser); break;
+                case "liquidationPrice": position.liquidationPrice = readDouble(parser); break;
+                case "leverage": position.leverage = readInt(parser); break;
+                case "maxNotionalValue": position.maxNotionalValue = readDouble(parser); break;
+                case "marginType": position.marginType = readString(parser); break;
+                case "isolatedMargin": position.isolatedMargin = readDouble(parser); break;
+                case "isAutoAddMargin": position.autoAddMargin = readBoolean(parser); break;
+                case "notional": position.notional = readDouble(parser); break;
+                case "isolatedWallet": position.isolatedWallet = readDouble(parser); break;
+                case "updateTime": position.updateTime = readLong(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+        return position;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public PositionSide getPositionSide() {
+        return positionSide;
+    }
+
+    public double getPositionAmt() {
+        return positionAmt;
+    }
+
+    public double getEntryPrice() {
+        return entryPrice;
+    }
+
+    public double getBreakEvenPrice() {
+        return breakEvenPrice;
+    }
+
+    public double getMarkPrice() {
+        return markPrice;
+    }
+
+    public double getUnRealizedProfit() {
+        return unRealizedProfit;
+    }
+
+    public double getLiquidationPrice() {
+        return liquidationPrice;
+    }
+
+    public int getLeverage() {
+        return leverage;
+    }
+
+    public double getMaxNotionalValue() {
+        return maxNotionalValue;
+    }
+
+    /**
+     * @return "isolated" or "cross"
+     */
+    public String getMarginType() {
+        return marginType;
+    }
+
+    public double getIsolatedMargin() {
+        return isolatedMargin;
+    }
+
+    public boolean isAutoAddMargin() {
+        return autoAddMargin;
+    }
+
+    public double getNotional() {
+        return notional;
+    }
+
+    public double getIsolatedWallet() {
+        return isolatedWallet;
+    }
+
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Position{symbol=" + symbol + ", positionSide=" + positionSide + ", positionAmt=" + positionAmt
+                + ", entryPrice=" + entryPrice + ", markPrice=" + markPrice + ", unRealizedProfit=" + unRealizedProfit + "}";
+    }
+}
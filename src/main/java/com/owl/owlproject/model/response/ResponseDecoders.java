@@ -0,0 +1,44 @@
+package com.owl.owlproject.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.utils.ResponseDecoder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+
+/**
+ * Decoders for the typed overloads of the facade methods, e.g.
+ * {@code market.klines(parameters, ResponseDecoders.KLINES)}.
+ */
+public final class ResponseDecoders {
+    public static final ResponseDecoder<Order> ORDER = Order::decode;
+    public static final ResponseDecoder<List<Order>> ORDERS = ResponseDecoder.listOf(Order::decode);
+    public static final ResponseDecoder<List<Position>> POSITIONS = ResponseDecoder.listOf(Position::decode);
+    public static final ResponseDecoder<MarkPrice> MARK_PRICE = MarkPrice::decode;
+    public static final ResponseDecoder<List<MarkPrice>> MARK_PRICES = ResponseDecoder.listOf(MarkPrice::decode);
+    public static final ResponseDecoder<Klines> KLINES = Klines::decode;
+    public static final ResponseDecoder<OrderBook> ORDER_BOOK = OrderBook::decode;
+    public static final ResponseDecoder<Long> SERVER_TIME = ResponseDecoders::decodeServerTime;
+
+    private ResponseDecoders() {
+    }
+
+    private static Long decodeServerTime(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        long serverTime = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("serverTime".equals(field)) {
+                serverTime = readLong(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return serverTime;
+    }
+}
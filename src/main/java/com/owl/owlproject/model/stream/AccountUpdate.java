@@ -0,0 +1,230 @@
+package com.owl.owlproject.model.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.enums.PositionSide;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readEnum;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * ACCOUNT_UPDATE event of the user data stream, sent when a balance or a position changes.
+ * <br>
+ * Only the balances and positions that changed are included, fields missing from the event are read as 0 or null.
+ */
+public final class AccountUpdate {
+    private long eventTime;
+    private long transactionTime;
+    private String reason;
+    private List<Balance> balances = Collections.emptyList();
+    private List<PositionUpdate> positions = Collections.emptyList();
+
+    private AccountUpdate() {
+    }
+
+    public static AccountUpdate decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        AccountUpdate update = new AccountUpdate();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "E": update.eventTime = readLong(parser); break;
+                case "T": update.transactionTime = readLong(parser); break;
+                case "a": update.readAccount(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+        return update;
+    }
+
+    private void readAccount(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "m": reason = readString(parser); break;
+                case "B":
+                    expect(parser, JsonToken.START_ARRAY);
+                    balances = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        balances.add(Balance.decode(parser));
+                    }
+                    break;
+                case "P":
+                    expect(parser, JsonToken.START_ARRAY);
+                    positions = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        positions.add(PositionUpdate.decode(parser));
+                    }
+                    break;
+                default: parser.skipChildren();
+            }
+        }
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public long getTransactionTime() {
+        return transactionTime;
+    }
+
+    /**
+     * @return reason of the update, e.g. ORDER, FUNDING_FEE, DEPOSIT or MARGIN_TRANSFER
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    public List<Balance> getBalances() {
+        return balances;
+    }
+
+    public List<PositionUpdate> getPositions() {
+        return positions;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountUpdate{reason=" + reason + ", balances=" + balances + ", positions=" + positions + "}";
+    }
+
+    public static final class Balance {
+        private String asset;
+        private double walletBalance;
+        private double crossWalletBalance;
+        private double balanceChange;
+
+        private Balance() {
+        }
+
+        static Balance decode(JsonParser parser) throws IOException {
+            Balance balance = new Balance();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "a": balance.asset = readString(parser); break;
+                    case "wb": balance.walletBalance = readDouble(parser); break;
+                    case "cw": balance.crossWalletBalance = readDouble(parser); break;
+                    case "bc": balance.balanceChange = readDouble(parser); break;
+                    default: parser.skipChildren();
+                }
+            }
+            return balance;
+        }
+
+        public String getAsset() {
+            return asset;
+        }
+
+        public double getWalletBalance() {
+            return walletBalance;
+        }
+
+        public double getCrossWalletBalance() {
+            return crossWalletBalance;
+        }
+
+        /**
+         * @return change of the balance except for PnL and commission
+         */
+        public double getBalanceChange() {
+            return balanceChange;
+        }
+
+        @Override
+        public String toString() {
+            return "Balance{asset=" + asset + ", walletBalance=" + walletBalance + "}";
+        }
+    }
+
+    public static final class PositionUpdate {
+        private String symbol;
+        private double positionAmt;
+        private double entryPrice;
+        private double breakEvenPrice;
+        private double accumulatedRealized;
+        private double unrealizedProfit;
+        private String marginType;
+        private double isolatedWallet;
+        private PositionSide positionSide;
+
+        private PositionUpdate() {
+        }
+
+        static PositionUpdate decode(JsonParser parser) throws IOException {
+            PositionUpdate position = new PositionUpdate();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "s": position.symbol = readString(parser); break;
+                    case "pa": position.positionAmt = readDouble(parser); break;
+                    case "ep": position.entryPrice = readDouble(parser); break;
+                    case "bep": position.breakEvenPrice = readDouble(parser); break;
+                    case "cr": position.accumulatedRealized = readDouble(parser); break;
+                    case "up": position.unrealizedProfit = readDouble(parser); break;
+                    case "mt": position.marginType = readString(parser); break;
+                    case "iw": position.isolatedWallet = readDouble(parser); break;
+                    case "ps": position.positionSide = readEnum(parser, PositionSide.class); break;
+                    default: parser.skipChildren();
+                }
+            }
+            return position;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public double getPositionAmt() {
+            return positionAmt;
+        }
+
+        public double getEntryPrice() {
+            return entryPrice;
+        }
+
+        public double getBreakEvenPrice() {
+            return breakEvenPrice;
+        }
+
+        public double getAccumulatedRealized() {
+            return accumulatedRealized;
+        }
+
+        public double getUnrealizedProfit() {
+            return unrealizedProfit;
+        }
+
+        public String getMarginType() {
+            return marginType;
+        }
+
+        public double getIsolatedWallet() {
+            return isolatedWallet;
+        }
+
+        public PositionSide getPositionSide() {
+            return positionSide;
+        }
+
+        @Override
+        public String toString() {
+            return "PositionUpdate{symbol=" + symbol + ", positionSide=" + positionSide + ", positionAmt=" + positionAmt
+                    + ", entryPrice=" + entryPrice + "}";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.owl.owlproject.model.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.utils.dispatch.EventDecoder;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * bookTicker event of the &lt;symbol&gt;@bookTicker and !bookTicker streams, the best bid and ask of a symbol.
+ * <br>
+ * Mutable, decoded in place by {@link #DECODER} so the same instance can hold every event of a stream.
+ */
+public final class BookTicker {
+    public static final EventDecoder<BookTicker> DECODER = new EventDecoder<>() {
+        @Override
+        public BookTicker newEvent() {
+            return new BookTicker();
+        }
+
+        @Override
+        public void decode(JsonParser parser, BookTicker event) throws IOException {
+            event.read(parser);
+        }
+
+        @Override
+        public void copy(BookTicker from, BookTicker to) {
+            to.symbol = from.symbol;
+            to.updateId = from.updateId;
+            to.eventTime = from.eventTime;
+            to.transactionTime = from.transactionTime;
+            to.bidPrice = from.bidPrice;
+            to.bidQuantity = from.bidQuantity;
+            to.askPrice = from.askPrice;
+            to.askQuantity = from.askQuantity;
+        }
+    };
+
+    private String symbol;
+    private long updateId;
+    private long eventTime;
+    private long transactionTime;
+    private double bidPrice;
+    private double bidQuantity;
+    private double askPrice;
+    private double askQuantity;
+
+    private BookTicker() {
+    }
+
+    private void read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        symbol = null;
+        updateId = 0;
+        eventTime = 0;
+        transactionTime = 0;
+        bidPrice = 0;
+        bidQuantity = 0;
+        askPrice = 0;
+        askQuantity = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "s": symbol = readString(parser); break;
+                case "u": updateId = readLong(parser); break;
+                case "E": eventTime = readLong(parser); break;
+                case "T": transactionTime = readLong(parser); break;
+                case "b": bidPrice = readDouble(parser); break;
+                case "B": bidQuantity = readDouble(parser); break;
+                case "a": askPrice = readDouble(parser); break;
+                case "A": askQuantity = readDouble(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getUpdateId() {
+        return updateId;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public long getTransactionTime() {
+        return transactionTime;
+    }
+
+    public double getBidPrice() {
+        return bidPrice;
+    }
+
+    public double getBidQuantity() {
+        return bidQuantity;
+    }
+
+    public double getAskPrice() {
+        return askPrice;
+    }
+
+    public double getAskQuantity() {
+        return askQuantity;
+    }
+}
@@ -0,0 +1,109 @@
+package com.owl.owlproject.model.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.utils.dispatch.EventDecoder;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * markPriceUpdate event of the &lt;symbol&gt;@markPrice and !markPrice@arr streams.
+ * <br>
+ * Mutable, decoded in place by {@link #DECODER} so the same instance can hold every event of a stream.
+ */
+public final class MarkPriceUpdate {
+    public static final EventDecoder<MarkPriceUpdate> DECODER = new EventDecoder<>() {
+        @Override
+        public MarkPriceUpdate newEvent() {
+            return new MarkPriceUpdate();
+        }
+
+        @Override
+        public void decode(JsonParser parser, MarkPriceUpdate event) throws IOException {
+            event.read(parser);
+        }
+
+        @Override
+        public void copy(MarkPriceUpdate from, MarkPriceUpdate to) {
+            to.symbol = from.symbol;
+            to.eventTime = from.eventTime;
+            to.markPrice = from.markPrice;
+            to.indexPrice = from.indexPrice;
+            to.estimatedSettlePrice = from.estimatedSettlePrice;
+            to.fundingRate = from.fundingRate;
+            to.nextFundingTime = from.nextFundingTime;
+        }
+    };
+
+    private String symbol;
+    private long eventTime;
+    private double markPrice;
+    private double indexPrice;
+    private double estimatedSettlePrice;
+    private double fundingRate;
+    private long nextFundingTime;
+
+    private MarkPriceUpdate() {
+    }
+
+    private void read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        symbol = null;
+        eventTime = 0;
+        markPrice = 0;
+        indexPrice = 0;
+        estimatedSettlePrice = 0;
+        fundingRate = 0;
+        nextFundingTime = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "s": symbol = readString(parser); break;
+                case "E": eventTime = readLong(parser); break;
+                case "p": markPrice = readDouble(parser); break;
+                case "i": indexPrice = readDouble(parser); break;
+                case "P": estimatedSettlePrice = readDouble(parser); break;
+                case "r": fundingRate = readDouble(parser); break;
+                case "T": nextFundingTime = readLong(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public double getMarkPrice() {
+        return markPrice;
+    }
+
+    public double getIndexPrice() {
+        return indexPrice;
+    }
+
+    /**
+     * @return estimated settle price, only useful in the last hour before the settlement starts
+     */
+    public double getEstimatedSettlePrice() {
+        return estimatedSettlePrice;
+    }
+
+    public double getFundingRate() {
+        return fundingRate;
+    }
+
+    public long getNextFundingTime() {
+        return nextFundingTime;
+    }
+}
@@ -0,0 +1,249 @@
+package com.owl.owlproject.model.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.enums.ExecutionType;
+import com.owl.owlproject.enums.OrderStatus;
+import com.owl.owlproject.enums.OrderType;
+import com.owl.owlproject.enums.PositionSide;
+import com.owl.owlproject.enums.Side;
+import com.owl.owlproject.enums.TimeInForce;
+import com.owl.owlproject.enums.WorkingType;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readBoolean;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readEnum;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * ORDER_TRADE_UPDATE event of the user data stream, sent when an order is placed, filled, canceled or expires.
+ * <br>
+ * Fields missing from the event are read as 0, false or null.
+ */
+public final class OrderTradeUpdate {
+    private long eventTime;
+    private long transactionTime;
+    private String symbol;
+    private String clientOrderId;
+    private Side side;
+    private OrderType type;
+    private TimeInForce timeInForce;
+    private double origQty;
+    private double price;
+    private double avgPrice;
+    private double stopPrice;
+    private ExecutionType executionType;
+    private OrderStatus status;
+    private long orderId;
+    private double lastFilledQty;
+    private double cumulativeFilledQty;
+    private double lastFilledPrice;
+    private String commissionAsset;
+    private double commission;
+    private long tradeTime;
+    private long tradeId;
+    private boolean maker;
+    private boolean reduceOnly;
+    private WorkingType workingType;
+    private OrderType origType;
+    private PositionSide positionSide;
+    private boolean closePosition;
+    private double activationPrice;
+    private double callbackRate;
+    private boolean priceProtect;
+    private double realizedProfit;
+
+    private OrderTradeUpdate() {
+    }
+
+    public static OrderTradeUpdate decode(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        OrderTradeUpdate update = new OrderTradeUpdate();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "E": update.eventTime = readLong(parser); break;
+                case "T": update.transactionTime = readLong(parser); break;
+                case "o": update.readOrder(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+        return update;
+    }
+
+    private void readOrder(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "s": symbol = readString(parser); break;
+                case "c": clientOrderId = readString(parser); break;
+                case "S": side = readEnum(parser, Side.class); break;
+                case "o": type = readEnum(parser, OrderType.class); break;
+                case "f": timeInForce = readEnum(parser, TimeInForce.class); break;
+                case "q": origQty = readDouble(parser); break;
+                case "p": price = readDouble(parser); break;
+                case "ap": avgPrice = readDouble(parser); break;
+                case "sp": stopPrice = readDouble(parser); break;
+                case "x": executionType = readEnum(parser, ExecutionType.class); break;
+                case "X": status = readEnum(parser, OrderStatus.class); break;
+                case "i": orderId = readLong(parser); break;
+                case "l": lastFilledQty = readDouble(parser); break;
+                case "z": cumulativeFilledQty = readDouble(parser); break;
+                case "L": lastFilledPrice = readDouble(parser); break;
+                case "N": commissionAsset = readString(parser); break;
+                case "n": commission = readDouble(parser); break;
+                case "T": tradeTime = readLong(parser); break;
+                case "t": tradeId = readLong(parser); break;
+                case "m": maker = readBoolean(parser); break;
+                case "R": reduceOnly = readBoolean(parser); break;
+                case "wt": workingType = readEnum(parser, WorkingType.class); break;
+                case "ot": origType = readEnum(parser, OrderType.class); break;
+                case "ps": positionSide = readEnum(parser, PositionSide.class); break;
+                case "cp": closePosition = readBoolean(parser); break;
+                case "AP": activationPrice = readDouble(parser); break;
+                case "cr": callbackRate = readDouble(parser); break;
+                case "pP": priceProtect = readBoolean(parser); break;
+                case "rp": realizedProfit = readDouble(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public long getTransactionTime() {
+        return transactionTime;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getClientOrderId() {
+        return clientOrderId;
+    }
+
+    public Side getSide() {
+        return side;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    public TimeInForce getTimeInForce() {
+        return timeInForce;
+    }
+
+    public double getOrigQty() {
+        return origQty;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getAvgPrice() {
+        return avgPrice;
+    }
+
+    public double getStopPrice() {
+        return stopPrice;
+    }
+
+    public ExecutionType getExecutionType() {
+        return executionType;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public double getLastFilledQty() {
+        return lastFilledQty;
+    }
+
+    public double getCumulativeFilledQty() {
+        return cumulativeFilledQty;
+    }
+
+    public double getLastFilledPrice() {
+        return lastFilledPrice;
+    }
+
+    public String getCommissionAsset() {
+        return commissionAsset;
+    }
+
+    public double getCommission() {
+        return commission;
+    }
+
+    public long getTradeTime() {
+        return tradeTime;
+    }
+
+    public long getTradeId() {
+        return tradeId;
+    }
+
+    public boolean isMaker() {
+        return maker;
+    }
+
+    public boolean isReduceOnly() {
+        return reduceOnly;
+    }
+
+    public WorkingType getWorkingType() {
+        return workingType;
+    }
+
+    public OrderType getOrigType() {
+        return origType;
+    }
+
+    public PositionSide getPositionSide() {
+        return positionSide;
+    }
+
+    public boolean isClosePosition() {
+        return closePosition;
+    }
+
+    public double getActivationPrice() {
+        return activationPrice;
+    }
+
+    public double getCallbackRate() {
+        return callbackRate;
+    }
+
+    public boolean isPriceProtect() {
+        return priceProtect;
+    }
+
+    public double getRealizedProfit() {
+        return realizedProfit;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderTradeUpdate{symbol=" + symbol + ", orderId=" + orderId + ", clientOrderId=" + clientOrderId
+                + ", executionType=" + executionType + ", status=" + status + ", lastFilledQty=" + lastFilledQty
+                + ", lastFilledPrice=" + lastFilledPrice + ", cumulativeFilledQty=" + cumulativeFilledQty + "}";
+    }
+}
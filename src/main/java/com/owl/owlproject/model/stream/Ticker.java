@@ -0,0 +1,192 @@
+package com.owl.owlproject.model.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.utils.dispatch.EventDecoder;
+
+import java.io.IOException;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+import static com.owl.owlproject.utils.JsonDecoding.readString;
+
+/**
+ * 24hrTicker event of the &lt;symbol&gt;@ticker and !ticker@arr streams, the statistics of the rolling 24 hour window.
+ * <br>
+ * Mutable, decoded in place by {@link #DECODER} so the same instance can hold every event of a stream.
+ */
+public final class Ticker {
+    public static final EventDecoder<Ticker> DECODER = new EventDecoder<>() {
+        @Override
+        public Ticker newEvent() {
+            return new Ticker();
+        }
+
+        @Override
+        public void decode(JsonParser parser, Ticker event) throws IOException {
+            event.read(parser);
+        }
+
+        @Override
+        public void copy(Ticker from, Ticker to) {
+            to.symbol = from.symbol;
+            to.eventTime = from.eventTime;
+            to.priceChange = from.priceChange;
+            to.priceChangePercent = from.priceChangePercent;
+            to.weightedAveragePrice = from.weightedAveragePrice;
+            to.lastPrice = from.lastPrice;
+            to.lastQuantity = from.lastQuantity;
+            to.openPrice = from.openPrice;
+            to.highPrice = from.highPrice;
+            to.lowPrice = from.lowPrice;
+            to.volume = from.volume;
+            to.quoteVolume = from.quoteVolume;
+            to.openTime = from.openTime;
+            to.closeTime = from.closeTime;
+            to.firstTradeId = from.firstTradeId;
+            to.lastTradeId = from.lastTradeId;
+            to.tradeCount = from.tradeCount;
+        }
+    };
+
+    private String symbol;
+    private long eventTime;
+    private double priceChange;
+    private double priceChangePercent;
+    private double weightedAveragePrice;
+    private double lastPrice;
+    private double lastQuantity;
+    private double openPrice;
+    private double highPrice;
+    private double lowPrice;
+    private double volume;
+    private double quoteVolume;
+    private long openTime;
+    private long closeTime;
+    private long firstTradeId;
+    private long lastTradeId;
+    private long tradeCount;
+
+    private Ticker() {
+    }
+
+    private void read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        symbol = null;
+        eventTime = 0;
+        priceChange = 0;
+        priceChangePercent = 0;
+        weightedAveragePrice = 0;
+        lastPrice = 0;
+        lastQuantity = 0;
+        openPrice = 0;
+        highPrice = 0;
+        lowPrice = 0;
+        volume = 0;
+        quoteVolume = 0;
+        openTime = 0;
+        closeTime = 0;
+        firstTradeId = 0;
+        lastTradeId = 0;
+        tradeCount = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "s": symbol = readString(parser); break;
+                case "E": eventTime = readLong(parser); break;
+                case "p": priceChange = readDouble(parser); break;
+                case "P": priceChangePercent = readDouble(parser); break;
+                case "w": weightedAveragePrice = readDouble(parser); break;
+                case "c": lastPrice = readDouble(parser); break;
+                case "Q": lastQuantity = readDouble(parser); break;
+                case "o": openPrice = readDouble(parser); break;
+                case "h": highPrice = readDouble(parser); break;
+                case "l": lowPrice = readDouble(parser); break;
+                case "v": volume = readDouble(parser); break;
+                case "q": quoteVolume = readDouble(parser); break;
+                case "O": openTime = readLong(parser); break;
+                case "C": closeTime = readLong(parser); break;
+                case "F": firstTradeId = readLong(parser); break;
+                case "L": lastTradeId = readLong(parser); break;
+                case "n": tradeCount = readLong(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    public double getPriceChange() {
+        return priceChange;
+    }
+
+    public double getPriceChangePercent() {
+        return priceChangePercent;
+    }
+
+    public double getWeightedAveragePrice() {
+        return weightedAveragePrice;
+    }
+
+    public double getLastPrice() {
+        return lastPrice;
+    }
+
+    public double getLastQuantity() {
+        return lastQuantity;
+    }
+
+    public double getOpenPrice() {
+        return openPrice;
+    }
+
+    public double getHighPrice() {
+        return highPrice;
+    }
+
+    public double getLowPrice() {
+        return lowPrice;
+    }
+
+    /**
+     * @return traded volume in the base asset
+     */
+    public double getVolume() {
+        return volume;
+    }
+
+    /**
+     * @return traded volume in the quote asset
+     */
+    public double getQuoteVolume() {
+        return quoteVolume;
+    }
+
+    public long getOpenTime() {
+        return openTime;
+    }
+
+    public long getCloseTime() {
+        return closeTime;
+    }
+
+    public long getFirstTradeId() {
+        return firstTradeId;
+    }
+
+    public long getLastTradeId() {
+        return lastTradeId;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+}
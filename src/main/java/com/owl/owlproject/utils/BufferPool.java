@@ -0,0 +1,28 @@
+package com.owl.owlproject.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bounded pool of fixed size byte buffers used to stream response bodies into a {@link ResponseSink}.
+ * A buffer is not tied to a thread, so a sink may issue another request from within
+ * {@link ResponseSink#write(byte[], int, int)} without the two reads sharing a buffer.
+ */
+public final class BufferPool {
+    public static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final ArrayBlockingQueue<byte[]> POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private BufferPool() {
+    }
+
+    public static byte[] acquire() {
+        byte[] buffer = POOL.poll();
+        return null != buffer ? buffer : new byte[BUFFER_SIZE];
+    }
+
+    public static void release(byte[] buffer) {
+        if (null != buffer && buffer.length == BUFFER_SIZE) {
+            POOL.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.owl.owlproject.utils;
+
+import okhttp3.EventListener;
+
+import java.util.Objects;
+
+/**
+ * Connection pool and timeout settings of an {@link okhttp3.OkHttpClient} created by {@link HttpClientRegistry}.
+ * <br>
+ * Instances are immutable and used as part of the registry key, so two handlers configured with equal
+ * settings and the same proxy share one client, one connection pool and its TLS sessions.
+ */
+public final class HttpClientConfig {
+    public static final HttpClientConfig DEFAULT = new Builder().build();
+
+    private final int maxIdleConnections;
+    private final long keepAliveMillis;
+    private final long connectTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final long writeTimeoutMillis;
+    private final long callTimeoutMillis;
+    private final EventListener.Factory eventListenerFactory;
+
+    private HttpClientConfig(Builder builder) {
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAliveMillis = builder.keepAliveMillis;
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.readTimeoutMillis = builder.readTimeoutMillis;
+        this.writeTimeoutMillis = builder.writeTimeoutMillis;
+        this.callTimeoutMillis = builder.callTimeoutMillis;
+        this.eventListenerFactory = builder.eventListenerFactory;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return builder starting from the settings of this config
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .maxIdleConnections(maxIdleConnections)
+                .keepAliveMillis(keepAliveMillis)
+                .connectTimeoutMillis(connectTimeoutMillis)
+                .readTimeoutMillis(readTimeoutMillis)
+                .writeTimeoutMillis(writeTimeoutMillis)
+                .callTimeoutMillis(callTimeoutMillis)
+                .eventListenerFactory(eventListenerFactory);
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public long getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+
+    public long getCallTimeoutMillis() {
+        return callTimeoutMillis;
+    }
+
+    /**
+     * @return factory of the OkHttp listeners of every call, null when the calls are not observed
+     */
+    public EventListener.Factory getEventListenerFactory() {
+        return eventListenerFactory;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HttpClientConfig)) {
+            return false;
+        }
+        HttpClientConfig that = (HttpClientConfig) o;
+        return maxIdleConnections == that.maxIdleConnections
+                && keepAliveMillis == that.keepAliveMillis
+                && connectTimeoutMillis == that.connectTimeoutMillis
+                && readTimeoutMillis == that.readTimeoutMillis
+                && writeTimeoutMillis == that.writeTimeoutMillis
+                && callTimeoutMillis == that.callTimeoutMillis
+                && Objects.equals(eventListenerFactory, that.eventListenerFactory);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxIdleConnections, keepAliveMillis, connectTimeoutMillis, readTimeoutMillis,
+                writeTimeoutMillis, callTimeoutMillis, eventListenerFactory);
+    }
+
+    public static final class Builder {
+        private int maxIdleConnections = 32;
+        private long keepAliveMillis = 5 * 60 * 1000L;
+        private long connectTimeoutMillis = 10_000L;
+        private long readTimeoutMillis = 10_000L;
+        private long writeTimeoutMillis = 10_000L;
+        private long callTimeoutMillis = 0L;
+        private EventListener.Factory eventListenerFactory;
+
+        private Builder() {
+        }
+
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("maxIdleConnections < 0: " + maxIdleConnections);
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        public Builder keepAliveMillis(long keepAliveMillis) {
+            if (keepAliveMillis <= 0) {
+                throw new IllegalArgumentException("keepAliveMillis <= 0: " + keepAliveMillis);
+            }
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        public Builder connectTimeoutMillis(long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        public Builder readTimeoutMillis(long readTimeoutMillis) {
+            this.readTimeoutMillis = readTimeoutMillis;
+            return this;
+        }
+
+        public Builder writeTimeoutMillis(long writeTimeoutMillis) {
+            this.writeTimeoutMillis = writeTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param callTimeoutMillis timeout of a complete call including retries and redirects, 0 for no timeout
+         * @return this builder
+         */
+        public Builder callTimeoutMillis(long callTimeoutMillis) {
+            this.callTimeoutMillis = callTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param eventListenerFactory factory of the OkHttp listeners of every call, e.g. for connection phase metrics,
+         *                             null to not observe the calls
+         * @return this builder
+         */
+        public Builder eventListenerFactory(EventListener.Factory eventListenerFactory) {
+            this.eventListenerFactory = eventListenerFactory;
+            return this;
+        }
+
+        public HttpClientConfig build() {
+            return new HttpClientConfig(this);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.owl.owlproject.utils;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe registry of {@link OkHttpClient} instances keyed by proxy and {@link HttpClientConfig}.
+ * <br>
+ * Clients are created once per key and reused while a handler holds them, so accounts going through different
+ * proxies keep their own warm connections. The registry holds them weakly: a client no handler uses any more,
+ * e.g. the one of a {@link ProxyAuth} with a new authenticator per handler, is dropped with its key, and its
+ * connections are evicted from the shared pool once idle. All clients share one {@link Dispatcher} (and therefore one executor), and
+ * clients with the same pool settings share one {@link ConnectionPool}, whatever their timeouts and listeners.
+ */
+public final class HttpClientRegistry {
+    private static final int DEFAULT_MAX_REQUESTS = 1024;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 256;
+
+    private static final Dispatcher DISPATCHER = createDispatcher();
+    private static final OkHttpClient BASE_CLIENT = new OkHttpClient.Builder().dispatcher(DISPATCHER).build();
+    private static final ConcurrentMap<ClientKey, ClientReference> CLIENTS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<OkHttpClient> RELEASED = new ReferenceQueue<>();
+    private static final ConcurrentMap<HttpClientConfig, ConnectionPool> CONNECTION_POOLS = new ConcurrentHashMap<>();
+
+    private HttpClientRegistry() {
+    }
+
+    public static OkHttpClient getHttpClient() {
+        return getHttpClient(null, HttpClientConfig.DEFAULT);
+    }
+
+    public static OkHttpClient getHttpClient(ProxyAuth proxy) {
+        return getHttpClient(proxy, HttpClientConfig.DEFAULT);
+    }
+
+    public static OkHttpClient getHttpClient(ProxyAuth proxy, HttpClientConfig config) {
+        HttpClientConfig clientConfig = config == null ? HttpClientConfig.DEFAULT : config;
+        purge();
+        ClientKey key = new ClientKey(proxy, clientConfig);
+        while (true) {
+            ClientReference reference = CLIENTS.get(key);
+            OkHttpClient client = reference == null ? null : reference.get();
+            if (client != null) {
+                return client;
+            }
+            client = createHttpClient(key);
+            ClientReference created = new ClientReference(key, client);
+            if (reference == null ? CLIENTS.putIfAbsent(key, created) == null : CLIENTS.replace(key, reference, created)) {
+                return client;
+            }
+        }
+    }
+
+    static int getClientCount() {
+        purge();
+        return CLIENTS.size();
+    }
+
+    // drop the keys of the clients collected since the last call
+    private static void purge() {
+        for (Reference<? extends OkHttpClient> reference; (reference = RELEASED.poll()) != null; ) {
+            CLIENTS.remove(((ClientReference) reference).key, reference);
+        }
+    }
+
+    /**
+     * The dispatcher shared by every registered client. Its limits can be tuned at runtime through
+     * {@link Dispatcher#setMaxRequests(int)} and {@link Dispatcher#setMaxRequestsPerHost(int)}.
+     * @return shared Dispatcher
+     */
+    public static Dispatcher getDispatcher() {
+        return DISPATCHER;
+    }
+
+    private static OkHttpClient createHttpClient(ClientKey key) {
+        HttpClientConfig config = key.config;
+        // keyed by the pool settings only
+        HttpClientConfig poolConfig = HttpClientConfig.builder()
+                .maxIdleConnections(config.getMaxIdleConnections())
+                .keepAliveMillis(config.getKeepAliveMillis())
+                .build();
+        ConnectionPool connectionPool = CONNECTION_POOLS.computeIfAbsent(poolConfig, c ->
+                new ConnectionPool(c.getMaxIdleConnections(), c.getKeepAliveMillis(), TimeUnit.MILLISECONDS));
+        OkHttpClient.Builder builder = BASE_CLIENT.newBuilder()
+                .connectionPool(connectionPool)
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(config.getCallTimeoutMillis(), TimeUnit.MILLISECONDS);
+        if (config.getEventListenerFactory() != null) {
+            builder.eventListenerFactory(config.getEventListenerFactory());
+        }
+        ProxyAuth proxy = key.proxy;
+        if (proxy != null) {
+            builder.proxy(proxy.getProxy());
+            if (proxy.getAuth() != null) {
+                builder.proxyAuthenticator(proxy.getAuth());
+            }
+        }
+        return builder.build();
+    }
+
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(DEFAULT_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(DEFAULT_MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
+    private static final class ClientReference extends WeakReference<OkHttpClient> {
+        private final ClientKey key;
+
+        private ClientReference(ClientKey key, OkHttpClient client) {
+            super(client, RELEASED);
+            this.key = key;
+        }
+    }
+
+    private static final class ClientKey {
+        private final ProxyAuth proxy;
+        private final HttpClientConfig config;
+
+        private ClientKey(ProxyAuth proxy, HttpClientConfig config) {
+            this.proxy = proxy;
+            this.config = config;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return Objects.equals(proxy, that.proxy) && config.equals(that.config);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(proxy) + config.hashCode();
+        }
+    }
+}
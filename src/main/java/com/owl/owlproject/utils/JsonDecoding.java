@@ -0,0 +1,163 @@
+package com.owl.owlproject.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Helpers shared by the {@link ResponseDecoder}s. Binance sends most decimals as JSON strings, they are
+ * read from the parser's character buffer without creating a String when the value fits a double exactly.
+ */
+public final class JsonDecoding {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final long MAX_EXACT_UNSCALED = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private JsonDecoding() {
+    }
+
+    public static JsonParser createParser(InputStream in) throws IOException {
+        return JSON_FACTORY.createParser(in);
+    }
+
+    public static JsonParser createParser(String json) throws IOException {
+        return JSON_FACTORY.createParser(json);
+    }
+
+    public static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw new JsonParseException(parser, String.format("[JsonDecoding] Expected %s but found %s", expected, parser.currentToken()));
+        }
+    }
+
+    /**
+     * Read a decimal sent either as a JSON string or a number, empty strings and null are read as NaN.
+     */
+    public static double readDouble(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            if (parser.getTextLength() == 0) {
+                return Double.NaN;
+            }
+            double value = parseDouble(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (Double.isNaN(value)) {
+                throw new JsonParseException(parser, String.format("[JsonDecoding] \"%s\" is not a decimal", parser.getText()));
+            }
+            return value;
+        } else if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        } else if (token == JsonToken.VALUE_NULL) {
+            return Double.NaN;
+        }
+        throw new JsonParseException(parser, "[JsonDecoding] Expected a decimal but found " + token);
+    }
+
+    public static long readLong(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        } else if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                throw new JsonParseException(parser, String.format("[JsonDecoding] \"%s\" is not an integer", parser.getText()));
+            }
+        }
+        throw new JsonParseException(parser, "[JsonDecoding] Expected an integer but found " + token);
+    }
+
+    public static int readInt(JsonParser parser) throws IOException {
+        long value = readLong(parser);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new JsonParseException(parser, "[JsonDecoding] Integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        } else if (token == JsonToken.VALUE_STRING) {
+            return "true".equalsIgnoreCase(parser.getText());
+        }
+        throw new JsonParseException(parser, "[JsonDecoding] Expected a boolean but found " + token);
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    /**
+     * Read an enum constant by name, values this version of the connector does not know about are read as null.
+     */
+    public static <E extends Enum<E>> E readEnum(JsonParser parser, Class<E> type) throws IOException {
+        String name = readString(parser);
+        if (null == name) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse a plain decimal. Up to 2^53 unscaled and 22 fraction digits both operands are exact doubles,
+     * so a single division is correctly rounded; anything else falls back to {@link Double#parseDouble(String)}.
+     * @return the value, NaN when the text is not a number
+     */
+    static double parseDouble(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (unscaled > (MAX_EXACT_UNSCALED - 9) / 10) {
+                    return parseDoubleSlow(chars, offset, length);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return parseDoubleSlow(chars, offset, length);
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (scale >= POWERS_OF_TEN.length) {
+            return parseDoubleSlow(chars, offset, length);
+        }
+        double value = scale > 0 ? unscaled / POWERS_OF_TEN[scale] : unscaled;
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlow(char[] chars, int offset, int length) {
+        try {
+            return Double.parseDouble(new String(chars, offset, length));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -3,10 +3,11 @@ package com.owl.owlproject.utils;
 import okhttp3.Authenticator;
 
 import java.net.Proxy;
+import java.util.Objects;
 
 public final class ProxyAuth {
-    private Proxy proxy;
-    private Authenticator auth;
+    private final Proxy proxy;
+    private final Authenticator auth;
     
     public ProxyAuth(Proxy proxy, Authenticator auth) {
         this.proxy = proxy;
@@ -20,4 +21,22 @@ public final class ProxyAuth {
     public Authenticator getAuth() {
         return auth;
     }
+
+    // Authenticators have no value semantics, the same instance is required to share a client
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProxyAuth)) {
+            return false;
+        }
+        ProxyAuth that = (ProxyAuth) o;
+        return Objects.equals(proxy, that.proxy) && auth == that.auth;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(proxy) + System.identityHashCode(auth);
+    }
 }
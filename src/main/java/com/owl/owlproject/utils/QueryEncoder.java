@@ -0,0 +1,402 @@
+package com.owl.owlproject.utils;
+
+import com.owl.owlproject.utils.signer.HmacSigner;
+import com.owl.owlproject.utils.signer.Signer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Encodes query parameters once into a per-thread ASCII buffer that is then used both as the payload to sign
+ * and as the query part of the URL.
+ * <br>
+ * The parameters passed in are never modified. Values that cannot need escaping (numbers, enums, booleans and
+ * strings made of unreserved characters only) are copied without going through {@link URLEncoder}, and numbers
+ * are written digit by digit instead of through a shared {@link java.text.DecimalFormat}.
+ * <br>
+ * An encoder is bound to its thread and its content is only valid until the next {@link #get()} on that thread,
+ * so the result must be turned into a String before another request is encoded.
+ */
+public final class QueryEncoder {
+    private static final ThreadLocal<QueryEncoder> ENCODERS = ThreadLocal.withInitial(QueryEncoder::new);
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_DECIMAL_DIGITS = 30;
+    private static final int MAX_FAST_SCALE = 10;
+    private static final long MAX_EXACT_LONG = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10};
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SIGNATURE = "signature=".getBytes(StandardCharsets.US_ASCII);
+    private static final int HMAC_HEX_LENGTH = 64;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private boolean escape = true;
+    private int[] pairOffsets = new int[16];
+    private int pairCount;
+
+    private QueryEncoder() {
+    }
+
+    /**
+     * @return the encoder of the calling thread, emptied
+     */
+    public static QueryEncoder get() {
+        return reset(true);
+    }
+
+    /**
+     * Like {@link #get()} but names and values are written as UTF-8 as they are instead of url-encoded, e.g. for
+     * the payload of a WebSocket API request which is signed over the raw values.
+     * @return the encoder of the calling thread, emptied
+     */
+    public static QueryEncoder getUnescaped() {
+        return reset(false);
+    }
+
+    private static QueryEncoder reset(boolean escape) {
+        QueryEncoder encoder = ENCODERS.get();
+        encoder.length = 0;
+        encoder.pairCount = 0;
+        encoder.escape = escape;
+        return encoder;
+    }
+
+    public QueryEncoder appendParameters(Map<String, ?> parameters) {
+        return appendParameters(parameters, null);
+    }
+
+    /**
+     * Append every parameter in iteration order. Collections are expanded into one pair per element, empty
+     * collections and null values are skipped.
+     * @param parameters parameters, may be null
+     * @param skipKey name of a parameter to leave out, may be null
+     * @return this encoder
+     */
+    public QueryEncoder appendParameters(Map<String, ?> parameters, String skipKey) {
+        if (parameters == null || parameters.isEmpty()) {
+            return this;
+        }
+        for (Map.Entry<String, ?> entry : parameters.entrySet()) {
+            String key = entry.getKey();
+            if (skipKey != null && skipKey.equals(key)) {
+                continue;
+            }
+            Object value = entry.getValue();
+            if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    append(key, element);
+                }
+            } else {
+                append(key, value);
+            }
+        }
+        return this;
+    }
+
+    public QueryEncoder append(String key, Object value) {
+        if (value == null) {
+            return this;
+        }
+        if (value instanceof String) {
+            return append(key, (String) value);
+        } else if (value instanceof Double) {
+            return append(key, ((Double) value).doubleValue());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return append(key, ((Number) value).longValue());
+        } else if (value instanceof BigDecimal) {
+            appendKey(key);
+            writeAscii(((BigDecimal) value).toPlainString());
+            return this;
+        } else if (value instanceof Enum) {
+            return append(key, ((Enum<?>) value).name());
+        } else if (value instanceof Boolean) {
+            appendKey(key);
+            writeAscii((Boolean) value ? "true" : "false");
+            return this;
+        }
+        return append(key, value.toString());
+    }
+
+    public QueryEncoder append(String key, String value) {
+        appendKey(key);
+        writeEncoded(value);
+        return this;
+    }
+
+    public QueryEncoder append(String key, long value) {
+        appendKey(key);
+        writeLong(value);
+        return this;
+    }
+
+    /**
+     * Append a double in plain notation with the fewest fraction digits that read back to the same value,
+     * e.g. 0.1 as "0.1", 50000.0 as "50000" and 1.0E-5 as "0.00001".
+     */
+    public QueryEncoder append(String key, double value) {
+        appendKey(key);
+        writeDouble(value);
+        return this;
+    }
+
+    /**
+     * Append a fixed-point decimal {@code unscaledValue * 10^-scale}, e.g. (2712345, 2) as "27123.45".
+     */
+    public QueryEncoder appendDecimal(String key, long unscaledValue, int scale) {
+        appendKey(key);
+        writeDecimal(unscaledValue, scale);
+        return this;
+    }
+
+    /**
+     * Append a value that is already url-encoded.
+     */
+    public QueryEncoder appendEncoded(String key, String encodedValue) {
+        appendKey(key);
+        writeAscii(encodedValue);
+        return this;
+    }
+
+    /**
+     * Sign everything encoded so far and append it as the {@code signature} parameter. An {@link HmacSigner}
+     * writes its hex digest directly into the buffer.
+     */
+    public QueryEncoder appendSignature(Signer signer) {
+        int payloadLength = length;
+        if (signer instanceof HmacSigner) {
+            appendSeparator();
+            ensureCapacity(SIGNATURE.length + HMAC_HEX_LENGTH);
+            System.arraycopy(SIGNATURE, 0, buffer, length, SIGNATURE.length);
+            length += SIGNATURE.length;
+            length += ((HmacSigner) signer).signHex(buffer, 0, payloadLength, buffer, length);
+            return this;
+        }
+        String signature = signer.sign(buffer, 0, payloadLength);
+        return signer.isUrlSafe() ? appendEncoded("signature", signature) : append("signature", signature);
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return number of name=value pairs encoded so far
+     */
+    public int pairCount() {
+        return pairCount;
+    }
+
+    /**
+     * @return offset in the buffer of the name of a pair, the pair ends before the next pair's '&amp;' or at
+     * {@link #length()}
+     */
+    public int pairOffset(int index) {
+        if (index < 0 || index >= pairCount) {
+            throw new IndexOutOfBoundsException("pair " + index + " of " + pairCount);
+        }
+        return pairOffsets[index];
+    }
+
+    public String toQueryString() {
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return {@code baseUrl + urlPath}, followed by {@code '?'} and the query if anything was encoded
+     */
+    public String toUrl(String baseUrl, String urlPath) {
+        if (length == 0) {
+            return baseUrl + urlPath;
+        }
+        StringBuilder sb = new StringBuilder(baseUrl.length() + urlPath.length() + 1 + length);
+        sb.append(baseUrl).append(urlPath).append('?');
+        for (int i = 0; i < length; i++) {
+            sb.append((char) buffer[i]);
+        }
+        return sb.toString();
+    }
+
+    private void appendKey(String key) {
+        appendSeparator();
+        if (pairCount == pairOffsets.length) {
+            pairOffsets = Arrays.copyOf(pairOffsets, pairCount * 2);
+        }
+        pairOffsets[pairCount++] = length;
+        writeEncoded(key);
+        ensureCapacity(1);
+        buffer[length++] = '=';
+    }
+
+    private void appendSeparator() {
+        if (length > 0) {
+            ensureCapacity(1);
+            buffer[length++] = '&';
+        }
+    }
+
+    private void writeEncoded(String s) {
+        if (!escape) {
+            writeUtf8(s);
+            return;
+        }
+        int n = s.length();
+        boolean safe = true;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                // leave multi-byte sequences to the JDK encoder
+                writeAscii(URLEncoder.encode(s, StandardCharsets.UTF_8));
+                return;
+            }
+            safe &= isUnreserved(c);
+        }
+        if (safe) {
+            writeAscii(s);
+            return;
+        }
+        ensureCapacity(n * 3);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (isUnreserved(c)) {
+                buffer[length++] = (byte) c;
+            } else if (c == ' ') {
+                buffer[length++] = '+';
+            } else {
+                buffer[length++] = '%';
+                buffer[length++] = HEX_DIGITS[c >>> 4];
+                buffer[length++] = HEX_DIGITS[c & 0x0F];
+            }
+        }
+    }
+
+    // same set URLEncoder leaves untouched
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_';
+    }
+
+    private void writeAscii(String s) {
+        int n = s.length();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            buffer[length++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void writeUtf8(String s) {
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            if (s.charAt(i) >= 0x80) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, length, bytes.length);
+                length += bytes.length;
+                return;
+            }
+        }
+        writeAscii(s);
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = length + digits;
+        do {
+            buffer[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        length += digits;
+    }
+
+    private void writeDecimal(long unscaledValue, int scale) {
+        if (scale <= 0) {
+            writeLong(unscaledValue);
+            for (int i = 0; i < -scale; i++) {
+                ensureCapacity(1);
+                buffer[length++] = '0';
+            }
+            return;
+        }
+        if (unscaledValue == Long.MIN_VALUE) {
+            writeAscii(BigDecimal.valueOf(unscaledValue, scale).toPlainString());
+            return;
+        }
+        ensureCapacity(22 + scale);
+        if (unscaledValue < 0) {
+            buffer[length++] = '-';
+            unscaledValue = -unscaledValue;
+        }
+        int digits = 1;
+        for (long v = unscaledValue; v >= 10; v /= 10) {
+            digits++;
+        }
+        int integerDigits = Math.max(1, digits - scale);
+        int total = integerDigits + 1 + scale;
+        int pos = length + total;
+        long v = unscaledValue;
+        for (int i = 0; i < scale; i++) {
+            buffer[--pos] = (byte) ('0' + (v % 10));
+            v /= 10;
+        }
+        buffer[--pos] = '.';
+        for (int i = 0; i < integerDigits; i++) {
+            buffer[--pos] = (byte) ('0' + (v % 10));
+            v /= 10;
+        }
+        length += total;
+    }
+
+    private void writeDouble(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeAscii(Double.toString(value));
+            return;
+        }
+        for (int scale = 0; scale <= MAX_FAST_SCALE; scale++) {
+            double scaled = value * POWERS_OF_TEN[scale];
+            if (Math.abs(scaled) >= MAX_EXACT_LONG) {
+                break;
+            }
+            long unscaled = Math.round(scaled);
+            // both operands are exact, so the division is correctly rounded and equal to parsing the decimal
+            if (unscaled / POWERS_OF_TEN[scale] == value) {
+                writeDecimal(unscaled, scale);
+                return;
+            }
+        }
+        BigDecimal decimal = BigDecimal.valueOf(value);
+        if (decimal.scale() > MAX_DECIMAL_DIGITS) {
+            decimal = decimal.setScale(MAX_DECIMAL_DIGITS, RoundingMode.HALF_EVEN);
+        }
+        writeAscii(decimal.stripTrailingZeros().toPlainString());
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
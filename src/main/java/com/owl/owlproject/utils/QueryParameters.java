@@ -0,0 +1,10 @@
+package com.owl.owlproject.utils;
+
+/**
+ * Parameters that write themselves into a {@link QueryEncoder}, used by typed requests instead of a
+ * {@code LinkedHashMap<String, Object>}.
+ */
+@FunctionalInterface
+public interface QueryParameters {
+    void writeTo(QueryEncoder encoder);
+}
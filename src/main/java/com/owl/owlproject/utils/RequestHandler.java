@@ -3,81 +3,1025 @@ package com.owl.owlproject.utils;
 import com.owl.owlproject.enums.HttpMethod;
 import com.owl.owlproject.enums.RequestType;
 import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.utils.cache.RequestCoalescer;
+import com.owl.owlproject.utils.cache.ResponseCache;
+import com.owl.owlproject.utils.event.LoggingRequestEventListener;
+import com.owl.owlproject.utils.event.RequestEvent;
+import com.owl.owlproject.utils.event.RequestEventListener;
+import com.owl.owlproject.utils.metrics.ConnectorMetrics;
+import com.owl.owlproject.utils.ratelimit.EndpointWeights;
+import com.owl.owlproject.utils.ratelimit.OrderRateGovernor;
+import com.owl.owlproject.utils.ratelimit.RequestWeightLimiter;
+import com.owl.owlproject.utils.retry.RetryPolicy;
+import com.owl.owlproject.utils.signer.HmacSigner;
+import com.owl.owlproject.utils.signer.Signer;
+import com.owl.owlproject.utils.time.ServerTimeSync;
+import com.owl.owlproject.utils.time.TimeSource;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class RequestHandler {
     private final String apiKey;
-    private final String secretKey;
+    private final Signer signer;
     private static final Logger logger = LoggerFactory.getLogger(RequestHandler.class);
+    private static final String TIMESTAMP = "timestamp";
+    private static final String USED_WEIGHT_1M = "x-mbx-used-weight-1m";
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final String ORDER_COUNT_10S = "x-mbx-order-count-10s";
+    private static final String ORDER_COUNT_1M = "x-mbx-order-count-1m";
+    private static final String ORDER = "/v1/order";
     private final ProxyAuth proxy;
+    private final OkHttpClient httpClient;
+    private final RequestWeightLimiter weightLimiter;
+    private final OrderRateGovernor orderGovernor;
+    private final TimeSource timeSource;
+    private final RetryPolicy retryPolicy;
+    private final RequestCoalescer coalescer;
+    private final ResponseCache responseCache;
+    private final RequestEventListener eventListener;
+    private final ConnectorMetrics metrics;
 
     public RequestHandler(String apiKey, ProxyAuth proxy) {
-        this.apiKey = apiKey;
-        this.secretKey = null;
-        this.proxy = proxy;
+        this(builder().apiKey(apiKey).proxy(proxy));
     }
 
     public RequestHandler(String apiKey, String secretKey, ProxyAuth proxy) {
-        this.apiKey = apiKey;
-        this.secretKey = secretKey;
-        this.proxy = proxy;
+        this(builder().apiKey(apiKey).secretKey(secretKey).proxy(proxy));
+    }
+
+    public RequestHandler(String apiKey, String secretKey, ProxyAuth proxy, HttpClientConfig httpClientConfig) {
+        this(builder().apiKey(apiKey).secretKey(secretKey).proxy(proxy).httpClientConfig(httpClientConfig));
+    }
+
+    public RequestHandler(String apiKey, Signer signer, ProxyAuth proxy, HttpClientConfig httpClientConfig) {
+        this(builder().apiKey(apiKey).signer(signer).proxy(proxy).httpClientConfig(httpClientConfig));
+    }
+
+    private RequestHandler(Builder builder) {
+        this.apiKey = builder.apiKey;
+        this.signer = builder.signer;
+        this.proxy = builder.proxy;
+        OkHttpClient shared = HttpClientRegistry.getHttpClient(builder.proxy, builder.httpClientConfig);
+        // derived from the shared client, the metered calls keep its connection pool and dispatcher
+        this.httpClient = null == builder.metrics ? shared
+                : shared.newBuilder().eventListenerFactory(builder.metrics.eventListenerFactory()).build();
+        this.weightLimiter = builder.weightLimiter;
+        this.orderGovernor = builder.orderGovernor;
+        this.timeSource = builder.timeSource;
+        this.retryPolicy = builder.retryPolicy;
+        this.coalescer = builder.coalescer;
+        this.responseCache = builder.responseCache;
+        this.eventListener = builder.eventListener;
+        this.metrics = builder.metrics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the request weight limiter, null when requests are not limited on the client side
+     */
+    public RequestWeightLimiter getWeightLimiter() {
+        return weightLimiter;
+    }
+
+    /**
+     * @return the order rate governor, null when orders are not paced on the client side
+     */
+    public OrderRateGovernor getOrderGovernor() {
+        return orderGovernor;
+    }
+
+    /**
+     * @return the clock stamping signed requests
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
     }
 
     /**
-     * Build request based on request type and send the requests to server.
-     * @param baseUrl base url
-     * @param urlPath url path
-     * @param signature the signature
-     * @param parameters parameters
+     * @return the retry policy of the idempotent requests, null when failures go straight to the caller
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @return the coalescer of identical public GETs, null when every call sends its own request
+     */
+    public RequestCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * @return the cache of the slow changing endpoints, null when nothing is cached
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * @return the listener of the request events, null when no event is recorded
+     */
+    public RequestEventListener getEventListener() {
+        return eventListener;
+    }
+
+    /**
+     * @return the metrics of the requests, null when no metric is recorded
+     */
+    public ConnectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Send the request once, or retry and hedge it with the retry policy when it is idempotent.
+     * Every attempt takes its own permits and, for a signed request, a fresh timestamp.
+     * @param urlPath path of the endpoint, identifies it for the retry policy
+     * @return T - response from server
+     */
+    private <T> T sendApiRequest(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType, String urlPath,
+                                 int weight, int orders, ResponseHandler.ResponseReader<T> reader) {
+        if (!isIdempotent(httpMethod, requestType, urlPath)) {
+            try {
+                return sendOnce(fullUrl, httpMethod, requestType, urlPath, weight, orders, reader);
+            } finally {
+                invalidateCached(httpMethod, urlPath);
+            }
+        }
+        return new RetryingRequest<>(fullUrl, httpMethod, requestType, urlPath, weight, reader).send();
+    }
+
+    /**
+     * Asynchronous version of {@link #sendApiRequest(Supplier, HttpMethod, RequestType, String, int, int, ResponseHandler.ResponseReader)},
+     * the backoff between attempts does not block any thread.
+     * @return CompletableFuture - completed with the response from server
+     */
+    private <T> CompletableFuture<T> sendApiRequestAsync(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType,
+                                                         String urlPath, int weight, int orders,
+                                                         ResponseHandler.ResponseReader<T> reader) {
+        if (!isIdempotent(httpMethod, requestType, urlPath)) {
+            CompletableFuture<T> call = sendOnceAsync(fullUrl, httpMethod, requestType, urlPath, weight, orders, reader);
+            if (null != responseCache && HttpMethod.GET != httpMethod) {
+                call.whenComplete((value, throwable) -> invalidateCached(httpMethod, urlPath));
+            }
+            return call;
+        }
+        return new RetryingRequest<>(fullUrl, httpMethod, requestType, urlPath, weight, reader).sendAsync();
+    }
+
+    /**
+     * Send a request streaming its body into the sink once, it is never retried nor hedged: a failed attempt
+     * may have written part of the body already, and attempts raced against each other would write into the same sink.
+     * @return number of bytes written to the sink
+     */
+    private long sendToSink(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType, String urlPath,
+                            int weight, int orders, ResponseSink sink) {
+        try {
+            return sendOnce(fullUrl, httpMethod, requestType, urlPath, weight, orders, ResponseHandler.streaming(sink));
+        } finally {
+            invalidateCached(httpMethod, urlPath);
+        }
+    }
+
+    /**
+     * Asynchronous version of {@link #sendToSink(Supplier, HttpMethod, RequestType, String, int, int, ResponseSink)}.
+     * @return CompletableFuture - completed with the number of bytes written to the sink
+     */
+    private CompletableFuture<Long> sendToSinkAsync(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType,
+                                                    String urlPath, int weight, int orders, ResponseSink sink) {
+        CompletableFuture<Long> call = sendOnceAsync(fullUrl, httpMethod, requestType, urlPath, weight, orders,
+                ResponseHandler.streaming(sink));
+        if (null != responseCache && HttpMethod.GET != httpMethod) {
+            call.whenComplete((value, throwable) -> invalidateCached(httpMethod, urlPath));
+        }
+        return call;
+    }
+
+    // market data GETs and the order query, the signed GETs of the account are left to the caller
+    private boolean isIdempotent(HttpMethod httpMethod, RequestType requestType, String urlPath) {
+        return null != retryPolicy && HttpMethod.GET == httpMethod
+                && (RequestType.SIGNED != requestType || ORDER.equals(urlPath));
+    }
+
+    /**
+     * Send one attempt of the request, reported to the event listener and the metrics when there are.
+     * @param urlPath path of the endpoint
+     * @return T - response from server
+     */
+    private <T> T sendOnce(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType, String urlPath,
+                           int weight, int orders, ResponseHandler.ResponseReader<T> reader) {
+        if (null == eventListener && null == metrics) {
+            return transmit(fullUrl, httpMethod, requestType, weight, orders, reader);
+        }
+        RequestObservation<T> observation = new RequestObservation<>(fullUrl, httpMethod, requestType, urlPath, reader);
+        T value;
+        try {
+            value = transmit(observation::url, httpMethod, requestType, weight, orders, observation);
+        } catch (RuntimeException e) {
+            observation.complete(e);
+            throw e;
+        }
+        observation.complete(null);
+        return value;
+    }
+
+    /**
+     * Asynchronous version of {@link #sendOnce(Supplier, HttpMethod, RequestType, String, int, int, ResponseHandler.ResponseReader)}.
+     * @return CompletableFuture - completed with the response from server
+     */
+    private <T> CompletableFuture<T> sendOnceAsync(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType,
+                                                   String urlPath, int weight, int orders,
+                                                   ResponseHandler.ResponseReader<T> reader) {
+        if (null == eventListener && null == metrics) {
+            return transmitAsync(fullUrl, httpMethod, requestType, weight, orders, reader);
+        }
+        RequestObservation<T> observation = new RequestObservation<>(fullUrl, httpMethod, requestType, urlPath, reader);
+        CompletableFuture<T> call;
+        try {
+            call = transmitAsync(observation::url, httpMethod, requestType, weight, orders, observation);
+        } catch (RuntimeException e) {
+            observation.complete(e);
+            throw e;
+        }
+        call.whenComplete((value, throwable) -> observation.complete(throwable));
+        return call;
+    }
+
+    /**
+     * Reserve the request weight and order tokens, build request based on request type and read the response
+     * with the given reader. The url is built once the permits are taken, so a queued signed request is not sent
+     * with a stale timestamp.
+     * @param fullUrl builds the url including the encoded query string
      * @param httpMethod https method
      * @param requestType request type
-     * @return String - response from server
+     * @param weight request weight
+     * @param orders orders placed by the request
+     * @param reader reads the response, e.g. decodes or streams the body
+     * @return T - response from server
      */
+    private <T> T transmit(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType,
+                           int weight, int orders, ResponseHandler.ResponseReader<T> reader) {
+        if (null == weightLimiter && null == orderGovernor) {
+            return ResponseHandler.execute(httpClient, buildRequest(fullUrl.get(), httpMethod, requestType), proxy, reader);
+        }
+        acquire(weight, orders);
+        RateLimitTracker<T> tracker = new RateLimitTracker<>(weight, orders, reader);
+        try {
+            return ResponseHandler.execute(httpClient, buildRequest(fullUrl.get(), httpMethod, requestType), proxy, tracker);
+        } finally {
+            tracker.release();
+        }
+    }
+
+    /**
+     * Asynchronous version of {@link #transmit(Supplier, HttpMethod, RequestType, int, int, ResponseHandler.ResponseReader)},
+     * a request that has to wait for permits is queued without blocking the calling thread.
+     * @return CompletableFuture - completed with the response from server
+     */
+    private <T> CompletableFuture<T> transmitAsync(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType,
+                                                   int weight, int orders, ResponseHandler.ResponseReader<T> reader) {
+        if (null == weightLimiter && null == orderGovernor) {
+            return ResponseHandler.enqueue(httpClient, buildRequest(fullUrl.get(), httpMethod, requestType), proxy, reader);
+        }
+        CompletableFuture<Void> permit = acquireAsync(weight, orders);
+        if (permit.isDone() && !permit.isCompletedExceptionally()) {
+            return enqueueTracked(fullUrl, httpMethod, requestType, weight, orders, reader);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        permit.whenComplete((ignored, throwable) -> {
+            if (null != throwable) {
+                result.completeExceptionally(throwable instanceof CompletionException && null != throwable.getCause()
+                        ? throwable.getCause() : throwable);
+                return;
+            }
+            if (result.isDone()) {
+                // cancelled while queued
+                releasePermits(weight, orders);
+                return;
+            }
+            CompletableFuture<T> call;
+            try {
+                call = enqueueTracked(fullUrl, httpMethod, requestType, weight, orders, reader);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            call.whenComplete((value, e) -> {
+                if (null != e) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, e) -> {
+                if (result.isCancelled()) {
+                    call.cancel(false);
+                }
+            });
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> enqueueTracked(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType,
+                                                    int weight, int orders, ResponseHandler.ResponseReader<T> reader) {
+        RateLimitTracker<T> tracker = new RateLimitTracker<>(weight, orders, reader);
+        CompletableFuture<T> call;
+        try {
+            call = ResponseHandler.enqueue(httpClient, buildRequest(fullUrl.get(), httpMethod, requestType), proxy, tracker);
+        } catch (RuntimeException e) {
+            tracker.release();
+            throw e;
+        }
+        call.whenComplete((value, throwable) -> tracker.release());
+        return call;
+    }
+
+    // order tokens are taken first, they are given back if the weight is rejected
+    private void acquire(int weight, int orders) {
+        boolean paced = null != orderGovernor && orders > 0;
+        if (paced) {
+            orderGovernor.acquire(orders);
+        }
+        if (null != weightLimiter) {
+            try {
+                weightLimiter.acquire(weight);
+            } catch (RuntimeException e) {
+                if (paced) {
+                    orderGovernor.release(orders);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private CompletableFuture<Void> acquireAsync(int weight, int orders) {
+        CompletableFuture<Void> permit = null != orderGovernor && orders > 0
+                ? orderGovernor.acquireAsync(orders) : CompletableFuture.completedFuture(null);
+        if (null == weightLimiter) {
+            return permit;
+        }
+        if (permit.isDone() && !permit.isCompletedExceptionally()) {
+            return acquireWeightAsync(weight, orders);
+        }
+        return permit.thenCompose(ignored -> acquireWeightAsync(weight, orders));
+    }
 
-    private String sendApiRequest(String baseUrl, String urlPath, String signature, LinkedHashMap<String, Object> parameters,
-                                  HttpMethod httpMethod, RequestType requestType, boolean showLimitUsage) {
-        String fullUrl = UrlBuilder.buildFullUrl(baseUrl, urlPath, parameters, signature);
-        logger.info("{} {}", httpMethod, fullUrl);
-        Request request;
+    private CompletableFuture<Void> acquireWeightAsync(int weight, int orders) {
+        boolean paced = null != orderGovernor && orders > 0;
+        CompletableFuture<Void> permit;
+        try {
+            permit = weightLimiter.acquireAsync(weight);
+        } catch (RuntimeException e) {
+            permit = CompletableFuture.failedFuture(e);
+        }
+        if (paced && permit.isCompletedExceptionally()) {
+            orderGovernor.release(orders);
+        } else if (paced && !permit.isDone()) {
+            permit.whenComplete((ignored, throwable) -> {
+                if (null != throwable) {
+                    orderGovernor.release(orders);
+                }
+            });
+        }
+        return permit;
+    }
+
+    private void releasePermits(int weight, int orders) {
+        if (null != weightLimiter) {
+            weightLimiter.onFailure(weight);
+        }
+        if (null != orderGovernor && orders > 0) {
+            orderGovernor.release(orders);
+        }
+    }
+
+    private Request buildRequest(String fullUrl, HttpMethod httpMethod, RequestType requestType) {
         switch (requestType) {
             case PUBLIC:
-                request = RequestBuilder.buildPublicRequest(fullUrl, httpMethod);
-                break;
+                return RequestBuilder.buildPublicRequest(fullUrl, httpMethod);
             case WITH_API_KEY:
             case SIGNED:
-                request = RequestBuilder.buildApiKeyRequest(fullUrl, httpMethod, apiKey);
-                break;
+                return RequestBuilder.buildApiKeyRequest(fullUrl, httpMethod, apiKey);
             default:
                 throw new BinanceConnectorException("[RequestHandler] Invalid request type: " + requestType);
         }
-        return ResponseHandler.handleResponse(request, showLimitUsage, proxy);
+    }
+
+    // identical GETs share responses, from the response cache when the endpoint is cached and, for public requests,
+    // from the identical request in flight. The reader is part of the key as it shapes the response
+    private <T> T share(HttpMethod httpMethod, RequestType requestType, String baseUrl, String urlPath,
+                        LinkedHashMap<String, Object> parameters, Object reader, Supplier<T> send) {
+        boolean cached = isCached(httpMethod, urlPath);
+        boolean coalesced = isCoalesced(httpMethod, requestType);
+        if (!cached && !coalesced) {
+            return send.get();
+        }
+        Object key = requestKey(requestType, baseUrl, urlPath, parameters, reader);
+        Supplier<T> load = coalesced ? () -> coalescer.execute(key, send) : send;
+        return cached ? responseCache.get(urlPath, key, load) : load.get();
+    }
+
+    private <T> CompletableFuture<T> shareAsync(HttpMethod httpMethod, RequestType requestType, String baseUrl, String urlPath,
+                                                LinkedHashMap<String, Object> parameters, Object reader,
+                                                Supplier<CompletableFuture<T>> send) {
+        boolean cached = isCached(httpMethod, urlPath);
+        boolean coalesced = isCoalesced(httpMethod, requestType);
+        if (!cached && !coalesced) {
+            return send.get();
+        }
+        Object key = requestKey(requestType, baseUrl, urlPath, parameters, reader);
+        Supplier<CompletableFuture<T>> load = coalesced ? () -> coalescer.executeAsync(key, send) : send;
+        return cached ? responseCache.getAsync(urlPath, key, load) : load.get();
+    }
+
+    private boolean isCached(HttpMethod httpMethod, String urlPath) {
+        return null != responseCache && HttpMethod.GET == httpMethod && responseCache.isCached(urlPath);
+    }
+
+    private boolean isCoalesced(HttpMethod httpMethod, RequestType requestType) {
+        return null != coalescer && HttpMethod.GET == httpMethod && RequestType.PUBLIC == requestType;
+    }
+
+    // a change made through a cached path drops its cached responses, whether or not it succeeded
+    private void invalidateCached(HttpMethod httpMethod, String urlPath) {
+        if (null != responseCache && HttpMethod.GET != httpMethod) {
+            responseCache.invalidate(urlPath);
+        }
+    }
+
+    // parameters are sorted by name, so the same request built in a different order gets the same key,
+    // responses to signed requests are only shared by the same API key
+    private List<Object> requestKey(RequestType requestType, String baseUrl, String urlPath,
+                                    LinkedHashMap<String, Object> parameters, Object reader) {
+        Map<String, Object> canonical = null == parameters || parameters.size() < 2 ? parameters : new TreeMap<>(parameters);
+        String url = QueryEncoder.get().appendParameters(canonical).toUrl(baseUrl, urlPath);
+        return Arrays.asList(url, reader, RequestType.PUBLIC == requestType ? null : apiKey);
     }
 
     public String sendPublicRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
                                     HttpMethod httpMethod, boolean showLimitUsage) {
-        return sendApiRequest(baseUrl, urlPath, null, parameters, httpMethod, RequestType.PUBLIC, showLimitUsage);
+        return share(httpMethod, RequestType.PUBLIC, baseUrl, urlPath, parameters, showLimitUsage,
+                () -> sendApiRequest(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.PUBLIC,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.reading(showLimitUsage)));
+    }
+
+    public CompletableFuture<String> sendPublicRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                            HttpMethod httpMethod, boolean showLimitUsage) {
+        return shareAsync(httpMethod, RequestType.PUBLIC, baseUrl, urlPath, parameters, showLimitUsage,
+                () -> sendApiRequestAsync(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.PUBLIC,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.reading(showLimitUsage)));
+    }
+
+    public <T> T sendPublicRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                   HttpMethod httpMethod, ResponseDecoder<T> decoder) {
+        return share(httpMethod, RequestType.PUBLIC, baseUrl, urlPath, parameters, decoder,
+                () -> sendApiRequest(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.PUBLIC,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.decoding(decoder)));
+    }
+
+    public <T> CompletableFuture<T> sendPublicRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                           HttpMethod httpMethod, ResponseDecoder<T> decoder) {
+        return shareAsync(httpMethod, RequestType.PUBLIC, baseUrl, urlPath, parameters, decoder,
+                () -> sendApiRequestAsync(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.PUBLIC,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.decoding(decoder)));
+    }
+
+    public long sendPublicRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                  HttpMethod httpMethod, ResponseSink sink) {
+        return sendToSink(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.PUBLIC,
+                urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters), sink);
+    }
+
+    public CompletableFuture<Long> sendPublicRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                          HttpMethod httpMethod, ResponseSink sink) {
+        return sendToSinkAsync(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.PUBLIC,
+                urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters), sink);
     }
 
     public String sendWithApiKeyRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
                                         HttpMethod httpMethod, boolean showLimitUsage) {
+        checkApiKey();
+        return sendApiRequest(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.WITH_API_KEY,
+                urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                ResponseHandler.reading(showLimitUsage));
+    }
+
+    public CompletableFuture<String> sendWithApiKeyRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                                HttpMethod httpMethod, boolean showLimitUsage) {
+        checkApiKey();
+        return sendApiRequestAsync(() -> buildUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.WITH_API_KEY,
+                urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                ResponseHandler.reading(showLimitUsage));
+    }
+
+    public String sendSignedRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                    HttpMethod httpMethod, boolean showLimitUsage) {
+        checkSigner();
+        return share(httpMethod, RequestType.SIGNED, baseUrl, urlPath, parameters, showLimitUsage,
+                () -> sendApiRequest(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.reading(showLimitUsage)));
+    }
+
+    public CompletableFuture<String> sendSignedRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                            HttpMethod httpMethod, boolean showLimitUsage) {
+        checkSigner();
+        return shareAsync(httpMethod, RequestType.SIGNED, baseUrl, urlPath, parameters, showLimitUsage,
+                () -> sendApiRequestAsync(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.reading(showLimitUsage)));
+    }
+
+    public String sendSignedRequest(String baseUrl, String urlPath, QueryParameters parameters,
+                                    HttpMethod httpMethod, boolean showLimitUsage) {
+        checkSigner();
+        return sendApiRequest(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                urlPath, weightOf(httpMethod, urlPath, null), orderCountOf(httpMethod, urlPath, null),
+                ResponseHandler.reading(showLimitUsage));
+    }
+
+    public CompletableFuture<String> sendSignedRequestAsync(String baseUrl, String urlPath, QueryParameters parameters,
+                                                            HttpMethod httpMethod, boolean showLimitUsage) {
+        checkSigner();
+        return sendApiRequestAsync(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                urlPath, weightOf(httpMethod, urlPath, null), orderCountOf(httpMethod, urlPath, null),
+                ResponseHandler.reading(showLimitUsage));
+    }
+
+    public <T> T sendSignedRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                   HttpMethod httpMethod, ResponseDecoder<T> decoder) {
+        checkSigner();
+        return share(httpMethod, RequestType.SIGNED, baseUrl, urlPath, parameters, decoder,
+                () -> sendApiRequest(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.decoding(decoder)));
+    }
+
+    public <T> CompletableFuture<T> sendSignedRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                           HttpMethod httpMethod, ResponseDecoder<T> decoder) {
+        checkSigner();
+        return shareAsync(httpMethod, RequestType.SIGNED, baseUrl, urlPath, parameters, decoder,
+                () -> sendApiRequestAsync(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                        urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters),
+                        ResponseHandler.decoding(decoder)));
+    }
+
+    public <T> T sendSignedRequest(String baseUrl, String urlPath, QueryParameters parameters,
+                                   HttpMethod httpMethod, ResponseDecoder<T> decoder) {
+        checkSigner();
+        return sendApiRequest(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                urlPath, weightOf(httpMethod, urlPath, null), orderCountOf(httpMethod, urlPath, null),
+                ResponseHandler.decoding(decoder));
+    }
+
+    public <T> CompletableFuture<T> sendSignedRequestAsync(String baseUrl, String urlPath, QueryParameters parameters,
+                                                           HttpMethod httpMethod, ResponseDecoder<T> decoder) {
+        checkSigner();
+        return sendApiRequestAsync(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                urlPath, weightOf(httpMethod, urlPath, null), orderCountOf(httpMethod, urlPath, null),
+                ResponseHandler.decoding(decoder));
+    }
+
+    public long sendSignedRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                  HttpMethod httpMethod, ResponseSink sink) {
+        checkSigner();
+        return sendToSink(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters), sink);
+    }
+
+    public CompletableFuture<Long> sendSignedRequestAsync(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
+                                                          HttpMethod httpMethod, ResponseSink sink) {
+        checkSigner();
+        return sendToSinkAsync(() -> buildSignedUrl(baseUrl, urlPath, parameters), httpMethod, RequestType.SIGNED,
+                urlPath, weightOf(httpMethod, urlPath, parameters), orderCountOf(httpMethod, urlPath, parameters), sink);
+    }
+
+    private int weightOf(HttpMethod httpMethod, String urlPath, LinkedHashMap<String, Object> parameters) {
+        return null == weightLimiter ? 0 : EndpointWeights.weightOf(httpMethod, urlPath, parameters);
+    }
+
+    private int orderCountOf(HttpMethod httpMethod, String urlPath, LinkedHashMap<String, Object> parameters) {
+        return null == orderGovernor ? 0 : EndpointWeights.orderCountOf(httpMethod, urlPath, parameters);
+    }
+
+    private void checkApiKey() {
         if (null == apiKey || apiKey.isEmpty()) {
             throw new BinanceConnectorException("[RequestHandler] API key cannot be null or empty!");
         }
-        return sendApiRequest(baseUrl, urlPath, null, parameters, httpMethod, RequestType.WITH_API_KEY, showLimitUsage);
     }
 
-    public String sendSignedRequest(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters,
-                                    HttpMethod httpMethod, boolean showLimitUsage) {
-        if (null == secretKey || secretKey.isEmpty() || null == apiKey || apiKey.isEmpty()) {
+    private static String buildUrl(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters) {
+        return QueryEncoder.get().appendParameters(parameters).toUrl(baseUrl, urlPath);
+    }
+
+    private String buildSignedUrl(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters) {
+        return signToUrl(QueryEncoder.get().appendParameters(parameters, TIMESTAMP), baseUrl, urlPath);
+    }
+
+    private String buildSignedUrl(String baseUrl, String urlPath, QueryParameters parameters) {
+        QueryEncoder encoder = QueryEncoder.get();
+        parameters.writeTo(encoder);
+        return signToUrl(encoder, baseUrl, urlPath);
+    }
+
+    private void checkSigner() {
+        if (null == signer || null == apiKey || apiKey.isEmpty()) {
             throw new BinanceConnectorException("[RequestHandler] Secret key/API key cannot be null or empty!");
         }
-        parameters.put("timestamp", UrlBuilder.buildTimestamp());
-        String queryString = UrlBuilder.joinQueryParameters(parameters);
-        String signature = SignatureGenerator.getSignature(queryString, secretKey);
-        return sendApiRequest(baseUrl, urlPath, signature, parameters, httpMethod, RequestType.SIGNED, showLimitUsage);
+    }
+
+    // the query is encoded once, signed in place and turned into the url, the caller's parameters are left untouched
+    private String signToUrl(QueryEncoder encoder, String baseUrl, String urlPath) {
+        return encoder.append(TIMESTAMP, timeSource.currentTimeMillis())
+                .appendSignature(signer)
+                .toUrl(baseUrl, urlPath);
+    }
+
+    // re-syncs the limiters from the response headers, or releases the reserved weight when there was no response
+    private final class RateLimitTracker<T> implements ResponseHandler.ResponseReader<T> {
+        private final int weight;
+        private final int orders;
+        private final ResponseHandler.ResponseReader<T> reader;
+        private volatile boolean observed;
+
+        private RateLimitTracker(int weight, int orders, ResponseHandler.ResponseReader<T> reader) {
+            this.weight = weight;
+            this.orders = orders;
+            this.reader = reader;
+        }
+
+        @Override
+        public T read(Response response) throws IOException {
+            observed = true;
+            String retryAfter = response.header(RETRY_AFTER);
+            if (null != weightLimiter) {
+                weightLimiter.onResponse(weight, response.code(), response.header(USED_WEIGHT_1M), retryAfter);
+            }
+            if (null != orderGovernor && orders > 0) {
+                orderGovernor.onResponse(response.code(), response.header(ORDER_COUNT_10S), response.header(ORDER_COUNT_1M), retryAfter);
+            }
+            return reader.read(response);
+        }
+
+        // order tokens are not given back, the order may have reached the server
+        private void release() {
+            if (!observed && null != weightLimiter) {
+                weightLimiter.onFailure(weight);
+            }
+        }
+    }
+
+    // times one attempt and keeps its url and status for the event listener
+    private final class RequestObservation<T> implements ResponseHandler.ResponseReader<T> {
+        private final Supplier<String> fullUrl;
+        private final HttpMethod httpMethod;
+        private final RequestType requestType;
+        private final String urlPath;
+        private final ResponseHandler.ResponseReader<T> reader;
+        private final boolean sampled;
+        private final long start = System.nanoTime();
+        private volatile long sent;
+        private volatile String url;
+        private volatile int status = -1;
+
+        private RequestObservation(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType, String urlPath,
+                                   ResponseHandler.ResponseReader<T> reader) {
+            this.fullUrl = fullUrl;
+            this.httpMethod = httpMethod;
+            this.requestType = requestType;
+            this.urlPath = urlPath;
+            this.reader = reader;
+            this.sampled = null != eventListener && eventListener.sample();
+        }
+
+        private String url() {
+            url = fullUrl.get();
+            sent = System.nanoTime();
+            return url;
+        }
+
+        @Override
+        public T read(Response response) throws IOException {
+            status = response.code();
+            return reader.read(response);
+        }
+
+        // every attempt goes to the metrics, the listener gets the sampled ones and the failures.
+        // A listener failure is logged, it must not fail the request
+        private void complete(Throwable throwable) {
+            boolean listened = null != eventListener && (sampled || null != throwable);
+            if (!listened && null == metrics) {
+                return;
+            }
+            long now = System.nanoTime();
+            Throwable error = throwable instanceof CompletionException && null != throwable.getCause()
+                    ? throwable.getCause() : throwable;
+            long sentAt = sent;
+            RequestEvent event = new RequestEvent(System.currentTimeMillis(), httpMethod, requestType, urlPath, url, apiKey,
+                    status, error, 0 == sentAt ? -1 : sentAt - start, 0 == sentAt ? -1 : now - sentAt, sampled);
+            try {
+                if (null != metrics) {
+                    metrics.onEvent(event);
+                }
+                if (listened) {
+                    eventListener.onEvent(event);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("[RequestHandler] Request event listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // attempts of an idempotent request, no orders are placed so only the weight is taken for each attempt
+    private final class RetryingRequest<T> {
+        private final Supplier<String> fullUrl;
+        private final HttpMethod httpMethod;
+        private final RequestType requestType;
+        private final String urlPath;
+        private final int weight;
+        private final ResponseHandler.ResponseReader<T> reader;
+
+        private RetryingRequest(Supplier<String> fullUrl, HttpMethod httpMethod, RequestType requestType, String urlPath,
+                                int weight, ResponseHandler.ResponseReader<T> reader) {
+            this.fullUrl = fullUrl;
+            this.httpMethod = httpMethod;
+            this.requestType = requestType;
+            this.urlPath = urlPath;
+            this.weight = weight;
+            this.reader = reader;
+        }
+
+        private T send() {
+            if (retryPolicy.isHedging()) {
+                try {
+                    return sendAsync().join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return sendOnce(fullUrl, httpMethod, requestType, urlPath, weight, 0, reader);
+                } catch (RuntimeException e) {
+                    if (attempt >= retryPolicy.getMaxAttempts() || !retryPolicy.isRetryable(e)) {
+                        throw e;
+                    }
+                    logger.warn("[RequestHandler] Attempt {} of {} {} failed, retrying: {}", attempt, httpMethod, urlPath, e.getMessage());
+                    if (null != metrics) {
+                        metrics.onRetry(httpMethod, urlPath);
+                    }
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(retryPolicy.backoffMillis(attempt));
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private CompletableFuture<T> sendAsync() {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            attempt(result, 1);
+            return result;
+        }
+
+        private void attempt(CompletableFuture<T> result, int attempt) {
+            CompletableFuture<T> call;
+            try {
+                call = retryPolicy.isHedging() ? hedged() : sendOnceAsync(fullUrl, httpMethod, requestType, urlPath, weight, 0, reader);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<T> current = call;
+            result.whenComplete((value, throwable) -> {
+                if (result.isCancelled()) {
+                    current.cancel(false);
+                }
+            });
+            current.whenComplete((value, throwable) -> {
+                if (null == throwable) {
+                    result.complete(value);
+                    return;
+                }
+                Throwable failure = throwable instanceof CompletionException && null != throwable.getCause()
+                        ? throwable.getCause() : throwable;
+                if (result.isDone() || attempt >= retryPolicy.getMaxAttempts() || !retryPolicy.isRetryable(failure)) {
+                    result.completeExceptionally(failure);
+                    return;
+                }
+                logger.warn("[RequestHandler] Attempt {} of {} {} failed, retrying: {}", attempt, httpMethod, urlPath, failure.getMessage());
+                if (null != metrics) {
+                    metrics.onRetry(httpMethod, urlPath);
+                }
+                CompletableFuture.delayedExecutor(retryPolicy.backoffMillis(attempt), TimeUnit.MILLISECONDS).execute(() -> {
+                    if (!result.isDone()) {
+                        attempt(result, attempt + 1);
+                    }
+                });
+            });
+        }
+
+        // the first answer wins, a duplicate is sent when the first call outlives the p95 latency of the endpoint
+        private CompletableFuture<T> hedged() {
+            long delay = retryPolicy.hedgeDelayMillis(urlPath);
+            Race race = new Race();
+            race.launch();
+            if (delay >= 0) {
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                    // a duplicate that would have to queue for weight cannot win the race
+                    if ((null == weightLimiter || weightLimiter.getRemainingWeight() >= weight)
+                            && race.launch() && null != metrics) {
+                        metrics.onHedge(httpMethod, urlPath);
+                    }
+                });
+            }
+            return race.winner;
+        }
+
+        private final class Race {
+            private final CompletableFuture<T> winner = new CompletableFuture<>();
+            private int running;
+
+            // false when the race was already decided
+            private boolean launch() {
+                synchronized (this) {
+                    if (winner.isDone()) {
+                        return false;
+                    }
+                    running++;
+                }
+                long start = System.nanoTime();
+                CompletableFuture<T> call;
+                try {
+                    call = sendOnceAsync(fullUrl, httpMethod, requestType, urlPath, weight, 0, reader);
+                } catch (RuntimeException e) {
+                    call = CompletableFuture.failedFuture(e);
+                }
+                CompletableFuture<T> current = call;
+                winner.whenComplete((value, throwable) -> current.cancel(false));
+                current.whenComplete((value, throwable) -> {
+                    if (null == throwable) {
+                        retryPolicy.recordLatency(urlPath, System.nanoTime() - start);
+                        winner.complete(value);
+                        return;
+                    }
+                    synchronized (this) {
+                        if (--running > 0) {
+                            return;
+                        }
+                    }
+                    winner.completeExceptionally(throwable);
+                });
+                return true;
+            }
+        }
+    }
+
+    public static final class Builder {
+        private String apiKey;
+        private Signer signer;
+        private ProxyAuth proxy;
+        private HttpClientConfig httpClientConfig = HttpClientConfig.DEFAULT;
+        private RequestWeightLimiter weightLimiter;
+        private OrderRateGovernor orderGovernor;
+        private TimeSource timeSource = TimeSource.SYSTEM;
+        private RetryPolicy retryPolicy;
+        private RequestCoalescer coalescer;
+        private ResponseCache responseCache;
+        private RequestEventListener eventListener;
+        private ConnectorMetrics metrics;
+
+        private Builder() {
+        }
+
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Sign requests with HMAC SHA256, replaces any signer set before.
+         * @param secretKey secret key, null or empty for a handler that only sends public and API key requests
+         * @return this builder
+         */
+        public Builder secretKey(String secretKey) {
+            this.signer = null == secretKey || secretKey.isEmpty() ? null : new HmacSigner(secretKey);
+            return this;
+        }
+
+        public Builder signer(Signer signer) {
+            this.signer = signer;
+            return this;
+        }
+
+        public Builder proxy(ProxyAuth proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        public Builder httpClientConfig(HttpClientConfig httpClientConfig) {
+            this.httpClientConfig = null == httpClientConfig ? HttpClientConfig.DEFAULT : httpClientConfig;
+            return this;
+        }
+
+        /**
+         * @param weightLimiter limiter shared by the handlers sending from the same IP, null to disable client side limiting
+         * @return this builder
+         */
+        public Builder weightLimiter(RequestWeightLimiter weightLimiter) {
+            this.weightLimiter = weightLimiter;
+            return this;
+        }
+
+        /**
+         * @param orderGovernor governor shared by the handlers using the same account, null to disable order pacing
+         * @return this builder
+         */
+        public Builder orderGovernor(OrderRateGovernor orderGovernor) {
+            this.orderGovernor = orderGovernor;
+            return this;
+        }
+
+        /**
+         * @param timeSource clock stamping signed requests, e.g. a started {@link ServerTimeSync},
+         *                   null for the local clock
+         * @return this builder
+         */
+        public Builder timeSource(TimeSource timeSource) {
+            this.timeSource = null == timeSource ? TimeSource.SYSTEM : timeSource;
+            return this;
+        }
+
+        /**
+         * @param retryPolicy retries and hedging of the idempotent requests, null to disable
+         * @return this builder
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * @param coalescer coalescer of identical public GETs, shared by the handlers whose requests may be collapsed,
+         *                  null to disable
+         * @return this builder
+         */
+        public Builder coalescer(RequestCoalescer coalescer) {
+            this.coalescer = coalescer;
+            return this;
+        }
+
+        /**
+         * @param responseCache cache of the slow changing endpoints, shared by the handlers of a client, null to disable
+         * @return this builder
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * @param eventListener listener of every attempt of a request, e.g. a {@link LoggingRequestEventListener},
+         *                      null to record nothing
+         * @return this builder
+         */
+        public Builder eventListener(RequestEventListener eventListener) {
+            this.eventListener = eventListener;
+            return this;
+        }
+
+        /**
+         * @param metrics metrics of the requests and of their calls, null to record none
+         * @return this builder
+         */
+        public Builder metrics(ConnectorMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public RequestHandler build() {
+            return new RequestHandler(this);
+        }
     }
 }
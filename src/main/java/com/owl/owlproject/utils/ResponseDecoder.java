@@ -0,0 +1,39 @@
+package com.owl.owlproject.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a response body in a single streaming pass, straight from the OkHttp source.
+ * The parser is positioned on the first token of the value when {@link #decode(JsonParser)} is called.
+ * @param <T> decoded type
+ */
+@FunctionalInterface
+public interface ResponseDecoder<T> {
+    T decode(JsonParser parser) throws IOException;
+
+    /**
+     * Decode a JSON array with the given element decoder. A single element that is not wrapped in an array
+     * (e.g. GET /v1/premiumIndex with a symbol) is returned as a list of one.
+     * @param element decoder of a single element
+     * @param <T> element type
+     * @return decoder of the list
+     */
+    static <T> ResponseDecoder<List<T>> listOf(ResponseDecoder<T> element) {
+        return parser -> {
+            List<T> list = new ArrayList<>();
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                list.add(element.decode(parser));
+                return list;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                list.add(element.decode(parser));
+            }
+            return list;
+        };
+    }
+}
@@ -1,21 +1,26 @@
 package com.owl.owlproject.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.owl.owlproject.exceptions.BinanceClientException;
 import com.owl.owlproject.exceptions.BinanceConnectorException;
 import com.owl.owlproject.exceptions.BinanceServerException;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
-import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.ConnectException;
 import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
 
 public final class ResponseHandler {
-    private static OkHttpClient client;
     private static final int HTTP_STATUS_CODE_400 = 400;
     private static final int HTTP_STATUS_CODE_499 = 499;
     private static final int HTTP_STATUS_CODE_500 = 500;
@@ -23,37 +28,197 @@ public final class ResponseHandler {
     private ResponseHandler() {
     }
 
-    public static String handleResponse(Request request, boolean showLimitUsage, ProxyAuth proxy) {
-        client = HttpClientSingleton.getHttpClient(proxy);
+    public static String handleResponse(OkHttpClient client, Request request, boolean showLimitUsage, ProxyAuth proxy) {
+        return execute(client, request, proxy, reading(showLimitUsage));
+    }
+
+    /**
+     * Decode the response body in one streaming pass from the OkHttp source, without reading it into a String first.
+     * Error responses are handled the same way as in {@link #handleResponse(OkHttpClient, Request, boolean, ProxyAuth)}.
+     * @param client client the call is made with
+     * @param request request to send
+     * @param decoder decoder of the response body
+     * @param proxy proxy settings, may be null
+     * @return decoded response from server
+     */
+    public static <T> T handleResponse(OkHttpClient client, Request request, ResponseDecoder<T> decoder, ProxyAuth proxy) {
+        return execute(client, request, proxy, decoding(decoder));
+    }
+
+    /**
+     * Copy the response body into the sink as it is read from the socket, through a pooled buffer.
+     * Error responses are handled the same way as in {@link #handleResponse(OkHttpClient, Request, boolean, ProxyAuth)}.
+     * @param client client the call is made with
+     * @param request request to send
+     * @param sink receiver of the response body
+     * @param proxy proxy settings, may be null
+     * @return number of bytes written to the sink
+     */
+    public static long handleResponse(OkHttpClient client, Request request, ResponseSink sink, ProxyAuth proxy) {
+        return execute(client, request, proxy, streaming(sink));
+    }
+
+    /**
+     * Enqueue the request on the OkHttp dispatcher instead of blocking the calling thread.
+     * The returned future is completed on an OkHttp dispatcher thread, exceptionally with the same
+     * exceptions {@link #handleResponse(OkHttpClient, Request, boolean, ProxyAuth)} would throw.
+     * Cancelling the future cancels the underlying call.
+     * @param client client the call is made with
+     * @param request request to send
+     * @param showLimitUsage wrap the response with the used weight headers
+     * @param proxy proxy settings, may be null
+     * @return CompletableFuture completed with the response from server
+     */
+    public static CompletableFuture<String> handleResponseAsync(OkHttpClient client, Request request, boolean showLimitUsage, ProxyAuth proxy) {
+        return enqueue(client, request, proxy, reading(showLimitUsage));
+    }
+
+    /**
+     * Asynchronous version of {@link #handleResponse(OkHttpClient, Request, ResponseDecoder, ProxyAuth)},
+     * the body is decoded on the OkHttp dispatcher thread.
+     */
+    public static <T> CompletableFuture<T> handleResponseAsync(OkHttpClient client, Request request, ResponseDecoder<T> decoder, ProxyAuth proxy) {
+        return enqueue(client, request, proxy, decoding(decoder));
+    }
+
+    /**
+     * Asynchronous version of {@link #handleResponse(OkHttpClient, Request, ResponseSink, ProxyAuth)},
+     * the sink is written to from the OkHttp dispatcher thread.
+     */
+    public static CompletableFuture<Long> handleResponseAsync(OkHttpClient client, Request request, ResponseSink sink, ProxyAuth proxy) {
+        return enqueue(client, request, proxy, streaming(sink));
+    }
+
+    static ResponseReader<String> reading(boolean showLimitUsage) {
+        return response -> readResponse(response, showLimitUsage);
+    }
+
+    static <T> ResponseReader<T> decoding(ResponseDecoder<T> decoder) {
+        return response -> decodeResponse(response, decoder);
+    }
+
+    static ResponseReader<Long> streaming(ResponseSink sink) {
+        return response -> streamResponse(response, sink);
+    }
+
+    static <T> T execute(OkHttpClient client, Request request, ProxyAuth proxy, ResponseReader<T> reader) {
         try (Response response = client.newCall(request).execute()) {
-            if (null == response) {
-                throw new BinanceServerException("[ResponseHandler] No response from server");
-            }
+            return reader.read(response);
+        } catch (IOException | IllegalStateException e) {
+            throw buildConnectorException(e, proxy);
+        }
+    }
 
-            String responseAsString = getResponseBodyAsString(response.body());
+    static <T> CompletableFuture<T> enqueue(OkHttpClient client, Request request, ProxyAuth proxy, ResponseReader<T> reader) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Call call = client.newCall(request);
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(reader.read(response));
+                } catch (IOException | IllegalStateException e) {
+                    future.completeExceptionally(buildConnectorException(e, proxy));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
 
-            if (response.code() >= HTTP_STATUS_CODE_400 && response.code() <= HTTP_STATUS_CODE_499) {
-                throw handleErrorResponse(responseAsString, response.code());
-            } else if (response.code() >= HTTP_STATUS_CODE_500) {
-                throw new BinanceServerException(responseAsString, response.code());
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(buildConnectorException(e, proxy));
             }
+        });
+        return future;
+    }
+
+    private static String readResponse(Response response, boolean showLimitUsage) throws IOException {
+        if (null == response) {
+            throw new BinanceServerException("[ResponseHandler] No response from server");
+        }
+
+        String responseAsString = getResponseBodyAsString(response.body());
+        checkStatus(responseAsString, response.code());
+
+        if (showLimitUsage) {
+            return getlimitUsage(response, responseAsString);
+        } else {
+            return responseAsString;
+        }
+    }
+
+    private static <T> T decodeResponse(Response response, ResponseDecoder<T> decoder) throws IOException {
+        if (null == response) {
+            throw new BinanceServerException("[ResponseHandler] No response from server");
+        }
+
+        ResponseBody body = response.body();
+        if (response.code() >= HTTP_STATUS_CODE_400) {
+            checkStatus(getResponseBodyAsString(body), response.code());
+        }
+        if (null == body) {
+            throw new BinanceServerException("[ResponseHandler] Empty response body", response.code());
+        }
+
+        try (JsonParser parser = JsonDecoding.createParser(body.byteStream())) {
+            parser.nextToken();
+            return decoder.decode(parser);
+        }
+    }
+
+    private static long streamResponse(Response response, ResponseSink sink) throws IOException {
+        if (null == response) {
+            throw new BinanceServerException("[ResponseHandler] No response from server");
+        }
+
+        ResponseBody body = response.body();
+        if (response.code() >= HTTP_STATUS_CODE_400) {
+            checkStatus(getResponseBodyAsString(body), response.code());
+        }
+        if (null == body) {
+            return 0;
+        }
 
-            if (showLimitUsage) {
-                return getlimitUsage(response, responseAsString);
-            } else {
-                return responseAsString;
+        byte[] buffer = BufferPool.acquire();
+        try (InputStream in = body.byteStream()) {
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                sink.write(buffer, 0, read);
+                total += read;
             }
-        } catch (IOException | IllegalStateException e) {
-            String exceptionMsg = "OKHTTP Error: ";
-            if (proxy != null) {
-                if ((e.getClass().equals(ConnectException.class))) {
-                    exceptionMsg = "Proxy Connection Error: ";
-                } else if ((e.getClass().equals(UnknownHostException.class))) {
-                    exceptionMsg = "Proxy Unknown Host Error: ";
-                }
+            return total;
+        } finally {
+            BufferPool.release(buffer);
+        }
+    }
+
+    private static void checkStatus(String responseAsString, int responseCode) {
+        if (responseCode >= HTTP_STATUS_CODE_400 && responseCode <= HTTP_STATUS_CODE_499) {
+            throw handleErrorResponse(responseAsString, responseCode);
+        } else if (responseCode >= HTTP_STATUS_CODE_500) {
+            throw new BinanceServerException(responseAsString, responseCode);
+        }
+    }
+
+    private static BinanceConnectorException buildConnectorException(Exception e, ProxyAuth proxy) {
+        if (e instanceof JsonProcessingException) {
+            return new BinanceConnectorException("[ResponseHandler] Failed to decode response: " + ((JsonProcessingException) e).getOriginalMessage());
+        }
+        String exceptionMsg = "OKHTTP Error: ";
+        if (proxy != null) {
+            if ((e.getClass().equals(ConnectException.class))) {
+                exceptionMsg = "Proxy Connection Error: ";
+            } else if ((e.getClass().equals(UnknownHostException.class))) {
+                exceptionMsg = "Proxy Unknown Host Error: ";
             }
-            throw new BinanceConnectorException("[ResponseHandler] " + exceptionMsg + e.getMessage());
         }
+        return new BinanceConnectorException("[ResponseHandler] " + exceptionMsg + e.getMessage(), e);
     }
 
     private static String getlimitUsage(Response response, String resposeBodyAsString) {
@@ -65,14 +230,31 @@ public final class ResponseHandler {
         return json.toString();
     }
 
+    // "code" and "msg" are read in a single pass over the error body
     private static BinanceClientException handleErrorResponse(String responseBody, int responseCode) {
-        try {
-            String errorMsg = JSONParser.getJSONStringValue(responseBody, "msg");
-            int errorCode = JSONParser.getJSONIntValue(responseBody, "code");
-            return new BinanceClientException(responseBody, errorMsg, responseCode, errorCode);
-        } catch (JSONException e) {
-            throw new BinanceClientException(responseBody, responseCode);
+        String errorMsg = null;
+        Integer errorCode = null;
+        try (JsonParser parser = JsonDecoding.createParser(responseBody)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("code".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                        errorCode = parser.getIntValue();
+                    } else if ("msg".equals(field) && value == JsonToken.VALUE_STRING) {
+                        errorMsg = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return new BinanceClientException(responseBody, responseCode);
         }
+        if (null == errorMsg || null == errorCode) {
+            return new BinanceClientException(responseBody, responseCode);
+        }
+        return new BinanceClientException(responseBody, errorMsg, responseCode, errorCode);
     }
 
     private static String getResponseBodyAsString(ResponseBody body) throws IOException {
@@ -82,4 +264,9 @@ public final class ResponseHandler {
             return "";
         }
     }
+
+    @FunctionalInterface
+    interface ResponseReader<T> {
+        T read(Response response) throws IOException;
+    }
 }
@@ -0,0 +1,21 @@
+package com.owl.owlproject.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Receives a response body chunk by chunk as it is read from the socket, so large payloads
+ * (depth with 5000 levels, 1500 klines, exchangeInfo) never have to be held in memory as a whole.
+ * <br>
+ * The buffer is pooled and reused once {@link #write(byte[], int, int)} returns, a sink that keeps
+ * the bytes has to copy them. A request streamed into a sink is sent once, it is not retried nor hedged
+ * by the retry policy of the client as part of the body may already have been written.
+ */
+@FunctionalInterface
+public interface ResponseSink {
+    void write(byte[] buffer, int offset, int length) throws IOException;
+
+    static ResponseSink of(OutputStream out) {
+        return out::write;
+    }
+}
@@ -1,26 +1,23 @@
 package com.owl.owlproject.utils;
 
-import org.apache.commons.codec.binary.Hex;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import com.owl.owlproject.utils.signer.HmacSigner;
+import com.owl.owlproject.utils.signer.Signer;
 
+/**
+ * @deprecated sign with a {@link Signer} held for the key, e.g. an {@link HmacSigner}
+ */
+@Deprecated
 public final class SignatureGenerator {
-    private static final String HMAC_SHA256 = "HmacSHA256";
-
     private SignatureGenerator() {
     }
 
+    /**
+     * Sign the data with a signer created for this call, nothing is kept of the key.
+     * @deprecated creates a Mac for every call, hold an {@link HmacSigner} for the key and call
+     * {@link Signer#sign(String)} instead
+     */
+    @Deprecated
     public static String getSignature(String data, String key) {
-        byte[] hmacSha256;
-        try {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(), HMAC_SHA256);
-            Mac mac = Mac.getInstance(HMAC_SHA256);
-            mac.init(secretKeySpec);
-            hmacSha256 = mac.doFinal(data.getBytes());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to calculate hmac-sha256", e);
-        }
-        return Hex.encodeHexString(hmacSha256);
+        return new HmacSigner(key).sign(data);
     }
 }
@@ -3,31 +3,22 @@ package com.owl.owlproject.utils;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.Locale;
-import java.util.Map;
 
 
 public final class UrlBuilder {
-    private static final int MAX_DECIMAL_DIGITS = 30;
-    private static DecimalFormat df;
-
 
     private UrlBuilder() {
     }
 
     public static String buildFullUrl(String baseUrl, String urlPath, LinkedHashMap<String, Object> parameters, String signature) {
         if (parameters != null && !parameters.isEmpty()) {
-            StringBuilder sb = new StringBuilder(baseUrl);
-            sb.append(urlPath).append('?');
-            joinQueryParameters(sb, parameters);
+            QueryEncoder encoder = QueryEncoder.get().appendParameters(parameters);
             if (null != signature) {
-                sb.append("&signature=").append(signature);
+                encoder.appendEncoded("signature", signature);
             }
-            return sb.toString();
+            return encoder.toUrl(baseUrl, urlPath);
         } else {
             return baseUrl + urlPath;
         }
@@ -41,54 +32,14 @@ public final class UrlBuilder {
 
     //concatenate query parameters
     public static String joinQueryParameters(LinkedHashMap<String, Object> parameters) {
-        return joinQueryParameters(new StringBuilder(), parameters).toString();
+        return QueryEncoder.get().appendParameters(parameters).toQueryString();
     }
 
     public static StringBuilder joinQueryParameters(StringBuilder urlPath, LinkedHashMap<String, Object> parameters) {
         if (parameters == null || parameters.isEmpty()) {
             return urlPath;
         }
-
-        boolean isFirst = true;
-        for (Map.Entry<String, Object> mapElement : parameters.entrySet()) {
-
-            if (mapElement.getValue() instanceof Double) {
-                parameters.replace(mapElement.getKey(), getFormatter().format(mapElement.getValue()));
-            } else if (mapElement.getValue() instanceof ArrayList) {
-                if (((ArrayList<?>) mapElement.getValue()).isEmpty()) {
-                    continue;
-                }
-                String key = mapElement.getKey();
-                joinArrayListParameters(key, urlPath, (ArrayList<?>) mapElement.getValue(), isFirst);
-                isFirst = false;
-                continue;
-            }
-
-            if (isFirst) {
-                isFirst = false;
-            } else {
-                urlPath.append('&');
-            }
-
-            urlPath.append(mapElement.getKey())
-                .append('=')
-                .append(urlEncode(mapElement.getValue().toString()));
-        }
-        return urlPath;
-    }
-
-    private static void joinArrayListParameters(String key, StringBuilder urlPath, ArrayList<?> values, boolean isFirst) {
-        for (Object value: values) {
-            if (isFirst) {
-                isFirst = false;
-            } else {
-                urlPath.append('&');
-            }
-
-            urlPath.append(key)
-                    .append('=')
-                    .append(urlEncode(value.toString()));
-        }
+        return urlPath.append(joinQueryParameters(parameters));
     }
 
     private static String joinStreamUrls(StringBuilder urlPath, ArrayList<String> streams) {
@@ -115,17 +66,6 @@ public final class UrlBuilder {
         }
     }
 
-    private static DecimalFormat getFormatter() {
-        if (null == df) {
-            // Overrides the default Locale
-            DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.ENGLISH);
-            df = new DecimalFormat("#,##0.###", symbols);
-            df.setMaximumFractionDigits(MAX_DECIMAL_DIGITS);
-            df.setGroupingUsed(false);
-        }
-        return df;
-    }
-
     public static String buildTimestamp() {
         return String.valueOf(System.currentTimeMillis());
     }
@@ -0,0 +1,125 @@
+package com.owl.owlproject.utils.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical requests. While a request is in flight, callers asking for the same key
+ * wait for its response instead of sending their own, so they cost neither weight nor a round trip.
+ * Nothing is kept once the response is in, a caller arriving after it starts a new request.
+ * <br><br>
+ * Callers share the response object, decoded responses must be treated as read only.
+ * One instance should be shared by the clients whose requests may be collapsed.
+ */
+public final class RequestCoalescer {
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * Send the request, or wait for the identical one in flight.
+     * @param key identifies the request, e.g. method, url and how the response is read
+     * @param send sends the request
+     * @return the response of the request in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> send) {
+        requests.increment();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> shared = inFlight.putIfAbsent(key, mine);
+        if (null != shared) {
+            collapsed.increment();
+            try {
+                return (T) shared.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        T value;
+        try {
+            value = send.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, mine);
+        mine.complete(value);
+        return value;
+    }
+
+    /**
+     * Asynchronous version of {@link #execute(Object, Supplier)}. Every caller gets its own future,
+     * cancelling it does not cancel the request for the others.
+     * @param key identifies the request
+     * @param send sends the request
+     * @return CompletableFuture completed with the response of the request in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(Object key, Supplier<CompletableFuture<T>> send) {
+        requests.increment();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> shared = inFlight.putIfAbsent(key, mine);
+        if (null != shared) {
+            collapsed.increment();
+            return (CompletableFuture<T>) copyOf(shared);
+        }
+        CompletableFuture<T> call;
+        try {
+            call = send.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        call.whenComplete((value, throwable) -> {
+            inFlight.remove(key, mine);
+            if (null != throwable) {
+                mine.completeExceptionally(unwrap(throwable));
+            } else {
+                mine.complete(value);
+            }
+        });
+        return (CompletableFuture<T>) copyOf(mine);
+    }
+
+    /**
+     * @return requests asked for, collapsed or not
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return requests answered with the response of an identical request in flight
+     */
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    /**
+     * @return requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static CompletableFuture<Object> copyOf(CompletableFuture<Object> shared) {
+        CompletableFuture<Object> copy = new CompletableFuture<>();
+        shared.whenComplete((value, throwable) -> {
+            if (null != throwable) {
+                copy.completeExceptionally(unwrap(throwable));
+            } else {
+                copy.complete(value);
+            }
+        });
+        return copy;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && null != throwable.getCause() ? throwable.getCause() : throwable;
+    }
+}
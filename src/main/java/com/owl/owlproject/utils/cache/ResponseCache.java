@@ -0,0 +1,325 @@
+package com.owl.owlproject.utils.cache;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the responses of slow changing endpoints, e.g. exchangeInfo or the leverage brackets.
+ * <br><br>
+ * Only the endpoints given a TTL are cached. A response is served from the cache for its TTL, then for the
+ * stale window it is still served while one background request refreshes it, after that the next caller waits
+ * for a new response. Callers missing the same response together wait for one request. The least recently used
+ * responses are evicted beyond the maximum number of entries.
+ * <br><br>
+ * {@link #invalidate(String)} drops the responses of an endpoint, the request handler also calls it after
+ * any POST, PUT or DELETE to a cached path, e.g. changing the position mode drops the cached mode.
+ * Callers share the response object, decoded responses must be treated as read only.
+ */
+public final class ResponseCache implements AutoCloseable {
+    public static final String EXCHANGE_INFO = "/v1/exchangeInfo";
+    public static final String LEVERAGE_BRACKET = "/v1/leverageBracket";
+    public static final String COMMISSION_RATE = "/v1/commissionRate";
+    public static final String POSITION_MODE = "/v1/positionSide/dual";
+    public static final String INDEX_INFO = "/v1/indexInfo";
+    public static final String ASSET_INDEX = "/v1/assetIndex";
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final Map<String, Ttl> ttls;
+    private final int maxEntries;
+    private final LinkedHashMap<Object, Entry> entries;
+    private final ThreadPoolExecutor refresher;
+    // misses of the same key and generation share one load
+    private final RequestCoalescer loads = new RequestCoalescer();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+
+    private ResponseCache(Builder builder) {
+        this.ttls = new HashMap<>(builder.ttls);
+        this.maxEntries = builder.maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.refresher = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "response-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param endpoint path of the endpoint
+     * @return true when the responses of the endpoint are cached
+     */
+    public boolean isCached(String endpoint) {
+        return ttls.containsKey(endpoint);
+    }
+
+    /**
+     * @param endpoint path of the endpoint, responses of endpoints without a TTL are always loaded
+     * @param key identifies the request, e.g. method, url and how the response is read
+     * @param load sends the request
+     * @return the cached response, or the response of the request
+     */
+    public <T> T get(String endpoint, Object key, Supplier<T> load) {
+        Ttl ttl = ttls.get(endpoint);
+        if (null == ttl) {
+            return load.get();
+        }
+        Entry cached = lookup(key, () -> CompletableFuture.supplyAsync(load, refresher));
+        if (null != cached) {
+            return value(cached);
+        }
+        long loadGeneration = generation();
+        return loads.execute(Arrays.asList(key, loadGeneration), () -> {
+            T value = load.get();
+            put(key, endpoint, ttl, value, loadGeneration);
+            return value;
+        });
+    }
+
+    /**
+     * Asynchronous version of {@link #get(String, Object, Supplier)}.
+     * @return CompletableFuture completed with the cached response, or the response of the request
+     */
+    public <T> CompletableFuture<T> getAsync(String endpoint, Object key, Supplier<CompletableFuture<T>> load) {
+        Ttl ttl = ttls.get(endpoint);
+        if (null == ttl) {
+            return load.get();
+        }
+        Entry cached = lookup(key, load);
+        if (null != cached) {
+            return CompletableFuture.completedFuture(value(cached));
+        }
+        long loadGeneration = generation();
+        // the response is cached before the callers waiting for it are completed
+        return loads.executeAsync(Arrays.asList(key, loadGeneration), () -> load.get().whenComplete((value, throwable) -> {
+            if (null == throwable) {
+                put(key, endpoint, ttl, value, loadGeneration);
+            }
+        }));
+    }
+
+    /**
+     * Drop the cached responses of an endpoint.
+     * @param endpoint path of the endpoint
+     */
+    public void invalidate(String endpoint) {
+        if (!isCached(endpoint)) {
+            return;
+        }
+        synchronized (entries) {
+            generation++;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().endpoint.equals(endpoint)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every cached response.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return responses served past their TTL while being refreshed
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Stop the thread refreshing the stale responses. The cache can still be used, a stale response is then
+     * served until its stale window ends and loaded again by the next caller.
+     */
+    @Override
+    public void close() {
+        refresher.shutdown();
+    }
+
+    // a fresh or stale entry, a stale one is refreshed by the first caller that sees it
+    private <T> Entry lookup(Object key, Supplier<CompletableFuture<T>> refresh) {
+        Entry entry;
+        long loadGeneration;
+        synchronized (entries) {
+            entry = entries.get(key);
+            loadGeneration = generation;
+        }
+        long now = System.nanoTime();
+        if (null == entry || now - entry.staleUntil >= 0) {
+            misses.increment();
+            return null;
+        }
+        if (now - entry.freshUntil < 0) {
+            hits.increment();
+            return entry;
+        }
+        staleHits.increment();
+        if (entry.refreshing.compareAndSet(false, true)) {
+            CompletableFuture<T> call;
+            try {
+                call = refresh.get();
+            } catch (RuntimeException e) {
+                entry.refreshing.set(false);
+                return entry;
+            }
+            call.whenComplete((value, throwable) -> {
+                if (null == throwable) {
+                    put(key, entry.endpoint, ttls.get(entry.endpoint), value, loadGeneration);
+                } else {
+                    entry.refreshing.set(false);
+                }
+            });
+        }
+        return entry;
+    }
+
+    // a response loaded before an invalidation is dropped, it may predate the change
+    private void put(Object key, String endpoint, Ttl ttl, Object value, long loadGeneration) {
+        long now = System.nanoTime();
+        Entry entry = new Entry(endpoint, value, now + ttl.ttlNanos, now + ttl.ttlNanos + ttl.staleNanos);
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    private long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T value(Entry entry) {
+        return (T) entry.value;
+    }
+
+    private static final class Ttl {
+        private final long ttlNanos;
+        private final long staleNanos;
+
+        private Ttl(long ttlMillis, long staleMillis) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            this.staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMillis);
+        }
+    }
+
+    private static final class Entry {
+        private final String endpoint;
+        private final Object value;
+        private final long freshUntil;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(String endpoint, Object value, long freshUntil, long staleUntil) {
+            this.endpoint = endpoint;
+            this.value = value;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Ttl> ttls = new HashMap<>();
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+        private Builder() {
+        }
+
+        /**
+         * TTLs of the slow changing endpoints: exchangeInfo, leverage brackets, commission rate, position mode,
+         * index info and asset index. Later calls of {@link #ttl(String, long, long)} override them.
+         * @return this builder
+         */
+        public Builder defaultEndpoints() {
+            ttl(EXCHANGE_INFO, 60_000, 600_000);
+            ttl(LEVERAGE_BRACKET, 60_000, 300_000);
+            ttl(COMMISSION_RATE, 300_000, 600_000);
+            ttl(POSITION_MODE, 60_000, 0);
+            ttl(INDEX_INFO, 60_000, 300_000);
+            ttl(ASSET_INDEX, 10_000, 10_000);
+            return this;
+        }
+
+        public Builder ttl(String endpoint, long ttlMillis) {
+            return ttl(endpoint, ttlMillis, 0);
+        }
+
+        /**
+         * @param endpoint path of the endpoint, e.g. {@link #EXCHANGE_INFO}
+         * @param ttlMillis how long a response is served as is
+         * @param staleMillis how long after its TTL a response is still served while it is refreshed
+         * @return this builder
+         */
+        public Builder ttl(String endpoint, long ttlMillis, long staleMillis) {
+            if (null == endpoint || ttlMillis <= 0 || staleMillis < 0) {
+                throw new IllegalArgumentException("Invalid TTL of " + endpoint + ": " + ttlMillis + ", " + staleMillis);
+            }
+            ttls.put(endpoint, new Ttl(ttlMillis, staleMillis));
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries < 1: " + maxEntries);
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public ResponseCache build() {
+            return new ResponseCache(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.owl.owlproject.utils.dispatch;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Decoder of the events of a {@link StreamDispatcher}, working on mutable events allocated once:
+ * the slots of the ring buffer and the private copy of every consumer.
+ * @param <E> type of the events
+ */
+public interface EventDecoder<E> {
+    /**
+     * @return a new empty event, called when the dispatcher and the consumers are created
+     */
+    E newEvent();
+
+    /**
+     * Decode the message into the event, overwriting every field of the previous one.
+     * @param parser parser of the "data" object of the message, on its first token
+     */
+    void decode(JsonParser parser, E event) throws IOException;
+
+    /**
+     * Copy every field of an event into another one, reading the source only. The source may be overwritten
+     * while it is copied, the copy is then discarded; an exception thrown on such a torn source drops the event.
+     */
+    void copy(E from, E to);
+}
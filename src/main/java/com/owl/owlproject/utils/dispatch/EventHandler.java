@@ -0,0 +1,15 @@
+package com.owl.owlproject.utils.dispatch;
+
+/**
+ * Handler of the events of a {@link StreamDispatcher}, called on the thread of its consumer.
+ * @param <E> type of the events
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+    /**
+     * @param event the private copy of the consumer, reused for the next event
+     * @param sequence sequence of the event in the dispatcher, with gaps where events were dropped
+     * @param endOfBatch whether no more event was published when this one was read, e.g. to flush
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch);
+}
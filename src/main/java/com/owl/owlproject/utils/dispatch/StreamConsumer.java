@@ -0,0 +1,134 @@
+package com.owl.owlproject.utils.dispatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumer of a {@link StreamDispatcher}, handling the events on its own thread with a private copy of each.
+ * <br>
+ * The metrics are updated by the consumer thread and can be read from any thread.
+ * @param <E> type of the events
+ */
+public final class StreamConsumer<E> {
+    private static final Logger logger = LoggerFactory.getLogger(StreamConsumer.class);
+
+    private final StreamDispatcher<E> dispatcher;
+    private final String name;
+    private final EventHandler<? super E> handler;
+    private final WaitStrategy waitStrategy;
+    private final E event;
+    private final Thread thread;
+    // written by the consumer thread only
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean running = true;
+
+    StreamConsumer(StreamDispatcher<E> dispatcher, String name, EventHandler<? super E> handler,
+                   WaitStrategy waitStrategy, E event) {
+        this.dispatcher = dispatcher;
+        this.name = name;
+        this.handler = handler;
+        this.waitStrategy = waitStrategy;
+        this.event = event;
+        this.thread = new Thread(this::run, "stream-dispatcher-" + dispatcher.getName() + "-" + name);
+        this.thread.setDaemon(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * @return sequence of the last event handled or dropped
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * @return number of events published and not yet handled by this consumer
+     */
+    public long getLag() {
+        return Math.max(0, dispatcher.getCursor() - sequence.get());
+    }
+
+    /**
+     * @return events overwritten before this consumer read them
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return events whose handler threw
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public boolean isRunning() {
+        return running && thread.isAlive();
+    }
+
+    void start(long cursor) {
+        sequence.set(cursor);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    private void run() {
+        int mask = dispatcher.mask();
+        long next = sequence.get() + 1;
+        int idleCount = 0;
+        while (running) {
+            long available = dispatcher.acquireCursor();
+            if (available < next) {
+                idleCount = waitStrategy.idle(idleCount);
+                continue;
+            }
+            idleCount = 0;
+            // lapped, carry on from the oldest event still in the ring
+            long oldest = available - mask;
+            if (next < oldest) {
+                dropped.lazySet(dropped.get() + oldest - next);
+                sequence.lazySet(oldest - 1);
+                next = oldest;
+            }
+            while (next <= available && running) {
+                if (!read(next)) {
+                    // overwritten, or being overwritten, since it was published
+                    dropped.lazySet(dropped.get() + 1);
+                } else {
+                    try {
+                        handler.onEvent(event, next, next == available);
+                    } catch (RuntimeException e) {
+                        failures.lazySet(failures.get() + 1);
+                        logger.warn("[StreamConsumer] {} failed to handle event {}", thread.getName(), next, e);
+                    }
+                }
+                sequence.lazySet(next);
+                next++;
+            }
+        }
+    }
+
+    // a copy of a slot overwritten meanwhile may fail on its torn state, the event is then dropped
+    private boolean read(long next) {
+        try {
+            return dispatcher.read(next, event);
+        } catch (RuntimeException e) {
+            logger.debug("[StreamConsumer] {} failed to copy event {}", thread.getName(), next, e);
+            return false;
+        }
+    }
+}
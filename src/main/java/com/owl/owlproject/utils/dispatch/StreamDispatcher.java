@@ -0,0 +1,234 @@
+package com.owl.owlproject.utils.dispatch;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.owl.owlproject.utils.JsonDecoding;
+import com.owl.owlproject.utils.websocket.WebSocketCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fan-out of stream messages to several consumer threads through a ring buffer: the messages are decoded on the
+ * thread reading the stream into slots allocated once, and every consumer reads the slots on its own thread
+ * without locking.
+ * <br>
+ * The producer never waits for the consumers. A consumer falling a full ring behind drops the events that were
+ * overwritten and carries on from the oldest one left, so a slow handler only delays itself; see
+ * {@link StreamConsumer#getLag()} and {@link StreamConsumer#getDropped()}. Every slot carries the sequence of its
+ * event and a consumer copies it into its private event before checking the sequence again, so an event overwritten
+ * while it was being read is dropped rather than handed over torn.
+ * <br>
+ * The messages are published one at a time, the streams of a sharded client are delivered by one thread per
+ * connection and the publication is synchronized, uncontended with a single connection.
+ * <pre>{@code
+ * StreamDispatcher<BookTicker> dispatcher = StreamDispatcher.builder(decoder).name("bookTicker").build();
+ * dispatcher.addConsumer("quoter", quoter::onBookTicker, WaitStrategy.BUSY_SPIN);
+ * dispatcher.addConsumer("risk", risk::onBookTicker, WaitStrategy.PARK);
+ * client.bookTickerStream("BTCUSDT", dispatcher);
+ * }</pre>
+ * @param <E> type of the events
+ */
+public final class StreamDispatcher<E> implements WebSocketCallback, AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    // version of a slot being written, or never written
+    static final long IN_PROGRESS = -1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamDispatcher.class);
+
+    private final String name;
+    private final EventDecoder<E> decoder;
+    private final E[] slots;
+    private final AtomicLongArray versions;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1L);
+    private final AtomicLong decodeFailures = new AtomicLong();
+    private final List<StreamConsumer<E>> consumers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    @SuppressWarnings("unchecked")
+    private StreamDispatcher(Builder<E> builder) {
+        this.name = builder.name;
+        this.decoder = builder.decoder;
+        this.slots = (E[]) new Object[builder.bufferSize];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = decoder.newEvent();
+        }
+        this.versions = new AtomicLongArray(builder.bufferSize);
+        for (int i = 0; i < slots.length; i++) {
+            versions.set(i, IN_PROGRESS);
+        }
+        this.mask = builder.bufferSize - 1;
+    }
+
+    /**
+     * @param decoder decoder of the messages into the slots
+     */
+    public static <E> Builder<E> builder(EventDecoder<E> decoder) {
+        return new Builder<>(decoder);
+    }
+
+    /**
+     * Start a consumer thread, handling the events published from now on.
+     * @param name name of the consumer, in the name of its thread and the tags of its metrics
+     * @param handler handler of the events, a failing handler is logged and skips the event
+     * @param waitStrategy how the consumer waits for the next event
+     * @return the consumer, with its lag metrics
+     */
+    public StreamConsumer<E> addConsumer(String name, EventHandler<? super E> handler, WaitStrategy waitStrategy) {
+        if (null == name || null == handler || null == waitStrategy) {
+            throw new IllegalArgumentException("name, handler and waitStrategy are required");
+        }
+        if (closed) {
+            throw new IllegalStateException("[StreamDispatcher] Dispatcher is closed");
+        }
+        StreamConsumer<E> consumer = new StreamConsumer<>(this, name, handler, waitStrategy, decoder.newEvent());
+        consumers.add(consumer);
+        consumer.start(cursor.get());
+        return consumer;
+    }
+
+    /**
+     * Stop the consumer, its thread exits after the event being handled.
+     * @return whether the consumer was running on this dispatcher
+     */
+    public boolean removeConsumer(StreamConsumer<E> consumer) {
+        boolean removed = consumers.remove(consumer);
+        if (removed) {
+            consumer.stop();
+        }
+        return removed;
+    }
+
+    public List<StreamConsumer<E>> getConsumers() {
+        return List.copyOf(consumers);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBufferSize() {
+        return slots.length;
+    }
+
+    /**
+     * @return sequence of the last event published, -1 before the first one
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * @return messages that failed to decode, which are not published
+     */
+    public long getDecodeFailures() {
+        return decodeFailures.get();
+    }
+
+    /**
+     * Decode the message into the next slot and publish it, on the thread of the stream.
+     */
+    @Override
+    public synchronized void onReceive(String data) {
+        if (closed) {
+            return;
+        }
+        long sequence = cursor.get() + 1;
+        int index = (int) sequence & mask;
+        // the consumers still copying the previous event of the slot see it changed once its fields are written
+        versions.setOpaque(index, IN_PROGRESS);
+        VarHandle.storeStoreFence();
+        try (JsonParser parser = JsonDecoding.createParser(data)) {
+            parser.nextToken();
+            decoder.decode(parser, slots[index]);
+        } catch (IOException | RuntimeException e) {
+            // the slot is reused by the next message, its previous event is lost to the lagging consumers
+            decodeFailures.incrementAndGet();
+            logger.warn("[StreamDispatcher] {} failed to decode {}", name, data, e);
+            return;
+        }
+        versions.setRelease(index, sequence);
+        cursor.setRelease(sequence);
+    }
+
+    /**
+     * Stop the consumers and ignore the next messages, the dispatcher still has to be unsubscribed from its streams.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (StreamConsumer<E> consumer : consumers) {
+            consumer.stop();
+        }
+        consumers.clear();
+    }
+
+    long acquireCursor() {
+        return cursor.getAcquire();
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    /**
+     * Copy the event of the sequence into the event of a consumer.
+     * @return false if the slot no longer holds the event, i.e. the consumer was lapped and the event is lost
+     */
+    boolean read(long sequence, E to) {
+        int index = (int) sequence & mask;
+        if (versions.getAcquire(index) != sequence) {
+            return false;
+        }
+        decoder.copy(slots[index], to);
+        VarHandle.loadLoadFence();
+        return versions.getOpaque(index) == sequence;
+    }
+
+    public static final class Builder<E> {
+        private final EventDecoder<E> decoder;
+        private String name = "stream";
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder(EventDecoder<E> decoder) {
+            if (null == decoder) {
+                throw new IllegalArgumentException("decoder is required");
+            }
+            this.decoder = decoder;
+        }
+
+        /**
+         * @param name name of the dispatcher, in the names of the consumer threads and the tags of the metrics
+         */
+        public Builder<E> name(String name) {
+            if (null == name) {
+                throw new IllegalArgumentException("name is null");
+            }
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * @param bufferSize number of slots, a power of 2, which is how far behind a consumer can fall
+         *                   before it drops events
+         */
+        public Builder<E> bufferSize(int bufferSize) {
+            if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+                throw new IllegalArgumentException("bufferSize not a power of 2: " + bufferSize);
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public StreamDispatcher<E> build() {
+            return new StreamDispatcher<>(this);
+        }
+    }
+}
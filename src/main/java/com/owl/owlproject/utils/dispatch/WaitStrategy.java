@@ -0,0 +1,61 @@
+package com.owl.owlproject.utils.dispatch;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a consumer of a {@link StreamDispatcher} waits for the next event, trading CPU for latency.
+ */
+public enum WaitStrategy {
+    /**
+     * Spin on the cursor, the lowest latency but a core per consumer.
+     */
+    BUSY_SPIN {
+        @Override
+        int idle(int idleCount) {
+            Thread.onSpinWait();
+            return idleCount + 1;
+        }
+    },
+    /**
+     * Spin briefly, then yield the core to other threads between checks.
+     */
+    YIELD {
+        @Override
+        int idle(int idleCount) {
+            if (idleCount < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return idleCount + 1;
+        }
+    },
+    /**
+     * Spin and yield briefly, then park between checks, adding up to {@value #PARK_NANOS}ns of latency
+     * to the first event after a quiet period.
+     */
+    PARK {
+        @Override
+        int idle(int idleCount) {
+            if (idleCount < SPINS) {
+                Thread.onSpinWait();
+            } else if (idleCount < SPINS + YIELDS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return idleCount + 1;
+        }
+    };
+
+    static final long PARK_NANOS = 100_000L;
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+
+    /**
+     * Wait once for the cursor to move.
+     * @param idleCount number of waits since the last event
+     * @return the next idle count
+     */
+    abstract int idle(int idleCount);
+}
@@ -0,0 +1,29 @@
+package com.owl.owlproject.utils.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the events through SLF4J: failures at WARN, the rest at DEBUG. The event is passed as a parameter and
+ * only formatted by the appender, with the signature and the API key masked.
+ */
+public final class LoggingRequestEventListener implements RequestEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingRequestEventListener.class);
+
+    @Override
+    public void onEvent(RequestEvent event) {
+        if (event.isFailed()) {
+            logger.warn("{}", event);
+        } else {
+            logger.debug("{}", event);
+        }
+    }
+
+    /**
+     * @return false when DEBUG is disabled, so the successful requests are not recorded at all
+     */
+    @Override
+    public boolean sample() {
+        return logger.isDebugEnabled();
+    }
+}
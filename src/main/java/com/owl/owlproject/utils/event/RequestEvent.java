@@ -0,0 +1,153 @@
+package com.owl.owlproject.utils.event;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.enums.RequestType;
+
+/**
+ * One attempt of a request, as reported to a {@link RequestEventListener} once it completed.
+ * <br><br>
+ * The event is immutable and does not format anything until it is read, so it can be handed to an
+ * asynchronous appender as is. The signature and the API key are masked in everything it exposes.
+ */
+public final class RequestEvent {
+    private static final String SIGNATURE = "signature=";
+    private static final String MASK = "***";
+
+    private final long timestampMillis;
+    private final HttpMethod httpMethod;
+    private final RequestType requestType;
+    private final String endpoint;
+    private final String url;
+    private final String apiKey;
+    private final int status;
+    private final Throwable error;
+    private final long queueNanos;
+    private final long latencyNanos;
+    private final boolean sampled;
+
+    public RequestEvent(long timestampMillis, HttpMethod httpMethod, RequestType requestType, String endpoint, String url,
+                        String apiKey, int status, Throwable error, long queueNanos, long latencyNanos, boolean sampled) {
+        this.timestampMillis = timestampMillis;
+        this.httpMethod = httpMethod;
+        this.requestType = requestType;
+        this.endpoint = endpoint;
+        this.url = url;
+        this.apiKey = apiKey;
+        this.status = status;
+        this.error = error;
+        this.queueNanos = queueNanos;
+        this.latencyNanos = latencyNanos;
+        this.sampled = sampled;
+    }
+
+    /**
+     * @return local time the attempt completed at
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    public RequestType getRequestType() {
+        return requestType;
+    }
+
+    /**
+     * @return path of the endpoint, e.g. /v1/order
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the url with the signature masked, null when the attempt failed before the url was built
+     */
+    public String getUrl() {
+        return maskSignature(url);
+    }
+
+    /**
+     * @return the first characters of the API key, null for public requests
+     */
+    public String getApiKey() {
+        if (null == apiKey || RequestType.PUBLIC == requestType) {
+            return null;
+        }
+        return apiKey.length() <= 8 ? MASK : apiKey.substring(0, 4) + MASK;
+    }
+
+    /**
+     * @return HTTP status of the response, -1 when there was none
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the exception the attempt failed with, null when it succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return null != error;
+    }
+
+    /**
+     * @return time spent waiting for the rate limiters before the request was sent, -1 when it was not sent
+     */
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    /**
+     * @return time from sending the request to reading the whole response, -1 when it was not sent
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return false for a failed attempt reported although it was not sampled
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(128)
+                .append(httpMethod).append(' ').append(endpoint)
+                .append(" status=").append(status)
+                .append(" latencyMicros=").append(latencyNanos < 0 ? -1 : latencyNanos / 1000)
+                .append(" queueMicros=").append(queueNanos < 0 ? -1 : queueNanos / 1000);
+        String maskedKey = getApiKey();
+        if (null != maskedKey) {
+            builder.append(" apiKey=").append(maskedKey);
+        }
+        if (null != url) {
+            builder.append(" url=").append(getUrl());
+        }
+        if (null != error) {
+            builder.append(" error=").append(error.getMessage());
+        }
+        return builder.toString();
+    }
+
+    private static String maskSignature(String url) {
+        if (null == url) {
+            return null;
+        }
+        int start = url.indexOf(SIGNATURE);
+        if (start < 0) {
+            return url;
+        }
+        start += SIGNATURE.length();
+        int end = url.indexOf('&', start);
+        return url.substring(0, start) + MASK + (end < 0 ? "" : url.substring(end));
+    }
+}
@@ -0,0 +1,52 @@
+package com.owl.owlproject.utils.event;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Receives an event for every attempt of a request, e.g. to log or trace the requests.
+ * Without a listener the request handler records nothing.
+ * <br><br>
+ * Events are delivered on the thread completing the request, an OkHttp dispatcher thread for asynchronous
+ * requests, so the listener should hand them off rather than do blocking work.
+ */
+@FunctionalInterface
+public interface RequestEventListener {
+
+    /**
+     * @param event completed attempt, failed attempts are reported even when they were not sampled
+     */
+    void onEvent(RequestEvent event);
+
+    /**
+     * Called before the request is sent, an unsampled request that succeeds is not reported.
+     * @return true when the request should be reported
+     */
+    default boolean sample() {
+        return true;
+    }
+
+    /**
+     * @param rate share of the requests reported, between 0 and 1, failures are always reported
+     * @param listener receiver of the sampled events
+     * @return listener reporting a random share of the requests to the given listener
+     */
+    static RequestEventListener sampled(double rate, RequestEventListener listener) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("rate not in [0, 1]: " + rate);
+        }
+        if (null == listener) {
+            throw new IllegalArgumentException("listener is null");
+        }
+        return new RequestEventListener() {
+            @Override
+            public void onEvent(RequestEvent event) {
+                listener.onEvent(event);
+            }
+
+            @Override
+            public boolean sample() {
+                return (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate) && listener.sample();
+            }
+        };
+    }
+}
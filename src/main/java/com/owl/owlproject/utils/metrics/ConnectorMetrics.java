@@ -0,0 +1,375 @@
+package com.owl.owlproject.utils.metrics;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceServerException;
+import com.owl.owlproject.utils.dispatch.StreamConsumer;
+import com.owl.owlproject.utils.dispatch.StreamDispatcher;
+import com.owl.owlproject.utils.event.RequestEvent;
+import com.owl.owlproject.utils.event.RequestEventListener;
+import com.owl.owlproject.utils.ratelimit.OrderRateGovernor;
+import com.owl.owlproject.utils.ratelimit.RequestWeightLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer metrics of the connector, tagged by endpoint path (e.g. /v1/order) and HTTP method:
+ * <ul>
+ *     <li>{@value #REQUESTS}: latency of every attempt, also tagged by status class and Binance error code</li>
+ *     <li>{@value #QUEUE}: time spent waiting for the client side rate limiters</li>
+ *     <li>{@value #REJECTED}: requests failed before they were sent, e.g. rejected by a rate limiter</li>
+ *     <li>{@value #PHASES}: DNS, connect, TLS and time to first byte of the calls, tagged by phase</li>
+ *     <li>{@value #BYTES_SENT} and {@value #BYTES_RECEIVED}: size of the requests and responses, headers included</li>
+ *     <li>{@value #RETRIES} and {@value #HEDGES}: retries and hedged duplicates of the idempotent requests</li>
+ *     <li>{@value #WEIGHT_USED} and {@value #ORDERS_AVAILABLE}: state of the rate limiters, tagged by client</li>
+ *     <li>{@value #STREAM_LAG}, {@value #STREAM_DROPPED} and {@value #STREAM_FAILURES}: state of the consumers of
+ *     a stream dispatcher, tagged by dispatcher and consumer</li>
+ * </ul>
+ * In a Spring Boot application build it with the auto-configured registry, the meters are then published
+ * by Actuator, e.g. under /actuator/metrics/binance.connector.requests.
+ * <br>
+ * The meters of an endpoint are registered on its first request and then looked up in a map per endpoint and
+ * method, so recording a request does not build and register its meters again.
+ */
+public final class ConnectorMetrics implements RequestEventListener {
+    public static final String REQUESTS = "binance.connector.requests";
+    public static final String QUEUE = "binance.connector.queue";
+    public static final String REJECTED = "binance.connector.rejected";
+    public static final String PHASES = "binance.connector.http.phases";
+    public static final String BYTES_SENT = "binance.connector.bytes.sent";
+    public static final String BYTES_RECEIVED = "binance.connector.bytes.received";
+    public static final String RETRIES = "binance.connector.retries";
+    public static final String HEDGES = "binance.connector.hedges";
+    public static final String WEIGHT_USED = "binance.connector.weight.used";
+    public static final String ORDERS_AVAILABLE = "binance.connector.orders.available";
+    public static final String STREAM_LAG = "binance.connector.stream.lag";
+    public static final String STREAM_DROPPED = "binance.connector.stream.dropped";
+    public static final String STREAM_FAILURES = "binance.connector.stream.failures";
+    private static final String ENDPOINT = "endpoint";
+    private static final String METHOD = "method";
+    private static final String DISPATCHER = "dispatcher";
+    private static final String CONSUMER = "consumer";
+    private static final String CLIENT = "client";
+    private static final String NONE = "none";
+    private static final String[] STATUS_CLASSES = {NONE, "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry registry;
+    private final EventListener.Factory eventListenerFactory = call -> new CallListener();
+    // method -> endpoint -> meters
+    private final ConcurrentMap<String, ConcurrentMap<String, EndpointMeters>> meters = new ConcurrentHashMap<>();
+
+    public ConnectorMetrics(MeterRegistry registry) {
+        if (null == registry) {
+            throw new IllegalArgumentException("registry is null");
+        }
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return factory of the OkHttp listeners recording the phases and sizes of the calls,
+     *         set by {@code RequestHandler.Builder.metrics} on a client sharing the connection pool of the others
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return eventListenerFactory;
+    }
+
+    /**
+     * Every attempt is recorded, the metrics do not sample.
+     */
+    @Override
+    public void onEvent(RequestEvent event) {
+        EndpointMeters endpoint = meters(event.getHttpMethod().name(), event.getEndpoint());
+        if (event.getLatencyNanos() < 0) {
+            endpoint.counter(REJECTED).increment();
+            return;
+        }
+        endpoint.queue().record(event.getQueueNanos(), TimeUnit.NANOSECONDS);
+        endpoint.request(statusClass(event.getStatus()), errorCode(event.getError()))
+                .record(event.getLatencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void onRetry(HttpMethod httpMethod, String endpoint) {
+        meters(httpMethod.name(), endpoint).counter(RETRIES).increment();
+    }
+
+    public void onHedge(HttpMethod httpMethod, String endpoint) {
+        meters(httpMethod.name(), endpoint).counter(HEDGES).increment();
+    }
+
+    /**
+     * Publish the state of the rate limiters of a client, read through the suppliers so a limiter replaced
+     * later is still followed.
+     * @param client tag of the client, every client bound to the same registry needs its own, a client bound
+     *               again under its tag keeps its first binding
+     * @param weightLimiter current weight limiter, may supply null
+     * @param orderGovernor current order governor, may supply null
+     */
+    public void bindRateLimits(String client, Supplier<RequestWeightLimiter> weightLimiter, Supplier<OrderRateGovernor> orderGovernor) {
+        Gauge.builder(WEIGHT_USED, weightLimiter, supplier -> {
+                    RequestWeightLimiter limiter = supplier.get();
+                    return null == limiter ? Double.NaN : limiter.getUsedWeight();
+                })
+                .tag(CLIENT, client)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder(ORDERS_AVAILABLE, orderGovernor, supplier -> {
+                    OrderRateGovernor governor = supplier.get();
+                    return null == governor ? Double.NaN : governor.getAvailableOrders();
+                })
+                .tag(CLIENT, client)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    /**
+     * Publish the lag, dropped and failed events of the consumers of a dispatcher, bind it once they are added.
+     * The meters do not keep the consumers from being collected once removed.
+     */
+    public void bindDispatcher(StreamDispatcher<?> dispatcher) {
+        for (StreamConsumer<?> consumer : dispatcher.getConsumers()) {
+            Tags tags = Tags.of(DISPATCHER, dispatcher.getName(), CONSUMER, consumer.getName());
+            Gauge.builder(STREAM_LAG, consumer, StreamConsumer::getLag)
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder(STREAM_DROPPED, consumer, StreamConsumer::getDropped)
+                    .tags(tags)
+                    .register(registry);
+            FunctionCounter.builder(STREAM_FAILURES, consumer, StreamConsumer::getFailures)
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+
+    private EndpointMeters meters(String method, String endpoint) {
+        ConcurrentMap<String, EndpointMeters> byEndpoint = meters.get(method);
+        if (null == byEndpoint) {
+            byEndpoint = meters.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        EndpointMeters endpointMeters = byEndpoint.get(endpoint);
+        if (null == endpointMeters) {
+            endpointMeters = byEndpoint.computeIfAbsent(endpoint, key -> new EndpointMeters(key, method));
+        }
+        return endpointMeters;
+    }
+
+    private static String statusClass(int status) {
+        return status < 100 ? NONE : status < 600 ? STATUS_CLASSES[status / 100] : (status / 100) + "xx";
+    }
+
+    private static String errorCode(Throwable error) {
+        if (error instanceof BinanceClientException) {
+            return Integer.toString(((BinanceClientException) error).getErrorCode());
+        }
+        if (error instanceof BinanceServerException) {
+            return "server";
+        }
+        if (error instanceof BinanceConnectorException) {
+            return error.getCause() instanceof IOException ? "io" : "connector";
+        }
+        return null == error ? NONE : "other";
+    }
+
+    // the product prefix is dropped so the tag matches the endpoint path of the requests, /fapi/v1/order -> /v1/order
+    private static String endpointOf(HttpUrl url) {
+        String path = url.encodedPath();
+        int next = path.indexOf('/', 1);
+        return next < 0 ? path : path.substring(next);
+    }
+
+    // meters of one endpoint and method, each registered on first use
+    private final class EndpointMeters {
+        private final String endpoint;
+        private final String method;
+        private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Timer> phases = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+        // status class -> error code -> latency
+        private final ConcurrentMap<String, ConcurrentMap<String, Timer>> requests = new ConcurrentHashMap<>();
+        private volatile Timer queue;
+
+        private EndpointMeters(String endpoint, String method) {
+            this.endpoint = endpoint;
+            this.method = method;
+        }
+
+        private Counter counter(String name) {
+            Counter counter = counters.get(name);
+            if (null == counter) {
+                counter = counters.computeIfAbsent(name, key -> registry.counter(key, ENDPOINT, endpoint, METHOD, method));
+            }
+            return counter;
+        }
+
+        private Timer queue() {
+            Timer timer = queue;
+            if (null == timer) {
+                // registering twice returns the same timer
+                queue = timer = Timer.builder(QUEUE)
+                        .tags(ENDPOINT, endpoint, METHOD, method)
+                        .register(registry);
+            }
+            return timer;
+        }
+
+        private Timer request(String status, String code) {
+            ConcurrentMap<String, Timer> byCode = requests.get(status);
+            if (null == byCode) {
+                byCode = requests.computeIfAbsent(status, key -> new ConcurrentHashMap<>());
+            }
+            Timer timer = byCode.get(code);
+            if (null == timer) {
+                timer = byCode.computeIfAbsent(code, key -> Timer.builder(REQUESTS)
+                        .tags(ENDPOINT, endpoint, METHOD, method, "status", status, "code", key)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+            return timer;
+        }
+
+        private Timer phase(String phase) {
+            Timer timer = phases.get(phase);
+            if (null == timer) {
+                timer = phases.computeIfAbsent(phase, key -> Timer.builder(PHASES)
+                        .tags(ENDPOINT, endpoint, METHOD, method, "phase", key)
+                        .register(registry));
+            }
+            return timer;
+        }
+
+        private DistributionSummary summary(String name) {
+            DistributionSummary summary = summaries.get(name);
+            if (null == summary) {
+                summary = summaries.computeIfAbsent(name, key -> DistributionSummary.builder(key).baseUnit("bytes")
+                        .tags(ENDPOINT, endpoint, METHOD, method)
+                        .register(registry));
+            }
+            return summary;
+        }
+    }
+
+    // phases of one call, the call runs on a single thread at a time
+    private final class CallListener extends EventListener {
+        private EndpointMeters meters;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private long bytesSent;
+        private long bytesReceived;
+
+        @Override
+        public void callStart(Call call) {
+            Request request = call.request();
+            meters = meters(request.method(), endpointOf(request.url()));
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            recordPhase("dns", dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            recordPhase("tls", secureConnectStart);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            recordPhase("connect", connectStart);
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersEnd(Call call, Request request) {
+            bytesSent += request.url().toString().length() + request.headers().byteCount();
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            bytesSent += byteCount;
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            recordPhase("ttfb", requestStart);
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            bytesReceived += response.headers().byteCount();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            bytesReceived += byteCount;
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            recordBytes();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            recordBytes();
+        }
+
+        private void recordPhase(String phase, long start) {
+            if (0 == start) {
+                return;
+            }
+            meters.phase(phase).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        private void recordBytes() {
+            meters.summary(BYTES_SENT).record(bytesSent);
+            meters.summary(BYTES_RECEIVED).record(bytesReceived);
+        }
+    }
+}
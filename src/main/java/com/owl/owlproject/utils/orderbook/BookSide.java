@@ -0,0 +1,143 @@
+package com.owl.owlproject.utils.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * One side of a {@link LocalOrderBook}, kept as parallel primitive arrays sorted so the best level is the last
+ * element: prices are stored as keys, the price itself for bids and the negated price for asks, so both sides
+ * are ascending and most updates, which are close to the top of the book, only shift a few elements.
+ * <br>
+ * Not thread-safe, the book guards it with its lock. The readers tolerate a concurrent resize so they can be
+ * used under an optimistic read.
+ */
+final class BookSide {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final double sign;
+    private double[] keys = new double[INITIAL_CAPACITY];
+    private double[] quantities = new double[INITIAL_CAPACITY];
+    private int count;
+
+    BookSide(boolean bids) {
+        this.sign = bids ? 1.0 : -1.0;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Replace the levels with those of a snapshot, sent best first.
+     */
+    void load(double[] prices, double[] quantities, int levels) {
+        ensureCapacity(levels);
+        int n = 0;
+        for (int i = levels - 1; i >= 0; i--) {
+            if (quantities[i] > 0) {
+                keys[n] = sign * prices[i];
+                this.quantities[n] = quantities[i];
+                n++;
+            }
+        }
+        count = n;
+    }
+
+    /**
+     * Set the quantity of the level, a quantity of 0 removes it.
+     */
+    void update(double price, double quantity) {
+        double key = sign * price;
+        int index = Arrays.binarySearch(keys, 0, count, key);
+        if (index >= 0) {
+            if (quantity > 0) {
+                quantities[index] = quantity;
+            } else {
+                int moved = count - index - 1;
+                if (moved > 0) {
+                    System.arraycopy(keys, index + 1, keys, index, moved);
+                    System.arraycopy(quantities, index + 1, quantities, index, moved);
+                }
+                count--;
+            }
+        } else if (quantity > 0) {
+            int insertion = -index - 1;
+            ensureCapacity(count + 1);
+            int moved = count - insertion;
+            if (moved > 0) {
+                System.arraycopy(keys, insertion, keys, insertion + 1, moved);
+                System.arraycopy(quantities, insertion, quantities, insertion + 1, moved);
+            }
+            keys[insertion] = key;
+            quantities[insertion] = quantity;
+            count++;
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * @param level 0 for the best level
+     * @return price of the level, NaN when there is no such level
+     */
+    double price(int level) {
+        double[] k = keys;
+        int index = count - 1 - level;
+        return level < 0 || index < 0 || index >= k.length ? Double.NaN : sign * k[index];
+    }
+
+    /**
+     * @param level 0 for the best level
+     * @return quantity of the level, NaN when there is no such level
+     */
+    double quantity(int level) {
+        double[] q = quantities;
+        int index = count - 1 - level;
+        return level < 0 || index < 0 || index >= q.length ? Double.NaN : q[index];
+    }
+
+    /**
+     * Copy the best levels into the arrays, as many as fit.
+     * @return number of levels copied
+     */
+    int copyTo(double[] prices, double[] quantities) {
+        int levels = Math.min(Math.min(prices.length, quantities.length), count);
+        for (int level = 0, index = count - 1; level < levels; level++, index--) {
+            prices[level] = sign * keys[index];
+            quantities[level] = this.quantities[index];
+        }
+        return levels;
+    }
+
+    /**
+     * @return total quantity of the best levels
+     */
+    double cumulativeQuantity(int levels) {
+        double total = 0;
+        for (int index = count - 1, end = Math.max(0, count - levels); index >= end; index--) {
+            total += quantities[index];
+        }
+        return total;
+    }
+
+    /**
+     * @return total quantity of the levels priced at least as well as the price, above it for bids, below it for asks
+     */
+    double quantityThrough(double price) {
+        int index = Arrays.binarySearch(keys, 0, count, sign * price);
+        double total = 0;
+        for (int i = index >= 0 ? index : -index - 1; i < count; i++) {
+            total += quantities[i];
+        }
+        return total;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int length = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, length);
+            quantities = Arrays.copyOf(quantities, length);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.owl.owlproject.utils.orderbook;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.owl.owlproject.utils.JsonDecoding.expect;
+import static com.owl.owlproject.utils.JsonDecoding.readDouble;
+import static com.owl.owlproject.utils.JsonDecoding.readLong;
+
+/**
+ * Event of the diff depth stream (depthUpdate), read into reusable primitive arrays so the book can apply
+ * the events of a synced stream without allocating.
+ */
+final class DepthUpdate {
+    private static final int INITIAL_CAPACITY = 32;
+
+    long eventTime;
+    long transactionTime;
+    long firstUpdateId;
+    long finalUpdateId;
+    long previousFinalUpdateId;
+    double[] bidPrices = new double[INITIAL_CAPACITY];
+    double[] bidQuantities = new double[INITIAL_CAPACITY];
+    int bidCount;
+    double[] askPrices = new double[INITIAL_CAPACITY];
+    double[] askQuantities = new double[INITIAL_CAPACITY];
+    int askCount;
+
+    void read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        eventTime = 0;
+        transactionTime = 0;
+        firstUpdateId = -1;
+        finalUpdateId = -1;
+        previousFinalUpdateId = -1;
+        bidCount = 0;
+        askCount = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "E": eventTime = readLong(parser); break;
+                case "T": transactionTime = readLong(parser); break;
+                case "U": firstUpdateId = readLong(parser); break;
+                case "u": finalUpdateId = readLong(parser); break;
+                case "pu": previousFinalUpdateId = readLong(parser); break;
+                case "b": readBids(parser); break;
+                case "a": readAsks(parser); break;
+                default: parser.skipChildren();
+            }
+        }
+    }
+
+    DepthUpdate copy() {
+        DepthUpdate copy = new DepthUpdate();
+        copy.eventTime = eventTime;
+        copy.transactionTime = transactionTime;
+        copy.firstUpdateId = firstUpdateId;
+        copy.finalUpdateId = finalUpdateId;
+        copy.previousFinalUpdateId = previousFinalUpdateId;
+        copy.bidPrices = Arrays.copyOf(bidPrices, bidCount);
+        copy.bidQuantities = Arrays.copyOf(bidQuantities, bidCount);
+        copy.bidCount = bidCount;
+        copy.askPrices = Arrays.copyOf(askPrices, askCount);
+        copy.askQuantities = Arrays.copyOf(askQuantities, askCount);
+        copy.askCount = askCount;
+        return copy;
+    }
+
+    private void readBids(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (bidCount == bidPrices.length) {
+                bidPrices = Arrays.copyOf(bidPrices, bidCount * 2);
+                bidQuantities = Arrays.copyOf(bidQuantities, bidCount * 2);
+            }
+            parser.nextToken();
+            bidPrices[bidCount] = readDouble(parser);
+            parser.nextToken();
+            bidQuantities[bidCount] = readDouble(parser);
+            skipRest(parser);
+            bidCount++;
+        }
+    }
+
+    private void readAsks(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (askCount == askPrices.length) {
+                askPrices = Arrays.copyOf(askPrices, askCount * 2);
+                askQuantities = Arrays.copyOf(askQuantities, askCount * 2);
+            }
+            parser.nextToken();
+            askPrices[askCount] = readDouble(parser);
+            parser.nextToken();
+            askQuantities[askCount] = readDouble(parser);
+            skipRest(parser);
+            askCount++;
+        }
+    }
+
+    private static void skipRest(JsonParser parser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package com.owl.owlproject.utils.orderbook;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.owl.owlproject.client.WebsocketClient;
+import com.owl.owlproject.impl.futures.Market;
+import com.owl.owlproject.model.response.OrderBook;
+import com.owl.owlproject.model.response.ResponseDecoders;
+import com.owl.owlproject.utils.JsonDecoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Order book of a symbol maintained locally: seeded from a {@link Market#depth} snapshot and kept up to date with
+ * the diff depth stream, following the U/u/pu sequence rules.
+ * <ul>
+ *     <li>events received before the snapshot are buffered, those with u &lt; lastUpdateId of the snapshot dropped</li>
+ *     <li>the first event applied must have U &lt;= lastUpdateId &lt;= u</li>
+ *     <li>every following event must have pu equal to the u of the previous one</li>
+ * </ul>
+ * A gap, including one left by a reconnect of the stream, clears the book and rebuilds it from a new snapshot.
+ * <br>
+ * The levels are kept in sorted primitive arrays. The best levels, mid price and spread are read in O(1) without
+ * locking, top-N and cumulative queries in O(log n + N) under a read lock, and none of them allocate.
+ * <pre>{@code
+ * LocalOrderBook book = LocalOrderBook.builder(client.market(), streams, "BTCUSDT").build().start();
+ * double spread = book.getSpread();
+ * }</pre>
+ */
+public final class LocalOrderBook implements AutoCloseable {
+    public static final int DEFAULT_SNAPSHOT_LIMIT = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalOrderBook.class);
+    private static final long MIN_RETRY_MILLIS = 250L;
+    private static final long MAX_RETRY_MILLIS = 30_000L;
+    // events buffered while syncing, a snapshot taking longer than this is stale anyway
+    private static final int MAX_BUFFERED_EVENTS = 1_000;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "local-order-book");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Market market;
+    private final WebsocketClient streams;
+    private final String symbol;
+    private final int speed;
+    private final int snapshotLimit;
+    private final OrderBookListener listener;
+    private final StampedLock lock = new StampedLock();
+    private final BookSide bids = new BookSide(true);
+    private final BookSide asks = new BookSide(false);
+
+    // guarded by the write lock
+    private final DepthUpdate event = new DepthUpdate();
+    private final ArrayDeque<DepthUpdate> buffer = new ArrayDeque<>();
+    private String stream;
+    private long lastUpdateId;
+    private long eventTime;
+    private long transactionTime;
+    private boolean snapshotLoaded;
+    private boolean snapshotRequested;
+    private int failedSyncs;
+    private long resyncCount;
+    private boolean closed;
+    // written under the write lock
+    private volatile boolean synced;
+
+    private LocalOrderBook(Builder builder) {
+        this.market = builder.market;
+        this.streams = builder.streams;
+        this.symbol = builder.symbol;
+        this.speed = builder.speed;
+        this.snapshotLimit = builder.snapshotLimit;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * @param market market endpoints, taking the depth snapshots
+     * @param streams market streams, carrying the diff depth stream
+     * @param symbol symbol of the book
+     */
+    public static Builder builder(Market market, WebsocketClient streams, String symbol) {
+        return new Builder(market, streams, symbol);
+    }
+
+    /**
+     * Subscribe to the diff depth stream, the snapshot is requested once the first event is buffered.
+     * @return this book
+     */
+    public LocalOrderBook start() {
+        long stamp = lock.writeLock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("[LocalOrderBook] Book is closed");
+            }
+            if (null == stream) {
+                stream = streams.diffDepthStream(symbol, speed, this::onReceive);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return this;
+    }
+
+    /**
+     * Unsubscribe from the diff depth stream, the book keeps its last state but is no longer synced.
+     */
+    @Override
+    public void close() {
+        String subscribed;
+        long stamp = lock.writeLock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            synced = false;
+            buffer.clear();
+            subscribed = stream;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (null != subscribed) {
+            streams.unsubscribe(subscribed);
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return whether the book reflects the stream, the queries return an empty book while it is resyncing
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * @return number of resyncs since the book was started, the first sync excluded
+     */
+    public long getResyncCount() {
+        long stamp = lock.readLock();
+        try {
+            return resyncCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return u of the last event applied, or lastUpdateId of the snapshot
+     */
+    public long getLastUpdateId() {
+        long stamp = lock.readLock();
+        try {
+            return lastUpdateId;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return E of the last event applied, 0 before the first one
+     */
+    public long getEventTime() {
+        long stamp = lock.readLock();
+        try {
+            return eventTime;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return T of the last event applied, 0 before the first one
+     */
+    public long getTransactionTime() {
+        long stamp = lock.readLock();
+        try {
+            return transactionTime;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return highest bid price, NaN when there are no bids
+     */
+    public double getBestBid() {
+        return level(bids, 0, true);
+    }
+
+    public double getBestBidQuantity() {
+        return level(bids, 0, false);
+    }
+
+    /**
+     * @return lowest ask price, NaN when there are no asks
+     */
+    public double getBestAsk() {
+        return level(asks, 0, true);
+    }
+
+    public double getBestAskQuantity() {
+        return level(asks, 0, false);
+    }
+
+    /**
+     * @param level 0 for the best bid
+     * @return price of the bid level, NaN when there is no such level
+     */
+    public double getBidPrice(int level) {
+        return level(bids, level, true);
+    }
+
+    public double getBidQuantity(int level) {
+        return level(bids, level, false);
+    }
+
+    /**
+     * @param level 0 for the best ask
+     * @return price of the ask level, NaN when there is no such level
+     */
+    public double getAskPrice(int level) {
+        return level(asks, level, true);
+    }
+
+    public double getAskQuantity(int level) {
+        return level(asks, level, false);
+    }
+
+    /**
+     * @return mid price of the best bid and ask, NaN when a side is empty
+     */
+    public double getMidPrice() {
+        long stamp = lock.tryOptimisticRead();
+        double bid = bids.price(0);
+        double ask = asks.price(0);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                bid = bids.price(0);
+                ask = asks.price(0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return (bid + ask) / 2;
+    }
+
+    /**
+     * @return best ask minus best bid, NaN when a side is empty
+     */
+    public double getSpread() {
+        long stamp = lock.tryOptimisticRead();
+        double bid = bids.price(0);
+        double ask = asks.price(0);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                bid = bids.price(0);
+                ask = asks.price(0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return ask - bid;
+    }
+
+    public int getBidLevels() {
+        long stamp = lock.readLock();
+        try {
+            return bids.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int getAskLevels() {
+        long stamp = lock.readLock();
+        try {
+            return asks.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Copy the best bids, highest first, into the arrays, as many levels as they can hold.
+     * @return number of levels copied
+     */
+    public int getBids(double[] prices, double[] quantities) {
+        long stamp = lock.readLock();
+        try {
+            return bids.copyTo(prices, quantities);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Copy the best asks, lowest first, into the arrays, as many levels as they can hold.
+     * @return number of levels copied
+     */
+    public int getAsks(double[] prices, double[] quantities) {
+        long stamp = lock.readLock();
+        try {
+            return asks.copyTo(prices, quantities);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return total quantity of the best bid levels
+     */
+    public double getCumulativeBidQuantity(int levels) {
+        long stamp = lock.readLock();
+        try {
+            return bids.cumulativeQuantity(levels);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return total quantity of the best ask levels
+     */
+    public double getCumulativeAskQuantity(int levels) {
+        long stamp = lock.readLock();
+        try {
+            return asks.cumulativeQuantity(levels);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return total quantity bid at the price or higher, i.e. what a sell down to the price would fill against
+     */
+    public double getBidQuantityThrough(double price) {
+        long stamp = lock.readLock();
+        try {
+            return bids.quantityThrough(price);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return total quantity asked at the price or lower, i.e. what a buy up to the price would fill against
+     */
+    public double getAskQuantityThrough(double price) {
+        long stamp = lock.readLock();
+        try {
+            return asks.quantityThrough(price);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private double level(BookSide side, int level, boolean price) {
+        long stamp = lock.tryOptimisticRead();
+        double value = price ? side.price(level) : side.quantity(level);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = price ? side.price(level) : side.quantity(level);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    private void onReceive(String data) {
+        boolean updated = false;
+        String resync = null;
+        long stamp = lock.writeLock();
+        try {
+            if (closed) {
+                return;
+            }
+            try (JsonParser parser = JsonDecoding.createParser(data)) {
+                parser.nextToken();
+                event.read(parser);
+            } catch (IOException e) {
+                logger.warn("[LocalOrderBook] Failed to decode the depth event of {}: {}", symbol, data, e);
+                return;
+            }
+            if (synced) {
+                if (event.previousFinalUpdateId == lastUpdateId) {
+                    apply(event);
+                    updated = true;
+                } else {
+                    resync = "gap in " + symbol + " depth: pu " + event.previousFinalUpdateId
+                            + " after u " + lastUpdateId;
+                    resync(resync);
+                    buffer(event.copy());
+                }
+            } else {
+                buffer(event.copy());
+                if (snapshotLoaded) {
+                    resync = drain();
+                    updated = synced;
+                } else if (!snapshotRequested) {
+                    requestSnapshot();
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        notifyListener(updated, resync);
+    }
+
+    private void onSnapshot(OrderBook snapshot, Throwable failure) {
+        boolean updated = false;
+        String resync = null;
+        long stamp = lock.writeLock();
+        try {
+            snapshotRequested = false;
+            if (closed) {
+                return;
+            }
+            if (null != failure) {
+                failedSyncs++;
+                logger.warn("[LocalOrderBook] Failed to get the {} depth snapshot, retrying: {}", symbol, failure.getMessage());
+                requestSnapshot();
+                return;
+            }
+            bids.load(snapshot.getBidPrices(), snapshot.getBidQuantities(), snapshot.getBidCount());
+            asks.load(snapshot.getAskPrices(), snapshot.getAskQuantities(), snapshot.getAskCount());
+            lastUpdateId = snapshot.getLastUpdateId();
+            eventTime = snapshot.getEventTime();
+            transactionTime = snapshot.getTransactionTime();
+            snapshotLoaded = true;
+            resync = drain();
+            updated = synced;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        notifyListener(updated, resync);
+    }
+
+    // apply the buffered events to the snapshot, the book is synced by the first one covering lastUpdateId
+    private String drain() {
+        DepthUpdate buffered;
+        while (null != (buffered = buffer.poll())) {
+            if (synced) {
+                if (buffered.previousFinalUpdateId != lastUpdateId) {
+                    String reason = "gap in " + symbol + " depth: pu " + buffered.previousFinalUpdateId
+                            + " after u " + lastUpdateId;
+                    buffer.addFirst(buffered);
+                    resync(reason);
+                    return reason;
+                }
+                apply(buffered);
+            } else if (buffered.finalUpdateId < lastUpdateId) {
+                // already in the snapshot
+                continue;
+            } else if (buffered.firstUpdateId <= lastUpdateId) {
+                apply(buffered);
+                synced = true;
+                failedSyncs = 0;
+            } else {
+                String reason = "gap in " + symbol + " depth: U " + buffered.firstUpdateId
+                        + " after snapshot " + lastUpdateId;
+                buffer.addFirst(buffered);
+                failedSyncs++;
+                resync(reason);
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    private void apply(DepthUpdate update) {
+        for (int i = 0; i < update.bidCount; i++) {
+            bids.update(update.bidPrices[i], update.bidQuantities[i]);
+        }
+        for (int i = 0; i < update.askCount; i++) {
+            asks.update(update.askPrices[i], update.askQuantities[i]);
+        }
+        lastUpdateId = update.finalUpdateId;
+        eventTime = update.eventTime;
+        transactionTime = update.transactionTime;
+    }
+
+    private void resync(String reason) {
+        logger.warn("[LocalOrderBook] Resyncing: {}", reason);
+        synced = false;
+        snapshotLoaded = false;
+        bids.clear();
+        asks.clear();
+        resyncCount++;
+        if (!snapshotRequested) {
+            requestSnapshot();
+        }
+    }
+
+    private void buffer(DepthUpdate update) {
+        if (buffer.size() == MAX_BUFFERED_EVENTS) {
+            buffer.poll();
+        }
+        buffer.add(update);
+    }
+
+    // the first attempt right away, then a jittered backoff so a symbol failing to sync does not hammer depth
+    private void requestSnapshot() {
+        snapshotRequested = true;
+        long delay = 0;
+        if (failedSyncs > 0) {
+            long backoff = Math.min(MAX_RETRY_MILLIS, MIN_RETRY_MILLIS << Math.min(failedSyncs - 1, 16));
+            delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        }
+        SCHEDULER.schedule(() -> {
+            LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+            parameters.put("symbol", symbol);
+            parameters.put("limit", snapshotLimit);
+            try {
+                market.depthAsync(parameters, ResponseDecoders.ORDER_BOOK).whenComplete(this::onSnapshot);
+            } catch (RuntimeException e) {
+                onSnapshot(null, e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void notifyListener(boolean updated, String resync) {
+        try {
+            if (null != resync) {
+                listener.onResync(this, resync);
+            }
+            if (updated) {
+                listener.onUpdate(this);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("[LocalOrderBook] Listener of {} failed: {}", symbol, e.getMessage(), e);
+        }
+    }
+
+    public static final class Builder {
+        private final Market market;
+        private final WebsocketClient streams;
+        private final String symbol;
+        private int speed = 100;
+        private int snapshotLimit = DEFAULT_SNAPSHOT_LIMIT;
+        private OrderBookListener listener = OrderBookListener.NONE;
+
+        private Builder(Market market, WebsocketClient streams, String symbol) {
+            if (null == market || null == streams || null == symbol) {
+                throw new IllegalArgumentException("market, streams and symbol are required");
+            }
+            this.market = market;
+            this.streams = streams;
+            this.symbol = symbol;
+        }
+
+        /**
+         * @param speed update speed of the diff depth stream in ms, 100, 250 or 500
+         */
+        public Builder speed(int speed) {
+            if (speed != 100 && speed != 250 && speed != 500) {
+                throw new IllegalArgumentException("speed not in (100, 250, 500): " + speed);
+            }
+            this.speed = speed;
+            return this;
+        }
+
+        /**
+         * @param snapshotLimit levels of the depth snapshot, 5, 10, 20, 50, 100, 500 or 1000
+         */
+        public Builder snapshotLimit(int snapshotLimit) {
+            if (snapshotLimit <= 0) {
+                throw new IllegalArgumentException("snapshotLimit <= 0: " + snapshotLimit);
+            }
+            this.snapshotLimit = snapshotLimit;
+            return this;
+        }
+
+        public Builder listener(OrderBookListener listener) {
+            this.listener = null == listener ? OrderBookListener.NONE : listener;
+            return this;
+        }
+
+        public LocalOrderBook build() {
+            return new LocalOrderBook(this);
+        }
+    }
+}
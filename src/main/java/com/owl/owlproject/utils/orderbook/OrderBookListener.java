@@ -0,0 +1,23 @@
+package com.owl.owlproject.utils.orderbook;
+
+/**
+ * Listener of a {@link LocalOrderBook}, called on the thread reading the stream, or on the thread completing
+ * the snapshot request for the update that syncs the book.
+ */
+public interface OrderBookListener {
+    OrderBookListener NONE = new OrderBookListener() {
+    };
+
+    /**
+     * The book is synced and an event was applied to it.
+     */
+    default void onUpdate(LocalOrderBook book) {
+    }
+
+    /**
+     * The book was cleared and is being rebuilt from a new snapshot.
+     * @param reason e.g. the gap that was detected in the stream
+     */
+    default void onResync(LocalOrderBook book, String reason) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.owl.owlproject.utils.ratelimit;
+
+import com.owl.owlproject.enums.HttpMethod;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * REQUEST_WEIGHT of the USDⓈ-M / COIN-M futures endpoints, as listed in the API documentation.
+ * Endpoints that are not listed here weigh 1. The /futures/data endpoints have their own limit and weigh 0.
+ * <br>
+ * Also counts the orders placed by a request towards the ORDERS limits.
+ */
+public final class EndpointWeights {
+    private static final int DEFAULT_WEIGHT = 1;
+    private static final int DEFAULT_DEPTH_LIMIT = 100;
+    private static final int DEFAULT_KLINES_LIMIT = 500;
+    private static final String FUTURES_DATA = "/futures/data/";
+
+    private EndpointWeights() {
+    }
+
+    /**
+     * @param httpMethod http method of the request
+     * @param urlPath endpoint path, e.g. /v1/depth
+     * @param parameters request parameters, may be null
+     * @return weight of the request
+     */
+    public static int weightOf(HttpMethod httpMethod, String urlPath, Map<String, ?> parameters) {
+        if (urlPath.startsWith(FUTURES_DATA)) {
+            return 0;
+        }
+        boolean withSymbol = has(parameters, "symbol");
+        switch (urlPath) {
+            case "/v1/depth":
+                return depthWeight(intParameter(parameters, "limit", DEFAULT_DEPTH_LIMIT));
+            case "/v1/klines":
+            case "/v1/continuousKlines":
+            case "/v1/indexPriceKlines":
+            case "/v1/markPriceKlines":
+            case "/v1/lvtKlines":
+                return klinesWeight(intParameter(parameters, "limit", DEFAULT_KLINES_LIMIT));
+            case "/v1/ticker/24hr":
+                return withSymbol || has(parameters, "pair") ? 1 : 40;
+            case "/v1/ticker/price":
+                return withSymbol || has(parameters, "pair") ? 1 : 2;
+            case "/v1/ticker/bookTicker":
+                return withSymbol || has(parameters, "pair") ? 2 : 5;
+            case "/v1/premiumIndex":
+            case "/v1/assetIndex":
+            case "/v1/apiTradingStatus":
+                return withSymbol ? 1 : 10;
+            case "/v1/trades":
+                return 5;
+            case "/v1/historicalTrades":
+            case "/v1/aggTrades":
+            case "/v1/commissionRate":
+                return 20;
+            case "/v1/order":
+                // new, modify and cancel only count towards the order rate limits
+                return httpMethod == HttpMethod.GET ? 1 : 0;
+            case "/v1/batchOrders":
+                return httpMethod == HttpMethod.POST ? 5 : 1;
+            case "/v1/openOrders":
+                return withSymbol ? 1 : 40;
+            case "/v1/allOrders":
+            case "/v1/userTrades":
+            case "/v1/adlQuantile":
+            case "/v2/account":
+            case "/v2/balance":
+            case "/v2/positionRisk":
+            case "/v1/pmAccountInfo":
+                return 5;
+            case "/v1/countdownCancelAll":
+                return 10;
+            case "/v1/forceOrders":
+                return withSymbol ? 20 : 50;
+            case "/v1/income":
+                return 30;
+            case "/v1/income/asyn/id":
+                return 10;
+            case "/v1/income/asyn":
+                return 1000;
+            case "/v1/positionSide/dual":
+            case "/v1/multiAssetsMargin":
+                return httpMethod == HttpMethod.GET ? 30 : 1;
+            default:
+                return DEFAULT_WEIGHT;
+        }
+    }
+
+    /**
+     * @param httpMethod http method of the request
+     * @param urlPath endpoint path, e.g. /v1/order
+     * @param parameters request parameters, may be null
+     * @return number of orders placed or modified by the request, 0 for requests that do not count towards the ORDERS limits
+     */
+    public static int orderCountOf(HttpMethod httpMethod, String urlPath, Map<String, ?> parameters) {
+        if (httpMethod != HttpMethod.POST && httpMethod != HttpMethod.PUT) {
+            return 0;
+        }
+        switch (urlPath) {
+            case "/v1/order":
+                return 1;
+            case "/v1/batchOrders":
+                return batchSize(null == parameters ? null : parameters.get("batchOrders"));
+            default:
+                return 0;
+        }
+    }
+
+    private static int batchSize(Object batchOrders) {
+        if (batchOrders instanceof JSONArray) {
+            return ((JSONArray) batchOrders).length();
+        } else if (batchOrders instanceof Collection) {
+            return ((Collection<?>) batchOrders).size();
+        } else if (null != batchOrders) {
+            try {
+                return new JSONArray(batchOrders.toString()).length();
+            } catch (JSONException e) {
+                return 1;
+            }
+        }
+        return 1;
+    }
+
+    static int depthWeight(int limit) {
+        if (limit <= 50) {
+            return 2;
+        } else if (limit <= 100) {
+            return 5;
+        } else if (limit <= 500) {
+            return 10;
+        }
+        return 20;
+    }
+
+    static int klinesWeight(int limit) {
+        if (limit < 100) {
+            return 1;
+        } else if (limit < 500) {
+            return 2;
+        } else if (limit <= 1000) {
+            return 5;
+        }
+        return 10;
+    }
+
+    private static boolean has(Map<String, ?> parameters, String key) {
+        return null != parameters && null != parameters.get(key);
+    }
+
+    private static int intParameter(Map<String, ?> parameters, String key, int defaultValue) {
+        Object value = null == parameters ? null : parameters.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (null != value) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+}
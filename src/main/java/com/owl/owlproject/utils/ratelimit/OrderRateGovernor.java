@@ -0,0 +1,187 @@
+package com.owl.owlproject.utils.ratelimit;
+
+import com.owl.owlproject.enums.RateLimitPolicy;
+
+/**
+ * Client side pacing of the ORDERS limits (per account, per 10 seconds and per minute).
+ * <br>
+ * Orders are taken from a token bucket holding at most {@code burst} tokens that refills at a steady rate,
+ * chosen so that a full burst followed by refilled tokens never exceeds either window. The bucket is
+ * re-synced from the x-mbx-order-count-10s / -1m headers, so orders placed with the same account by
+ * other clients are accounted for. One instance should be shared by every client using the same account.
+ */
+public final class OrderRateGovernor extends RateLimiter {
+    public static final int DEFAULT_ORDER_LIMIT_10S = 300;
+    public static final int DEFAULT_ORDER_LIMIT_1M = 1200;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 10_000L;
+    private static final long WINDOW_10S_MILLIS = 10_000L;
+    private static final long WINDOW_1M_MILLIS = 60_000L;
+    private static final int HTTP_STATUS_CODE_418 = 418;
+    private static final int HTTP_STATUS_CODE_429 = 429;
+
+    private final int limit10s;
+    private final int limit1m;
+    private final int burst;
+    private final double tokensPerMilli;
+
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+    private int orderCount10s;
+    private long orderCount10sWindow;
+    private int orderCount1m;
+    private long orderCount1mWindow;
+
+    public OrderRateGovernor() {
+        this(DEFAULT_ORDER_LIMIT_10S, DEFAULT_ORDER_LIMIT_1M, RateLimitPolicy.QUEUE, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Governor with a burst of a third of the 10 seconds limit.
+     */
+    public OrderRateGovernor(int limit10s, int limit1m, RateLimitPolicy policy, long maxWaitMillis) {
+        this(limit10s, limit1m, Math.max(1, limit10s / 3), policy, maxWaitMillis);
+    }
+
+    /**
+     * @param limit10s orders allowed per 10 seconds
+     * @param limit1m orders allowed per minute
+     * @param burst orders that can be sent at once after the account has been idle
+     * @param policy what to do with an order when the bucket is empty
+     * @param maxWaitMillis longest an order is queued before it is rejected, only used by {@link RateLimitPolicy#QUEUE}
+     */
+    public OrderRateGovernor(int limit10s, int limit1m, int burst, RateLimitPolicy policy, long maxWaitMillis) {
+        super(policy, maxWaitMillis);
+        if (limit10s <= 0 || limit1m <= 0) {
+            throw new IllegalArgumentException(String.format("Order limits must be positive: %d/10s, %d/1m", limit10s, limit1m));
+        }
+        if (burst <= 0 || burst >= limit10s || burst >= limit1m) {
+            throw new IllegalArgumentException(String.format("burst must be positive and below both limits: %d", burst));
+        }
+        this.limit10s = limit10s;
+        this.limit1m = limit1m;
+        this.burst = burst;
+        this.tokensPerMilli = Math.min((double) (limit10s - burst) / WINDOW_10S_MILLIS, (double) (limit1m - burst) / WINDOW_1M_MILLIS);
+        this.tokens = burst;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    /**
+     * Take tokens for the given number of orders if they are available.
+     * @param orders orders in the request, e.g. the size of a batch
+     * @return 0 when the tokens were taken, otherwise how long to wait before trying again
+     */
+    @Override
+    public synchronized long tryAcquire(int orders) {
+        long now = System.currentTimeMillis();
+        if (now < blockedUntil) {
+            return blockedUntil - now;
+        }
+        refill(now);
+        if (tokens >= orders) {
+            tokens -= orders;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((orders - tokens) / tokensPerMilli));
+    }
+
+    /**
+     * Give back tokens taken for orders that were never sent.
+     * @param orders orders in the request
+     */
+    public synchronized void release(int orders) {
+        tokens = Math.min(burst, tokens + orders);
+    }
+
+    /**
+     * Re-sync from the response to an order request.
+     * @param statusCode http status code of the response
+     * @param orderCount10s value of the x-mbx-order-count-10s header, may be null
+     * @param orderCount1m value of the x-mbx-order-count-1m header, may be null
+     * @param retryAfter value of the Retry-After header in seconds, may be null
+     */
+    public synchronized void onResponse(int statusCode, String orderCount10s, String orderCount1m, String retryAfter) {
+        long now = System.currentTimeMillis();
+        refill(now);
+        int count10s = parseInt(orderCount10s);
+        if (count10s >= 0) {
+            this.orderCount10s = count10s;
+            this.orderCount10sWindow = now / WINDOW_10S_MILLIS;
+            tokens = Math.min(tokens, limit10s - count10s);
+        }
+        int count1m = parseInt(orderCount1m);
+        if (count1m >= 0) {
+            this.orderCount1m = count1m;
+            this.orderCount1mWindow = now / WINDOW_1M_MILLIS;
+            tokens = Math.min(tokens, limit1m - count1m);
+        }
+        if (statusCode == HTTP_STATUS_CODE_429 || statusCode == HTTP_STATUS_CODE_418) {
+            // -1015 too many new orders
+            tokens = Math.min(tokens, 0);
+            int retryAfterSeconds = parseInt(retryAfter);
+            if (retryAfterSeconds >= 0) {
+                blockedUntil = Math.max(blockedUntil, now + retryAfterSeconds * 1000L);
+            }
+        }
+    }
+
+    /**
+     * @return orders that can be sent right now without waiting
+     */
+    public synchronized int getAvailableOrders() {
+        refill(System.currentTimeMillis());
+        return Math.max(0, (int) tokens);
+    }
+
+    /**
+     * @return orders left in the current 10 seconds window according to the last response
+     */
+    public synchronized int getRemainingOrders10s() {
+        boolean current = orderCount10sWindow == System.currentTimeMillis() / WINDOW_10S_MILLIS;
+        return limit10s - (current ? orderCount10s : 0);
+    }
+
+    /**
+     * @return orders left in the current minute according to the last response
+     */
+    public synchronized int getRemainingOrders1m() {
+        boolean current = orderCount1mWindow == System.currentTimeMillis() / WINDOW_1M_MILLIS;
+        return limit1m - (current ? orderCount1m : 0);
+    }
+
+    public int getLimit10s() {
+        return limit10s;
+    }
+
+    public int getLimit1m() {
+        return limit1m;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @return steady state order rate
+     */
+    public double getOrdersPerSecond() {
+        return tokensPerMilli * 1000;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerMilli);
+            lastRefill = now;
+        }
+    }
+
+    @Override
+    protected boolean exceedsLimit(int orders) {
+        return orders > burst;
+    }
+
+    @Override
+    protected String rejectionMessage(int orders) {
+        return String.format("[OrderRateGovernor] %d order(s) rejected, %d available", orders, getAvailableOrders());
+    }
+}
@@ -0,0 +1,121 @@
+package com.owl.owlproject.utils.ratelimit;
+
+import com.owl.owlproject.enums.RateLimitPolicy;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceRateLimitException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queueing and rejection shared by the client side rate limiters. Subclasses only decide whether
+ * a number of permits is available now and, if not, how long to wait for them.
+ */
+public abstract class RateLimiter {
+    private final RateLimitPolicy policy;
+    private final long maxWaitMillis;
+
+    protected RateLimiter(RateLimitPolicy policy, long maxWaitMillis) {
+        if (maxWaitMillis < 0) {
+            throw new IllegalArgumentException("maxWaitMillis < 0: " + maxWaitMillis);
+        }
+        this.policy = null == policy ? RateLimitPolicy.QUEUE : policy;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Take the permits if they are available now.
+     * @param permits permits needed by the request
+     * @return 0 when the permits were taken, otherwise how long to wait before trying again
+     */
+    public abstract long tryAcquire(int permits);
+
+    /**
+     * @param permits permits needed by the request
+     * @return message of the exception thrown when the request is rejected
+     */
+    protected abstract String rejectionMessage(int permits);
+
+    /**
+     * @param permits permits needed by the request
+     * @return true when the request can never be accepted, e.g. it needs more permits than the limit
+     */
+    protected abstract boolean exceedsLimit(int permits);
+
+    /**
+     * Take the permits, blocking the calling thread while the request is queued.
+     * @param permits permits needed by the request
+     * @throws BinanceRateLimitException when the request is rejected
+     */
+    public void acquire(int permits) {
+        checkPermits(permits);
+        long waited = 0;
+        long wait;
+        while ((wait = tryAcquire(permits)) > 0) {
+            checkWait(permits, waited + wait, wait);
+            try {
+                TimeUnit.MILLISECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BinanceConnectorException(String.format("[%s] Interrupted while waiting", getClass().getSimpleName()));
+            }
+            waited += wait;
+        }
+    }
+
+    /**
+     * Take the permits without blocking.
+     * @param permits permits needed by the request
+     * @return future completed once the permits are taken, immediately if they are available now,
+     * or exceptionally with a {@link BinanceRateLimitException} when the request is rejected
+     */
+    public CompletableFuture<Void> acquireAsync(int permits) {
+        checkPermits(permits);
+        return acquireAsync(permits, 0);
+    }
+
+    private CompletableFuture<Void> acquireAsync(int permits, long waited) {
+        long wait = tryAcquire(permits);
+        if (wait == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            checkWait(permits, waited + wait, wait);
+        } catch (BinanceRateLimitException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> acquireAsync(permits, waited + wait));
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    private void checkPermits(int permits) {
+        if (exceedsLimit(permits)) {
+            throw new BinanceConnectorException(String.format("[%s] %d exceeds the limit", getClass().getSimpleName(), permits));
+        }
+    }
+
+    private void checkWait(int permits, long totalWait, long wait) {
+        if (policy == RateLimitPolicy.REJECT || totalWait > maxWaitMillis) {
+            throw new BinanceRateLimitException(rejectionMessage(permits), wait);
+        }
+    }
+
+    static int parseInt(String value) {
+        if (null == value || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.owl.owlproject.utils.ratelimit;
+
+import com.owl.owlproject.enums.RateLimitPolicy;
+
+/**
+ * Client side limiter of the REQUEST_WEIGHT limit (per IP, per minute).
+ * <br>
+ * The weight of a request is reserved before it is sent and the estimate is re-synced from the
+ * x-mbx-used-weight-1m header of every response, so requests made by other clients from the same IP
+ * are accounted for. A 429 or 418 response blocks all requests until its Retry-After has passed.
+ * One instance should be shared by every client that sends from the same IP to the same product.
+ */
+public final class RequestWeightLimiter extends RateLimiter {
+    public static final int DEFAULT_WEIGHT_LIMIT = 2400;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 60_000L;
+    private static final long WINDOW_MILLIS = 60_000L;
+    private static final int HTTP_STATUS_CODE_418 = 418;
+    private static final int HTTP_STATUS_CODE_429 = 429;
+
+    private final int weightLimit;
+
+    private long window;
+    private int usedWeight;
+    private int inFlightWeight;
+    private long blockedUntil;
+
+    public RequestWeightLimiter() {
+        this(DEFAULT_WEIGHT_LIMIT, RateLimitPolicy.QUEUE, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * @param weightLimit weight allowed per minute
+     * @param policy what to do with a request that does not fit in the current minute
+     * @param maxWaitMillis longest a request is queued before it is rejected, only used by {@link RateLimitPolicy#QUEUE}
+     */
+    public RequestWeightLimiter(int weightLimit, RateLimitPolicy policy, long maxWaitMillis) {
+        super(policy, maxWaitMillis);
+        if (weightLimit <= 0) {
+            throw new IllegalArgumentException("weightLimit <= 0: " + weightLimit);
+        }
+        this.weightLimit = weightLimit;
+    }
+
+    /**
+     * Reserve the weight if it fits in the current minute.
+     * @param weight weight of the request
+     * @return 0 when the weight was reserved, otherwise how long to wait before trying again
+     */
+    @Override
+    public synchronized long tryAcquire(int weight) {
+        long now = System.currentTimeMillis();
+        if (now < blockedUntil) {
+            return blockedUntil - now;
+        }
+        roll(now);
+        if (weight > 0 && usedWeight + weight > weightLimit) {
+            return (window + 1) * WINDOW_MILLIS - now;
+        }
+        usedWeight += weight;
+        inFlightWeight += weight;
+        return 0;
+    }
+
+    /**
+     * Re-sync from a response to a request whose weight was reserved.
+     * @param weight weight reserved for the request
+     * @param statusCode http status code of the response
+     * @param usedWeight1m value of the x-mbx-used-weight-1m header, may be null
+     * @param retryAfter value of the Retry-After header in seconds, may be null
+     */
+    public synchronized void onResponse(int weight, int statusCode, String usedWeight1m, String retryAfter) {
+        inFlightWeight = Math.max(0, inFlightWeight - weight);
+        long now = System.currentTimeMillis();
+        roll(now);
+        int serverWeight = parseInt(usedWeight1m);
+        if (serverWeight >= 0) {
+            // the server count is authoritative, except for requests it has not seen yet
+            usedWeight = Math.max(serverWeight, Math.min(usedWeight, serverWeight + inFlightWeight));
+        }
+        if (statusCode == HTTP_STATUS_CODE_429 || statusCode == HTTP_STATUS_CODE_418) {
+            int retryAfterSeconds = parseInt(retryAfter);
+            long until = retryAfterSeconds >= 0 ? now + retryAfterSeconds * 1000L : (window + 1) * WINDOW_MILLIS;
+            blockedUntil = Math.max(blockedUntil, until);
+        }
+    }
+
+    /**
+     * Release the in-flight weight of a request that failed without a response.
+     * @param weight weight reserved for the request
+     */
+    public synchronized void onFailure(int weight) {
+        inFlightWeight = Math.max(0, inFlightWeight - weight);
+    }
+
+    public int getWeightLimit() {
+        return weightLimit;
+    }
+
+    /**
+     * @return estimated weight used in the current minute
+     */
+    public synchronized int getUsedWeight() {
+        roll(System.currentTimeMillis());
+        return usedWeight;
+    }
+
+    public synchronized int getRemainingWeight() {
+        roll(System.currentTimeMillis());
+        return Math.max(0, weightLimit - usedWeight);
+    }
+
+    /**
+     * @return time until requests are accepted again after a 429 or 418, 0 when not blocked
+     */
+    public synchronized long getBlockedMillis() {
+        return Math.max(0, blockedUntil - System.currentTimeMillis());
+    }
+
+    private void roll(long now) {
+        long current = now / WINDOW_MILLIS;
+        if (current != window) {
+            window = current;
+            usedWeight = 0;
+        }
+    }
+
+    @Override
+    protected boolean exceedsLimit(int weight) {
+        return weight > weightLimit;
+    }
+
+    @Override
+    protected String rejectionMessage(int weight) {
+        return String.format("[RequestWeightLimiter] Request weight %d rejected, %d/%d used", weight, getUsedWeight(), weightLimit);
+    }
+}
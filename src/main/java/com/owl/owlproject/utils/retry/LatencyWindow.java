@@ -0,0 +1,50 @@
+package com.owl.owlproject.utils.retry;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the last successful calls of one endpoint. The quantile is recomputed every
+ * {@link #REFRESH} samples instead of on every read, sorting the window is the only cost.
+ */
+final class LatencyWindow {
+    private static final int SIZE = 256;
+    private static final int REFRESH = 16;
+
+    private final long[] micros = new long[SIZE];
+    private final double quantile;
+    private int count;
+    private int next;
+    private int sinceRefresh;
+    private long cachedMillis = -1;
+
+    LatencyWindow(double quantile) {
+        this.quantile = quantile;
+    }
+
+    synchronized void record(long nanos) {
+        micros[next] = nanos / 1000;
+        next = (next + 1) % SIZE;
+        if (count < SIZE) {
+            count++;
+        }
+        sinceRefresh++;
+    }
+
+    /**
+     * @param minSamples samples needed before the quantile is trusted
+     * @return the quantile of the window rounded up to milliseconds, -1 with fewer samples than minSamples
+     */
+    synchronized long quantileMillis(int minSamples) {
+        if (count < minSamples) {
+            return -1;
+        }
+        if (cachedMillis < 0 || sinceRefresh >= REFRESH) {
+            long[] sorted = Arrays.copyOf(micros, count);
+            Arrays.sort(sorted);
+            int index = Math.min(count - 1, (int) Math.ceil(quantile * count) - 1);
+            cachedMillis = (sorted[Math.max(0, index)] + 999) / 1000;
+            sinceRefresh = 0;
+        }
+        return cachedMillis;
+    }
+}
@@ -0,0 +1,182 @@
+package com.owl.owlproject.utils.retry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceServerException;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries and hedging of the idempotent requests, the market data GETs and GET /v1/order.
+ * <br><br>
+ * A request is retried when the server answered with a 5xx or the call failed with an I/O error.
+ * 4xx answers, decoding errors and client side rate limit rejections are returned to the caller at once.
+ * Retries wait a random delay between 0 and {@code min(maxBackoff, baseBackoff * 2^(attempt - 1))}, so the
+ * clients failing together do not retry together.
+ * <br><br>
+ * With hedging enabled, a duplicate of a request that is still running after the p95 latency of its endpoint
+ * is sent and the first answer wins, the other call is cancelled. The latencies are kept by the policy, share
+ * one policy between the handlers of a client.
+ */
+public final class RetryPolicy {
+    public static final RetryPolicy DEFAULT = builder().build();
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean hedging;
+    private final double hedgeQuantile;
+    private final int hedgeMinSamples;
+    private final long minHedgeDelayMillis;
+    private final ConcurrentHashMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseBackoffMillis = builder.baseBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.hedging = builder.hedging;
+        this.hedgeQuantile = builder.hedgeQuantile;
+        this.hedgeMinSamples = builder.hedgeMinSamples;
+        this.minHedgeDelayMillis = builder.minHedgeDelayMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return attempts including the first one, 1 disables retries
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * @param failure exception thrown by an attempt
+     * @return true when the failure is transient, a 5xx answer or an I/O error of the call
+     */
+    public boolean isRetryable(Throwable failure) {
+        if (failure instanceof BinanceServerException) {
+            return true;
+        }
+        if (failure instanceof BinanceConnectorException) {
+            Throwable cause = failure.getCause();
+            return cause instanceof IOException && !(cause instanceof JsonProcessingException);
+        }
+        return false;
+    }
+
+    /**
+     * @param attempt number of the attempt that failed, starting at 1
+     * @return delay before the next attempt, with full jitter
+     */
+    public long backoffMillis(int attempt) {
+        int shift = Math.min(30, Math.max(0, attempt - 1));
+        long cap = Math.min(maxBackoffMillis, baseBackoffMillis << shift);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * @param endpoint path of the endpoint
+     * @return delay after which a duplicate is sent, -1 when hedging is disabled or the endpoint has too few samples
+     */
+    public long hedgeDelayMillis(String endpoint) {
+        if (!hedging) {
+            return -1;
+        }
+        LatencyWindow window = latencies.get(endpoint);
+        long delay = null == window ? -1 : window.quantileMillis(hedgeMinSamples);
+        return delay < 0 ? -1 : Math.max(minHedgeDelayMillis, delay);
+    }
+
+    /**
+     * @param endpoint path of the endpoint
+     * @param nanos latency of a successful call
+     */
+    public void recordLatency(String endpoint, long nanos) {
+        if (hedging) {
+            latencies.computeIfAbsent(endpoint, ignored -> new LatencyWindow(hedgeQuantile)).record(nanos);
+        }
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private long baseBackoffMillis = 50;
+        private long maxBackoffMillis = 1_000;
+        private boolean hedging;
+        private double hedgeQuantile = 0.95;
+        private int hedgeMinSamples = 20;
+        private long minHedgeDelayMillis = 1;
+
+        private Builder() {
+        }
+
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts < 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder backoffMillis(long baseBackoffMillis, long maxBackoffMillis) {
+            if (baseBackoffMillis < 0 || maxBackoffMillis < baseBackoffMillis) {
+                throw new IllegalArgumentException("Invalid backoff: " + baseBackoffMillis + ", " + maxBackoffMillis);
+            }
+            this.baseBackoffMillis = baseBackoffMillis;
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+
+        /**
+         * @param hedging send a duplicate of a slow request, each duplicate costs the weight of the request
+         * @return this builder
+         */
+        public Builder hedging(boolean hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * @param hedgeQuantile latency quantile of the endpoint after which the duplicate is sent, 0.95 by default
+         * @return this builder
+         */
+        public Builder hedgeQuantile(double hedgeQuantile) {
+            if (!(hedgeQuantile > 0 && hedgeQuantile < 1)) {
+                throw new IllegalArgumentException("hedgeQuantile not in (0, 1): " + hedgeQuantile);
+            }
+            this.hedgeQuantile = hedgeQuantile;
+            return this;
+        }
+
+        /**
+         * @param hedgeMinSamples successful calls of an endpoint needed before its requests are hedged
+         * @return this builder
+         */
+        public Builder hedgeMinSamples(int hedgeMinSamples) {
+            if (hedgeMinSamples < 1) {
+                throw new IllegalArgumentException("hedgeMinSamples < 1: " + hedgeMinSamples);
+            }
+            this.hedgeMinSamples = hedgeMinSamples;
+            return this;
+        }
+
+        public Builder minHedgeDelayMillis(long minHedgeDelayMillis) {
+            if (minHedgeDelayMillis < 0) {
+                throw new IllegalArgumentException("minHedgeDelayMillis < 0: " + minHedgeDelayMillis);
+            }
+            this.minHedgeDelayMillis = minHedgeDelayMillis;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.owl.owlproject.utils.signer;
+
+import java.security.PrivateKey;
+
+/**
+ * Ed25519 signer for API keys registered with an Ed25519 public key.
+ */
+public final class Ed25519Signer extends PrivateKeySigner {
+    private static final String ED25519 = "Ed25519";
+
+    /**
+     * @param privateKey PKCS#8 private key, PEM encoded or bare Base64
+     */
+    public Ed25519Signer(String privateKey) {
+        this(parsePrivateKey(privateKey, ED25519));
+    }
+
+    public Ed25519Signer(PrivateKey privateKey) {
+        super(privateKey, ED25519);
+    }
+}
@@ -0,0 +1,109 @@
+package com.owl.owlproject.utils.signer;
+
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * HMAC-SHA256 signer bound to one API secret.
+ * <br>
+ * Every thread gets its own {@link Mac} initialized once with the secret, together with the digest and hex
+ * buffers it writes into, so signing does not look up providers, copy the key or allocate intermediate arrays.
+ */
+public final class HmacSigner implements Signer {
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final int DIGEST_LENGTH = 32;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final Mac prototype;
+    private final ThreadLocal<State> state;
+
+    public HmacSigner(String secretKey) {
+        if (null == secretKey || secretKey.isEmpty()) {
+            throw new BinanceConnectorException("[HmacSigner] Secret key cannot be null or empty!");
+        }
+        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+        try {
+            this.prototype = Mac.getInstance(HMAC_SHA256);
+            this.prototype.init(secretKeySpec);
+        } catch (GeneralSecurityException e) {
+            throw new BinanceConnectorException("[HmacSigner] Failed to initialize hmac-sha256: " + e.getMessage());
+        }
+        this.state = ThreadLocal.withInitial(() -> new State(newMac(secretKeySpec)));
+    }
+
+    @Override
+    public String sign(byte[] data, int offset, int length) {
+        State current = state.get();
+        digest(current, data, offset, length);
+        toHex(current.digest, current.hex, 0);
+        return new String(current.hex, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Write the lowercase hex signature as ASCII bytes into {@code dst}.
+     * @param data buffer holding the payload
+     * @param offset offset of the payload in the buffer
+     * @param length length of the payload
+     * @param dst destination buffer, must have 64 bytes left after {@code dstOffset}
+     * @param dstOffset where to start writing
+     * @return number of bytes written
+     */
+    public int signHex(byte[] data, int offset, int length, byte[] dst, int dstOffset) {
+        State current = state.get();
+        digest(current, data, offset, length);
+        toHex(current.digest, dst, dstOffset);
+        return DIGEST_LENGTH * 2;
+    }
+
+    @Override
+    public boolean isUrlSafe() {
+        return true;
+    }
+
+    private static void digest(State current, byte[] data, int offset, int length) {
+        Mac mac = current.mac;
+        mac.update(data, offset, length);
+        try {
+            mac.doFinal(current.digest, 0);
+        } catch (ShortBufferException e) {
+            throw new BinanceConnectorException("[HmacSigner] Failed to calculate hmac-sha256: " + e.getMessage());
+        }
+    }
+
+    private static void toHex(byte[] digest, byte[] dst, int dstOffset) {
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int b = digest[i] & 0xFF;
+            dst[dstOffset + 2 * i] = HEX_DIGITS[b >>> 4];
+            dst[dstOffset + 2 * i + 1] = HEX_DIGITS[b & 0x0F];
+        }
+    }
+
+    private Mac newMac(SecretKeySpec secretKeySpec) {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                Mac mac = Mac.getInstance(HMAC_SHA256);
+                mac.init(secretKeySpec);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new BinanceConnectorException("[HmacSigner] Failed to initialize hmac-sha256: " + ex.getMessage());
+            }
+        }
+    }
+
+    private static final class State {
+        private final Mac mac;
+        private final byte[] digest = new byte[DIGEST_LENGTH];
+        private final byte[] hex = new byte[DIGEST_LENGTH * 2];
+
+        private State(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.owl.owlproject.utils.signer;
+
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Base of the asymmetric signers. Keeps one {@link Signature} per thread, initialized once with the private key,
+ * and returns the signature Base64 encoded as the API expects.
+ */
+abstract class PrivateKeySigner implements Signer {
+    private final String algorithm;
+    private final ThreadLocal<Signature> signature;
+
+    PrivateKeySigner(PrivateKey privateKey, String algorithm) {
+        this.algorithm = algorithm;
+        newSignature(privateKey);
+        this.signature = ThreadLocal.withInitial(() -> newSignature(privateKey));
+    }
+
+    @Override
+    public String sign(byte[] data, int offset, int length) {
+        Signature current = signature.get();
+        try {
+            current.update(data, offset, length);
+            return Base64.getEncoder().encodeToString(current.sign());
+        } catch (GeneralSecurityException e) {
+            throw new BinanceConnectorException(String.format("[%s] Failed to sign payload: %s", getClass().getSimpleName(), e.getMessage()));
+        }
+    }
+
+    private Signature newSignature(PrivateKey privateKey) {
+        try {
+            Signature sig = Signature.getInstance(algorithm);
+            sig.initSign(privateKey);
+            return sig;
+        } catch (GeneralSecurityException e) {
+            throw new BinanceConnectorException(String.format("[%s] Failed to initialize %s: %s", getClass().getSimpleName(), algorithm, e.getMessage()));
+        }
+    }
+
+    /**
+     * Parse an unencrypted PKCS#8 private key, either PEM encoded or as bare Base64.
+     */
+    static PrivateKey parsePrivateKey(String pem, String keyAlgorithm) {
+        if (null == pem || pem.isEmpty()) {
+            throw new BinanceConnectorException("[Signer] Private key cannot be null or empty!");
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]*PRIVATE KEY-----", "").replaceAll("\\s", "");
+        try {
+            byte[] der = Base64.getDecoder().decode(base64);
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            throw new BinanceConnectorException(String.format("[Signer] Invalid %s private key: %s", keyAlgorithm, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.owl.owlproject.utils.signer;
+
+import java.security.PrivateKey;
+
+/**
+ * RSA (SHA256withRSA) signer for API keys registered with an RSA public key.
+ */
+public final class RsaSigner extends PrivateKeySigner {
+    private static final String SHA256_WITH_RSA = "SHA256withRSA";
+    private static final String RSA = "RSA";
+
+    /**
+     * @param privateKey PKCS#8 private key, PEM encoded or bare Base64
+     */
+    public RsaSigner(String privateKey) {
+        this(parsePrivateKey(privateKey, RSA));
+    }
+
+    public RsaSigner(PrivateKey privateKey) {
+        super(privateKey, SHA256_WITH_RSA);
+    }
+}
@@ -0,0 +1,34 @@
+package com.owl.owlproject.utils.signer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Signs the query string of a SIGNED request with the secret or private key it is bound to.
+ * <br>
+ * Implementations must be thread-safe, a single instance is shared by every request handler of a client.
+ * @see HmacSigner
+ * @see Ed25519Signer
+ * @see RsaSigner
+ */
+public interface Signer {
+
+    /**
+     * @param data buffer holding the payload
+     * @param offset offset of the payload in the buffer
+     * @param length length of the payload
+     * @return the signature, not url-encoded
+     */
+    String sign(byte[] data, int offset, int length);
+
+    default String sign(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        return sign(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @return true if signatures never contain characters that have to be url-encoded
+     */
+    default boolean isUrlSafe() {
+        return false;
+    }
+}
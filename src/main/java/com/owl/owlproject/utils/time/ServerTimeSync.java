@@ -0,0 +1,281 @@
+package com.owl.owlproject.utils.time;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.impl.futures.Market;
+import com.owl.owlproject.model.response.ResponseDecoders;
+import com.owl.owlproject.utils.HttpClientConfig;
+import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.RequestHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Estimates the offset of the local clock from the server clock, so signed requests carry the server's time
+ * instead of the local one and a drifting clock no longer causes -1021 rejections.
+ * <br><br>
+ * Every sync sends a burst of GET /v1/time requests. For each sample the server time is compared with the local
+ * midpoint of the request, NTP style, and the offset of the sample with the lowest round trip is kept, since its
+ * error is bounded by half of that round trip.
+ * <br><br>
+ * The round trips of the burst also give {@link #getRecommendedRecvWindow()}, the smallest recvWindow that still
+ * covers the slowest request seen, the error of the offset and a safety margin.
+ */
+public final class ServerTimeSync implements TimeSource, AutoCloseable {
+    public static final int DEFAULT_SAMPLES = 5;
+    public static final long DEFAULT_INTERVAL_MILLIS = 60_000;
+    public static final long DEFAULT_SAFETY_MARGIN_MILLIS = 100;
+    public static final long MAX_RECV_WINDOW = 60_000;
+    private static final String TIME = "/v1/time";
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimeSync.class);
+
+    private final LongSupplier serverTime;
+    private final int samples;
+    private final long intervalMillis;
+    private final long safetyMarginMillis;
+    private final Object lock = new Object();
+    private volatile Estimate estimate;
+    private ScheduledExecutorService executor;
+
+    private ServerTimeSync(Builder builder) {
+        this.serverTime = builder.serverTime;
+        this.samples = builder.samples;
+        this.intervalMillis = builder.intervalMillis;
+        this.safetyMarginMillis = builder.safetyMarginMillis;
+    }
+
+    /**
+     * @param serverTime supplier sending one request for the server time in milliseconds
+     * @return builder of a sync sampling the given supplier
+     */
+    public static Builder builder(LongSupplier serverTime) {
+        if (null == serverTime) {
+            throw new IllegalArgumentException("serverTime is null");
+        }
+        return new Builder(serverTime);
+    }
+
+    /**
+     * @param productUrl url of the product whose server time is followed, e.g. https://fapi.binance.com/fapi
+     * @param proxy proxy the samples are sent through, may be null
+     * @param httpClientConfig configuration of the connections, null for the default one
+     * @return builder of a sync sampling GET /v1/time through a request handler of its own, without retries,
+     *         coalescing or rate limiters, so every sample is exactly one request sent when it is timed
+     */
+    public static Builder builder(String productUrl, ProxyAuth proxy, HttpClientConfig httpClientConfig) {
+        if (null == productUrl || productUrl.isEmpty()) {
+            throw new IllegalArgumentException("productUrl is empty");
+        }
+        RequestHandler requestHandler = RequestHandler.builder().proxy(proxy).httpClientConfig(httpClientConfig).build();
+        return new Builder(() -> requestHandler.sendPublicRequest(productUrl, TIME, null, HttpMethod.GET, ResponseDecoders.SERVER_TIME));
+    }
+
+    /**
+     * @param market market endpoints of the product whose server time is followed, their request handler should
+     *               not retry, coalesce or queue the requests, a delayed or shared sample skews the offset
+     * @return builder of a sync sampling {@code market.time()}
+     */
+    public static Builder builder(Market market) {
+        if (null == market) {
+            throw new IllegalArgumentException("market is null");
+        }
+        return new Builder(() -> market.time(ResponseDecoders.SERVER_TIME));
+    }
+
+    /**
+     * Sync now, then again every interval on a daemon thread until {@link #close()}.
+     * A failed sync is logged and the previous estimate is kept.
+     * @return this sync
+     */
+    public ServerTimeSync start() {
+        synchronized (lock) {
+            if (null == executor) {
+                executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "server-time-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleWithFixedDelay(this::syncQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Stop the background sync, the last estimate keeps being applied.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (null != executor) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Send a burst of samples and replace the estimate with the best one.
+     * @throws RuntimeException thrown by the server time supplier when every sample failed
+     */
+    public void sync() {
+        RuntimeException failure = null;
+        double bestRtt = Double.MAX_VALUE;
+        double bestOffset = 0;
+        double maxRtt = 0;
+        int taken = 0;
+        for (int i = 0; i < samples; i++) {
+            long sent = System.currentTimeMillis();
+            long start = System.nanoTime();
+            long server;
+            try {
+                server = serverTime.getAsLong();
+            } catch (RuntimeException e) {
+                failure = e;
+                continue;
+            }
+            double rtt = (System.nanoTime() - start) / 1e6;
+            // the server truncates to the millisecond, its time is half a millisecond later on average
+            double offset = server + 0.5 - (sent + rtt / 2);
+            if (rtt < bestRtt) {
+                bestRtt = rtt;
+                bestOffset = offset;
+            }
+            maxRtt = Math.max(maxRtt, rtt);
+            taken++;
+        }
+        if (taken == 0) {
+            throw failure;
+        }
+        estimate = new Estimate(Math.round(bestOffset), bestRtt, maxRtt, System.currentTimeMillis());
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            logger.warn("[ServerTimeSync] Failed to sync with the server time: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the local time corrected by the estimated offset, the local time until the first sync
+     */
+    @Override
+    public long currentTimeMillis() {
+        Estimate current = estimate;
+        return System.currentTimeMillis() + (null == current ? 0 : current.offsetMillis);
+    }
+
+    /**
+     * @return server time minus local time in milliseconds, 0 until the first sync
+     */
+    public long getOffsetMillis() {
+        Estimate current = estimate;
+        return null == current ? 0 : current.offsetMillis;
+    }
+
+    /**
+     * @return lowest round trip of the last sync in milliseconds, -1 until the first sync
+     */
+    public double getRttMillis() {
+        Estimate current = estimate;
+        return null == current ? -1 : current.minRttMillis;
+    }
+
+    /**
+     * @return bound of the error of the offset in milliseconds, -1 until the first sync
+     */
+    public long getErrorMillis() {
+        Estimate current = estimate;
+        return null == current ? -1 : current.errorMillis();
+    }
+
+    /**
+     * @return local time of the last successful sync, 0 until the first sync
+     */
+    public long getLastSyncMillis() {
+        Estimate current = estimate;
+        return null == current ? 0 : current.syncedAtMillis;
+    }
+
+    /**
+     * A request stamped with {@link #currentTimeMillis()} reaches the server within the slowest round trip seen,
+     * give or take the error of the offset. The recommendation covers both plus the safety margin.
+     * @return recommended recvWindow in milliseconds, {@value #MAX_RECV_WINDOW} until the first sync
+     */
+    public long getRecommendedRecvWindow() {
+        Estimate current = estimate;
+        if (null == current) {
+            return MAX_RECV_WINDOW;
+        }
+        long window = (long) Math.ceil(current.maxRttMillis) + current.errorMillis() + safetyMarginMillis;
+        return Math.min(MAX_RECV_WINDOW, Math.max(1, window));
+    }
+
+    private static final class Estimate {
+        private final long offsetMillis;
+        private final double minRttMillis;
+        private final double maxRttMillis;
+        private final long syncedAtMillis;
+
+        private Estimate(long offsetMillis, double minRttMillis, double maxRttMillis, long syncedAtMillis) {
+            this.offsetMillis = offsetMillis;
+            this.minRttMillis = minRttMillis;
+            this.maxRttMillis = maxRttMillis;
+            this.syncedAtMillis = syncedAtMillis;
+        }
+
+        // half the round trip plus the rounding of the offset and of the server time
+        private long errorMillis() {
+            return (long) Math.ceil(minRttMillis / 2) + 1;
+        }
+    }
+
+    public static final class Builder {
+        private final LongSupplier serverTime;
+        private int samples = DEFAULT_SAMPLES;
+        private long intervalMillis = DEFAULT_INTERVAL_MILLIS;
+        private long safetyMarginMillis = DEFAULT_SAFETY_MARGIN_MILLIS;
+
+        private Builder(LongSupplier serverTime) {
+            this.serverTime = serverTime;
+        }
+
+        /**
+         * @param samples requests sent by every sync, each costs the weight of GET /v1/time
+         * @return this builder
+         */
+        public Builder samples(int samples) {
+            if (samples < 1) {
+                throw new IllegalArgumentException("samples < 1: " + samples);
+            }
+            this.samples = samples;
+            return this;
+        }
+
+        public Builder intervalMillis(long intervalMillis) {
+            if (intervalMillis < 1) {
+                throw new IllegalArgumentException("intervalMillis < 1: " + intervalMillis);
+            }
+            this.intervalMillis = intervalMillis;
+            return this;
+        }
+
+        public Builder safetyMarginMillis(long safetyMarginMillis) {
+            if (safetyMarginMillis < 0) {
+                throw new IllegalArgumentException("safetyMarginMillis < 0: " + safetyMarginMillis);
+            }
+            this.safetyMarginMillis = safetyMarginMillis;
+            return this;
+        }
+
+        public ServerTimeSync build() {
+            return new ServerTimeSync(this);
+        }
+    }
+}
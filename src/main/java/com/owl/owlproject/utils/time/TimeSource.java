@@ -0,0 +1,14 @@
+package com.owl.owlproject.utils.time;
+
+/**
+ * Clock used to stamp signed requests.
+ */
+@FunctionalInterface
+public interface TimeSource {
+    TimeSource SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return current time in milliseconds since the epoch
+     */
+    long currentTimeMillis();
+}
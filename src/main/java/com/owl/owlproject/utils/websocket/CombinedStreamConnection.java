@@ -0,0 +1,316 @@
+package com.owl.owlproject.utils.websocket;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.utils.JsonDecoding;
+import com.owl.owlproject.utils.RequestBuilder;
+import com.owl.owlproject.utils.UrlBuilder;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One WebSocket connection to the combined stream endpoint, carrying any number of streams up to {@link #MAX_STREAMS}.
+ * <br>
+ * The connection is opened with the first subscription, with every stream in the url. Streams subscribed or
+ * unsubscribed while it is open are sent as SUBSCRIBE / UNSUBSCRIBE requests, batched and paced to stay under
+ * the limit of 10 incoming messages per second. Pings are sent by OkHttp at the ping interval of the client,
+ * a missing pong fails the connection. A connection that failed or was closed by the server is reconnected
+ * with exponential backoff and full jitter, with every stream subscribed at that time. Connections sharing a
+ * {@link ConnectionPacer} space their connection attempts.
+ */
+public final class CombinedStreamConnection extends WebSocketListener implements AutoCloseable {
+    public static final int MAX_STREAMS = 200;
+
+    private static final Logger logger = LoggerFactory.getLogger(CombinedStreamConnection.class);
+    private static final long CONTROL_INTERVAL_MILLIS = 100L;
+    private static final long MIN_BACKOFF_MILLIS = 250L;
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+    private static final int NORMAL_CLOSURE = 1000;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "websocket-stream-control");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String streamUrl;
+    private final OkHttpClient httpClient;
+    private final ConnectionListener listener;
+    private final ConnectionPacer pacer;
+    private final Map<String, WebSocketCallback> callbacks = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private WebSocket webSocket;
+    private boolean connectPending;
+    private boolean open;
+    private boolean closed;
+    private int attempts;
+    private long requestId;
+    private long nextControlMillis;
+    private boolean flushScheduled;
+    private Set<String> serverStreams = Collections.emptySet();
+
+    /**
+     * @param streamUrl url of the combined stream endpoint, e.g. wss://fstream.binance.com/stream
+     * @param httpClient client the connection is opened with, its ping interval sets the ping/pong check
+     * @param listener listener of the connection state
+     */
+    public CombinedStreamConnection(String streamUrl, OkHttpClient httpClient, ConnectionListener listener) {
+        this(streamUrl, httpClient, listener, ConnectionPacer.NONE);
+    }
+
+    /**
+     * @param streamUrl url of the combined stream endpoint, e.g. wss://fstream.binance.com/stream
+     * @param httpClient client the connection is opened with, its ping interval sets the ping/pong check
+     * @param listener listener of the connection state
+     * @param pacer pacer of the connection attempts, shared with the other connections to the server
+     */
+    public CombinedStreamConnection(String streamUrl, OkHttpClient httpClient, ConnectionListener listener, ConnectionPacer pacer) {
+        this.streamUrl = streamUrl;
+        this.httpClient = httpClient;
+        this.listener = null == listener ? ConnectionListener.NONE : listener;
+        this.pacer = null == pacer ? ConnectionPacer.NONE : pacer;
+    }
+
+    /**
+     * Subscribe to the stream, replacing the callback if it is already subscribed.
+     * @param stream stream name, e.g. btcusdt@aggTrade
+     * @param callback receiver of the messages of the stream
+     * @throws IllegalStateException when the connection already carries {@link #MAX_STREAMS} streams or was closed
+     */
+    public synchronized void subscribe(String stream, WebSocketCallback callback) {
+        if (closed) {
+            throw new IllegalStateException("[CombinedStreamConnection] Connection is closed");
+        }
+        if (!callbacks.containsKey(stream) && callbacks.size() >= MAX_STREAMS) {
+            throw new IllegalStateException("[CombinedStreamConnection] Connection already carries " + MAX_STREAMS + " streams");
+        }
+        callbacks.put(stream, callback);
+        if (null == webSocket) {
+            if (!connectPending) {
+                connect();
+            }
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * @param stream stream name given to {@link #subscribe(String, WebSocketCallback)}
+     * @return false when the stream was not subscribed
+     */
+    public synchronized boolean unsubscribe(String stream) {
+        if (null == callbacks.remove(stream)) {
+            return false;
+        }
+        if (null != webSocket) {
+            scheduleFlush();
+        }
+        return true;
+    }
+
+    public Set<String> getStreams() {
+        return Collections.unmodifiableSet(callbacks.keySet());
+    }
+
+    public int getStreamCount() {
+        return callbacks.size();
+    }
+
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        open = false;
+        callbacks.clear();
+        if (null != webSocket) {
+            webSocket.close(NORMAL_CLOSURE, null);
+            webSocket = null;
+        }
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {
+        synchronized (this) {
+            if (webSocket != this.webSocket) {
+                return;
+            }
+            open = true;
+            attempts = 0;
+        }
+        listener.onOpen();
+        synchronized (this) {
+            // streams changed while connecting
+            if (!serverStreams.equals(callbacks.keySet())) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+        try (JsonParser parser = JsonDecoding.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            String stream = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("stream".equals(field) && value == JsonToken.VALUE_STRING) {
+                    stream = parser.getText();
+                } else if ("data".equals(field) && null != stream) {
+                    int start = (int) parser.currentTokenLocation().getCharOffset();
+                    parser.skipChildren();
+                    int end = (int) parser.currentLocation().getCharOffset();
+                    dispatch(stream, text.substring(start, end));
+                    return;
+                } else if ("error".equals(field)) {
+                    logger.warn("[CombinedStreamConnection] Request rejected: {}", text);
+                    return;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("[CombinedStreamConnection] Malformed message: {}", text, e);
+        }
+    }
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+        webSocket.close(NORMAL_CLOSURE, null);
+    }
+
+    @Override
+    public void onClosed(WebSocket webSocket, int code, String reason) {
+        if (disconnected(webSocket)) {
+            listener.onClosed(code, reason);
+        }
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+        if (disconnected(webSocket)) {
+            logger.warn("[CombinedStreamConnection] Connection failed, reconnecting: {}", t.toString());
+            listener.onFailure(t);
+        }
+    }
+
+    private void dispatch(String stream, String data) {
+        WebSocketCallback callback = callbacks.get(stream);
+        if (null == callback) {
+            return;
+        }
+        try {
+            callback.onReceive(data);
+        } catch (RuntimeException e) {
+            logger.error("[CombinedStreamConnection] Callback of {} failed", stream, e);
+        }
+    }
+
+    // a socket replaced by a reconnect or closed by the client is ignored
+    private synchronized boolean disconnected(WebSocket webSocket) {
+        if (webSocket != this.webSocket) {
+            return false;
+        }
+        this.webSocket = null;
+        open = false;
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(attempts++, 16));
+        SCHEDULER.schedule(this::reconnect, ThreadLocalRandom.current().nextLong(backoff + 1), TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private synchronized void reconnect() {
+        if (!closed && null == webSocket && !connectPending && !callbacks.isEmpty()) {
+            connect();
+        }
+    }
+
+    // the streams subscribed while the attempt waits for the pacer are in its url
+    private void connect() {
+        long delay = pacer.reserve();
+        if (delay > 0) {
+            connectPending = true;
+            SCHEDULER.schedule(this::connectPaced, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        openWebSocket();
+    }
+
+    private synchronized void connectPaced() {
+        connectPending = false;
+        if (!closed && null == webSocket && !callbacks.isEmpty()) {
+            openWebSocket();
+        }
+    }
+
+    private void openWebSocket() {
+        serverStreams = new LinkedHashSet<>(callbacks.keySet());
+        String url = UrlBuilder.buildStreamUrl(streamUrl, new ArrayList<>(serverStreams));
+        webSocket = httpClient.newWebSocket(RequestBuilder.buildWebsocketRequest(url), this);
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled || !open) {
+            return;
+        }
+        flushScheduled = true;
+        long now = System.currentTimeMillis();
+        SCHEDULER.schedule(this::flush, Math.max(0, nextControlMillis - now), TimeUnit.MILLISECONDS);
+    }
+
+    // one SUBSCRIBE and one UNSUBSCRIBE for every change since the last flush
+    private synchronized void flush() {
+        flushScheduled = false;
+        if (!open) {
+            return;
+        }
+        Set<String> subscribe = new LinkedHashSet<>(callbacks.keySet());
+        subscribe.removeAll(serverStreams);
+        Set<String> unsubscribe = new LinkedHashSet<>(serverStreams);
+        unsubscribe.removeAll(callbacks.keySet());
+        int messages = 0;
+        if (!subscribe.isEmpty()) {
+            send("SUBSCRIBE", subscribe);
+            messages++;
+        }
+        if (!unsubscribe.isEmpty()) {
+            send("UNSUBSCRIBE", unsubscribe);
+            messages++;
+        }
+        serverStreams = new LinkedHashSet<>(callbacks.keySet());
+        nextControlMillis = System.currentTimeMillis() + messages * CONTROL_INTERVAL_MILLIS;
+    }
+
+    private void send(String method, Set<String> streams) {
+        JSONObject request = new JSONObject()
+                .put("method", method)
+                .put("params", new JSONArray(streams))
+                .put("id", ++requestId);
+        webSocket.send(request.toString());
+    }
+}
@@ -0,0 +1,257 @@
+package com.owl.owlproject.utils.websocket;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.client.WebsocketClient;
+import com.owl.owlproject.utils.JsonDecoding;
+import com.owl.owlproject.utils.dispatch.EventDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Latest value of a stream per symbol, for consumers that only need the newest state, e.g. mark prices or book
+ * tickers shown in a UI. Every symbol has one slot, and an update not read yet is overwritten in place instead of
+ * being queued, so memory is bounded by the number of symbols and a slow consumer never falls behind.
+ * <br>
+ * The events are decoded on the thread of the stream, the consumer polls on its own thread without locking:
+ * every slot carries a version, and a value overwritten while it was copied is copied again. A consumer is handed
+ * the latest value at least once, it may get it twice when it is updated while being polled.
+ * <pre>{@code
+ * ConflatedStream<MarkPriceUpdate> markPrices = client.conflatedMarkPriceStream(1);
+ * // on the consumer thread
+ * MarkPriceUpdate update = MarkPriceUpdate.DECODER.newEvent();
+ * markPrices.drain(update, ui::show);
+ * }</pre>
+ * @param <E> type of the events
+ */
+public final class ConflatedStream<E> implements WebSocketCallback, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConflatedStream.class);
+
+    private final EventDecoder<E> decoder;
+    private final Function<? super E, String> symbolOf;
+    private final ConcurrentHashMap<String, Slot<E>> slots = new ConcurrentHashMap<>();
+    // slots updated since the last drain, each at most once
+    private final ConcurrentLinkedQueue<Slot<E>> updated = new ConcurrentLinkedQueue<>();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+
+    // guarded by streams
+    private final List<String> streams = new ArrayList<>();
+    private WebsocketClient client;
+    private boolean closed;
+
+    // guarded by this, the decoded event before it is copied into its slot
+    private final E event;
+
+    /**
+     * @param decoder decoder of the events, also creating the slots
+     * @param symbolOf symbol of a decoded event, the key of its slot
+     */
+    public ConflatedStream(EventDecoder<E> decoder, Function<? super E, String> symbolOf) {
+        if (null == decoder || null == symbolOf) {
+            throw new IllegalArgumentException("decoder and symbolOf are required");
+        }
+        this.decoder = decoder;
+        this.symbolOf = symbolOf;
+        this.event = decoder.newEvent();
+    }
+
+    /**
+     * Copy the latest value of the symbol if it was updated since it was last polled or drained.
+     * @return whether a new value was copied into the event
+     */
+    public boolean poll(String symbol, E into) {
+        Slot<E> slot = slots.get(symbol);
+        if (null == slot || !slot.unread.getAndSet(false)) {
+            return false;
+        }
+        slot.read(decoder, into);
+        return true;
+    }
+
+    /**
+     * Copy the latest value of the symbol, read or not.
+     * @return false if no value of the symbol was received yet
+     */
+    public boolean read(String symbol, E into) {
+        Slot<E> slot = slots.get(symbol);
+        if (null == slot) {
+            return false;
+        }
+        slot.read(decoder, into);
+        return true;
+    }
+
+    /**
+     * Hand the latest value of every symbol updated since it was last polled or drained, once per symbol.
+     * @param into event the values are copied into, handed to the handler
+     * @return number of values handed
+     */
+    public int drain(E into, Consumer<? super E> handler) {
+        int count = 0;
+        Slot<E> slot;
+        while (null != (slot = updated.poll())) {
+            // cleared first, an update from now on queues the slot again
+            slot.queued.set(false);
+            if (slot.unread.getAndSet(false)) {
+                slot.read(decoder, into);
+                handler.accept(into);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Set<String> getSymbols() {
+        return Collections.unmodifiableSet(slots.keySet());
+    }
+
+    /**
+     * @return names of the streams this stream is subscribed to
+     */
+    public List<String> getStreams() {
+        synchronized (streams) {
+            return List.copyOf(streams);
+        }
+    }
+
+    /**
+     * @return events received
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /**
+     * @return events overwritten before they were read
+     */
+    public long getConflated() {
+        return conflated.get();
+    }
+
+    /**
+     * Subscribe this stream to a stream of the client, it is unsubscribed when this stream is closed.
+     * @param stream name of the stream, e.g. btcusdt@bookTicker or !markPrice@arr@1s
+     * @return this stream
+     */
+    public ConflatedStream<E> subscribe(WebsocketClient client, String stream) {
+        synchronized (streams) {
+            if (closed) {
+                throw new IllegalStateException("[ConflatedStream] Stream is closed");
+            }
+            if (null == this.client) {
+                this.client = client;
+            } else if (this.client != client) {
+                throw new IllegalArgumentException("[ConflatedStream] Stream is subscribed with another client");
+            }
+            streams.add(client.subscribe(stream, this));
+        }
+        return this;
+    }
+
+    /**
+     * Unsubscribe from the streams, the last values can still be read.
+     */
+    @Override
+    public void close() {
+        List<String> subscribed;
+        synchronized (streams) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribed = List.copyOf(streams);
+        }
+        for (String stream : subscribed) {
+            client.unsubscribe(stream);
+        }
+    }
+
+    /**
+     * Decode the message, a single event or an array of them for the all market streams, into the slots.
+     * Synchronized as the stream may be subscribed on several connections, each slot has a single writer.
+     */
+    @Override
+    public synchronized void onReceive(String data) {
+        try (JsonParser parser = JsonDecoding.createParser(data)) {
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    decoder.decode(parser, event);
+                    publish();
+                }
+            } else {
+                decoder.decode(parser, event);
+                publish();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("[ConflatedStream] Failed to decode {}", data, e);
+        }
+    }
+
+    private void publish() {
+        String symbol = symbolOf.apply(event);
+        if (null == symbol) {
+            return;
+        }
+        Slot<E> slot = slots.get(symbol);
+        if (null == slot) {
+            slot = slots.computeIfAbsent(symbol, key -> new Slot<>(decoder.newEvent()));
+        }
+        slot.write(decoder, event);
+        received.lazySet(received.get() + 1);
+        if (slot.unread.getAndSet(true)) {
+            conflated.lazySet(conflated.get() + 1);
+        }
+        if (slot.queued.compareAndSet(false, true)) {
+            updated.offer(slot);
+        }
+    }
+
+    private static final class Slot<E> {
+        private final E value;
+        // odd while the value is written
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicBoolean unread = new AtomicBoolean();
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        private Slot(E value) {
+            this.value = value;
+        }
+
+        // single writer, the stream is synchronized
+        private void write(EventDecoder<E> decoder, E from) {
+            long current = version.get();
+            version.setOpaque(current + 1);
+            VarHandle.storeStoreFence();
+            decoder.copy(from, value);
+            version.setRelease(current + 2);
+        }
+
+        private void read(EventDecoder<E> decoder, E into) {
+            while (true) {
+                long before = version.getAcquire();
+                if ((before & 1) == 0) {
+                    decoder.copy(value, into);
+                    VarHandle.loadLoadFence();
+                    if (version.getOpaque() == before) {
+                        return;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.owl.owlproject.utils.websocket;
+
+/**
+ * Listener of the state of a stream connection. Messages sent while the connection was down are lost,
+ * so a listener keeping state built from the streams, e.g. an order book, should resync in {@link #onOpen()}.
+ */
+public interface ConnectionListener {
+    ConnectionListener NONE = new ConnectionListener() {
+    };
+
+    /**
+     * The connection was opened, the first time or after a reconnect, with every subscribed stream.
+     */
+    default void onOpen() {
+    }
+
+    /**
+     * The connection was closed by the server, e.g. after 24 hours, and is reconnected unless it was closed by the client.
+     */
+    default void onClosed(int code, String reason) {
+    }
+
+    /**
+     * The connection failed, e.g. no pong in time, and is reconnected unless it was closed by the client.
+     */
+    default void onFailure(Throwable t) {
+    }
+
+    /**
+     * The stream was moved to another connection of a {@link StreamConnectionPool} to balance their load, the
+     * messages sent while it moved are lost as after a reconnect. Called by the pool, not by a connection.
+     */
+    default void onStreamMoved(String stream) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.owl.owlproject.utils.websocket;
+
+/**
+ * Spacing of the connection attempts of several stream connections, so connections failing together, e.g. on a
+ * network outage, reconnect one after the other instead of at once and stay under the connection-rate limit
+ * of the server (300 connection attempts per 5 minutes per IP).
+ */
+public final class ConnectionPacer {
+    public static final ConnectionPacer NONE = new ConnectionPacer(0L);
+
+    private final long intervalMillis;
+
+    // guarded by this
+    private long nextMillis;
+
+    /**
+     * @param intervalMillis minimum time between two connection attempts
+     */
+    public ConnectionPacer(long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("intervalMillis < 0: " + intervalMillis);
+        }
+        this.intervalMillis = intervalMillis;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Reserve the next connection attempt.
+     * @return delay in milliseconds before the attempt may start
+     */
+    public long reserve() {
+        if (intervalMillis == 0) {
+            return 0L;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            long attempt = Math.max(now, nextMillis);
+            nextMillis = attempt + intervalMillis;
+            return attempt - now;
+        }
+    }
+}
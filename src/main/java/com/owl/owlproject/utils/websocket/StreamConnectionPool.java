@@ -0,0 +1,473 @@
+package com.owl.owlproject.utils.websocket;
+
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams sharded across as many {@link CombinedStreamConnection}s as their number and traffic need.
+ * <br>
+ * The load of a stream is its rate of messages, estimated from its name when it is subscribed, e.g. 10/s for
+ * &lt;symbol&gt;@depth@100ms, then measured every {@value #REFRESH_INTERVAL_MILLIS}ms. A stream goes to the least
+ * loaded connection with room for it, a connection is opened when none has room. After streams were subscribed
+ * or unsubscribed the connections are rebalanced: streams are moved from the most loaded connection to the least
+ * loaded one while a connection is over its load or they differ by more than a quarter of it, and a connection
+ * whose streams fit in the others is emptied and closed. A measurement only moves streams off a connection
+ * over its load, streams are not moved on a timer while the connections keep up.
+ * A stream takes its messages from the connection it is placed on only, once moved the old connection is
+ * ignored even before it is unsubscribed, so no message is delivered twice. The messages sent before the new
+ * connection subscribed are lost as after a reconnect, {@link ConnectionListener#onStreamMoved(String)} is
+ * called for every moved stream.
+ * <br>
+ * The connections share a {@link ConnectionPacer}, so they are opened, and reconnected after an outage,
+ * one after the other.
+ */
+public final class StreamConnectionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StreamConnectionPool.class);
+    private static final long REBALANCE_DELAY_MILLIS = 1_000L;
+    private static final long REFRESH_INTERVAL_MILLIS = 30_000L;
+    // share of the load per connection two connections may differ by before streams are moved
+    private static final double IMBALANCE = 0.25;
+    private static final int MAX_MOVES_PER_REBALANCE = 50;
+    // weight of the last interval in the measured rates
+    private static final double RATE_SMOOTHING = 0.5;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "websocket-stream-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String streamUrl;
+    private final OkHttpClient httpClient;
+    private final ConnectionListener listener;
+    private final int maxStreams;
+    private final double maxLoad;
+    private final int maxConnections;
+    private final ConnectionPacer pacer;
+
+    // guarded by this
+    private final List<Shard> shards = new ArrayList<>();
+    private final Map<String, Route> routes = new HashMap<>();
+    private ScheduledFuture<?> rebalance;
+    private ScheduledFuture<?> refresh;
+    private long refreshedNanos;
+    private boolean closed;
+
+    /**
+     * @param streamUrl url of the combined stream endpoint, e.g. wss://fstream.binance.com/stream
+     * @param httpClient client the connections are opened with, its ping interval sets the ping/pong check
+     * @param listener listener of the state of every connection
+     * @param config limits of the connections
+     */
+    public StreamConnectionPool(String streamUrl, OkHttpClient httpClient, ConnectionListener listener, StreamShardingConfig config) {
+        StreamShardingConfig sharding = null == config ? StreamShardingConfig.DEFAULT : config;
+        this.streamUrl = streamUrl;
+        this.httpClient = httpClient;
+        this.listener = null == listener ? ConnectionListener.NONE : listener;
+        this.maxStreams = sharding.getMaxStreamsPerConnection();
+        this.maxLoad = sharding.getMaxLoadPerConnection();
+        this.maxConnections = sharding.getMaxConnections();
+        this.pacer = new ConnectionPacer(sharding.getConnectIntervalMillis());
+    }
+
+    /**
+     * Subscribe to the stream, replacing the callback if it is already subscribed.
+     * @throws IllegalStateException when every connection carries its maximum of streams, or the pool was closed
+     */
+    public synchronized void subscribe(String stream, WebSocketCallback callback) {
+        if (closed) {
+            throw new IllegalStateException("[StreamConnectionPool] Pool is closed");
+        }
+        Route route = routes.get(stream);
+        if (null != route) {
+            route.callback = callback;
+            return;
+        }
+        route = new Route(stream, callback, estimateRate(stream));
+        Shard shard = place(route);
+        if (null == shard) {
+            throw new IllegalStateException("[StreamConnectionPool] Every connection already carries " + maxStreams + " streams");
+        }
+        routes.put(stream, route);
+        shard.add(route);
+        scheduleRebalance();
+    }
+
+    /**
+     * @return false when the stream was not subscribed
+     */
+    public synchronized boolean unsubscribe(String stream) {
+        Route route = routes.remove(stream);
+        if (null == route) {
+            return false;
+        }
+        Shard shard = route.shard;
+        shard.remove(route);
+        closeIfEmpty(shard);
+        scheduleRebalance();
+        return true;
+    }
+
+    public synchronized Set<String> getStreams() {
+        return Set.copyOf(routes.keySet());
+    }
+
+    public synchronized int getConnectionCount() {
+        return shards.size();
+    }
+
+    /**
+     * @return streams of every connection
+     */
+    public synchronized List<Set<String>> getConnectionStreams() {
+        List<Set<String>> streams = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            streams.add(Set.copyOf(shard.connection.getStreams()));
+        }
+        return streams;
+    }
+
+    /**
+     * @return load of every connection in messages per second, estimated or measured
+     */
+    public synchronized double[] getConnectionLoads() {
+        double[] loads = new double[shards.size()];
+        for (int i = 0; i < loads.length; i++) {
+            loads[i] = shards.get(i).load;
+        }
+        return loads;
+    }
+
+    /**
+     * @return whether every connection is open, false when there is none
+     */
+    public synchronized boolean isOpen() {
+        if (shards.isEmpty()) {
+            return false;
+        }
+        for (Shard shard : shards) {
+            if (!shard.connection.isOpen()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (null != rebalance) {
+            rebalance.cancel(false);
+        }
+        if (null != refresh) {
+            refresh.cancel(false);
+        }
+        for (Shard shard : shards) {
+            shard.connection.close();
+        }
+        shards.clear();
+        routes.clear();
+    }
+
+    /**
+     * Messages per second of a stream until its rate is measured, from its update speed.
+     */
+    static double estimateRate(String stream) {
+        if (stream.startsWith("!bookTicker")) {
+            return 500;
+        }
+        if (stream.startsWith("!")) {
+            return 1;
+        }
+        if (stream.contains("@depth")) {
+            return stream.endsWith("@100ms") ? 10 : stream.endsWith("@500ms") ? 2 : 4;
+        }
+        if (stream.endsWith("@bookTicker")) {
+            return 20;
+        }
+        if (stream.endsWith("@aggTrade")) {
+            return 10;
+        }
+        if (stream.contains("@kline_")) {
+            return 4;
+        }
+        if (stream.endsWith("@markPrice@1s")) {
+            return 1;
+        }
+        if (stream.endsWith("@markPrice")) {
+            return 1 / 3.0;
+        }
+        // tickers, user data and the other streams of at most one message a second
+        return 1;
+    }
+
+    // the least loaded connection with room, a new one when none has room, or the least loaded one under its
+    // stream limit when no connection can be opened
+    private Shard place(Route route) {
+        Shard best = null;
+        for (Shard shard : shards) {
+            if (shard.routes.size() < maxStreams && shard.load + route.rate <= maxLoad
+                    && (null == best || shard.load < best.load)) {
+                best = shard;
+            }
+        }
+        if (null != best) {
+            return best;
+        }
+        if (shards.size() < maxConnections) {
+            return openShard();
+        }
+        for (Shard shard : shards) {
+            if (shard.routes.size() < maxStreams && (null == best || shard.load < best.load)) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    private Shard openShard() {
+        Shard shard = new Shard(new CombinedStreamConnection(streamUrl, httpClient, listener, pacer));
+        shards.add(shard);
+        return shard;
+    }
+
+    private void closeIfEmpty(Shard shard) {
+        if (shard.routes.isEmpty()) {
+            shard.connection.close();
+            shards.remove(shard);
+        }
+    }
+
+    // the route switches to its new shard before it is subscribed there, the old connection is ignored from then on
+    private void move(Route route, Shard to) {
+        Shard from = route.shard;
+        to.add(route);
+        from.remove(route);
+        closeIfEmpty(from);
+        try {
+            listener.onStreamMoved(route.stream);
+        } catch (RuntimeException e) {
+            logger.warn("[StreamConnectionPool] Listener failed on the move of {}", route.stream, e);
+        }
+    }
+
+    // a burst of changes is rebalanced once
+    private void scheduleRebalance() {
+        if (null == rebalance || rebalance.isDone()) {
+            rebalance = SCHEDULER.schedule(this::rebalanceNow, REBALANCE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (null == refresh) {
+            refreshedNanos = System.nanoTime();
+            refresh = SCHEDULER.scheduleWithFixedDelay(this::refresh, REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void rebalanceNow() {
+        if (closed) {
+            return;
+        }
+        try {
+            consolidate();
+            balance(false);
+        } catch (RuntimeException e) {
+            logger.warn("[StreamConnectionPool] Rebalancing failed", e);
+        }
+    }
+
+    // measure the rate of every stream since the last refresh, streams are only moved off an overloaded connection
+    private synchronized void refresh() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        double seconds = (now - refreshedNanos) / 1e9;
+        refreshedNanos = now;
+        if (seconds <= 0) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.load = 0;
+            for (Route route : shard.routes) {
+                long messages = route.messages.get();
+                double observed = (messages - route.counted) / seconds;
+                route.counted = messages;
+                route.rate = route.measured ? RATE_SMOOTHING * observed + (1 - RATE_SMOOTHING) * route.rate : observed;
+                route.measured = true;
+                shard.load += route.rate;
+            }
+        }
+        try {
+            balance(true);
+        } catch (RuntimeException e) {
+            logger.warn("[StreamConnectionPool] Rebalancing failed", e);
+        }
+    }
+
+    // empty the least loaded connections while their streams fit in the others
+    private void consolidate() {
+        double total = 0;
+        for (Shard shard : shards) {
+            total += shard.load;
+        }
+        int needed = Math.max(1, Math.max((int) Math.ceil(total / maxLoad), (routes.size() + maxStreams - 1) / maxStreams));
+        while (shards.size() > needed) {
+            Shard lightest = null;
+            for (Shard shard : shards) {
+                if (null == lightest || shard.load < lightest.load) {
+                    lightest = shard;
+                }
+            }
+            if (!fitsInOthers(lightest)) {
+                return;
+            }
+            logger.info("[StreamConnectionPool] Moving {} streams off a connection to close it", lightest.routes.size());
+            for (Route route : new ArrayList<>(lightest.routes)) {
+                move(route, placeInOthers(lightest));
+            }
+        }
+    }
+
+    // every stream placed on the least loaded other connection stays within the limits, so balancing does not
+    // open the connection again
+    private boolean fitsInOthers(Shard excluded) {
+        List<Shard> others = new ArrayList<>(shards);
+        others.remove(excluded);
+        int[] counts = new int[others.size()];
+        double[] loads = new double[others.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = others.get(i).routes.size();
+            loads[i] = others.get(i).load;
+        }
+        for (Route route : excluded.routes) {
+            int best = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] < maxStreams && (best < 0 || loads[i] < loads[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0 || loads[best] + route.rate > maxLoad) {
+                return false;
+            }
+            counts[best]++;
+            loads[best] += route.rate;
+        }
+        return true;
+    }
+
+    private Shard placeInOthers(Shard excluded) {
+        Shard best = null;
+        for (Shard shard : shards) {
+            if (shard != excluded && shard.routes.size() < maxStreams && (null == best || shard.load < best.load)) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    // move streams from the most to the least loaded connection, opening one for a connection over its load,
+    // only while a connection is over its load when overloadOnly
+    private void balance(boolean overloadOnly) {
+        for (int moves = 0; moves < MAX_MOVES_PER_REBALANCE; moves++) {
+            Shard hot = null;
+            Shard cold = null;
+            for (Shard shard : shards) {
+                if (null == hot || shard.load > hot.load) {
+                    hot = shard;
+                }
+                if (shard.routes.size() < maxStreams && (null == cold || shard.load < cold.load)) {
+                    cold = shard;
+                }
+            }
+            if (null == hot) {
+                return;
+            }
+            if (hot.load > maxLoad && (null == cold || cold == hot || cold.load >= maxLoad) && shards.size() < maxConnections) {
+                cold = openShard();
+            }
+            if (null == cold || cold == hot) {
+                return;
+            }
+            double gap = hot.load - cold.load;
+            if (hot.load <= maxLoad && (overloadOnly || gap <= maxLoad * IMBALANCE)) {
+                return;
+            }
+            // the busiest stream that narrows the gap
+            Route candidate = null;
+            for (Route route : hot.routes) {
+                if (route.rate > 0 && route.rate <= gap / 2 && (null == candidate || route.rate > candidate.rate)) {
+                    candidate = route;
+                }
+            }
+            if (null == candidate) {
+                closeIfEmpty(cold);
+                return;
+            }
+            move(candidate, cold);
+        }
+    }
+
+    private static final class Shard {
+        private final CombinedStreamConnection connection;
+        private final List<Route> routes = new ArrayList<>();
+        private double load;
+
+        private Shard(CombinedStreamConnection connection) {
+            this.connection = connection;
+        }
+
+        private void add(Route route) {
+            routes.add(route);
+            load += route.rate;
+            route.shard = this;
+            connection.subscribe(route.stream, data -> route.onReceive(this, data));
+        }
+
+        private void remove(Route route) {
+            routes.remove(route);
+            load -= route.rate;
+            connection.unsubscribe(route.stream);
+        }
+    }
+
+    // a subscribed stream, counting its messages
+    private static final class Route {
+        private final String stream;
+        private final AtomicLong messages = new AtomicLong();
+        private volatile WebSocketCallback callback;
+        // written under the pool, read by the reader threads of the connections
+        private volatile Shard shard;
+        // guarded by the pool
+        private double rate;
+        private long counted;
+        private boolean measured;
+
+        private Route(String stream, WebSocketCallback callback, double rate) {
+            this.stream = stream;
+            this.callback = callback;
+            this.rate = rate;
+        }
+
+        // the connection a stream was moved off may still deliver until it is unsubscribed
+        private void onReceive(Shard from, String data) {
+            if (from != shard) {
+                return;
+            }
+            messages.incrementAndGet();
+            callback.onReceive(data);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.owl.owlproject.utils.websocket;
+
+/**
+ * Sharding settings of a {@link StreamConnectionPool}: how many streams and how much traffic one connection carries,
+ * how many connections may be opened, and how far apart their connection attempts are.
+ * <br>
+ * Instances are immutable.
+ */
+public final class StreamShardingConfig {
+    public static final StreamShardingConfig DEFAULT = new Builder().build();
+
+    private final int maxStreamsPerConnection;
+    private final double maxLoadPerConnection;
+    private final int maxConnections;
+    private final long connectIntervalMillis;
+
+    private StreamShardingConfig(Builder builder) {
+        this.maxStreamsPerConnection = builder.maxStreamsPerConnection;
+        this.maxLoadPerConnection = builder.maxLoadPerConnection;
+        this.maxConnections = builder.maxConnections;
+        this.connectIntervalMillis = builder.connectIntervalMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return builder starting from the settings of this config
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .maxStreamsPerConnection(maxStreamsPerConnection)
+                .maxLoadPerConnection(maxLoadPerConnection)
+                .maxConnections(maxConnections)
+                .connectIntervalMillis(connectIntervalMillis);
+    }
+
+    public int getMaxStreamsPerConnection() {
+        return maxStreamsPerConnection;
+    }
+
+    /**
+     * @return messages per second a connection is filled up to, estimated from the stream names then measured
+     */
+    public double getMaxLoadPerConnection() {
+        return maxLoadPerConnection;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getConnectIntervalMillis() {
+        return connectIntervalMillis;
+    }
+
+    public static final class Builder {
+        private int maxStreamsPerConnection = CombinedStreamConnection.MAX_STREAMS;
+        private double maxLoadPerConnection = 1_000;
+        private int maxConnections = 32;
+        private long connectIntervalMillis = 250L;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxStreamsPerConnection at most {@link CombinedStreamConnection#MAX_STREAMS}
+         */
+        public Builder maxStreamsPerConnection(int maxStreamsPerConnection) {
+            if (maxStreamsPerConnection <= 0 || maxStreamsPerConnection > CombinedStreamConnection.MAX_STREAMS) {
+                throw new IllegalArgumentException("maxStreamsPerConnection not in (0, "
+                        + CombinedStreamConnection.MAX_STREAMS + "]: " + maxStreamsPerConnection);
+            }
+            this.maxStreamsPerConnection = maxStreamsPerConnection;
+            return this;
+        }
+
+        /**
+         * @param maxLoadPerConnection messages per second above which a connection is not given more streams
+         *                             while another connection can be opened
+         */
+        public Builder maxLoadPerConnection(double maxLoadPerConnection) {
+            if (!(maxLoadPerConnection > 0)) {
+                throw new IllegalArgumentException("maxLoadPerConnection <= 0: " + maxLoadPerConnection);
+            }
+            this.maxLoadPerConnection = maxLoadPerConnection;
+            return this;
+        }
+
+        public Builder maxConnections(int maxConnections) {
+            if (maxConnections <= 0) {
+                throw new IllegalArgumentException("maxConnections <= 0: " + maxConnections);
+            }
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * @param connectIntervalMillis minimum time between two connection attempts of the pool, 0 to not space them
+         */
+        public Builder connectIntervalMillis(long connectIntervalMillis) {
+            if (connectIntervalMillis < 0) {
+                throw new IllegalArgumentException("connectIntervalMillis < 0: " + connectIntervalMillis);
+            }
+            this.connectIntervalMillis = connectIntervalMillis;
+            return this;
+        }
+
+        public StreamShardingConfig build() {
+            return new StreamShardingConfig(this);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.owl.owlproject.utils.websocket;
+
+import com.owl.owlproject.model.stream.AccountUpdate;
+import com.owl.owlproject.model.stream.OrderTradeUpdate;
+
+/**
+ * Listener of the events of a {@link UserDataStreamManager}, called on the reader thread of the connection.
+ * <br>
+ * Events sent while the stream was down are lost, {@link #onOpen()} is called after every (re)connect
+ * so open orders and positions can be resynced from REST.
+ */
+public interface UserDataListener extends ConnectionListener {
+    default void onOrderTradeUpdate(OrderTradeUpdate update) {
+    }
+
+    default void onAccountUpdate(AccountUpdate update) {
+    }
+
+    /**
+     * Any other event, e.g. MARGIN_CALL, ACCOUNT_CONFIG_UPDATE or TRADE_LITE.
+     * @param eventType value of the "e" field
+     * @param data the event as received
+     */
+    default void onEvent(String eventType, String data) {
+    }
+}
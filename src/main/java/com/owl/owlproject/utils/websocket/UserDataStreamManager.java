@@ -0,0 +1,308 @@
+package com.owl.owlproject.utils.websocket;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.enums.DefaultUrls;
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.impl.futures.UserData;
+import com.owl.owlproject.model.stream.AccountUpdate;
+import com.owl.owlproject.model.stream.OrderTradeUpdate;
+import com.owl.owlproject.utils.HttpClientConfig;
+import com.owl.owlproject.utils.HttpClientRegistry;
+import com.owl.owlproject.utils.JsonDecoding;
+import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.ResponseDecoder;
+import okhttp3.OkHttpClient;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User data stream with its listenKey managed: the key is created, the stream opened, the key extended on a schedule,
+ * and when the key expired or is no longer known to the server a new key is created and the stream reopened with it.
+ * ORDER_TRADE_UPDATE and ACCOUNT_UPDATE events are decoded for the {@link UserDataListener}.
+ * <br>
+ * The stream is carried by a {@link CombinedStreamConnection}, so failed connections are reconnected, and a failure
+ * also checks the key right away instead of at the next keepalive.
+ * <pre>{@code
+ * UserDataStreamManager stream = UserDataStreamManager.builder(client.userData(), listener).build().start();
+ * }</pre>
+ */
+public final class UserDataStreamManager implements AutoCloseable {
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30 * 60_000L;
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDataStreamManager.class);
+    private static final int LISTEN_KEY_DOES_NOT_EXIST = -1125;
+    private static final String ORDER_TRADE_UPDATE = "ORDER_TRADE_UPDATE";
+    private static final String ACCOUNT_UPDATE = "ACCOUNT_UPDATE";
+    private static final String LISTEN_KEY_EXPIRED = "listenKeyExpired";
+
+    private final UserData userData;
+    private final UserDataListener listener;
+    private final String streamUrl;
+    private final OkHttpClient httpClient;
+    private final long keepAliveMillis;
+    private final ScheduledExecutorService scheduler;
+
+    // guarded by this
+    private String listenKey;
+    private CombinedStreamConnection connection;
+    private boolean started;
+    private boolean closed;
+
+    private UserDataStreamManager(Builder builder) {
+        this.userData = builder.userData;
+        this.listener = builder.listener;
+        this.streamUrl = builder.baseUrl + "/stream";
+        this.httpClient = HttpClientRegistry.getHttpClient(builder.proxy, builder.httpClientConfig).newBuilder()
+                .pingInterval(builder.pingIntervalMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.keepAliveMillis = builder.keepAliveMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-data-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param userData user data endpoints of the account, creating and extending the listenKey
+     * @param listener listener of the events
+     */
+    public static Builder builder(UserData userData, UserDataListener listener) {
+        return new Builder(userData, listener);
+    }
+
+    /**
+     * Create the listenKey and open the stream, the listenKey is then extended every keepalive interval.
+     * When the listenKey cannot be created the exception of the request is thrown and start can be called again.
+     * @return this manager
+     */
+    public synchronized UserDataStreamManager start() {
+        if (closed) {
+            throw new IllegalStateException("[UserDataStreamManager] Manager is closed");
+        }
+        if (!started) {
+            // set once the stream is open, a failed start can be called again
+            open(createListenKey());
+            scheduler.scheduleWithFixedDelay(this::keepAlive, keepAliveMillis, keepAliveMillis, TimeUnit.MILLISECONDS);
+            started = true;
+        }
+        return this;
+    }
+
+    public synchronized String getListenKey() {
+        return listenKey;
+    }
+
+    public synchronized boolean isOpen() {
+        return null != connection && connection.isOpen();
+    }
+
+    /**
+     * Stop the keepalive, close the stream and the listenKey.
+     */
+    @Override
+    public void close() {
+        String key;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            key = listenKey;
+            if (null != connection) {
+                connection.close();
+                connection = null;
+            }
+        }
+        scheduler.shutdownNow();
+        if (null != key) {
+            try {
+                userData.closeListenKey();
+            } catch (RuntimeException e) {
+                logger.warn("[UserDataStreamManager] Failed to close the listenKey: {}", e.getMessage());
+            }
+        }
+    }
+
+    // extend the key, a key unknown to the server is replaced, any other failure is retried at the next keepalive
+    private void keepAlive() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+        }
+        try {
+            userData.extendListenKey();
+        } catch (BinanceClientException e) {
+            if (e.getErrorCode() == LISTEN_KEY_DOES_NOT_EXIST) {
+                renew();
+            } else {
+                logger.warn("[UserDataStreamManager] Failed to extend the listenKey: {}", e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("[UserDataStreamManager] Failed to extend the listenKey: {}", e.getMessage());
+        }
+    }
+
+    private void renew() {
+        String key;
+        try {
+            key = createListenKey();
+        } catch (RuntimeException e) {
+            logger.warn("[UserDataStreamManager] Failed to create a listenKey, retrying: {}", e.getMessage());
+            scheduler.schedule(this::renew, Math.min(keepAliveMillis, 5_000L), TimeUnit.MILLISECONDS);
+            return;
+        }
+        synchronized (this) {
+            // the server returns the same key while it is still valid
+            if (!closed && !key.equals(listenKey)) {
+                logger.info("[UserDataStreamManager] listenKey replaced, reopening the stream");
+                open(key);
+            }
+        }
+    }
+
+    private synchronized void open(String key) {
+        CombinedStreamConnection previous = connection;
+        listenKey = key;
+        connection = new CombinedStreamConnection(streamUrl, httpClient, new ConnectionListener() {
+            @Override
+            public void onOpen() {
+                listener.onOpen();
+            }
+
+            @Override
+            public void onClosed(int code, String reason) {
+                listener.onClosed(code, reason);
+                checkListenKey();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                listener.onFailure(t);
+                checkListenKey();
+            }
+        });
+        connection.subscribe(key, this::onData);
+        if (null != previous) {
+            previous.close();
+        }
+    }
+
+    private void checkListenKey() {
+        if (!scheduler.isShutdown()) {
+            scheduler.execute(this::keepAlive);
+        }
+    }
+
+    private void onData(String data) {
+        String eventType = null;
+        try (JsonParser parser = JsonDecoding.createParser(data)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("e".equals(field)) {
+                        eventType = parser.getText();
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            }
+            if (ORDER_TRADE_UPDATE.equals(eventType)) {
+                listener.onOrderTradeUpdate(decode(data, OrderTradeUpdate::decode));
+            } else if (ACCOUNT_UPDATE.equals(eventType)) {
+                listener.onAccountUpdate(decode(data, AccountUpdate::decode));
+            } else if (LISTEN_KEY_EXPIRED.equals(eventType)) {
+                logger.info("[UserDataStreamManager] listenKey expired");
+                scheduler.execute(this::renew);
+            } else if (null != eventType) {
+                listener.onEvent(eventType, data);
+            }
+        } catch (IOException e) {
+            logger.warn("[UserDataStreamManager] Failed to decode {}: {}", eventType, data, e);
+        }
+    }
+
+    private static <T> T decode(String data, ResponseDecoder<T> decoder) throws IOException {
+        try (JsonParser parser = JsonDecoding.createParser(data)) {
+            parser.nextToken();
+            return decoder.decode(parser);
+        }
+    }
+
+    private String createListenKey() {
+        JSONObject response = new JSONObject(userData.createListenKey());
+        // wrapped with the used weight when the facade shows the limit usage
+        if (response.has("data")) {
+            response = new JSONObject(response.getString("data"));
+        }
+        return response.getString("listenKey");
+    }
+
+    public static final class Builder {
+        private final UserData userData;
+        private final UserDataListener listener;
+        private String baseUrl = DefaultUrls.USDM_WS_URL;
+        private ProxyAuth proxy;
+        private HttpClientConfig httpClientConfig = HttpClientConfig.DEFAULT;
+        private long pingIntervalMillis = 30_000L;
+        private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+
+        private Builder(UserData userData, UserDataListener listener) {
+            if (null == userData || null == listener) {
+                throw new IllegalArgumentException("userData and listener are required");
+            }
+            this.userData = userData;
+            this.listener = listener;
+        }
+
+        /**
+         * @param baseUrl base url of the streams, e.g. wss://fstream.binance.com or wss://stream.binancefuture.com
+         */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder proxy(ProxyAuth proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        public Builder httpClientConfig(HttpClientConfig httpClientConfig) {
+            this.httpClientConfig = null == httpClientConfig ? HttpClientConfig.DEFAULT : httpClientConfig;
+            return this;
+        }
+
+        public Builder pingIntervalMillis(long pingIntervalMillis) {
+            if (pingIntervalMillis <= 0) {
+                throw new IllegalArgumentException("pingIntervalMillis <= 0: " + pingIntervalMillis);
+            }
+            this.pingIntervalMillis = pingIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param keepAliveMillis interval of the listenKey extensions, the key expires 60 minutes after the last one
+         */
+        public Builder keepAliveMillis(long keepAliveMillis) {
+            if (keepAliveMillis <= 0 || keepAliveMillis >= 60 * 60_000L) {
+                throw new IllegalArgumentException("keepAliveMillis not in (0, 60 minutes): " + keepAliveMillis);
+            }
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        public UserDataStreamManager build() {
+            return new UserDataStreamManager(this);
+        }
+    }
+}
@@ -0,0 +1,713 @@
+package com.owl.owlproject.utils.websocket;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.owl.owlproject.enums.DefaultUrls;
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceServerException;
+import com.owl.owlproject.utils.HttpClientConfig;
+import com.owl.owlproject.utils.HttpClientRegistry;
+import com.owl.owlproject.utils.JsonDecoding;
+import com.owl.owlproject.utils.ProxyAuth;
+import com.owl.owlproject.utils.QueryEncoder;
+import com.owl.owlproject.utils.QueryParameters;
+import com.owl.owlproject.utils.RequestBuilder;
+import com.owl.owlproject.utils.ResponseDecoder;
+import com.owl.owlproject.utils.ratelimit.OrderRateGovernor;
+import com.owl.owlproject.utils.signer.HmacSigner;
+import com.owl.owlproject.utils.signer.Signer;
+import com.owl.owlproject.utils.time.TimeSource;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authenticated session on the futures WebSocket API, sending trading requests such as {@link #ORDER_PLACE}
+ * as signed JSON frames over one persistent connection instead of one HTTP request each.
+ * <br>
+ * Every request is signed the same way as a SIGNED REST request, its parameters with apiKey and timestamp
+ * sorted by name, and carries an id the response is matched with. The response completes the future of the
+ * request, errors are reported with the exceptions of the REST endpoints. A request that is not answered
+ * within the response timeout, or whose connection is lost, fails with a {@link BinanceConnectorException},
+ * the order may still have reached the server. A lost connection is reconnected with exponential backoff and
+ * full jitter.
+ * <br>
+ * Passed to an {@link com.owl.owlproject.impl.futures.Account}, or to the client, the session carries the new, modify
+ * and cancel order requests of the facade, the other requests stay on REST. A session built from the
+ * {@code orderSessionBuilder()} of the client signs with its signer and clock and is paced by its order governor.
+ * <pre>{@code
+ * WebSocketApiSession session = client.orderSessionBuilder().url(url).build().connect();
+ * }</pre>
+ */
+public final class WebSocketApiSession extends WebSocketListener implements AutoCloseable {
+    public static final String ORDER_PLACE = "order.place";
+    public static final String ORDER_MODIFY = "order.modify";
+    public static final String ORDER_CANCEL = "order.cancel";
+    public static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = 10_000L;
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketApiSession.class);
+    private static final long MIN_BACKOFF_MILLIS = 250L;
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+    private static final int NORMAL_CLOSURE = 1000;
+    private static final int HTTP_STATUS_CODE_400 = 400;
+    private static final int HTTP_STATUS_CODE_500 = 500;
+    private static final String API_KEY = "apiKey";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String SIGNATURE = "signature";
+    private static final int HMAC_HEX_LENGTH = 64;
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "websocket-api-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // a timeout is cancelled by almost every response
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final String apiKey;
+    private final Signer signer;
+    private final String url;
+    private final OkHttpClient httpClient;
+    private final TimeSource timeSource;
+    private final OrderRateGovernor orderGovernor;
+    private final long responseTimeoutMillis;
+    private final ConnectionListener listener;
+    private final AtomicLong requestId = new AtomicLong();
+    private final Map<Long, PendingRequest<?>> pending = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private WebSocket webSocket;
+    private boolean open;
+    private boolean closed;
+    private int attempts;
+
+    private WebSocketApiSession(Builder builder) {
+        this.apiKey = builder.apiKey;
+        this.signer = builder.signer;
+        this.url = builder.url;
+        this.httpClient = HttpClientRegistry.getHttpClient(builder.proxy, builder.httpClientConfig).newBuilder()
+                .pingInterval(builder.pingIntervalMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.timeSource = builder.timeSource;
+        this.orderGovernor = builder.orderGovernor;
+        this.responseTimeoutMillis = builder.responseTimeoutMillis;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * @param apiKey API key of the account
+     * @param signer signer bound to the key, e.g. an Ed25519Signer for an Ed25519 API key
+     */
+    public static Builder builder(String apiKey, Signer signer) {
+        return new Builder(apiKey, signer);
+    }
+
+    public static Builder builder(String apiKey, String secretKey) {
+        return new Builder(apiKey, null == secretKey || secretKey.isEmpty() ? null : new HmacSigner(secretKey));
+    }
+
+    /**
+     * Open the connection ahead of the first request, so it does not pay for the handshake.
+     * @return this session
+     */
+    public synchronized WebSocketApiSession connect() {
+        checkNotClosed();
+        if (null == webSocket) {
+            webSocket = httpClient.newWebSocket(RequestBuilder.buildWebsocketRequest(url), this);
+        }
+        return this;
+    }
+
+    public String request(String method, QueryParameters parameters, boolean showLimitUsage) {
+        return await(requestAsync(method, parameters, showLimitUsage));
+    }
+
+    /**
+     * Send a signed request.
+     * @param method method of the WebSocket API, e.g. {@link #ORDER_PLACE}
+     * @param parameters parameters of the request, without timestamp and signature
+     * @param showLimitUsage wrap the result with the used weight of the response, as a REST response is wrapped
+     * @return CompletableFuture completed with the result of the response
+     */
+    public CompletableFuture<String> requestAsync(String method, QueryParameters parameters, boolean showLimitUsage) {
+        return submit(method, parameters, (result, usedWeight1m) -> showLimitUsage ? wrapLimitUsage(result, usedWeight1m) : result);
+    }
+
+    public <T> T request(String method, QueryParameters parameters, ResponseDecoder<T> decoder) {
+        return await(requestAsync(method, parameters, decoder));
+    }
+
+    /**
+     * Version of {@link #requestAsync(String, QueryParameters, boolean)} that decodes the result with the given decoder,
+     * on the thread reading the connection.
+     * @return CompletableFuture completed with the decoded result
+     */
+    public <T> CompletableFuture<T> requestAsync(String method, QueryParameters parameters, ResponseDecoder<T> decoder) {
+        return submit(method, parameters, (result, usedWeight1m) -> decodeResult(result, decoder));
+    }
+
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * @return requests sent and not answered yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        List<PendingRequest<?>> lost;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            open = false;
+            if (null != webSocket) {
+                webSocket.close(NORMAL_CLOSURE, null);
+                webSocket = null;
+            }
+            lost = drainPending();
+        }
+        fail(lost, "[WebSocketApiSession] Session closed, order state unknown");
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {
+        synchronized (this) {
+            if (webSocket != this.webSocket) {
+                return;
+            }
+            open = true;
+            attempts = 0;
+        }
+        listener.onOpen();
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+        long id = -1;
+        int status = 0;
+        String result = null;
+        String usedWeight1m = null;
+        String orderCount10s = null;
+        String orderCount1m = null;
+        Integer errorCode = null;
+        String errorMsg = null;
+        try (JsonParser parser = JsonDecoding.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "id":
+                        id = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : parseId(parser.getText());
+                        break;
+                    case "status":
+                        status = parser.getIntValue();
+                        break;
+                    case "result":
+                        result = cut(text, parser);
+                        break;
+                    case "error":
+                        if (value == JsonToken.START_OBJECT) {
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String errorField = parser.currentName();
+                                JsonToken errorValue = parser.nextToken();
+                                if ("code".equals(errorField) && errorValue == JsonToken.VALUE_NUMBER_INT) {
+                                    errorCode = parser.getIntValue();
+                                } else if ("msg".equals(errorField) && errorValue == JsonToken.VALUE_STRING) {
+                                    errorMsg = parser.getText();
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                        break;
+                    case "rateLimits":
+                        while (value == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.START_OBJECT) {
+                            String[] limit = readRateLimit(parser);
+                            if (null == limit) {
+                                continue;
+                            }
+                            if ("REQUEST_WEIGHT".equals(limit[0])) {
+                                usedWeight1m = "MINUTE".equals(limit[1]) ? limit[2] : usedWeight1m;
+                            } else if ("ORDERS".equals(limit[0])) {
+                                if ("SECOND".equals(limit[1])) {
+                                    orderCount10s = limit[2];
+                                } else {
+                                    orderCount1m = limit[2];
+                                }
+                            }
+                        }
+                        if (value != JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("[WebSocketApiSession] Malformed message: {}", text, e);
+            return;
+        }
+        PendingRequest<?> request = pending.remove(id);
+        if (null == request) {
+            logger.debug("[WebSocketApiSession] Response to an unknown or timed out request: {}", text);
+            return;
+        }
+        if (null != orderGovernor && request.orders > 0) {
+            orderGovernor.onResponse(status, orderCount10s, orderCount1m, null);
+        }
+        if (status >= HTTP_STATUS_CODE_500) {
+            request.fail(new BinanceServerException(text, status));
+        } else if (status >= HTTP_STATUS_CODE_400) {
+            request.fail(null == errorCode || null == errorMsg ? new BinanceClientException(text, status)
+                    : new BinanceClientException(text, errorMsg, status, errorCode));
+        } else if (null == result) {
+            request.fail(new BinanceServerException("[WebSocketApiSession] Response without result: " + text, status));
+        } else {
+            request.complete(result, usedWeight1m);
+        }
+    }
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+        webSocket.close(NORMAL_CLOSURE, null);
+    }
+
+    @Override
+    public void onClosed(WebSocket webSocket, int code, String reason) {
+        List<PendingRequest<?>> lost = disconnected(webSocket);
+        if (null != lost) {
+            fail(lost, "[WebSocketApiSession] Connection closed by the server, order state unknown: " + code + " " + reason);
+            listener.onClosed(code, reason);
+        }
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+        List<PendingRequest<?>> lost = disconnected(webSocket);
+        if (null != lost) {
+            logger.warn("[WebSocketApiSession] Connection failed, reconnecting: {}", t.toString());
+            fail(lost, "[WebSocketApiSession] Connection failed, order state unknown: " + t);
+            listener.onFailure(t);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(String method, QueryParameters parameters, ResultReader<T> reader) {
+        if (null == signer || null == apiKey || apiKey.isEmpty()) {
+            throw new BinanceConnectorException("[WebSocketApiSession] Secret key/API key cannot be null or empty!");
+        }
+        int orders = ORDER_PLACE.equals(method) || ORDER_MODIFY.equals(method) ? 1 : 0;
+        if (null == orderGovernor || orders == 0) {
+            return send(method, parameters, orders, reader);
+        }
+        CompletableFuture<Void> permit = orderGovernor.acquireAsync(orders);
+        if (permit.isDone() && !permit.isCompletedExceptionally()) {
+            return send(method, parameters, orders, reader);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        permit.whenComplete((ignored, throwable) -> {
+            if (null != throwable) {
+                result.completeExceptionally(throwable instanceof CompletionException && null != throwable.getCause()
+                        ? throwable.getCause() : throwable);
+                return;
+            }
+            if (result.isDone()) {
+                // cancelled while queued
+                orderGovernor.release(orders);
+                return;
+            }
+            send(method, parameters, orders, reader).whenComplete((value, e) -> {
+                if (null != e) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
+    // the frame is built once the permits are taken, so a queued request is not sent with a stale timestamp
+    private <T> CompletableFuture<T> send(String method, QueryParameters parameters, int orders, ResultReader<T> reader) {
+        long id = requestId.incrementAndGet();
+        PendingRequest<T> request = new PendingRequest<>(reader, orders);
+        String frame;
+        try {
+            frame = buildFrame(id, method, parameters);
+        } catch (RuntimeException e) {
+            request.future.completeExceptionally(e);
+            return request.future;
+        }
+        boolean queued;
+        // registered under the lock, so a lost connection fails exactly the requests that were sent on it
+        synchronized (this) {
+            if (closed) {
+                queued = false;
+            } else {
+                connect();
+                pending.put(id, request);
+                queued = webSocket.send(frame);
+            }
+        }
+        if (!queued) {
+            pending.remove(id);
+            request.fail(new BinanceConnectorException("[WebSocketApiSession] " + method + " not sent, the session is closed or closing"));
+            return request.future;
+        }
+        request.future.whenComplete((value, throwable) -> pending.remove(id));
+        request.timeout = SCHEDULER.schedule(() -> request.fail(new BinanceConnectorException(String.format(
+                "[WebSocketApiSession] No response to %s %d within %d ms, order state unknown", method, id, responseTimeoutMillis))),
+                responseTimeoutMillis, TimeUnit.MILLISECONDS);
+        if (request.future.isDone()) {
+            // answered before the timeout was set
+            request.cancelTimeout();
+        }
+        return request.future;
+    }
+
+    // the signed payload is the parameters with apiKey and timestamp sorted by name, as name=value joined by '&'
+    // the pairs are encoded once unescaped, sorted in place by name and copied into the payload and the frame together
+    private String buildFrame(long id, String method, QueryParameters parameters) {
+        QueryEncoder encoder = QueryEncoder.getUnescaped();
+        parameters.writeTo(encoder);
+        int callerPairs = encoder.pairCount();
+        encoder.append(API_KEY, apiKey);
+        encoder.append(TIMESTAMP, timeSource.currentTimeMillis());
+        byte[] buffer = encoder.buffer();
+        int count = encoder.pairCount();
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        int[] keyEnds = new int[count];
+        int[] order = new int[count];
+        int sorted = 0;
+        for (int i = 0; i < count; i++) {
+            starts[i] = encoder.pairOffset(i);
+            ends[i] = i + 1 < count ? encoder.pairOffset(i + 1) - 1 : encoder.length();
+            keyEnds[i] = indexOf(buffer, '=', starts[i], ends[i]);
+            if (i < callerPairs && (isKey(buffer, starts[i], keyEnds[i], TIMESTAMP) || isKey(buffer, starts[i], keyEnds[i], SIGNATURE))) {
+                continue;
+            }
+            // insertion sort, stable so a repeated name keeps its last value below
+            int j = sorted++;
+            while (j > 0 && compareKeys(buffer, starts[order[j - 1]], keyEnds[order[j - 1]], starts[i], keyEnds[i]) > 0) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        byte[] payload = new byte[encoder.length()];
+        int payloadLength = 0;
+        StringBuilder frame = new StringBuilder(encoder.length() * 2 + 160)
+                .append("{\"id\":").append(id)
+                .append(",\"method\":").append(JSONObject.quote(method))
+                .append(",\"params\":{");
+        for (int k = 0; k < sorted; k++) {
+            int pair = order[k];
+            if (k + 1 < sorted && compareKeys(buffer, starts[pair], keyEnds[pair], starts[order[k + 1]], keyEnds[order[k + 1]]) == 0) {
+                continue;
+            }
+            if (payloadLength > 0) {
+                payload[payloadLength++] = '&';
+                frame.append(',');
+            }
+            System.arraycopy(buffer, starts[pair], payload, payloadLength, ends[pair] - starts[pair]);
+            payloadLength += ends[pair] - starts[pair];
+            String key = new String(buffer, starts[pair], keyEnds[pair] - starts[pair], StandardCharsets.UTF_8);
+            String value = new String(buffer, keyEnds[pair] + 1, ends[pair] - keyEnds[pair] - 1, StandardCharsets.UTF_8);
+            frame.append(JSONObject.quote(key)).append(':');
+            if (TIMESTAMP.equals(key)) {
+                frame.append(value);
+            } else {
+                frame.append(JSONObject.quote(value));
+            }
+        }
+        frame.append(",\"").append(SIGNATURE).append("\":\"");
+        if (signer instanceof HmacSigner) {
+            byte[] hex = new byte[HMAC_HEX_LENGTH];
+            ((HmacSigner) signer).signHex(payload, 0, payloadLength, hex, 0);
+            for (byte b : hex) {
+                frame.append((char) b);
+            }
+        } else {
+            frame.append(signer.sign(payload, 0, payloadLength));
+        }
+        return frame.append("\"}}").toString();
+    }
+
+    private static int indexOf(byte[] buffer, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static boolean isKey(byte[] buffer, int from, int to, String key) {
+        if (to - from != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (buffer[from + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // names compare as String.compareTo does for the ascii names of the api
+    private static int compareKeys(byte[] buffer, int from1, int to1, int from2, int to2) {
+        return Arrays.compareUnsigned(buffer, from1, to1, buffer, from2, to2);
+    }
+
+    // a socket replaced by a reconnect or closed by the client is ignored
+    // returns the requests sent on it, or null when it was already replaced
+    private synchronized List<PendingRequest<?>> disconnected(WebSocket webSocket) {
+        if (webSocket != this.webSocket) {
+            return null;
+        }
+        this.webSocket = null;
+        open = false;
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(attempts++, 16));
+        SCHEDULER.schedule(this::reconnect, ThreadLocalRandom.current().nextLong(backoff + 1), TimeUnit.MILLISECONDS);
+        return drainPending();
+    }
+
+    private synchronized void reconnect() {
+        if (!closed && null == webSocket) {
+            connect();
+        }
+    }
+
+    private List<PendingRequest<?>> drainPending() {
+        List<PendingRequest<?>> lost = new ArrayList<>(pending.values());
+        pending.clear();
+        return lost;
+    }
+
+    private static void fail(List<PendingRequest<?>> requests, String message) {
+        for (PendingRequest<?> request : requests) {
+            request.fail(new BinanceConnectorException(message));
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("[WebSocketApiSession] Session is closed");
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String cut(String text, JsonParser parser) throws IOException {
+        int start = (int) parser.currentTokenLocation().getCharOffset();
+        parser.skipChildren();
+        return text.substring(start, (int) parser.currentLocation().getCharOffset());
+    }
+
+    // {"rateLimitType":"ORDERS","interval":"SECOND","intervalNum":10,"limit":300,"count":1} -> {"ORDERS", "SECOND", "1"}
+    private static String[] readRateLimit(JsonParser parser) throws IOException {
+        String type = null;
+        String interval = null;
+        String count = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("rateLimitType".equals(field)) {
+                type = parser.getText();
+            } else if ("interval".equals(field)) {
+                interval = parser.getText();
+            } else if ("count".equals(field)) {
+                count = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null != type && null != interval && null != count ? new String[] {type, interval, count} : null;
+    }
+
+    // same shape as a REST response with showLimitUsage, the used weight of the minute stands for both headers
+    private static String wrapLimitUsage(String result, String usedWeight1m) {
+        JSONObject json = new JSONObject();
+        json.put("x-mbx-used-weight", usedWeight1m);
+        json.put("x-mbx-used-weight-1m", usedWeight1m);
+        json.put("data", result);
+        return json.toString();
+    }
+
+    private static <T> T decodeResult(String result, ResponseDecoder<T> decoder) throws IOException {
+        try (JsonParser parser = JsonDecoding.createParser(result)) {
+            parser.nextToken();
+            return decoder.decode(parser);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        T read(String result, String usedWeight1m) throws IOException;
+    }
+
+    private static final class PendingRequest<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final ResultReader<T> reader;
+        private final int orders;
+        private volatile ScheduledFuture<?> timeout;
+
+        private PendingRequest(ResultReader<T> reader, int orders) {
+            this.reader = reader;
+            this.orders = orders;
+        }
+
+        private void complete(String result, String usedWeight1m) {
+            try {
+                future.complete(reader.read(result, usedWeight1m));
+            } catch (IOException e) {
+                future.completeExceptionally(new BinanceConnectorException("[WebSocketApiSession] Failed to decode response: " + e.getMessage(), e));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            cancelTimeout();
+        }
+
+        private void fail(RuntimeException e) {
+            future.completeExceptionally(e);
+            cancelTimeout();
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> scheduled = timeout;
+            if (null != scheduled) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final String apiKey;
+        private final Signer signer;
+        private String url = DefaultUrls.USDM_WS_API_URL;
+        private ProxyAuth proxy;
+        private HttpClientConfig httpClientConfig = HttpClientConfig.DEFAULT;
+        private long pingIntervalMillis = 30_000L;
+        private TimeSource timeSource = TimeSource.SYSTEM;
+        private OrderRateGovernor orderGovernor;
+        private long responseTimeoutMillis = DEFAULT_RESPONSE_TIMEOUT_MILLIS;
+        private ConnectionListener listener = ConnectionListener.NONE;
+
+        private Builder(String apiKey, Signer signer) {
+            this.apiKey = apiKey;
+            this.signer = signer;
+        }
+
+        /**
+         * @param url url of the WebSocket API, e.g. wss://ws-fapi.binance.com/ws-fapi/v1 or
+         *            {@link DefaultUrls#TESTNET_WS_API_URL}
+         */
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder proxy(ProxyAuth proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        public Builder httpClientConfig(HttpClientConfig httpClientConfig) {
+            this.httpClientConfig = null == httpClientConfig ? HttpClientConfig.DEFAULT : httpClientConfig;
+            return this;
+        }
+
+        public Builder pingIntervalMillis(long pingIntervalMillis) {
+            if (pingIntervalMillis <= 0) {
+                throw new IllegalArgumentException("pingIntervalMillis <= 0: " + pingIntervalMillis);
+            }
+            this.pingIntervalMillis = pingIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param timeSource clock stamping the requests, null for the local clock
+         */
+        public Builder timeSource(TimeSource timeSource) {
+            this.timeSource = null == timeSource ? TimeSource.SYSTEM : timeSource;
+            return this;
+        }
+
+        /**
+         * @param orderGovernor governor of the order rate, pass the one of the REST client of the same account
+         *                      so orders sent over both are paced together, null to send orders unpaced
+         */
+        public Builder orderGovernor(OrderRateGovernor orderGovernor) {
+            this.orderGovernor = orderGovernor;
+            return this;
+        }
+
+        /**
+         * @param responseTimeoutMillis time after which a request without response fails
+         */
+        public Builder responseTimeoutMillis(long responseTimeoutMillis) {
+            if (responseTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("responseTimeoutMillis <= 0: " + responseTimeoutMillis);
+            }
+            this.responseTimeoutMillis = responseTimeoutMillis;
+            return this;
+        }
+
+        public Builder listener(ConnectionListener listener) {
+            this.listener = null == listener ? ConnectionListener.NONE : listener;
+            return this;
+        }
+
+        public WebSocketApiSession build() {
+            return new WebSocketApiSession(this);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.owl.owlproject.utils.websocket;
+
+/**
+ * Receiver of the messages of one stream, called on the reader thread of the connection.
+ * Long running work should be handed off to another thread, it delays every stream of the connection.
+ */
+@FunctionalInterface
+public interface WebSocketCallback {
+    /**
+     * @param data the "data" object of the combined stream message, as received
+     */
+    void onReceive(String data);
+}
@@ -0,0 +1,153 @@
+package com.owl.owlproject.impl;
+
+import com.owl.owlproject.enums.Side;
+import com.owl.owlproject.enums.TimeInForce;
+import com.owl.owlproject.impl.um_futures.UMAccount;
+import com.owl.owlproject.impl.um_futures.UMMarket;
+import com.owl.owlproject.loadtest.MockExchange;
+import com.owl.owlproject.model.request.CancelOrderRequest;
+import com.owl.owlproject.model.request.NewOrderRequest;
+import com.owl.owlproject.model.request.QueryOrderRequest;
+import com.owl.owlproject.model.response.MarkPrice;
+import com.owl.owlproject.model.response.Order;
+import com.owl.owlproject.model.response.ResponseDecoders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// builder 로 만든 UMFuturesClientImpl 하나를 여러 스레드가 공유할 때의 동시성 검증 (로컬 MockExchange 사용)
+@Tag("stress")
+public final class ClientStressTest {
+    private static final String[] SYMBOLS = {"BTCUSDT", "ETHUSDT", "BNBUSDT", "SOLUSDT", "XRPUSDT"};
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 50;
+
+    private MockExchange exchange;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        exchange = MockExchange.builder().latencyMillis(0, 2).symbols(SYMBOLS).build().start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        exchange.close();
+    }
+
+    @Test
+    public void testFacadesCached() {
+        UMFuturesClientImpl client = UMFuturesClientImpl.builder()
+                .apiKey(MockExchange.API_KEY)
+                .secretKey(MockExchange.SECRET_KEY)
+                .baseUrl(exchange.getBaseUrl())
+                .build();
+        assertSame(client.market(), client.market());
+        assertSame(client.account(), client.account());
+        assertSame(client.userData(), client.userData());
+        assertSame(client.market().getRequestHandler(), client.account().getRequestHandler());
+    }
+
+    // all threads start together, so the first calls of market() and account() race; each thread then places,
+    // queries and cancels its own orders and reads the mark price of its own symbol
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    public void testSharedBetweenThreads() throws InterruptedException {
+        UMFuturesClientImpl client = UMFuturesClientImpl.builder()
+                .apiKey(MockExchange.API_KEY)
+                .secretKey(MockExchange.SECRET_KEY)
+                .baseUrl(exchange.getBaseUrl())
+                .build();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        Set<UMMarket> markets = ConcurrentHashMap.newKeySet();
+        Set<UMAccount> accounts = ConcurrentHashMap.newKeySet();
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+        List<String> failures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    String symbol = SYMBOLS[thread % SYMBOLS.length];
+                    LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+                    parameters.put("symbol", symbol);
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        UMMarket market = client.market();
+                        UMAccount account = client.account();
+                        markets.add(market);
+                        accounts.add(account);
+
+                        MarkPrice markPrice = market.markPrice(parameters, ResponseDecoders.MARK_PRICE);
+                        check(symbol.equals(markPrice.getSymbol()), "mark price of " + markPrice.getSymbol() + " for " + symbol, failures);
+
+                        String clientOrderId = "stress-" + thread + "-" + i;
+                        Order placed = account.newOrder(NewOrderRequest.limit(symbol, Side.BUY, TimeInForce.GTC)
+                                .quantity(1, 3)
+                                .price(10_000L + i, 1)
+                                .newClientOrderId(clientOrderId)
+                                .build(), ResponseDecoders.ORDER);
+                        check(clientOrderId.equals(placed.getClientOrderId()), "placed " + placed.getClientOrderId() + " for " + clientOrderId, failures);
+                        check(orderIds.add(placed.getOrderId()), "order id " + placed.getOrderId() + " returned twice", failures);
+
+                        Order queried = account.queryOrder(QueryOrderRequest.byOrderId(symbol, placed.getOrderId()), ResponseDecoders.ORDER);
+                        check(queried.getOrderId() == placed.getOrderId(), "queried " + queried.getOrderId() + " for " + placed.getOrderId(), failures);
+
+                        Order canceled = account.cancelOrder(CancelOrderRequest.byOrderId(symbol, placed.getOrderId()), ResponseDecoders.ORDER);
+                        check(canceled.getOrderId() == placed.getOrderId(), "canceled " + canceled.getOrderId() + " for " + placed.getOrderId(), failures);
+                    }
+                } catch (Throwable e) {
+                    check(false, "thread failed: " + e, failures);
+                } finally {
+                    done.countDown();
+                }
+            }, "stress-" + t).start();
+        }
+        done.await();
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failures, first: " + failures.get(0));
+        assertEquals(1, markets.size());
+        assertEquals(1, accounts.size());
+        assertEquals(THREADS * ITERATIONS, orderIds.size());
+        assertEquals(0, exchange.getOpenOrders());
+    }
+
+    // a deprecated setter hands out new facades, those obtained before keep the old configuration
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testReconfigured() {
+        UMFuturesClientImpl client = new UMFuturesClientImpl(MockExchange.API_KEY, MockExchange.SECRET_KEY, exchange.getBaseUrl());
+        UMMarket before = client.market();
+        assertSame(before, client.market());
+        client.setShowLimitUsage(true);
+        UMMarket after = client.market();
+        assertNotSame(before, after);
+        assertTrue(after.getShowLimitUsage());
+        assertFalse(before.getShowLimitUsage());
+    }
+
+    private static void check(boolean condition, String failure, List<String> failures) {
+        if (!condition) {
+            synchronized (failures) {
+                failures.add(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.owl.owlproject.model.request;
+
+import com.owl.owlproject.enums.NewOrderRespType;
+import com.owl.owlproject.enums.OrderType;
+import com.owl.owlproject.enums.PositionSide;
+import com.owl.owlproject.enums.Side;
+import com.owl.owlproject.enums.TimeInForce;
+import com.owl.owlproject.enums.WorkingType;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.utils.QueryEncoder;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// NewOrderRequest 의 주문 유형별 필수 파라미터 검사와 쿼리, JSON 인코딩 검증
+public final class NewOrderRequestTest {
+
+    private static String query(NewOrderRequest order) {
+        QueryEncoder encoder = QueryEncoder.get();
+        order.writeTo(encoder);
+        return encoder.toQueryString();
+    }
+
+    // the same names and values, every value as a string
+    private static void assertJson(String expected, NewOrderRequest order) {
+        JSONObject json = order.toJSONObject();
+        assertTrue(new JSONObject(expected).similar(json), json.toString());
+    }
+
+    private static void assertRejected(String message, Executable build) {
+        BinanceConnectorException e = assertThrows(BinanceConnectorException.class, build);
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    @Test
+    public void testRejectedCombinations() {
+        assertRejected("\"symbol\" is a mandatory parameter",
+                () -> NewOrderRequest.market(" ", Side.BUY).quantity("1").build());
+        assertRejected("\"side\" is a mandatory parameter",
+                () -> NewOrderRequest.market("BTCUSDT", null).quantity("1").build());
+        assertRejected("\"type\" is a mandatory parameter",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.BUY, null).build());
+        assertRejected("\"timeInForce\" is a mandatory parameter for LIMIT orders",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.BUY, OrderType.LIMIT).quantity("1").price("100").build());
+        assertRejected("\"price\" is a mandatory parameter for LIMIT orders",
+                () -> NewOrderRequest.limit("BTCUSDT", Side.BUY, TimeInForce.GTC).quantity("1").build());
+        assertRejected("\"quantity\" is a mandatory parameter for LIMIT orders",
+                () -> NewOrderRequest.limit("BTCUSDT", Side.BUY, TimeInForce.GTC).price("100").build());
+        assertRejected("\"quantity\" is a mandatory parameter for MARKET orders",
+                () -> NewOrderRequest.market("BTCUSDT", Side.BUY).build());
+        assertRejected("\"stopPrice\" is a mandatory parameter for STOP orders",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.BUY, OrderType.STOP).quantity("1").price("100").build());
+        assertRejected("\"price\" is a mandatory parameter for TAKE_PROFIT orders",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.BUY, OrderType.TAKE_PROFIT).quantity("1").stopPrice("100").build());
+        assertRejected("\"stopPrice\" is a mandatory parameter for STOP_MARKET orders",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.SELL, OrderType.STOP_MARKET).quantity("1").build());
+        assertRejected("\"quantity\" is a mandatory parameter for TAKE_PROFIT_MARKET orders",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.SELL, OrderType.TAKE_PROFIT_MARKET).stopPrice("100").build());
+        assertRejected("\"callbackRate\" is a mandatory parameter for TRAILING_STOP_MARKET orders",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.SELL, OrderType.TRAILING_STOP_MARKET).quantity("1").build());
+        assertRejected("\"goodTillDate\" is a mandatory parameter for LIMIT orders",
+                () -> NewOrderRequest.limit("BTCUSDT", Side.BUY, TimeInForce.GTD).quantity("1").price("100").build());
+        assertRejected("\"closePosition\" cannot be sent with \"quantity\" or \"reduceOnly\"",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.SELL, OrderType.STOP_MARKET).stopPrice("100")
+                        .closePosition(true).quantity("1").build());
+        assertRejected("\"closePosition\" cannot be sent with \"quantity\" or \"reduceOnly\"",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.SELL, OrderType.STOP_MARKET).stopPrice("100")
+                        .closePosition(true).reduceOnly(true).build());
+    }
+
+    @Test
+    public void testRejectedValues() {
+        assertRejected("\"quantity\" must be positive",
+                () -> NewOrderRequest.market("BTCUSDT", Side.BUY).quantity("0").build());
+        assertRejected("\"price\" must be positive",
+                () -> NewOrderRequest.limit("BTCUSDT", Side.BUY, TimeInForce.GTC).quantity("1").price(-1.5).build());
+        assertRejected("\"quantity\" must be a decimal number",
+                () -> NewOrderRequest.market("BTCUSDT", Side.BUY).quantity("1,5"));
+        assertRejected("\"price\" must be a finite number",
+                () -> NewOrderRequest.limit("BTCUSDT", Side.BUY, TimeInForce.GTC).price(Double.NaN));
+        assertRejected("\"stopPrice\" must not be null",
+                () -> NewOrderRequest.builder("BTCUSDT", Side.BUY, OrderType.STOP).stopPrice((BigDecimal) null));
+    }
+
+    @Test
+    public void testLimitOrder() {
+        NewOrderRequest order = NewOrderRequest.limit("BTCUSDT", Side.BUY, TimeInForce.GTC)
+                .quantity("0.010")
+                .price(27123.45)
+                .positionSide(PositionSide.LONG)
+                .newClientOrderId("my order")
+                .newOrderRespType(NewOrderRespType.RESULT)
+                .recvWindow(5000)
+                .build();
+        assertEquals("symbol=BTCUSDT&side=BUY&positionSide=LONG&type=LIMIT&timeInForce=GTC&quantity=0.010"
+                + "&price=27123.45&newClientOrderId=my+order&newOrderRespType=RESULT&recvWindow=5000", query(order));
+        // recvWindow is a parameter of the batch request, not of its orders
+        assertJson("{\"symbol\":\"BTCUSDT\",\"side\":\"BUY\",\"positionSide\":\"LONG\",\"type\":\"LIMIT\","
+                + "\"timeInForce\":\"GTC\",\"quantity\":\"0.010\",\"price\":\"27123.45\",\"newClientOrderId\":\"my order\","
+                + "\"newOrderRespType\":\"RESULT\"}", order);
+        // an instance is sent any number of times
+        assertEquals(query(order), query(order));
+    }
+
+    @Test
+    public void testConditionalOrders() {
+        NewOrderRequest stop = NewOrderRequest.builder("ETHUSDT", Side.SELL, OrderType.STOP_MARKET)
+                .stopPrice(new BigDecimal("1.8E+3"))
+                .closePosition(true)
+                .workingType(WorkingType.MARK_PRICE)
+                .priceProtect(true)
+                .build();
+        assertEquals("symbol=ETHUSDT&side=SELL&type=STOP_MARKET&stopPrice=1800&closePosition=true"
+                + "&workingType=MARK_PRICE&priceProtect=TRUE", query(stop));
+        JSONObject json = stop.toJSONObject();
+        assertEquals("1800", json.get("stopPrice"));
+        assertEquals("true", json.get("closePosition"));
+        assertEquals("TRUE", json.get("priceProtect"));
+
+        NewOrderRequest trailing = NewOrderRequest.builder("ETHUSDT", Side.SELL, OrderType.TRAILING_STOP_MARKET)
+                .quantity(15, 3)
+                .activationPrice("2000.5")
+                .callbackRate(0.5)
+                .reduceOnly(true)
+                .build();
+        assertEquals("symbol=ETHUSDT&side=SELL&type=TRAILING_STOP_MARKET&quantity=0.015&reduceOnly=true"
+                + "&activationPrice=2000.5&callbackRate=0.5", query(trailing));
+        assertJson("{\"symbol\":\"ETHUSDT\",\"side\":\"SELL\",\"type\":\"TRAILING_STOP_MARKET\",\"quantity\":\"0.015\","
+                + "\"reduceOnly\":\"true\",\"activationPrice\":\"2000.5\",\"callbackRate\":\"0.5\"}", trailing);
+
+        NewOrderRequest gtd = NewOrderRequest.limit("BTCUSDT", Side.SELL, TimeInForce.GTD)
+                .quantity(1.0)
+                .price(new BigDecimal("30000"))
+                .goodTillDate(1700000600000L)
+                .build();
+        assertEquals("symbol=BTCUSDT&side=SELL&type=LIMIT&timeInForce=GTD&quantity=1.0&price=30000"
+                + "&goodTillDate=1700000600000", query(gtd));
+        assertEquals("1700000600000", gtd.toJSONObject().get("goodTillDate"));
+    }
+}
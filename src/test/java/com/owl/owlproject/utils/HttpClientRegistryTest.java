@@ -0,0 +1,104 @@
+package com.owl.owlproject.utils;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.utils.metrics.ConnectorMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Authenticator;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// HttpClientRegistry 의 클라이언트, 커넥션 풀 공유 검증
+public final class HttpClientRegistryTest {
+    private MockWebServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        baseUrl = server.url("/fapi").toString();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private int sendOnConnection(RequestHandler handler) throws InterruptedException {
+        server.enqueue(new MockResponse().setBody("{}"));
+        handler.sendPublicRequest(baseUrl, "/v1/time", new LinkedHashMap<>(), HttpMethod.GET, false);
+        return server.takeRequest().getSequenceNumber();
+    }
+
+    @Test
+    public void testMeteredClientSharesConnectionPool() throws InterruptedException {
+        ConnectorMetrics metrics = new ConnectorMetrics(new SimpleMeterRegistry());
+        HttpClientConfig config = HttpClientConfig.builder().readTimeoutMillis(9_000).build();
+        RequestHandler plain = RequestHandler.builder().httpClientConfig(config).build();
+        RequestHandler metered = RequestHandler.builder().httpClientConfig(config).metrics(metrics).build();
+
+        assertEquals(0, sendOnConnection(plain));
+        // the second request reuses the connection of the first
+        assertEquals(1, sendOnConnection(metered));
+        assertEquals(2, sendOnConnection(plain));
+        assertNotNull(metrics.getRegistry().find(ConnectorMetrics.PHASES).meter());
+    }
+
+    @Test
+    public void testSharedByEqualKeys() {
+        Proxy proxy = new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved("localhost", 3128));
+        Authenticator authenticator = (route, response) -> null;
+        OkHttpClient client = HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, authenticator));
+        assertSame(client, HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, authenticator), HttpClientConfig.DEFAULT));
+        assertSame(HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, null)), HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, null)));
+        assertNotSame(client, HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, (route, response) -> null)));
+        assertSame(client.connectionPool(), HttpClientRegistry.getHttpClient().connectionPool());
+        assertSame(client.dispatcher(), HttpClientRegistry.getHttpClient().dispatcher());
+    }
+
+    @Test
+    public void testUnusedClientsReleased() throws InterruptedException {
+        Proxy proxy = new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved("localhost", 3128));
+        OkHttpClient kept = HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, (route, response) -> null));
+        int before = HttpClientRegistry.getClientCount();
+        // a new authenticator per handler, each gets its own client
+        List<OkHttpClient> clients = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Authenticator authenticator = new Authenticator() {
+                @Override
+                public Request authenticate(Route route, Response response) {
+                    return null;
+                }
+            };
+            clients.add(HttpClientRegistry.getHttpClient(new ProxyAuth(proxy, authenticator)));
+        }
+        assertTrue(HttpClientRegistry.getClientCount() >= before + 100);
+        clients.clear();
+        for (int i = 0; i < 50 && HttpClientRegistry.getClientCount() > before; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertTrue(HttpClientRegistry.getClientCount() <= before, HttpClientRegistry.getClientCount() + " > " + before);
+        assertNotNull(kept.connectionPool());
+    }
+}
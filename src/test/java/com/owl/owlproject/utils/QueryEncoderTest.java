@@ -0,0 +1,97 @@
+package com.owl.owlproject.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// QueryEncoder 의 숫자 표기와 URL 인코딩 검증
+public final class QueryEncoderTest {
+
+    private static String encode(double value) {
+        return QueryEncoder.get().append("v", value).toQueryString().substring(2);
+    }
+
+    @Test
+    public void testDoubleInPlainNotation() {
+        assertEquals("0.1", encode(0.1));
+        assertEquals("50000", encode(50000.0));
+        assertEquals("0.00001", encode(1e-5));
+        assertEquals("-27123.45", encode(-27123.45));
+        assertEquals("0", encode(0.0));
+        assertEquals("123456789012", encode(123456789012.0));
+        assertEquals("0.30000000000000004", encode(0.1 + 0.2));
+        assertEquals("100000000000000000000", encode(1e20));
+        assertEquals("NaN", encode(Double.NaN));
+    }
+
+    @Test
+    public void testDoubleReadsBackToSameValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // prices and quantities with up to 8 fraction digits, and arbitrary doubles
+            double value = i % 2 == 0
+                    ? Math.round(random.nextDouble() * 1e13) / 1e8
+                    : random.nextDouble() * Math.pow(10, random.nextInt(20) - 10);
+            String encoded = encode(value);
+            assertFalse(encoded.contains("E"), encoded);
+            assertEquals(value, Double.parseDouble(encoded), encoded);
+        }
+    }
+
+    @Test
+    public void testDecimal() {
+        assertEquals("p=27123.45", QueryEncoder.get().appendDecimal("p", 2712345, 2).toQueryString());
+        assertEquals("p=0.005", QueryEncoder.get().appendDecimal("p", 5, 3).toQueryString());
+        assertEquals("p=-0.5", QueryEncoder.get().appendDecimal("p", -5, 1).toQueryString());
+        assertEquals("p=1200", QueryEncoder.get().appendDecimal("p", 12, -2).toQueryString());
+    }
+
+    @Test
+    public void testEncoding() {
+        assertEquals("a=b+c%26d%3De&k.-*_=x%2Fy", QueryEncoder.get()
+                .append("a", "b c&d=e")
+                .append("k.-*_", "x/y")
+                .toQueryString());
+        assertEquals("s=%EC%A3%BC%EB%AC%B8", QueryEncoder.get().append("s", "주문").toQueryString());
+        assertEquals("l=" + Long.MIN_VALUE + "&m=-42", QueryEncoder.get()
+                .append("l", Long.MIN_VALUE)
+                .append("m", -42L)
+                .toQueryString());
+    }
+
+    @Test
+    public void testParameters() {
+        LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("symbol", "BTCUSDT");
+        parameters.put("skipped", null);
+        parameters.put("quantity", 0.01);
+        parameters.put("price", new BigDecimal("50000.10"));
+        parameters.put("reduceOnly", true);
+        parameters.put("orderIdList", List.of(1L, 2L));
+        parameters.put("timestamp", 1700000000000L);
+        assertEquals("symbol=BTCUSDT&quantity=0.01&price=50000.10&reduceOnly=true&orderIdList=1&orderIdList=2",
+                QueryEncoder.get().appendParameters(parameters, "timestamp").toQueryString());
+        assertEquals("https://fapi.binance.com/fapi/v1/time",
+                QueryEncoder.get().toUrl("https://fapi.binance.com", "/fapi/v1/time"));
+        assertEquals("https://fapi.binance.com/fapi/v1/depth?symbol=BTCUSDT",
+                QueryEncoder.get().append("symbol", "BTCUSDT").toUrl("https://fapi.binance.com", "/fapi/v1/depth"));
+    }
+
+    @Test
+    public void testUnescaped() {
+        QueryEncoder encoder = QueryEncoder.getUnescaped().append("newClientOrderId", "my order&é").append("price", 0.1);
+        assertEquals(2, encoder.pairCount());
+        assertEquals(0, encoder.pairOffset(0));
+        assertEquals("newClientOrderId=my order&é".getBytes(StandardCharsets.UTF_8).length + 1, encoder.pairOffset(1));
+        assertEquals("newClientOrderId=my order&é&price=0.1",
+                new String(encoder.buffer(), 0, encoder.length(), StandardCharsets.UTF_8));
+        assertEquals("newClientOrderId=my+order%26%C3%A9", QueryEncoder.get().append("newClientOrderId", "my order&é").toQueryString());
+    }
+}
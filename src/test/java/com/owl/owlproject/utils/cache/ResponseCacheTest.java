@@ -0,0 +1,186 @@
+package com.owl.owlproject.utils.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ResponseCache 의 TTL, stale 갱신, 동시 미스의 단일 요청, 무효화, LRU 제거, 종료 검증
+public final class ResponseCacheTest {
+
+    @Test
+    public void testServedWithinTtl() throws InterruptedException {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.EXCHANGE_INFO, 100).build();
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(1, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        assertEquals(1, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        assertEquals(2, (int) cache.get(ResponseCache.EXCHANGE_INFO, "other", loads::incrementAndGet));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        Thread.sleep(150);
+        assertEquals(3, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testEndpointWithoutTtlIsNotCached() {
+        ResponseCache cache = ResponseCache.builder().defaultEndpoints().build();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("/v1/depth", "key", loads::incrementAndGet);
+        cache.get("/v1/depth", "key", loads::incrementAndGet);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+        assertFalse(cache.isCached("/v1/depth"));
+        assertTrue(cache.isCached(ResponseCache.POSITION_MODE));
+    }
+
+    @Test
+    public void testStaleServedWhileRefreshed() throws InterruptedException {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.EXCHANGE_INFO, 50, 10_000).build();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet);
+        Thread.sleep(100);
+
+        // past the TTL the cached response is served and a single refresh is started
+        assertEquals(1, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        // the stale response is served until the refreshed one replaces it
+        for (int i = 0; i < 200 && (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet) != 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        assertEquals(2, loads.get());
+        assertTrue(cache.getStaleHits() >= 1);
+    }
+
+    @Test
+    public void testInvalidate() {
+        ResponseCache cache = ResponseCache.builder().defaultEndpoints().build();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(ResponseCache.POSITION_MODE, "mode", loads::incrementAndGet);
+        cache.get(ResponseCache.EXCHANGE_INFO, "info", loads::incrementAndGet);
+        assertEquals(2, cache.size());
+
+        cache.invalidate(ResponseCache.POSITION_MODE);
+        assertEquals(1, cache.size());
+        assertEquals(3, (int) cache.get(ResponseCache.POSITION_MODE, "mode", loads::incrementAndGet));
+        assertEquals(2, (int) cache.get(ResponseCache.EXCHANGE_INFO, "info", loads::incrementAndGet));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testResponseLoadedBeforeInvalidationIsDropped() {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.POSITION_MODE, 60_000).build();
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> response = cache.getAsync(ResponseCache.POSITION_MODE, "mode", () -> call);
+        // e.g. the position mode changed while it was being read
+        cache.invalidate(ResponseCache.POSITION_MODE);
+        call.complete("oneWay");
+
+        assertEquals("oneWay", response.join());
+        assertEquals(0, cache.size());
+        assertEquals("hedge", cache.getAsync(ResponseCache.POSITION_MODE, "mode",
+                () -> CompletableFuture.completedFuture("hedge")).join());
+        assertEquals("hedge", cache.getAsync(ResponseCache.POSITION_MODE, "mode",
+                () -> CompletableFuture.completedFuture("other")).join());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.EXCHANGE_INFO, 60_000).maxEntries(2).build();
+        cache.get(ResponseCache.EXCHANGE_INFO, "a", () -> "a");
+        cache.get(ResponseCache.EXCHANGE_INFO, "b", () -> "b");
+        cache.get(ResponseCache.EXCHANGE_INFO, "a", () -> "reloaded");
+        cache.get(ResponseCache.EXCHANGE_INFO, "c", () -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals("a", cache.get(ResponseCache.EXCHANGE_INFO, "a", () -> "reloaded"));
+        assertEquals("b2", cache.get(ResponseCache.EXCHANGE_INFO, "b", () -> "b2"));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.EXCHANGE_INFO, 60_000).build();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> cache.get(ResponseCache.EXCHANGE_INFO, "key", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loads.incrementAndGet();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(
+                () -> cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        CompletableFuture<Integer> third = cache.getAsync(ResponseCache.EXCHANGE_INFO, "key",
+                () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(1, (int) first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, (int) second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, (int) third.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testFailedLoadSharedAndNotCached() {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.EXCHANGE_INFO, 60_000).build();
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.getAsync(ResponseCache.EXCHANGE_INFO, "key", () -> call);
+        CompletableFuture<String> second = cache.getAsync(ResponseCache.EXCHANGE_INFO, "key",
+                () -> CompletableFuture.completedFuture("other"));
+        call.completeExceptionally(new IllegalStateException("down"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, cache.size());
+        assertEquals("up", cache.get(ResponseCache.EXCHANGE_INFO, "key", () -> "up"));
+    }
+
+    @Test
+    public void testMissAfterInvalidationDoesNotShareLoad() {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.POSITION_MODE, 60_000).build();
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> before = cache.getAsync(ResponseCache.POSITION_MODE, "mode", () -> call);
+        cache.invalidate(ResponseCache.POSITION_MODE);
+        CompletableFuture<String> after = cache.getAsync(ResponseCache.POSITION_MODE, "mode",
+                () -> CompletableFuture.completedFuture("hedge"));
+        call.complete("oneWay");
+
+        assertEquals("oneWay", before.join());
+        assertEquals("hedge", after.join());
+        assertEquals("hedge", cache.get(ResponseCache.POSITION_MODE, "mode", () -> "other"));
+    }
+
+    @Test
+    public void testClosedCacheDoesNotRefresh() throws InterruptedException {
+        ResponseCache cache = ResponseCache.builder().ttl(ResponseCache.EXCHANGE_INFO, 50, 150).build();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet);
+        cache.close();
+        Thread.sleep(100);
+
+        // stale, served without a refresh
+        assertEquals(1, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+        Thread.sleep(50);
+        assertEquals(1, loads.get());
+        // past the stale window, loaded by the caller
+        Thread.sleep(150);
+        assertEquals(2, (int) cache.get(ResponseCache.EXCHANGE_INFO, "key", loads::incrementAndGet));
+    }
+}
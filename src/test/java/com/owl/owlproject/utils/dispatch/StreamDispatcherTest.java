@@ -0,0 +1,163 @@
+package com.owl.owlproject.utils.dispatch;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// StreamDispatcher 의 링 버퍼 전달과 느린 consumer 가 추월당했을 때의 이벤트 유실 검증
+public final class StreamDispatcherTest {
+
+    // 테스트용 이벤트, update id 만 읽음
+    private static final class Tick {
+        private long updateId;
+
+        private long getUpdateId() {
+            return updateId;
+        }
+    }
+
+    private static final EventDecoder<Tick> DECODER = new EventDecoder<>() {
+        @Override
+        public Tick newEvent() {
+            return new Tick();
+        }
+
+        @Override
+        public void decode(JsonParser parser, Tick event) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "not an object");
+            }
+            event.updateId = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("u".equals(field)) {
+                    event.updateId = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        @Override
+        public void copy(Tick from, Tick to) {
+            to.updateId = from.updateId;
+        }
+    };
+
+    private static String tick(long updateId) {
+        return "{\"e\":\"bookTicker\",\"u\":" + updateId + ",\"s\":\"BTCUSDT\"}";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testEventsHandledInOrder() throws InterruptedException {
+        List<Long> updateIds = new CopyOnWriteArrayList<>();
+        List<Long> sequences = new CopyOnWriteArrayList<>();
+        try (StreamDispatcher<Tick> dispatcher = StreamDispatcher.builder(DECODER).bufferSize(8).build()) {
+            StreamConsumer<Tick> consumer = dispatcher.addConsumer("test", (event, sequence, endOfBatch) -> {
+                updateIds.add(event.getUpdateId());
+                sequences.add(sequence);
+            }, WaitStrategy.YIELD);
+            for (long i = 0; i < 1000; i++) {
+                dispatcher.onReceive(tick(i));
+                // never more than a ring ahead of the consumer
+                while (consumer.getLag() >= 4) {
+                    Thread.onSpinWait();
+                }
+            }
+            await(() -> consumer.getSequence() == 999);
+
+            assertEquals(LongStream.range(0, 1000).boxed().toList(), updateIds);
+            assertEquals(updateIds, sequences);
+            assertEquals(0, consumer.getDropped());
+            assertEquals(0, consumer.getLag());
+        }
+    }
+
+    @Test
+    public void testLappedConsumerDropsOverwrittenEvents() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> updateIds = new CopyOnWriteArrayList<>();
+        try (StreamDispatcher<Tick> dispatcher = StreamDispatcher.builder(DECODER).bufferSize(8).build()) {
+            StreamConsumer<Tick> consumer = dispatcher.addConsumer("slow", (event, sequence, endOfBatch) -> {
+                updateIds.add(event.getUpdateId());
+                if (sequence == 0) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, WaitStrategy.PARK);
+            dispatcher.onReceive(tick(0));
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            // the producer never waits, the ring wraps over events 1 to 91
+            for (long i = 1; i < 100; i++) {
+                dispatcher.onReceive(tick(i));
+            }
+            assertEquals(99, dispatcher.getCursor());
+            assertEquals(100, consumer.getLag());
+            release.countDown();
+            await(() -> consumer.getSequence() == 99);
+
+            assertEquals(91, consumer.getDropped());
+            assertEquals(List.of(0L, 92L, 93L, 94L, 95L, 96L, 97L, 98L, 99L), updateIds);
+            assertEquals(0, consumer.getLag());
+        }
+    }
+
+    @Test
+    public void testFailuresSkipTheEvent() throws InterruptedException {
+        List<Long> updateIds = new CopyOnWriteArrayList<>();
+        try (StreamDispatcher<Tick> dispatcher = StreamDispatcher.builder(DECODER).bufferSize(8).build()) {
+            StreamConsumer<Tick> consumer = dispatcher.addConsumer("test", (event, sequence, endOfBatch) -> {
+                if (event.getUpdateId() == 1) {
+                    throw new IllegalStateException("handler failure");
+                }
+                updateIds.add(event.getUpdateId());
+            }, WaitStrategy.YIELD);
+            dispatcher.onReceive(tick(0));
+            dispatcher.onReceive("not json");
+            dispatcher.onReceive(tick(1));
+            dispatcher.onReceive(tick(2));
+            await(() -> consumer.getSequence() == 2);
+
+            assertEquals(1, dispatcher.getDecodeFailures());
+            assertEquals(1, consumer.getFailures());
+            assertEquals(List.of(0L, 2L), updateIds);
+        }
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        StreamDispatcher<Tick> dispatcher = StreamDispatcher.builder(DECODER).bufferSize(8).build();
+        StreamConsumer<Tick> consumer = dispatcher.addConsumer("test", (event, sequence, endOfBatch) -> { }, WaitStrategy.PARK);
+        dispatcher.close();
+        dispatcher.onReceive(tick(0));
+
+        assertEquals(-1, dispatcher.getCursor());
+        await(() -> !consumer.isRunning());
+        assertTrue(dispatcher.getConsumers().isEmpty());
+    }
+}
@@ -0,0 +1,206 @@
+package com.owl.owlproject.utils.orderbook;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.owl.owlproject.client.WebsocketClient;
+import com.owl.owlproject.impl.futures.Market;
+import com.owl.owlproject.model.response.OrderBook;
+import com.owl.owlproject.model.response.ResponseDecoders;
+import com.owl.owlproject.utils.JsonDecoding;
+import com.owl.owlproject.utils.websocket.WebSocketCallback;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// LocalOrderBook 의 U/u/pu 시퀀스 처리, 스냅샷 동기화, gap 발생 시 재동기화 검증
+public final class LocalOrderBookTest {
+    private static final String STREAM = "btcusdt@depth@100ms";
+
+    private final BlockingQueue<CompletableFuture<OrderBook>> snapshots = new LinkedBlockingQueue<>();
+    private final List<LinkedHashMap<String, Object>> snapshotParameters = new CopyOnWriteArrayList<>();
+    private final List<String> resyncs = new CopyOnWriteArrayList<>();
+    private final AtomicInteger updates = new AtomicInteger();
+    private WebsocketClient streams;
+    private WebSocketCallback callback;
+    private LocalOrderBook book;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Market market = mock(Market.class);
+        doAnswer(invocation -> {
+            snapshotParameters.add(new LinkedHashMap<>((LinkedHashMap<String, Object>) invocation.getArgument(0)));
+            CompletableFuture<OrderBook> snapshot = new CompletableFuture<>();
+            snapshots.add(snapshot);
+            return snapshot;
+        }).when(market).depthAsync(any(), eq(ResponseDecoders.ORDER_BOOK));
+        streams = mock(WebsocketClient.class);
+        doAnswer(invocation -> {
+            callback = invocation.getArgument(2);
+            return STREAM;
+        }).when(streams).diffDepthStream(eq("BTCUSDT"), anyInt(), any());
+
+        book = LocalOrderBook.builder(market, streams, "BTCUSDT").listener(new OrderBookListener() {
+            @Override
+            public void onUpdate(LocalOrderBook book) {
+                updates.incrementAndGet();
+            }
+
+            @Override
+            public void onResync(LocalOrderBook book, String reason) {
+                resyncs.add(reason);
+            }
+        }).build().start();
+    }
+
+    private static String depthUpdate(long firstUpdateId, long finalUpdateId, long previousFinalUpdateId, String bids, String asks) {
+        return "{\"e\":\"depthUpdate\",\"E\":1,\"T\":2,\"s\":\"BTCUSDT\",\"U\":" + firstUpdateId + ",\"u\":" + finalUpdateId
+                + ",\"pu\":" + previousFinalUpdateId + ",\"b\":" + bids + ",\"a\":" + asks + "}";
+    }
+
+    private static OrderBook snapshot(long lastUpdateId, String bids, String asks) {
+        String json = "{\"lastUpdateId\":" + lastUpdateId + ",\"E\":1,\"T\":1,\"bids\":" + bids + ",\"asks\":" + asks + "}";
+        try (JsonParser parser = JsonDecoding.createParser(json)) {
+            parser.nextToken();
+            return OrderBook.decode(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // requested on the scheduler of the book, retries after a backoff; once the book waits on the request,
+    // completing it applies the snapshot on the calling thread
+    private CompletableFuture<OrderBook> nextSnapshotRequest() throws InterruptedException {
+        CompletableFuture<OrderBook> snapshot = snapshots.poll(5, TimeUnit.SECONDS);
+        assertNotNull(snapshot, "snapshot not requested");
+        for (int i = 0; i < 500 && snapshot.getNumberOfDependents() == 0; i++) {
+            Thread.sleep(10);
+        }
+        return snapshot;
+    }
+
+    private void syncAt100() throws InterruptedException {
+        callback.onReceive(depthUpdate(96, 105, 95, "[[\"100\",\"5\"]]", "[[\"101\",\"0\"]]"));
+        nextSnapshotRequest().complete(snapshot(100,
+                "[[\"100\",\"1\"],[\"99\",\"2\"],[\"98\",\"3\"]]", "[[\"101\",\"1\"],[\"102\",\"2\"]]"));
+        assertTrue(book.isSynced());
+    }
+
+    @Test
+    public void testSyncedByFirstEventCoveringSnapshot() throws InterruptedException {
+        // the snapshot is requested once the first event is buffered
+        callback.onReceive(depthUpdate(90, 95, 89, "[[\"100\",\"7\"]]", "[]"));
+        CompletableFuture<OrderBook> snapshot = nextSnapshotRequest();
+        assertEquals("BTCUSDT", snapshotParameters.get(0).get("symbol"));
+        assertEquals(LocalOrderBook.DEFAULT_SNAPSHOT_LIMIT, snapshotParameters.get(0).get("limit"));
+        callback.onReceive(depthUpdate(96, 105, 95, "[[\"100\",\"5\"]]", "[[\"101\",\"0\"]]"));
+        assertFalse(book.isSynced());
+
+        // u 95 < lastUpdateId 100 is dropped, U 96 <= 100 <= u 105 syncs the book
+        snapshot.complete(snapshot(100, "[[\"100\",\"1\"],[\"99\",\"2\"],[\"98\",\"3\"]]", "[[\"101\",\"1\"],[\"102\",\"2\"]]"));
+        assertTrue(book.isSynced());
+        assertEquals(105, book.getLastUpdateId());
+        assertEquals(100, book.getBestBid());
+        assertEquals(5, book.getBestBidQuantity());
+        assertEquals(102, book.getBestAsk());
+        assertEquals(2, book.getSpread());
+        assertEquals(1, updates.get());
+
+        callback.onReceive(depthUpdate(106, 110, 105, "[[\"100.5\",\"1\"],[\"98\",\"0\"]]", "[[\"103\",\"4\"]]"));
+        double[] prices = new double[5];
+        double[] quantities = new double[5];
+        assertEquals(3, book.getBids(prices, quantities));
+        assertEquals(100.5, prices[0]);
+        assertEquals(100, prices[1]);
+        assertEquals(99, prices[2]);
+        assertEquals(2, book.getAsks(prices, quantities));
+        assertEquals(103, prices[1]);
+        assertEquals(4, quantities[1]);
+        assertEquals(6, book.getCumulativeBidQuantity(2));
+        assertEquals(110, book.getLastUpdateId());
+        assertEquals(2, updates.get());
+        assertTrue(resyncs.isEmpty());
+        assertNull(snapshots.poll());
+    }
+
+    @Test
+    public void testGapInStreamResyncs() throws InterruptedException {
+        syncAt100();
+
+        // pu 111 does not follow u 105
+        callback.onReceive(depthUpdate(112, 120, 111, "[[\"200\",\"3\"]]", "[]"));
+        assertFalse(book.isSynced());
+        assertEquals(1, book.getResyncCount());
+        assertEquals(1, resyncs.size());
+        assertTrue(resyncs.get(0).contains("pu 111 after u 105"), resyncs.get(0));
+        assertEquals(0, book.getBidLevels());
+
+        // the event of the gap is kept and syncs the new snapshot
+        nextSnapshotRequest().complete(snapshot(115, "[[\"200\",\"1\"]]", "[[\"201\",\"1\"]]"));
+        assertTrue(book.isSynced());
+        assertEquals(120, book.getLastUpdateId());
+        assertEquals(3, book.getBestBidQuantity());
+        callback.onReceive(depthUpdate(121, 125, 120, "[[\"199\",\"1\"]]", "[]"));
+        assertEquals(2, book.getBidLevels());
+        assertEquals(125, book.getLastUpdateId());
+    }
+
+    @Test
+    public void testSnapshotBehindStreamRetried() throws InterruptedException {
+        callback.onReceive(depthUpdate(130, 135, 129, "[]", "[]"));
+
+        // U 130 after lastUpdateId 50, events are missing between the snapshot and the stream
+        nextSnapshotRequest().complete(snapshot(50, "[]", "[]"));
+        assertFalse(book.isSynced());
+        assertEquals(1, book.getResyncCount());
+        assertTrue(resyncs.get(0).contains("U 130 after snapshot 50"), resyncs.get(0));
+
+        nextSnapshotRequest().complete(snapshot(132, "[[\"300\",\"1\"]]", "[[\"301\",\"1\"]]"));
+        assertTrue(book.isSynced());
+        assertEquals(135, book.getLastUpdateId());
+        assertEquals(300, book.getBestBid());
+    }
+
+    @Test
+    public void testFailedSnapshotRetried() throws InterruptedException {
+        callback.onReceive(depthUpdate(96, 105, 95, "[]", "[]"));
+        nextSnapshotRequest().completeExceptionally(new IllegalStateException("depth failed"));
+        assertFalse(book.isSynced());
+
+        nextSnapshotRequest().complete(snapshot(100, "[[\"100\",\"1\"]]", "[[\"101\",\"1\"]]"));
+        assertTrue(book.isSynced());
+        assertEquals(0, book.getResyncCount());
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        syncAt100();
+        book.close();
+
+        assertFalse(book.isSynced());
+        verify(streams).unsubscribe(STREAM);
+        // the last state is kept
+        assertEquals(100, book.getBestBid());
+    }
+}
@@ -0,0 +1,84 @@
+package com.owl.owlproject.utils.ratelimit;
+
+import com.owl.owlproject.enums.RateLimitPolicy;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceRateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// OrderRateGovernor 의 토큰 버킷 burst, 대기, 주문 수 헤더로의 재동기화 검증
+public final class OrderRateGovernorTest {
+
+    @Test
+    public void testBurstThenSteadyRate() {
+        // 7 orders per 10 seconds after the burst, one every 1429ms
+        OrderRateGovernor governor = new OrderRateGovernor(10, 100, 3, RateLimitPolicy.REJECT, 0);
+        assertEquals(0.7, governor.getOrdersPerSecond(), 1e-9);
+        assertEquals(0, governor.tryAcquire(1));
+        assertEquals(0, governor.tryAcquire(2));
+        long wait = governor.tryAcquire(1);
+        assertTrue(wait > 1_000 && wait <= 1_429, "wait " + wait);
+
+        governor.release(1);
+        assertEquals(1, governor.getAvailableOrders());
+        assertEquals(0, governor.tryAcquire(1));
+        // never more than the burst
+        governor.release(10);
+        assertEquals(3, governor.getAvailableOrders());
+    }
+
+    @Test
+    public void testQueuedUntilRefilled() {
+        // one order every 101ms
+        OrderRateGovernor governor = new OrderRateGovernor(100, 6000, 1, RateLimitPolicy.QUEUE, 1_000);
+        governor.acquire(1);
+        long start = System.nanoTime();
+        governor.acquire(1);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        governor.acquireAsync(1).join();
+
+        assertThrows(BinanceConnectorException.class, () -> governor.acquire(2));
+    }
+
+    @Test
+    public void testRejectedBeyondMaxWait() {
+        OrderRateGovernor governor = new OrderRateGovernor(10, 100, 3, RateLimitPolicy.QUEUE, 100);
+        governor.acquire(3);
+        BinanceRateLimitException rejected = assertThrows(BinanceRateLimitException.class, () -> governor.acquire(1));
+        assertTrue(rejected.getRetryAfterMillis() > 100);
+    }
+
+    @Test
+    public void testResyncedFromOrderCountHeaders() {
+        OrderRateGovernor governor = new OrderRateGovernor(10, 100, 3, RateLimitPolicy.REJECT, 0);
+        // orders placed by another client of the account
+        governor.onResponse(200, "9", "20", null);
+        assertEquals(1, governor.getAvailableOrders());
+        governor.onResponse(200, null, "99", null);
+        assertEquals(1, governor.getAvailableOrders());
+        governor.onResponse(200, null, "100", null);
+        assertEquals(0, governor.getAvailableOrders());
+    }
+
+    @Test
+    public void testBlockedAfterTooManyOrders() {
+        OrderRateGovernor governor = new OrderRateGovernor(10, 100, 3, RateLimitPolicy.REJECT, 0);
+        governor.onResponse(429, null, null, "2");
+
+        assertEquals(0, governor.getAvailableOrders());
+        long wait = governor.tryAcquire(1);
+        assertTrue(wait > 1_000 && wait <= 2_000, "wait " + wait);
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderRateGovernor(0, 100, RateLimitPolicy.QUEUE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new OrderRateGovernor(10, 100, 10, RateLimitPolicy.QUEUE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new OrderRateGovernor(10, 5, 5, RateLimitPolicy.QUEUE, 0));
+    }
+}
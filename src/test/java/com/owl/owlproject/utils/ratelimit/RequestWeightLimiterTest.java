@@ -0,0 +1,86 @@
+package com.owl.owlproject.utils.ratelimit;
+
+import com.owl.owlproject.enums.RateLimitPolicy;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceRateLimitException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// RequestWeightLimiter 의 분 단위 weight 예약과 응답 헤더로의 재동기화 검증
+public final class RequestWeightLimiterTest {
+
+    // the weight is counted per minute of the clock, a test must not cross into the next one
+    @BeforeEach
+    public void awaitFreshMinute() throws InterruptedException {
+        long left = 60_000 - System.currentTimeMillis() % 60_000;
+        if (left < 2_000) {
+            Thread.sleep(left + 10);
+        }
+    }
+
+    @Test
+    public void testWeightReservedWithinLimit() {
+        RequestWeightLimiter limiter = new RequestWeightLimiter(100, RateLimitPolicy.REJECT, 0);
+        assertEquals(0, limiter.tryAcquire(60));
+        long wait = limiter.tryAcquire(50);
+        // until the next minute
+        assertTrue(wait > 0 && wait <= 60_000, "wait " + wait);
+        assertEquals(60, limiter.getUsedWeight());
+        assertEquals(40, limiter.getRemainingWeight());
+        assertEquals(0, limiter.tryAcquire(40));
+        assertEquals(0, limiter.getRemainingWeight());
+    }
+
+    @Test
+    public void testRejected() {
+        RequestWeightLimiter limiter = new RequestWeightLimiter(100, RateLimitPolicy.REJECT, 0);
+        limiter.acquire(100);
+        BinanceRateLimitException rejected = assertThrows(BinanceRateLimitException.class, () -> limiter.acquire(1));
+        assertTrue(rejected.getRetryAfterMillis() > 0);
+        assertTrue(limiter.acquireAsync(1).isCompletedExceptionally());
+
+        BinanceConnectorException tooHeavy = assertThrows(BinanceConnectorException.class, () -> limiter.acquire(101));
+        assertEquals(BinanceConnectorException.class, tooHeavy.getClass());
+    }
+
+    @Test
+    public void testResyncedFromUsedWeightHeader() {
+        RequestWeightLimiter limiter = new RequestWeightLimiter(1000, RateLimitPolicy.REJECT, 0);
+        limiter.acquire(10);
+        limiter.acquire(10);
+        limiter.acquire(10);
+
+        // other clients of the same IP used more
+        limiter.onResponse(10, 200, "50", null);
+        assertEquals(50, limiter.getUsedWeight());
+        // the server saw less, the two requests still in flight are kept
+        limiter.onResponse(10, 200, "5", null);
+        assertEquals(15, limiter.getUsedWeight());
+        limiter.onFailure(10);
+        limiter.onResponse(0, 200, "5", null);
+        assertEquals(5, limiter.getUsedWeight());
+        limiter.onResponse(0, 200, null, null);
+        assertEquals(5, limiter.getUsedWeight());
+    }
+
+    @Test
+    public void testBlockedAfterTooManyRequests() {
+        RequestWeightLimiter limiter = new RequestWeightLimiter(1000, RateLimitPolicy.REJECT, 0);
+        limiter.acquire(1);
+        limiter.onResponse(1, 429, "1000", "2");
+
+        long blocked = limiter.getBlockedMillis();
+        assertTrue(blocked > 1_000 && blocked <= 2_000, "blocked " + blocked);
+        assertTrue(limiter.tryAcquire(1) > 1_000);
+    }
+
+    @Test
+    public void testInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestWeightLimiter(0, RateLimitPolicy.QUEUE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RequestWeightLimiter(100, RateLimitPolicy.QUEUE, -1));
+    }
+}
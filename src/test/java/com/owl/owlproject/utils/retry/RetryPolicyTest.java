@@ -0,0 +1,200 @@
+package com.owl.owlproject.utils.retry;
+
+import com.owl.owlproject.enums.HttpMethod;
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceServerException;
+import com.owl.owlproject.utils.RequestHandler;
+import com.owl.owlproject.utils.ResponseSink;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// RetryPolicy 의 재시도 대상, 백오프, 헤징 조건 검증 (MockWebServer 사용)
+public final class RetryPolicyTest {
+    private static final String DEPTH = "/v1/depth";
+    private static final String ORDER = "/v1/order";
+    private static final String ACCOUNT = "/v2/account";
+    private static final String OK = "{\"lastUpdateId\":1}";
+
+    private MockWebServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        baseUrl = server.url("/fapi").toString();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private RequestHandler handler(RetryPolicy retryPolicy) {
+        return RequestHandler.builder()
+                .apiKey("test-api-key")
+                .secretKey("test-secret-key")
+                .retryPolicy(retryPolicy)
+                .build();
+    }
+
+    private static RetryPolicy retries() {
+        return RetryPolicy.builder().maxAttempts(3).backoffMillis(10, 50).build();
+    }
+
+    private static LinkedHashMap<String, Object> symbol() {
+        LinkedHashMap<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("symbol", "BTCUSDT");
+        return parameters;
+    }
+
+    private static MockResponse error(int status, int code) {
+        return new MockResponse().setResponseCode(status).setBody("{\"code\":" + code + ",\"msg\":\"error\"}");
+    }
+
+    @Test
+    public void testServerErrorRetried() {
+        server.enqueue(error(503, -1001));
+        server.enqueue(error(502, -1001));
+        server.enqueue(new MockResponse().setBody(OK));
+        assertEquals(OK, handler(retries()).sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testServerErrorRetriedAsync() {
+        server.enqueue(error(503, -1001));
+        server.enqueue(new MockResponse().setBody(OK));
+        assertEquals(OK, handler(retries()).sendPublicRequestAsync(baseUrl, DEPTH, symbol(), HttpMethod.GET, false)
+                .orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testIOExceptionRetried() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody(OK));
+        assertEquals(OK, handler(retries()).sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(error(503, -1001));
+        }
+        server.enqueue(new MockResponse().setBody(OK));
+        assertThrows(BinanceServerException.class,
+                () -> handler(retries()).sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testBackoffWithFullJitter() {
+        RetryPolicy retryPolicy = RetryPolicy.builder().backoffMillis(50, 300).build();
+        long[] max = new long[5];
+        for (int i = 0; i < 10_000; i++) {
+            for (int attempt = 1; attempt <= 4; attempt++) {
+                long backoff = retryPolicy.backoffMillis(attempt);
+                assertTrue(backoff >= 0 && backoff <= Math.min(300, 50L << (attempt - 1)), "attempt " + attempt + ": " + backoff);
+                max[attempt] = Math.max(max[attempt], backoff);
+            }
+        }
+        // the cap doubles with each attempt up to the max backoff
+        assertTrue(max[1] > 40 && max[2] > 90 && max[3] > 190 && max[4] > 290, max[1] + " " + max[2] + " " + max[3] + " " + max[4]);
+    }
+
+    @Test
+    public void testClientErrorNotRetried() {
+        server.enqueue(error(400, -1121));
+        server.enqueue(new MockResponse().setBody(OK));
+        BinanceClientException e = assertThrows(BinanceClientException.class,
+                () -> handler(retries()).sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(-1121, e.getErrorCode());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testTimestampOutsideRecvWindowNotRetried() {
+        server.enqueue(error(400, -1021));
+        server.enqueue(new MockResponse().setBody(OK));
+        BinanceClientException e = assertThrows(BinanceClientException.class,
+                () -> handler(retries()).sendSignedRequest(baseUrl, ORDER, symbol(), HttpMethod.GET, false));
+        assertEquals(-1021, e.getErrorCode());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testSignedRequestNotRetried() throws InterruptedException {
+        server.enqueue(error(503, -1001));
+        server.enqueue(new MockResponse().setBody(OK));
+        assertThrows(BinanceServerException.class,
+                () -> handler(retries()).sendSignedRequest(baseUrl, ACCOUNT, new LinkedHashMap<>(), HttpMethod.GET, false));
+        assertEquals(1, server.getRequestCount());
+        assertTrue(server.takeRequest().getPath().contains("signature="));
+    }
+
+    @Test
+    public void testStreamedRequestNotRetried() {
+        server.enqueue(new MockResponse().setBody(OK).setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+        server.enqueue(new MockResponse().setBody(OK));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> handler(retries())
+                .sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, ResponseSink.of(out)));
+        assertInstanceOf(BinanceConnectorException.class, e);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testHedgedOnlyAfterMinSamples() {
+        RetryPolicy retryPolicy = RetryPolicy.builder().maxAttempts(1).hedging(true).build();
+        RequestHandler handler = handler(retryPolicy);
+        for (int i = 0; i < 19; i++) {
+            server.enqueue(new MockResponse().setBody(OK));
+            handler.sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false);
+        }
+        assertEquals(-1, retryPolicy.hedgeDelayMillis(DEPTH));
+
+        // 19 samples, the slow call is not hedged
+        server.enqueue(new MockResponse().setBody(OK).setBodyDelay(300, TimeUnit.MILLISECONDS));
+        assertEquals(OK, handler.sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(20, server.getRequestCount());
+        assertTrue(retryPolicy.hedgeDelayMillis(DEPTH) >= 1);
+
+        // 20 samples, a duplicate is sent once the slow call outlives the p95 and answers first
+        server.enqueue(new MockResponse().setBody(OK).setBodyDelay(2, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("{\"lastUpdateId\":2}"));
+        assertEquals("{\"lastUpdateId\":2}", handler.sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(22, server.getRequestCount());
+    }
+
+    @Test
+    public void testNotHedgedWhenDisabled() {
+        RetryPolicy retryPolicy = RetryPolicy.builder().maxAttempts(1).build();
+        RequestHandler handler = handler(retryPolicy);
+        for (int i = 0; i < 20; i++) {
+            server.enqueue(new MockResponse().setBody(OK));
+            handler.sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false);
+        }
+        assertEquals(-1, retryPolicy.hedgeDelayMillis(DEPTH));
+        server.enqueue(new MockResponse().setBody(OK).setBodyDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("{\"lastUpdateId\":2}"));
+        assertEquals(OK, handler.sendPublicRequest(baseUrl, DEPTH, symbol(), HttpMethod.GET, false));
+        assertEquals(21, server.getRequestCount());
+    }
+}
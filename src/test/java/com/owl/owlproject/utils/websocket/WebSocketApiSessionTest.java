@@ -0,0 +1,215 @@
+package com.owl.owlproject.utils.websocket;
+
+import com.owl.owlproject.exceptions.BinanceClientException;
+import com.owl.owlproject.exceptions.BinanceConnectorException;
+import com.owl.owlproject.exceptions.BinanceServerException;
+import com.owl.owlproject.utils.QueryParameters;
+import com.owl.owlproject.utils.signer.HmacSigner;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// WebSocketApiSession 의 서명, id 매칭, 에러 매핑, 타임아웃, 연결 끊김 처리 검증 (MockWebServer WebSocket 사용)
+public final class WebSocketApiSessionTest {
+    private static final String API_KEY = "test-api-key";
+    private static final String SECRET_KEY = "test-secret-key";
+    private static final long TIMESTAMP = 1700000000000L;
+    private static final QueryParameters ORDER = encoder -> encoder
+            .append("symbol", "BTCUSDT")
+            .append("side", "BUY")
+            .append("type", "LIMIT")
+            .append("quantity", 0.01)
+            .append("price", 50000.0)
+            .append("newClientOrderId", "my order");
+
+    private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+    private final CountDownLatch serverOpen = new CountDownLatch(1);
+    private final CountDownLatch clientClosed = new CountDownLatch(1);
+    private volatile WebSocket serverSocket;
+    private MockWebServer server;
+    private WebSocketApiSession session;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+            @Override
+            public void onOpen(WebSocket webSocket, Response response) {
+                serverSocket = webSocket;
+                serverOpen.countDown();
+            }
+
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                frames.add(text);
+            }
+
+            @Override
+            public void onClosing(WebSocket webSocket, int code, String reason) {
+                webSocket.close(1000, null);
+            }
+        }));
+        server.start();
+        session = session(10_000);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        session.close();
+        server.shutdown();
+    }
+
+    private WebSocketApiSession session(long responseTimeoutMillis) {
+        return WebSocketApiSession.builder(API_KEY, SECRET_KEY)
+                .url(server.url("/ws-fapi/v1").toString().replaceFirst("^http", "ws"))
+                .timeSource(() -> TIMESTAMP)
+                .responseTimeoutMillis(responseTimeoutMillis)
+                .listener(new ConnectionListener() {
+                    @Override
+                    public void onClosed(int code, String reason) {
+                        clientClosed.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        clientClosed.countDown();
+                    }
+                })
+                .build();
+    }
+
+    private JSONObject nextFrame() throws InterruptedException {
+        String frame = frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(frame, "no request received");
+        return new JSONObject(frame);
+    }
+
+    private void reply(long id, int status, String body) throws InterruptedException {
+        assertTrue(serverOpen.await(5, TimeUnit.SECONDS));
+        serverSocket.send("{\"id\":" + id + ",\"status\":" + status + "," + body
+                + ",\"rateLimits\":[{\"rateLimitType\":\"REQUEST_WEIGHT\",\"interval\":\"MINUTE\",\"intervalNum\":1,\"limit\":2400,\"count\":7}]}");
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        CompletionException e = assertThrows(CompletionException.class, () -> future.orTimeout(5, TimeUnit.SECONDS).join());
+        return e.getCause();
+    }
+
+    @Test
+    public void testSignedOverSortedParameters() throws InterruptedException {
+        CompletableFuture<String> response = session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, false);
+        JSONObject frame = nextFrame();
+        assertEquals(WebSocketApiSession.ORDER_PLACE, frame.getString("method"));
+        JSONObject params = frame.getJSONObject("params");
+        assertEquals(API_KEY, params.getString("apiKey"));
+        assertEquals(TIMESTAMP, params.getLong("timestamp"));
+        assertEquals("my order", params.getString("newClientOrderId"));
+
+        String payload = "apiKey=" + API_KEY + "&newClientOrderId=my order&price=50000&quantity=0.01&side=BUY"
+                + "&symbol=BTCUSDT&timestamp=" + TIMESTAMP + "&type=LIMIT";
+        assertEquals(new HmacSigner(SECRET_KEY).sign(payload), params.getString("signature"));
+
+        reply(frame.getLong("id"), 200, "\"result\":{\"orderId\":1}");
+        assertEquals("{\"orderId\":1}", response.join());
+    }
+
+    @Test
+    public void testLimitUsageWrapped() throws InterruptedException {
+        CompletableFuture<String> response = session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, true);
+        reply(nextFrame().getLong("id"), 200, "\"result\":{\"orderId\":1}");
+        JSONObject wrapped = new JSONObject(response.join());
+        assertEquals("7", wrapped.getString("x-mbx-used-weight-1m"));
+        assertEquals("{\"orderId\":1}", wrapped.getString("data"));
+    }
+
+    @Test
+    public void testResponsesMatchedById() throws InterruptedException {
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(session.requestAsync(WebSocketApiSession.ORDER_CANCEL, ORDER, false));
+            ids.add(nextFrame().getLong("id"));
+        }
+        assertEquals(3, session.getPendingCount());
+
+        // answered out of order, and a response to an unknown id is ignored
+        reply(ids.get(2), 200, "\"result\":{\"n\":2}");
+        reply(12345, 200, "\"result\":{\"n\":-1}");
+        reply(ids.get(0), 200, "\"result\":{\"n\":0}");
+        reply(ids.get(1), 200, "\"result\":{\"n\":1}");
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"n\":" + i + "}", responses.get(i).join());
+        }
+        assertEquals(0, session.getPendingCount());
+    }
+
+    @Test
+    public void testErrorsMappedToExceptions() throws InterruptedException {
+        CompletableFuture<String> rejected = session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, false);
+        reply(nextFrame().getLong("id"), 400, "\"error\":{\"code\":-2019,\"msg\":\"Margin is insufficient.\"}");
+        BinanceClientException clientException = assertInstanceOf(BinanceClientException.class, failure(rejected));
+        assertEquals(400, clientException.getHttpStatusCode());
+        assertEquals(-2019, clientException.getErrorCode());
+        assertEquals("Margin is insufficient.", clientException.getErrMsg());
+
+        CompletableFuture<String> failed = session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, false);
+        reply(nextFrame().getLong("id"), 503, "\"error\":{\"code\":-1001,\"msg\":\"Internal error.\"}");
+        BinanceServerException serverException = assertInstanceOf(BinanceServerException.class, failure(failed));
+        assertEquals(503, serverException.getHttpStatusCode());
+    }
+
+    @Test
+    public void testUnansweredRequestTimesOut() throws InterruptedException {
+        session.close();
+        session = session(200);
+        CompletableFuture<String> response = session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, false);
+        nextFrame();
+        Throwable timeout = assertInstanceOf(BinanceConnectorException.class, failure(response));
+        assertTrue(timeout.getMessage().contains("No response"), timeout.getMessage());
+        assertEquals(0, session.getPendingCount());
+    }
+
+    @Test
+    public void testPendingRequestsFailWhenConnectionDrops() throws InterruptedException {
+        CompletableFuture<String> first = session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, false);
+        CompletableFuture<String> second = session.requestAsync(WebSocketApiSession.ORDER_CANCEL, ORDER, false);
+        nextFrame();
+        nextFrame();
+        serverSocket.close(1001, "going away");
+
+        assertTrue(clientClosed.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(BinanceConnectorException.class, failure(first));
+        assertInstanceOf(BinanceConnectorException.class, failure(second));
+        assertEquals(0, session.getPendingCount());
+    }
+
+    @Test
+    public void testClosedSessionRejectsRequests() {
+        session.close();
+        assertThrows(IllegalStateException.class, session::connect);
+        assertInstanceOf(BinanceConnectorException.class,
+                failure(session.requestAsync(WebSocketApiSession.ORDER_PLACE, ORDER, false)));
+    }
+}